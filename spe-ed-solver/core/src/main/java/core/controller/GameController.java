@@ -60,4 +60,12 @@ public class GameController {
 
 		return this.solverController.get(playerId).calculateAction(gameStep);
 	}
+
+	/**
+	 * Shuts down all {@link SolverController} instances. Has to be called when the
+	 * game is over.
+	 */
+	public void shutdown() {
+		solverController.values().forEach(SolverController::shutdown);
+	}
 }
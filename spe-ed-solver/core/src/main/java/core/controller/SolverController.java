@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import solver.ISpeedSolver;
+import solver.SolverExecutor;
 import solver.SolverType;
 import utility.game.player.PlayerAction;
 import utility.game.step.GameStep;
@@ -18,6 +19,8 @@ import visualisation.Viewer;
  */
 public class SolverController {
 
+	private final SolverExecutor executor;
+
 	private final ISpeedSolver solver;
 
 	private final IViewer viewer;
@@ -32,7 +35,8 @@ public class SolverController {
 	 *                       use
 	 */
 	public SolverController(final boolean viewerEnabled, final SolverType solverType, final int maxThreadCount) {
-		this.solver = solverType.newInstance(maxThreadCount);
+		this.executor = new SolverExecutor(maxThreadCount);
+		this.solver = solverType.newInstance(executor);
 
 		if (viewerEnabled) {
 			this.viewer = new Viewer(solverType.name());
@@ -70,4 +74,12 @@ public class SolverController {
 
 		return action;
 	}
+
+	/**
+	 * Stops all threads of the {@link ISpeedSolver solver}. Has to be called when
+	 * the game is over.
+	 */
+	public void shutdown() {
+		executor.shutdown();
+	}
 }
@@ -60,7 +60,11 @@ public class LiveMode implements Runnable {
 			final List<SolverType> solverTypes = new ArrayList<>(Arrays.asList(solverType));
 			final GameController gameController = new GameController(viewerEnabled, solverTypes, maxThreadCount);
 
-			connectionManager.play(gameController::handleGameStep);
+			try {
+				connectionManager.play(gameController::handleGameStep);
+			} finally {
+				gameController.shutdown();
+			}
 
 		} catch (ConnectionInitializationException | EnvrionmentVariableParseException | ConnectionTerminationException
 				| InterruptedException e) {
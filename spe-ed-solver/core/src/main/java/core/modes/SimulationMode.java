@@ -70,6 +70,8 @@ public class SimulationMode implements Runnable {
 			}
 		}
 
+		gameController.shutdown();
+
 		ApplicationLogger.logInformation("FINISHED SIMULATED");
 	}
 
@@ -2,7 +2,6 @@ package simulation;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -11,28 +10,37 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 import utility.extensions.EnumExtensions;
-import utility.game.board.Board;
-import utility.game.board.Cell;
+import utility.game.board.BoardDelta;
 import utility.game.board.CellValue;
+import utility.game.board.CompactBoard;
 import utility.game.player.IPlayer;
+import utility.game.player.MoveTable;
+import utility.game.player.MoveTransition;
 import utility.game.player.PlayerAction;
 import utility.game.player.PlayerDirection;
 import utility.game.step.GameStep;
+import utility.geometry.GridIteration;
 import utility.geometry.Point2i;
-import utility.geometry.Vector2i;
 
 /**
  * A simulated spe_ed Game.
  */
 public final class Game {
-	private static final int JUMP_FREQUENCY = 6;
 
-	private final Board<Cell> board;
+	private final CompactBoard board;
 	private final SimulationPlayer[] players;
 	private final Random random;
 	private SimulationDeadline deadline;
 	private int round = 1;
 
+	private final List<Integer> changedCellIndices = new ArrayList<>();
+
+	// the round and the player of the last pass for each cell, -1 if multiple
+	// players passed the cell in the same round
+	private final int[] passedCellsRound;
+	private final int[] passedCellsPlayerId;
+	private long boardVersion = BoardDelta.EMPTY_BOARD_VERSION;
+
 	/**
 	 * Initilizes a new Simulated Spe-ed Game.
 	 * 
@@ -41,12 +49,9 @@ public final class Game {
 	 * @param playerCount number of Simulated Players
 	 */
 	public Game(final int height, final int width, final int playerCount) {
-		final Cell[][] cells = new Cell[height][width];
-		for (int row = 0; row < height; row++)
-			for (int col = 0; col < width; col++)
-				cells[row][col] = new Cell(0);
-
-		this.board = new Board<>(cells);
+		this.board = new CompactBoard(width, height);
+		this.passedCellsRound = new int[width * height];
+		this.passedCellsPlayerId = new int[width * height];
 		this.players = new SimulationPlayer[playerCount];
 		this.random = new Random();
 		this.deadline = new SimulationDeadline();
@@ -128,6 +133,13 @@ public final class Game {
 		// is running when more then one player is active
 		boolean isRunning = Arrays.stream(players).filter(SimulationPlayer::isActive).count() > 1;
 
+		// all players receive the cells changed since the last game steps
+		final BoardDelta boardDelta = new BoardDelta(
+				changedCellIndices.stream().mapToInt(Integer::intValue).distinct().toArray(), boardVersion,
+				boardVersion + 1);
+		changedCellIndices.clear();
+		boardVersion++;
+
 		long remainingDeadlineMilliseconds = deadline.getRemainingMilliseconds();
 		for (final SimulationPlayer player : this.players) {
 			final Map<Integer, IPlayer> enemies = Arrays.stream(this.players).filter(p -> p != player)
@@ -135,7 +147,8 @@ public final class Game {
 
 			final PlayerDeadline individualDeadline = new PlayerDeadline(remainingDeadlineMilliseconds);
 
-			gameSteps.add(new GameStep((IPlayer) player, enemies, individualDeadline, board, isRunning));
+			gameSteps.add(new GameStep((IPlayer) player, enemies, individualDeadline, board, boardDelta,
+					isRunning));
 		}
 
 		return gameSteps;
@@ -145,18 +158,17 @@ public final class Game {
 	 * Applies the did steps to the Board, processes collisions and increse round.
 	 */
 	private void updateGameState() {
-		HashMap<Point2i, Integer> newPassedCells = new HashMap<>();
-
 		for (final SimulationPlayer player : this.players) {
 			if (!player.isActive())
 				continue;
 
-			// calculate the Vector to the first step by moving back (speed - 1) steps
-			final Vector2i firstStepVector = player.getDirection().getDirectionVector()
-					.multiply((player.getSpeed() - 1) * -1);
-			final Point2i firstStepPosition = player.getPosition().translate(firstStepVector);
+			// calculate the first step by moving back (speed - 1) steps
+			final MoveTransition move = MoveTable.get(player.getDirection(), player.getSpeed(),
+					PlayerAction.CHANGE_NOTHING, false);
+			final int firstStepX = player.getPosition().getX() - move.getOffsetX() + move.getDirectionX();
+			final int firstStepY = player.getPosition().getY() - move.getOffsetY() + move.getDirectionY();
 
-			applyPassedSteps(player, firstStepPosition, newPassedCells);
+			applyPassedSteps(player, firstStepX, firstStepY);
 		}
 
 		round++;
@@ -164,50 +176,52 @@ public final class Game {
 
 	/**
 	 * Applies the last steps from a {@link SimulationPlayer} to the Board. The
-	 * {@link SimulationPlayer} dies, if he causes a collision.
+	 * {@link SimulationPlayer} dies, if he causes a collision. Jumped over cells
+	 * are excluded.
 	 * 
-	 * @param player               the player whose steps are to be applied
-	 * @param oldPosition          the players position at the start of this round
-	 * @param passedCellsThisRound Cells that have already been used by a player in
-	 *                             this round
+	 * @param player     the player whose steps are to be applied
+	 * @param firstStepX the x coordinate of the first cell passed this round
+	 * @param firstStepY the y coordinate of the first cell passed this round
 	 */
-	private void applyPassedSteps(final SimulationPlayer player, final Point2i oldPosition,
-			final HashMap<Point2i, Integer> passedCellsThisRound) {
-
-		final List<Point2i> passedSteps = getPassedSteps(oldPosition, player.getPosition());
-
-		for (final Point2i step : passedSteps) {
-			if (setCell(step, player.getPlayerId()) == CellValue.MULTIPLE_PLAYER) {
-				player.die();
-			}
-
-			passedCellsThisRound.computeIfPresent(step, (key, value) -> {
-				player.die();
-				if (value > 0)
-					players[value - 1].die();
-				return -1;
-			});
-
-			passedCellsThisRound.computeIfAbsent(step, k -> player.getPlayerId());
+	private void applyPassedSteps(final SimulationPlayer player, final int firstStepX, final int firstStepY) {
+		final int lastStepX = player.getPosition().getX();
+		final int lastStepY = player.getPosition().getY();
 
+		if (MoveTable.isJumpRound(round) && (firstStepX != lastStepX || firstStepY != lastStepY)) {
+			applyPassedStep(player, firstStepX, firstStepY);
+			applyPassedStep(player, lastStepX, lastStepY);
+		} else {
+			GridIteration.forEachPointOnSegment(firstStepX, firstStepY, lastStepX, lastStepY,
+					(x, y) -> applyPassedStep(player, x, y));
 		}
 	}
 
 	/**
-	 * Calculates the passed Cells between two positions.
+	 * Applies a single passed cell of a {@link SimulationPlayer} to the Board. The
+	 * {@link SimulationPlayer} dies, if the cell is already occupied or if it was
+	 * passed by another {@link SimulationPlayer} in this round, who dies too.
 	 * 
-	 * @param positionA the first {@link Point2i position}
-	 * @param positionB the second {@link Point2i position}
-	 * @return the passed {@link Point2i cell positions} (Jumped over cells are
-	 *         excluded)
+	 * @param player the player who passed the cell
+	 * @param x      the x coordinate of the passed cell
+	 * @param y      the y coordinate of the passed cell
 	 */
-	private List<Point2i> getPassedSteps(final Point2i positionA, final Point2i positionB) {
-		if (positionA.equals(positionB))
-			return Arrays.asList(positionA);
-		else if (round % JUMP_FREQUENCY == 0)
-			return Arrays.asList(positionA, positionB);
-		else
-			return positionB.pointsInRectangle(positionA);
+	private void applyPassedStep(final SimulationPlayer player, final int x, final int y) {
+		if (setCell(x, y, player.getPlayerId()) == CellValue.MULTIPLE_PLAYER)
+			player.die();
+
+		if (!board.isOnBoard(x, y))
+			return;
+
+		final int index = board.getIndex(x, y);
+		if (passedCellsRound[index] == round) {
+			player.die();
+			if (passedCellsPlayerId[index] > 0)
+				players[passedCellsPlayerId[index] - 1].die();
+			passedCellsPlayerId[index] = -1;
+		} else {
+			passedCellsRound[index] = round;
+			passedCellsPlayerId[index] = player.getPlayerId();
+		}
 	}
 
 	/**
@@ -218,13 +232,28 @@ public final class Game {
 	 * @return The actual new {@link CellValue value}
 	 */
 	private CellValue setCell(final Point2i point, final int playerId) {
-		if (!board.isOnBoard(point))
+		return setCell(point.getX(), point.getY(), playerId);
+	}
+
+	/**
+	 * Sets a Board Cell with a value (playerId) and returns the new value.
+	 * 
+	 * @param x        The x coordinate of the cell to set
+	 * @param y        The y coordinate of the cell to set
+	 * @param playerId The new playerId to set
+	 * @return The actual new {@link CellValue value}
+	 */
+	private CellValue setCell(final int x, final int y, final int playerId) {
+		if (!board.isOnBoard(x, y))
 			return CellValue.MULTIPLE_PLAYER;
-		else if (board.getBoardCellAt(point).getCellValue() == CellValue.EMPTY_CELL)
-			board.getBoardCellAt(point).setCellValue(playerId);
+
+		final int index = board.getIndex(x, y);
+		changedCellIndices.add(index);
+		if (board.isFree(index))
+			board.setCellValue(index, CellValue.fromInteger(playerId));
 		else
-			board.getBoardCellAt(point).setCellValue(CellValue.MULTIPLE_PLAYER.getIntegerValue());
+			board.setCellValue(index, CellValue.MULTIPLE_PLAYER);
 
-		return board.getBoardCellAt(point).getCellValue();
+		return board.getCellValue(index);
 	}
 }
\ No newline at end of file
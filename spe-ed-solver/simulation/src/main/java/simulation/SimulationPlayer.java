@@ -2,7 +2,6 @@ package simulation;
 
 import utility.game.player.*;
 import utility.geometry.Point2i;
-import utility.geometry.Vector2i;
 
 /**
  * A movable {@link SimulationPlayer Player} which is controlled by the
@@ -105,12 +104,10 @@ public class SimulationPlayer extends MovablePlayer {
         if (!isActive())
             return;
 
-        if (this.lastSetAction == PlayerAction.SPEED_UP)
-            this.speed++;
-        else if (this.lastSetAction == PlayerAction.SLOW_DOWN)
-            this.speed--;
-        else
-            this.direction = this.direction.doAction(this.lastSetAction);
+        final PlayerAction action = this.lastSetAction == null ? PlayerAction.CHANGE_NOTHING : this.lastSetAction;
+        final MoveTransition transition = MoveTable.get(this.direction, this.speed, action, false);
+        this.speed = transition.getSpeed();
+        this.direction = transition.getDirection();
 
         this.lastSetAction = null;
     }
@@ -120,8 +117,10 @@ public class SimulationPlayer extends MovablePlayer {
         if (!isActive())
             return;
 
-        final Vector2i speedDirectionVector = this.direction.getDirectionVector().multiply(this.speed);
-        this.position = this.position.translate(speedDirectionVector);
+        final MoveTransition transition = MoveTable.get(this.direction, this.speed, PlayerAction.CHANGE_NOTHING,
+                false);
+        this.position = new Point2i(this.position.getX() + transition.getOffsetX(),
+                this.position.getY() + transition.getOffsetY());
     }
 
     @Override
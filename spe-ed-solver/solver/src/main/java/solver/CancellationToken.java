@@ -0,0 +1,87 @@
+package solver;
+
+import utility.game.step.IDeadline;
+
+/**
+ * Token to stop a search cooperatively. The token is cancelled explicitly, for
+ * example as soon as the search is converged, or when its {@link IDeadline}
+ * falls below a buffer. The loops of the search poll the token and return by
+ * themselves, so the caller can join all threads before the results are read
+ * and no thread keeps running into the next round.
+ * <p>
+ * The cancellation flag is cheap to read, but reading the clock is not. Inner
+ * loops therefore {@link CancellationToken#isCancelled(long) poll} the
+ * {@link IDeadline} only every {@link CancellationToken#POLL_INTERVAL}
+ * expansions.
+ */
+public class CancellationToken {
+
+	/**
+	 * Amount of expansions after which an inner loop checks the
+	 * {@link IDeadline}.
+	 */
+	public static final int POLL_INTERVAL = 64;
+
+	private final IDeadline deadline;
+	private final long bufferMilliseconds;
+
+	private volatile boolean cancelled = false;
+
+	/**
+	 * Creates a new {@link CancellationToken}.
+	 * 
+	 * @param deadline           the {@link IDeadline} of the search
+	 * @param bufferMilliseconds the remaining time at which the token is
+	 *                           cancelled
+	 */
+	public CancellationToken(final IDeadline deadline, final long bufferMilliseconds) {
+		this.deadline = deadline;
+		this.bufferMilliseconds = bufferMilliseconds;
+	}
+
+	/**
+	 * Cancels the search. The token stays cancelled.
+	 */
+	public void cancel() {
+		cancelled = true;
+	}
+
+	/**
+	 * Determines if the search is cancelled. The {@link IDeadline} is checked on
+	 * every call.
+	 * 
+	 * @return true if the search has to stop
+	 */
+	public boolean isCancelled() {
+		if (!cancelled && deadline.getRemainingMilliseconds() <= bufferMilliseconds)
+			cancelled = true;
+		return cancelled;
+	}
+
+	/**
+	 * Returns the time until the token is cancelled by its {@link IDeadline}.
+	 * 
+	 * @return the remaining milliseconds before the buffer is reached, 0 if the
+	 *         token is already cancelled
+	 */
+	public long getRemainingMilliseconds() {
+		if (cancelled)
+			return 0;
+		return Math.max(0, deadline.getRemainingMilliseconds() - bufferMilliseconds);
+	}
+
+	/**
+	 * Determines if the search is cancelled. The {@link IDeadline} is checked only
+	 * if the amount of expansions is a multiple of the
+	 * {@link CancellationToken#POLL_INTERVAL}, otherwise only an explicit
+	 * cancellation is noticed.
+	 * 
+	 * @param expansions the amount of expansions of the polling loop
+	 * @return true if the search has to stop
+	 */
+	public boolean isCancelled(final long expansions) {
+		if (expansions % POLL_INTERVAL == 0)
+			return isCancelled();
+		return cancelled;
+	}
+}
@@ -0,0 +1,177 @@
+package solver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import utility.logging.ApplicationLogger;
+import utility.logging.LoggingLevel;
+
+/**
+ * Executor owned by a single solver for the whole game. All phases of a game
+ * step run their parallel work in the same {@link ForkJoinPool}, so no threads
+ * are created on the latency critical path of a round. Idle worker threads are
+ * kept alive between the rounds. The executor has to be
+ * {@link SolverExecutor#shutdown() shut down} when the game is over.
+ */
+public class SolverExecutor implements AutoCloseable {
+
+	private static final int SHUTDOWN_MILLISECONDS = 1000;
+
+	private final int maxThreadCount;
+	private final ForkJoinPool pool;
+
+	/**
+	 * Creates a new {@link SolverExecutor}.
+	 * 
+	 * @param maxThreadCount specifies the maximum number of concurrent threads to
+	 *                       use
+	 */
+	public SolverExecutor(final int maxThreadCount) {
+		this.maxThreadCount = maxThreadCount;
+		this.pool = new ForkJoinPool(maxThreadCount, pool -> {
+			final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+			thread.setName("solver-worker-" + thread.getPoolIndex());
+			return thread;
+		}, null, false);
+	}
+
+	/**
+	 * Returns the maximum number of concurrent threads.
+	 * 
+	 * @return the maximum number of concurrent threads
+	 */
+	public int getMaxThreadCount() {
+		return maxThreadCount;
+	}
+
+	/**
+	 * Returns the {@link ForkJoinPool} to execute tasks in.
+	 * 
+	 * @return the {@link ForkJoinPool} of the solver
+	 */
+	public ForkJoinPool getPool() {
+		return pool;
+	}
+
+	/**
+	 * Executes all given tasks and waits until all of them are finished. The first
+	 * task is executed by the calling thread, all others are executed in the
+	 * {@link ForkJoinPool}.
+	 * 
+	 * @param tasks the tasks to execute
+	 */
+	public void runAll(final List<Runnable> tasks) {
+		if (tasks.isEmpty())
+			return;
+
+		final List<ForkJoinTask<?>> submittedTasks = submitAll(tasks.subList(1, tasks.size()));
+		tasks.get(0).run();
+		joinAll(submittedTasks);
+	}
+
+	/**
+	 * Submits all given tasks to the {@link ForkJoinPool} without waiting for
+	 * them, so the calling thread can do other work in the meantime. The tasks
+	 * have to be {@link SolverExecutor#joinAll(List) joined} afterwards.
+	 * 
+	 * @param tasks the tasks to execute
+	 * @return the submitted tasks
+	 */
+	public List<ForkJoinTask<?>> submitAll(final List<Runnable> tasks) {
+		final List<ForkJoinTask<?>> submittedTasks = new ArrayList<>();
+		for (final Runnable task : tasks)
+			submittedTasks.add(pool.submit(task));
+		return submittedTasks;
+	}
+
+	/**
+	 * Waits until all given tasks are finished.
+	 * 
+	 * @param tasks the submitted tasks to wait for
+	 */
+	public void joinAll(final List<ForkJoinTask<?>> tasks) {
+		for (final ForkJoinTask<?> task : tasks)
+			task.join();
+	}
+
+	/**
+	 * Waits until all given tasks are finished or the timeout elapsed. The tasks
+	 * are not executed by the calling thread. If the calling thread is
+	 * interrupted, the {@link CancellationToken} of the tasks is cancelled and
+	 * the tasks are still waited for, so no task is running when the method
+	 * returns true.
+	 * 
+	 * @param tasks               the tasks to wait for
+	 * @param timeoutMilliseconds the maximum time to wait
+	 * @param token               the {@link CancellationToken} stopping the tasks
+	 * @return true if all tasks are finished
+	 */
+	public boolean awaitAll(final List<ForkJoinTask<?>> tasks, final long timeoutMilliseconds,
+			final CancellationToken token) {
+		final long end = System.currentTimeMillis() + timeoutMilliseconds;
+		for (final ForkJoinTask<?> task : tasks) {
+			try {
+				task.get(Math.max(0, end - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+			} catch (TimeoutException e) {
+				return false;
+			} catch (ExecutionException e) {
+				ApplicationLogger.logException(e, LoggingLevel.ERROR);
+			} catch (InterruptedException e) {
+				ApplicationLogger.logException(e, LoggingLevel.WARNING);
+				token.cancel();
+				awaitUninterruptibly(tasks);
+				Thread.currentThread().interrupt();
+				return true;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Waits until all given tasks are finished, ignoring interrupts of the
+	 * calling thread.
+	 * 
+	 * @param tasks the tasks to wait for
+	 */
+	private void awaitUninterruptibly(final List<ForkJoinTask<?>> tasks) {
+		for (final ForkJoinTask<?> task : tasks) {
+			boolean finished = false;
+			while (!finished) {
+				try {
+					task.get();
+					finished = true;
+				} catch (ExecutionException e) {
+					ApplicationLogger.logException(e, LoggingLevel.ERROR);
+					finished = true;
+				} catch (InterruptedException e) {
+					// the interrupt is restored by the caller
+				}
+			}
+		}
+	}
+
+	/**
+	 * Stops all threads of the executor. Running tasks are interrupted.
+	 */
+	public void shutdown() {
+		pool.shutdownNow();
+		try {
+			if (!pool.awaitTermination(SHUTDOWN_MILLISECONDS, TimeUnit.MILLISECONDS))
+				ApplicationLogger.logWarning("The solver threads did not terminate in time!");
+		} catch (InterruptedException e) {
+			ApplicationLogger.logException(e, LoggingLevel.WARNING);
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	@Override
+	public void close() {
+		shutdown();
+	}
+}
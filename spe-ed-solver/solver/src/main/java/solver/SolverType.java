@@ -1,6 +1,10 @@
 package solver;
 
+import solver.hybrid.HybridSolver;
+import solver.mcts.MctsMode;
+import solver.mcts.MctsSolver;
 import solver.random.RandomSolver;
+import solver.reachablepoints.FrontierPolicy;
 import solver.reachablepoints.ReachablePointsSolver;
 import solver.reachablepoints.ReachablePointsType;
 
@@ -12,43 +16,80 @@ public enum SolverType {
 
 	CLASSIC_AGGRESSIVE {
 		@Override
-		public ISpeedSolver newInstance(final int maxThreadCount) {
-			return new ReachablePointsSolver(6, 0.5, 0.01, ReachablePointsType.CLASSIC, maxThreadCount);
+		public ISpeedSolver newInstance(final SolverExecutor executor) {
+			return new ReachablePointsSolver(6, 0.5, 0.01, 0, 0, 0, ReachablePointsType.CLASSIC, executor);
 		}
 	},
 	CLASSIC_BALANCED {
 		@Override
-		public ISpeedSolver newInstance(final int maxThreadCount) {
-			return new ReachablePointsSolver(6, 0.4, 0.05, ReachablePointsType.CLASSIC, maxThreadCount);
+		public ISpeedSolver newInstance(final SolverExecutor executor) {
+			return new ReachablePointsSolver(6, 0.4, 0.05, 0, 0, 0, ReachablePointsType.CLASSIC, executor);
 		}
 	},
 	CLASSIC_DEFENSIVE {
 		@Override
-		public ISpeedSolver newInstance(final int maxThreadCount) {
-			return new ReachablePointsSolver(6, 0.1, 0.35, ReachablePointsType.CLASSIC, maxThreadCount);
+		public ISpeedSolver newInstance(final SolverExecutor executor) {
+			return new ReachablePointsSolver(6, 0.1, 0.35, 0, 0, 0, ReachablePointsType.CLASSIC, executor);
 		}
 	},
 	GRAPH_AGGRESSIVE {
 		@Override
-		public ISpeedSolver newInstance(final int maxThreadCount) {
-			return new ReachablePointsSolver(6, 0.5, 0.01, ReachablePointsType.GRAPH, maxThreadCount);
+		public ISpeedSolver newInstance(final SolverExecutor executor) {
+			return new ReachablePointsSolver(6, 0.5, 0.01, 0, 0, 0, ReachablePointsType.GRAPH, executor);
 		}
 	},
 	GRAPH_BALANCED {
 		@Override
-		public ISpeedSolver newInstance(final int maxThreadCount) {
-			return new ReachablePointsSolver(6, 0.35, 0.15, ReachablePointsType.GRAPH, maxThreadCount);
+		public ISpeedSolver newInstance(final SolverExecutor executor) {
+			return new ReachablePointsSolver(6, 0.35, 0.15, 0, 0, 0, ReachablePointsType.GRAPH, executor);
 		}
 	},
 	GRAPH_DEFENSIVE {
 		@Override
-		public ISpeedSolver newInstance(final int maxThreadCount) {
-			return new ReachablePointsSolver(6, 0.1, 0.35, ReachablePointsType.GRAPH, maxThreadCount);
+		public ISpeedSolver newInstance(final SolverExecutor executor) {
+			return new ReachablePointsSolver(6, 0.1, 0.35, 0, 0, 0, ReachablePointsType.GRAPH, executor);
+		}
+	},
+	CLASSIC_BALANCED_BEST_FIRST {
+		@Override
+		public ISpeedSolver newInstance(final SolverExecutor executor) {
+			return new ReachablePointsSolver(6, 0.4, 0.05, 0, 0, 0, ReachablePointsType.CLASSIC,
+					FrontierPolicy.BEST_FIRST, executor);
+		}
+	},
+	GRAPH_BALANCED_BEST_FIRST {
+		@Override
+		public ISpeedSolver newInstance(final SolverExecutor executor) {
+			return new ReachablePointsSolver(6, 0.35, 0.15, 0, 0, 0, ReachablePointsType.GRAPH,
+					FrontierPolicy.BEST_FIRST, executor);
+		}
+	},
+	HYBRID {
+		@Override
+		public ISpeedSolver newInstance(final SolverExecutor executor) {
+			return new HybridSolver(
+					new ReachablePointsSolver(3, 0.35, 0.15, 0.15, 0.35, 0.15, ReachablePointsType.CLASSIC,
+							executor),
+					new ReachablePointsSolver(6, 0.35, 0.15, 0.15, 0.35, 0.15, ReachablePointsType.GRAPH,
+							executor),
+					0.1, executor);
+		}
+	},
+	MCTS_ROOT_PARALLEL {
+		@Override
+		public ISpeedSolver newInstance(final SolverExecutor executor) {
+			return new MctsSolver(MctsMode.ROOT_PARALLEL, executor);
+		}
+	},
+	MCTS_TREE_PARALLEL {
+		@Override
+		public ISpeedSolver newInstance(final SolverExecutor executor) {
+			return new MctsSolver(MctsMode.TREE_PARALLEL, executor);
 		}
 	},
 	RANDOM {
 		@Override
-		public ISpeedSolver newInstance(final int maxThreadCount) {
+		public ISpeedSolver newInstance(final SolverExecutor executor) {
 			return new RandomSolver();
 		}
 	};
@@ -57,12 +98,11 @@ public enum SolverType {
 	 * Returns a new instance of the {@link ISpeedSolver} representing the
 	 * {@link SolverType}.
 	 * 
-	 * @param maxThreadCount specifies the maximum number of concurrent threads to
-	 *                       use
+	 * @param executor {@link SolverExecutor} the solver runs its parallel work in
 	 * 
 	 * @return {@link ISpeedSolver} representing the {@link SolverType}.
 	 */
-	public abstract ISpeedSolver newInstance(final int maxThreadCount);
+	public abstract ISpeedSolver newInstance(final SolverExecutor executor);
 
 	/**
 	 * Returns the default {@link SolverType}, representing the {@link SolverType}
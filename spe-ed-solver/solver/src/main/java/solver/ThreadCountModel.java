@@ -0,0 +1,108 @@
+package solver;
+
+/**
+ * Cost model choosing the amount of threads of a parallel calculation for
+ * each round. The model measures the throughput of each thread count, which
+ * includes the overhead of distributing and merging the work as well as the
+ * load of other processes on the host. Starting with all threads, the model
+ * climbs to the neighbouring thread count with the higher throughput. Every
+ * few rounds a neighbour of the best count is measured again, so the model
+ * follows changing loads.
+ */
+public class ThreadCountModel {
+
+	private static final double SMOOTHING = 0.3;
+	private static final int EXPLORATION_INTERVAL = 8;
+	private static final double NANOSECONDS_PER_SECOND = 1_000_000_000d;
+
+	private final int maxThreadCount;
+	// the smoothed throughput of each thread count, indexed by the count
+	private final double[] throughputs;
+	private final boolean[] measured;
+	private int rounds = 0;
+	private int explorationDirection = 1;
+
+	/**
+	 * Creates a new {@link ThreadCountModel}.
+	 * 
+	 * @param maxThreadCount the maximum amount of threads
+	 */
+	public ThreadCountModel(final int maxThreadCount) {
+		this.maxThreadCount = Math.max(1, maxThreadCount);
+		this.throughputs = new double[this.maxThreadCount + 1];
+		this.measured = new boolean[this.maxThreadCount + 1];
+	}
+
+	/**
+	 * Chooses the amount of threads for the next round.
+	 * 
+	 * @param limit the maximum amount of threads which can be used in this round
+	 * @return the amount of threads between 1 and the limit
+	 */
+	public int chooseThreadCount(final int limit) {
+		final int maxCount = Math.max(1, Math.min(limit, maxThreadCount));
+		rounds++;
+
+		final int best = getBestThreadCount(maxCount);
+		if (best == 0)
+			return maxCount;
+
+		// measure unknown neighbours immediately, known ones every few rounds
+		final boolean explore = rounds % EXPLORATION_INTERVAL == 0;
+		for (int attempt = 0; attempt < 2; attempt++) {
+			explorationDirection = -explorationDirection;
+			final int neighbour = best + explorationDirection;
+			if (neighbour >= 1 && neighbour <= maxCount && (explore || !measured[neighbour]))
+				return neighbour;
+		}
+		return best;
+	}
+
+	/**
+	 * Returns the measured thread count with the highest throughput.
+	 * 
+	 * @param maxCount the maximum thread count to consider
+	 * @return the best thread count or 0 if none was measured
+	 */
+	private int getBestThreadCount(final int maxCount) {
+		int best = 0;
+		for (int threadCount = 1; threadCount <= maxCount; threadCount++) {
+			if (measured[threadCount] && (best == 0 || throughputs[threadCount] > throughputs[best]))
+				best = threadCount;
+		}
+		return best;
+	}
+
+	/**
+	 * Records the outcome of a round.
+	 * 
+	 * @param threadCount the amount of used threads
+	 * @param workCount   the amount of finished work items, for example paths
+	 * @param nanoseconds the time of the calculation including the distribution
+	 *                    and merging of the work
+	 */
+	public void record(final int threadCount, final long workCount, final long nanoseconds) {
+		if (threadCount < 1 || threadCount > maxThreadCount || nanoseconds <= 0)
+			return;
+
+		final double throughput = workCount * NANOSECONDS_PER_SECOND / nanoseconds;
+		if (measured[threadCount])
+			throughputs[threadCount] += SMOOTHING * (throughput - throughputs[threadCount]);
+		else
+			throughputs[threadCount] = throughput;
+		measured[threadCount] = true;
+	}
+
+	/**
+	 * Returns the expected throughput of a thread count.
+	 * 
+	 * @param threadCount the amount of threads
+	 * @return the expected work items per second or 0 if the count was not
+	 *         measured yet
+	 */
+	public double getExpectedThroughput(final int threadCount) {
+		if (threadCount < 1 || threadCount > maxThreadCount || !measured[threadCount])
+			return 0;
+		return throughputs[threadCount];
+	}
+}
@@ -0,0 +1,153 @@
+package solver.analysis;
+
+import utility.game.player.PlayerAction;
+
+/**
+ * Decides if an anytime search can stop before its deadline. The search
+ * reports the {@link ActionsRating} it would answer with at regular
+ * checkpoints. The search is converged, if the best {@link PlayerAction} did
+ * not change for a given amount of checkpoints and is ahead of all other
+ * {@link PlayerAction actions} by a minimum relative margin.
+ */
+public class ConvergenceMonitor {
+
+	private static final long DEFAULT_CHECKPOINT_MILLISECONDS = 50;
+	private static final int DEFAULT_REQUIRED_STABLE_CHECKPOINTS = 10;
+	private static final double DEFAULT_MINIMUM_MARGIN = 0.2;
+
+	private final double aggressiveWeight;
+	private final double defensiveWeight;
+
+	private final long checkpointMilliseconds;
+	private final int requiredStableCheckpoints;
+	private final double minimumMargin;
+
+	private PlayerAction lastMaxAction;
+	private int stableCheckpoints;
+	private long nextCheckpointNanoTime;
+	private volatile boolean converged;
+
+	/**
+	 * Creates a new {@link ConvergenceMonitor} with default checkpoint values.
+	 * 
+	 * @param aggressiveWeight relative weight for aggressive {@link ActionsRating}
+	 * @param defensiveWeight  relative weight for the defensive
+	 *                         {@link ActionsRating}
+	 */
+	public ConvergenceMonitor(final double aggressiveWeight, final double defensiveWeight) {
+		this(aggressiveWeight, defensiveWeight, DEFAULT_CHECKPOINT_MILLISECONDS, DEFAULT_REQUIRED_STABLE_CHECKPOINTS,
+				DEFAULT_MINIMUM_MARGIN);
+	}
+
+	/**
+	 * Creates a new {@link ConvergenceMonitor}.
+	 * 
+	 * @param aggressiveWeight          relative weight for aggressive
+	 *                                  {@link ActionsRating}
+	 * @param defensiveWeight           relative weight for the defensive
+	 *                                  {@link ActionsRating}
+	 * @param checkpointMilliseconds    time between two checkpoints
+	 * @param requiredStableCheckpoints amount of checkpoints the best
+	 *                                  {@link PlayerAction} must not change
+	 * @param minimumMargin             minimum difference between the best and
+	 *                                  the second best rating relative to the
+	 *                                  best rating
+	 */
+	public ConvergenceMonitor(final double aggressiveWeight, final double defensiveWeight,
+			final long checkpointMilliseconds, final int requiredStableCheckpoints, final double minimumMargin) {
+		this.aggressiveWeight = aggressiveWeight;
+		this.defensiveWeight = defensiveWeight;
+		this.checkpointMilliseconds = checkpointMilliseconds;
+		this.requiredStableCheckpoints = requiredStableCheckpoints;
+		this.minimumMargin = minimumMargin;
+		reset();
+	}
+
+	/**
+	 * Resets the monitor for the search of a new round.
+	 */
+	public synchronized void reset() {
+		lastMaxAction = null;
+		stableCheckpoints = 0;
+		nextCheckpointNanoTime = System.nanoTime() + checkpointMilliseconds * 1_000_000;
+		converged = false;
+	}
+
+	/**
+	 * Determines if the time for the next checkpoint has come. Only the thread
+	 * reporting the checkpoints should call this method.
+	 * 
+	 * @return true if a checkpoint should be reported
+	 */
+	public boolean isCheckpointDue() {
+		final long now = System.nanoTime();
+		if (now - nextCheckpointNanoTime < 0)
+			return false;
+		nextCheckpointNanoTime = now + checkpointMilliseconds * 1_000_000;
+		return true;
+	}
+
+	/**
+	 * Reports the {@link ActionsRating} the search would currently answer with.
+	 * 
+	 * @param combinedRating the current combined {@link ActionsRating}
+	 * @return true if the search is converged
+	 */
+	public synchronized boolean addCheckpoint(final ActionsRating combinedRating) {
+		final PlayerAction maxAction = combinedRating.maxAction();
+		final double maxRating = combinedRating.getRating(maxAction);
+
+		double secondRating = 0;
+		for (final PlayerAction action : PlayerAction.values()) {
+			if (action != maxAction)
+				secondRating = Math.max(secondRating, combinedRating.getRating(action));
+		}
+
+		final boolean separated = maxRating > 0 && (maxRating - secondRating) / maxRating >= minimumMargin;
+		if (separated && maxAction == lastMaxAction)
+			stableCheckpoints++;
+		else
+			stableCheckpoints = separated ? 1 : 0;
+		lastMaxAction = maxAction;
+
+		if (stableCheckpoints >= requiredStableCheckpoints)
+			converged = true;
+		return converged;
+	}
+
+	/**
+	 * Determines if the search is converged and can be stopped.
+	 * 
+	 * @return true if the search is converged
+	 */
+	public boolean isConverged() {
+		return converged;
+	}
+
+	/**
+	 * Returns the time between two checkpoints.
+	 * 
+	 * @return the time between two checkpoints in milliseconds
+	 */
+	public long getCheckpointMilliseconds() {
+		return checkpointMilliseconds;
+	}
+
+	/**
+	 * Returns the weight the aggressive {@link ActionsRating} is combined with.
+	 * 
+	 * @return the aggressive weight
+	 */
+	public double getAggressiveWeight() {
+		return aggressiveWeight;
+	}
+
+	/**
+	 * Returns the weight the defensive {@link ActionsRating} is combined with.
+	 * 
+	 * @return the defensive weight
+	 */
+	public double getDefensiveWeight() {
+		return defensiveWeight;
+	}
+}
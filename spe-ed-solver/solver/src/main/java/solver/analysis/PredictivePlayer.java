@@ -1,18 +1,17 @@
 package solver.analysis;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
 import utility.game.board.Board;
 import utility.game.board.Cell;
 import utility.game.player.IPlayer;
+import utility.game.player.MoveTable;
+import utility.game.player.MoveTransition;
 import utility.game.player.PlayerAction;
 import utility.game.player.PlayerDirection;
+import utility.geometry.IPointConsumer;
 import utility.geometry.Point2i;
-import utility.geometry.Vector2i;
 
 /**
  * Player class which implements the {@link IPlayer} interface. The player can
@@ -27,8 +26,11 @@ public class PredictivePlayer implements IPlayer {
 	private final boolean active;
 	private final int round;
 
-	private final List<Point2i> shortTail;
-	private final Set<Point2i> longTail;
+	/**
+	 * Tail of the player, shared with all ancestors. The segment itself contains
+	 * the short tail, its ancestors the long tail.
+	 */
+	private final TailSegment tail;
 
 	/**
 	 * Initializes a new {@link PredictivePlayer} from a {@link IPlayer}.
@@ -44,8 +46,7 @@ public class PredictivePlayer implements IPlayer {
 		this.active = player.isActive();
 		this.round = player.getRound();
 
-		this.shortTail = new ArrayList<>();
-		this.longTail = new HashSet<>();
+		this.tail = TailSegment.EMPTY;
 	}
 
 	/**
@@ -60,88 +61,23 @@ public class PredictivePlayer implements IPlayer {
 	public PredictivePlayer(final PredictivePlayer parent, final PlayerAction action, final Board<Cell> board) {
 
 		this.playerId = parent.getPlayerId();
-		this.direction = parent.getDirection().doAction(action);
-		this.speed = calculateChildSpeed(parent.getSpeed(), action);
-		this.position = calculateChildPosition(parent.getPosition(), direction, speed);
 		this.round = parent.getRound() + 1;
 
-		this.shortTail = calculateShortTail(parent.getPosition(), position, round, speed, direction);
+		final MoveTransition transition = MoveTable.get(parent.getDirection(), parent.getSpeed(), action,
+				MoveTable.isJumpRound(round));
+		this.direction = transition.getDirection();
+		this.speed = transition.getSpeed();
 
-		final Set<Point2i> parentLongTail = new HashSet<>(parent.getLongTail());
-		parentLongTail.addAll(parent.getShortTail());
-		this.longTail = parentLongTail;
+		final int parentX = parent.getPosition().getX();
+		final int parentY = parent.getPosition().getY();
+		this.position = new Point2i(parentX + transition.getOffsetX(), parentY + transition.getOffsetY());
 
-		this.active = parent.isActive() && isSpeedValid(speed) && isOnBoard(board, position)
-				&& (!isTailColliding(shortTail, longTail, board));
+		this.tail = new TailSegment(parent.tail, parentX + transition.getDirectionX(),
+				parentY + transition.getDirectionY(), position.getX(), position.getY(), transition.isJump());
 
-	}
+		this.active = parent.isActive() && transition.isValid() && isOnBoard(board, position)
+				&& (!tail.isColliding(board));
 
-	/**
-	 * Calculates the target speed of the {@link PredictivePlayer} in the next game
-	 * step.
-	 * 
-	 * @param parentSpeed speed of the parent
-	 * @param action      {@link PlayerAction} action to calculate with
-	 * @return speed after the action is performed
-	 */
-	private int calculateChildSpeed(final int parentSpeed, final PlayerAction action) {
-		int nextSpeed = parentSpeed;
-		if (action == PlayerAction.SPEED_UP)
-			nextSpeed += 1;
-		else if (action == PlayerAction.SLOW_DOWN)
-			nextSpeed -= 1;
-		return nextSpeed;
-	}
-
-	/**
-	 * Calculates the target position of the child with a given
-	 * {@link PlayerDirection} and the speed the child moves with.
-	 * 
-	 * @param parentPosition {@link Point2i} position of the parent
-	 * @param childDirection {@link PlayerDirection} the child moves in
-	 * @param childSpeed     speed the child moves with
-	 * @return {@link Point2i} of the edge end position
-	 */
-	private Point2i calculateChildPosition(final Point2i parentPosition, final PlayerDirection childDirection,
-			final int childSpeed) {
-		final Vector2i childMovementVector = childDirection.getDirectionVector().multiply(childSpeed);
-		return parentPosition.translate(childMovementVector);
-	}
-
-	/**
-	 * Calculates the short tail of the {@link PredictivePlayer} as {@link List} of
-	 * {@link Point2i points}.
-	 * 
-	 * @param parentPosition  {@link Point2i} position of the parent
-	 * @param targetPosition  {@link Point2i} position of the child
-	 * @param targetRound     round of the player
-	 * @param targetSpeed     speed of the player
-	 * @param targetDirection {@link PlayerDirection} of the player
-	 * @return {@link Point2i points} of the tail as {@link List}
-	 */
-	private List<Point2i> calculateShortTail(final Point2i parentPosition, final Point2i targetPosition,
-			final int targetRound, final int targetSpeed, final PlayerDirection targetDirection) {
-		final Point2i startPosition = parentPosition.translate(targetDirection.getDirectionVector());
-		final List<Point2i> points = startPosition.pointsInRectangle(targetPosition);
-		if (targetRound % 6 == 0 && targetSpeed > 2) {
-			return Arrays.asList(points.get(0), points.get(points.size() - 1));
-		}
-		return points;
-	}
-
-	/**
-	 * Tests if the given speed value is valid.
-	 * 
-	 * @param speed speed to test
-	 * @return true if the speed has a valid value
-	 */
-	private boolean isSpeedValid(final int speed) {
-		if (speed > IPlayer.MAX_SPEED)
-			return false;
-		if (speed < IPlayer.MIN_SPEED)
-			return false;
-		else
-			return true;
 	}
 
 	/**
@@ -156,23 +92,27 @@ public class PredictivePlayer implements IPlayer {
 	}
 
 	/**
-	 * Tests if the short tail is colliding with the long tail or the {@link Board}.
+	 * Calculates a {@link ZobristKeys Zobrist} hash of the state of the
+	 * {@link PredictivePlayer}. Players with the same position, direction, speed,
+	 * position in the jump cycle and the same passed cells have the same hash,
+	 * even if they were reached by a different order of actions.
 	 * 
-	 * @param shortTail short tail as {@link List}
-	 * @param longTail  long tail as {@link Set}
-	 * @param board     the {@link Board} to check for collisions
-	 * @return true if a self collision is detected
+	 * @return hash of the player state
 	 */
-	private boolean isTailColliding(final List<Point2i> shortTail, final Set<Point2i> longTail,
-			final Board<Cell> board) {
-		for (final Point2i point : shortTail) {
-			if (longTail.contains(point))
-				return true;
-			if (board.isOnBoard(point) && !board.getBoardCellAt(point).isEmpty())
-				return true;
-		}
-		return false;
+	public long getStateHash() {
+		return ZobristKeys.cell(position.getX(), position.getY()) ^ ZobristKeys.direction(direction.ordinal())
+				^ ZobristKeys.speed(speed) ^ ZobristKeys.jumpPhase(round % MoveTable.JUMP_FREQUENCY) ^ tail.getHash();
+	}
 
+	/**
+	 * Passes the short tail to the consumer without allocating a {@link List}, see
+	 * {@link PredictivePlayer#getShortTail()}.
+	 * 
+	 * @param consumer {@link IPointConsumer} receiving the points of the short
+	 *                 tail
+	 */
+	public void forEachShortTailPoint(final IPointConsumer consumer) {
+		tail.forEachPoint(consumer);
 	}
 
 	/**
@@ -182,7 +122,7 @@ public class PredictivePlayer implements IPlayer {
 	 * @return the shortTail
 	 */
 	public List<Point2i> getShortTail() {
-		return shortTail;
+		return tail.getPoints();
 	}
 
 	/**
@@ -192,7 +132,7 @@ public class PredictivePlayer implements IPlayer {
 	 * @return the longTail
 	 */
 	public Set<Point2i> getLongTail() {
-		return longTail;
+		return tail.getAncestorPoints();
 	}
 
 	@Override
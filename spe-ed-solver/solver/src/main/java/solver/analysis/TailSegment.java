@@ -0,0 +1,276 @@
+package solver.analysis;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import utility.game.board.Board;
+import utility.game.board.Cell;
+import utility.geometry.GridIteration;
+import utility.geometry.IPointConsumer;
+import utility.geometry.Point2i;
+
+/**
+ * Immutable segment of a {@link PredictivePlayer} tail. Every segment stores
+ * the cells passed in a single round and links to the segment of the previous
+ * round, so children share the whole tail of their parent instead of copying
+ * it. A small occupancy filter, inherited from the parent segment, rejects most
+ * collision queries without walking the chain.
+ */
+final class TailSegment {
+
+	/**
+	 * Segment without any cells, used as tail of players which are not predicted.
+	 */
+	static final TailSegment EMPTY = new TailSegment();
+
+	private static final int FILTER_BLOCK_SHIFT = 2;
+	private static final int FILTER_BLOCKS_X = 16;
+	private static final int FILTER_BLOCKS_Y = 8;
+
+	private final TailSegment parent;
+
+	private final int minX;
+	private final int minY;
+	private final int maxX;
+	private final int maxY;
+	private final boolean jump;
+
+	/**
+	 * Bloom-style filter over blocks of cells. A cleared bit guarantees, that no
+	 * cell of the block is contained in this segment or any of its ancestors.
+	 */
+	private final long filterLow;
+	private final long filterHigh;
+
+	/**
+	 * {@link ZobristKeys Zobrist} hash of all cells of this segment and its
+	 * ancestors, independent of the order the cells were passed in.
+	 */
+	private final long hash;
+
+	/**
+	 * Creates the {@link TailSegment#EMPTY empty} segment.
+	 */
+	private TailSegment() {
+		this.parent = null;
+		this.minX = 0;
+		this.minY = 0;
+		this.maxX = -1;
+		this.maxY = -1;
+		this.jump = false;
+		this.filterLow = 0;
+		this.filterHigh = 0;
+		this.hash = 0;
+	}
+
+	/**
+	 * Creates a new {@link TailSegment} as successor of a parent segment. The
+	 * segment contains all cells of the axis aligned line between the start and
+	 * the end point or only these two points if the player jumped.
+	 *
+	 * @param parent segment of the previous round
+	 * @param startX x coordinate of the first passed cell
+	 * @param startY y coordinate of the first passed cell
+	 * @param endX   x coordinate of the last passed cell
+	 * @param endY   y coordinate of the last passed cell
+	 * @param jump   true if only the start and the end point are passed
+	 */
+	TailSegment(final TailSegment parent, final int startX, final int startY, final int endX, final int endY,
+			final boolean jump) {
+		this.parent = parent;
+		this.minX = Math.min(startX, endX);
+		this.minY = Math.min(startY, endY);
+		this.maxX = Math.max(startX, endX);
+		this.maxY = Math.max(startY, endY);
+		this.jump = jump;
+
+		long low = parent.filterLow;
+		long high = parent.filterHigh;
+		long cellsHash = parent.hash;
+		if (jump) {
+			low |= filterBitLow(filterIndex(minX, minY)) | filterBitLow(filterIndex(maxX, maxY));
+			high |= filterBitHigh(filterIndex(minX, minY)) | filterBitHigh(filterIndex(maxX, maxY));
+			cellsHash ^= ZobristKeys.cell(minX, minY) ^ ZobristKeys.cell(maxX, maxY);
+		} else {
+			for (int y = minY; y <= maxY; y++)
+				for (int x = minX; x <= maxX; x++)
+					cellsHash ^= ZobristKeys.cell(x, y);
+
+			for (int blockY = minY >> FILTER_BLOCK_SHIFT; blockY <= maxY >> FILTER_BLOCK_SHIFT; blockY++) {
+				for (int blockX = minX >> FILTER_BLOCK_SHIFT; blockX <= maxX >> FILTER_BLOCK_SHIFT; blockX++) {
+					final int index = blockIndex(blockX, blockY);
+					low |= filterBitLow(index);
+					high |= filterBitHigh(index);
+				}
+			}
+		}
+		this.filterLow = low;
+		this.filterHigh = high;
+		this.hash = cellsHash;
+	}
+
+	/**
+	 * Returns the {@link ZobristKeys Zobrist} hash of all cells of the tail. Tails
+	 * with the same cells have the same hash, regardless of the move order.
+	 *
+	 * @return hash of the cells of this segment and its ancestors
+	 */
+	long getHash() {
+		return hash;
+	}
+
+	/**
+	 * Calculates the index of the filter bit for a given cell.
+	 *
+	 * @param x x coordinate of the cell
+	 * @param y y coordinate of the cell
+	 * @return bit index between 0 and 127
+	 */
+	private static int filterIndex(final int x, final int y) {
+		return blockIndex(x >> FILTER_BLOCK_SHIFT, y >> FILTER_BLOCK_SHIFT);
+	}
+
+	/**
+	 * Calculates the index of the filter bit for a given block of cells.
+	 *
+	 * @param blockX x coordinate of the block
+	 * @param blockY y coordinate of the block
+	 * @return bit index between 0 and 127
+	 */
+	private static int blockIndex(final int blockX, final int blockY) {
+		return (blockX & (FILTER_BLOCKS_X - 1)) + (blockY & (FILTER_BLOCKS_Y - 1)) * FILTER_BLOCKS_X;
+	}
+
+	/**
+	 * Returns the bit of the lower filter word for a filter index.
+	 *
+	 * @param index bit index between 0 and 127
+	 * @return the bit or 0 if the index belongs to the higher word
+	 */
+	private static long filterBitLow(final int index) {
+		return index < Long.SIZE ? 1L << index : 0;
+	}
+
+	/**
+	 * Returns the bit of the higher filter word for a filter index.
+	 *
+	 * @param index bit index between 0 and 127
+	 * @return the bit or 0 if the index belongs to the lower word
+	 */
+	private static long filterBitHigh(final int index) {
+		return index >= Long.SIZE ? 1L << (index - Long.SIZE) : 0;
+	}
+
+	/**
+	 * Tests if the given cell is part of this segment only, ignoring all ancestors.
+	 *
+	 * @param x x coordinate of the cell
+	 * @param y y coordinate of the cell
+	 * @return true if the cell was passed in the round of this segment
+	 */
+	private boolean containsOwn(final int x, final int y) {
+		if (jump)
+			return (x == minX && y == minY) || (x == maxX && y == maxY);
+		return x >= minX && x <= maxX && y >= minY && y <= maxY;
+	}
+
+	/**
+	 * Tests if the given cell is part of this segment or any of its ancestors.
+	 *
+	 * @param x x coordinate of the cell
+	 * @param y y coordinate of the cell
+	 * @return true if the cell was passed by the tail
+	 */
+	boolean contains(final int x, final int y) {
+		final int index = filterIndex(x, y);
+		if ((filterBitLow(index) & filterLow) == 0 && (filterBitHigh(index) & filterHigh) == 0)
+			return false;
+		for (TailSegment segment = this; segment != EMPTY; segment = segment.parent) {
+			if (segment.containsOwn(x, y))
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Tests if any cell of this segment collides with an ancestor segment or an
+	 * occupied cell of the {@link Board}.
+	 *
+	 * @param board the {@link Board} to check for collisions
+	 * @return true if a collision is detected
+	 */
+	boolean isColliding(final Board<Cell> board) {
+		if (jump)
+			return isColliding(minX, minY, board) || isColliding(maxX, maxY, board);
+		for (int y = minY; y <= maxY; y++) {
+			for (int x = minX; x <= maxX; x++) {
+				if (isColliding(x, y, board))
+					return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Tests if a single cell collides with an ancestor segment or an occupied cell
+	 * of the {@link Board}.
+	 *
+	 * @param x     x coordinate of the cell
+	 * @param y     y coordinate of the cell
+	 * @param board the {@link Board} to check for collisions
+	 * @return true if a collision is detected
+	 */
+	private boolean isColliding(final int x, final int y, final Board<Cell> board) {
+		if (parent.contains(x, y))
+			return true;
+		return board.isOnBoard(x, y) && !board.isFree(x, y);
+	}
+
+	/**
+	 * Passes the cells of this segment to the consumer without allocating
+	 * {@link Point2i points}.
+	 *
+	 * @param consumer {@link IPointConsumer} receiving the cells passed in the
+	 *                 round of this segment
+	 */
+	void forEachPoint(final IPointConsumer consumer) {
+		if (this == EMPTY)
+			return;
+		if (jump) {
+			consumer.accept(minX, minY);
+			consumer.accept(maxX, maxY);
+		} else {
+			GridIteration.forEachPointInRectangle(minX, minY, maxX, maxY, consumer);
+		}
+	}
+
+	/**
+	 * The {@link Point2i points} passed in the round of this segment.
+	 *
+	 * @return the points of this segment as {@link List}
+	 */
+	List<Point2i> getPoints() {
+		if (this == EMPTY)
+			return new ArrayList<>();
+		final Point2i min = new Point2i(minX, minY);
+		final Point2i max = new Point2i(maxX, maxY);
+		if (jump)
+			return Arrays.asList(min, max);
+		return min.pointsInRectangle(max);
+	}
+
+	/**
+	 * Collects the {@link Point2i points} of all ancestors of this segment.
+	 *
+	 * @return the points passed before the round of this segment
+	 */
+	Set<Point2i> getAncestorPoints() {
+		final Set<Point2i> points = new HashSet<>();
+		for (TailSegment segment = parent; segment != null && segment != EMPTY; segment = segment.parent)
+			points.addAll(segment.getPoints());
+		return points;
+	}
+}
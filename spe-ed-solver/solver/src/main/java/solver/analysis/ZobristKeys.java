@@ -0,0 +1,113 @@
+package solver.analysis;
+
+/**
+ * Zobrist style keys for hashing search states. Instead of tables with random
+ * numbers, the keys are derived from the hashed components by the SplitMix64
+ * finalizer, so they do not depend on the board size. Combining keys with XOR
+ * makes the hash of a set of cells independent of the order the cells were
+ * added in.
+ */
+public final class ZobristKeys {
+
+	private static final long CELL_SEED = 0x9E3779B97F4A7C15L;
+	private static final long DIRECTION_SEED = 0xC2B2AE3D27D4EB4FL;
+	private static final long SPEED_SEED = 0x165667B19E3779F9L;
+	private static final long JUMP_PHASE_SEED = 0xD6E8FEB86659FD93L;
+	private static final long ROUND_SEED = 0xFF51AFD7ED558CCDL;
+	private static final long SALT_SEED = 0xC4CEB9FE1A85EC53L;
+	private static final long PLAYER_SEED = 0x8CB92BA72F3D8DD7L;
+
+	private ZobristKeys() {
+	}
+
+	/**
+	 * Mixes a value with the SplitMix64 finalizer.
+	 * 
+	 * @param value the value to mix
+	 * @return well distributed 64 bit key
+	 */
+	private static long mix(long value) {
+		value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+		value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+		return value ^ (value >>> 31);
+	}
+
+	/**
+	 * Returns the key of a single cell.
+	 * 
+	 * @param x the x coordinate of the cell
+	 * @param y the y coordinate of the cell
+	 * @return key of the cell
+	 */
+	public static long cell(final int x, final int y) {
+		return mix(CELL_SEED + (((long) x << 32) | (y & 0xFFFFFFFFL)));
+	}
+
+	/**
+	 * Returns the key of a direction given by its ordinal.
+	 * 
+	 * @param directionOrdinal the ordinal of the direction
+	 * @return key of the direction
+	 */
+	public static long direction(final int directionOrdinal) {
+		return mix(DIRECTION_SEED + directionOrdinal);
+	}
+
+	/**
+	 * Returns the key of a speed value.
+	 * 
+	 * @param speed the speed
+	 * @return key of the speed
+	 */
+	public static long speed(final int speed) {
+		return mix(SPEED_SEED + speed);
+	}
+
+	/**
+	 * Returns the key of the position in the jump cycle.
+	 * 
+	 * @param jumpPhase the round modulo the jump frequency
+	 * @return key of the jump phase
+	 */
+	public static long jumpPhase(final int jumpPhase) {
+		return mix(JUMP_PHASE_SEED + jumpPhase);
+	}
+
+	/**
+	 * Returns the key of a relative round.
+	 * 
+	 * @param round the relative round
+	 * @return key of the relative round
+	 */
+	public static long round(final int round) {
+		return mix(ROUND_SEED + round);
+	}
+
+	/**
+	 * Returns a key separating otherwise identical states, for example states of
+	 * different search roots sharing one table.
+	 * 
+	 * @param salt the value identifying the separated states
+	 * @return key of the salt
+	 */
+	public static long salt(final int salt) {
+		return mix(SALT_SEED + salt);
+	}
+
+	/**
+	 * Returns the key of a player state. Unlike the other keys, the key of the
+	 * whole state is not the XOR of the keys of its components, so the states of
+	 * different players do not cancel each other out.
+	 * 
+	 * @param playerIndex      the index of the player in the search
+	 * @param x                the x coordinate of the player
+	 * @param y                the y coordinate of the player
+	 * @param directionOrdinal the ordinal of the direction of the player
+	 * @param speed            the speed of the player
+	 * @return key of the player state
+	 */
+	public static long player(final int playerIndex, final int x, final int y, final int directionOrdinal,
+			final int speed) {
+		return mix(PLAYER_SEED + playerIndex + 3 * cell(x, y) + 5 * direction(directionOrdinal) + 7 * speed(speed));
+	}
+}
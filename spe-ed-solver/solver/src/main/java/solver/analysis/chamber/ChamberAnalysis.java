@@ -0,0 +1,423 @@
+package solver.analysis.chamber;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+
+import solver.analysis.PredictivePlayer;
+import utility.game.board.Board;
+import utility.game.board.Cell;
+import utility.game.board.ComponentLabels;
+import utility.game.player.IPlayer;
+import utility.game.player.PlayerAction;
+import utility.geometry.Point2i;
+
+/**
+ * Structural analysis of the graph of the free cells. For each connected
+ * component a depth first search in the style of Tarjan determines the
+ * articulation points: the cells whose occupation splits their component into
+ * separate chambers. The analysis is updated each round. The components are
+ * taken from incrementally updated {@link ComponentLabels}. Cells are only ever
+ * occupied and labels are never reused, so a component whose size did not
+ * change keeps its results and only the changed components are searched again.
+ * <p>
+ * Based on the search, a {@link RegionSplit} is calculated for a move of the
+ * own player. If the move occupies a single cell, the regions are read from the
+ * search tree in constant time: each child of the cell which is not connected
+ * above the cell becomes a separate chamber. Moves occupying multiple cells are
+ * evaluated by flood filling the affected regions.
+ */
+public class ChamberAnalysis {
+
+	private static final int NO_PARENT = -1;
+	private static final int NO_PIECE = Integer.MIN_VALUE;
+	private static final int REST_PIECE = -1;
+
+	private int width = -1;
+	private int height = -1;
+	private int paddedWidth;
+	private boolean[] occupied;
+	private int[] neighbourOffsets;
+	private final ComponentLabels labels = new ComponentLabels();
+
+	// results of the depth first search of each cell
+	private int[] component;
+	private int[] searchStamps;
+	private int searchStamp = 0;
+	private int[] discovery;
+	private int[] low;
+	private int[] subtreeSize;
+	private int[] parent;
+	private int[] nextNeighbour;
+	private int[] stack;
+	private int[] componentSizes;
+	private int[] searchedSizes = new int[16];
+	private int discoveryCounter = 0;
+	private int searchedCells = 0;
+
+	// scratch arrays of the flood fill, only valid for the current generation
+	private int[] visited;
+	private int[] pieceLabels;
+	private int[] queue;
+	private int[] pieceSizes = new int[16];
+	private int pieceCount = 0;
+	private int generation = 0;
+
+	// cells of the evaluated move and the chambers of a split
+	private final int[] tailCells = new int[16];
+	private int tailCount = 0;
+	private final int[] separatedChildren = new int[4];
+	private int separatedCount = 0;
+	private int restSize = 0;
+	private final int[] enemyPieces = new int[64];
+
+	/**
+	 * Updates the analysis with the occupied cells of the current {@link Board}.
+	 * Only the components whose size changed are searched again.
+	 * 
+	 * @param board the current {@link Board}
+	 */
+	public void update(final Board<Cell> board) {
+		searchedCells = 0;
+		labels.update(board);
+		if (board.getWidth() != width || board.getHeight() != height)
+			reset(board);
+		if (labels.isCompleteUpdate())
+			Arrays.fill(searchedSizes, 0);
+		if (searchedSizes.length < labels.getLabelCount())
+			searchedSizes = Arrays.copyOf(searchedSizes, Math.max(labels.getLabelCount(), searchedSizes.length * 2));
+		componentSizes = labels.getSizes();
+
+		final int[] cellLabels = labels.getLabels();
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				final int index = getPaddedIndex(x, y);
+				component[index] = cellLabels[y * width + x];
+				occupied[index] = component[index] == ComponentLabels.NO_COMPONENT;
+			}
+		}
+
+		searchStamp++;
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				final int index = getPaddedIndex(x, y);
+				if (!occupied[index] && searchedSizes[component[index]] != componentSizes[component[index]])
+					search(index);
+			}
+		}
+	}
+
+	/**
+	 * Allocates the arrays for the size of a {@link Board} and marks the cells
+	 * around the {@link Board} as occupied.
+	 * 
+	 * @param board the current {@link Board}
+	 */
+	private void reset(final Board<Cell> board) {
+		width = board.getWidth();
+		height = board.getHeight();
+		paddedWidth = width + 2;
+		final int cellCount = paddedWidth * (height + 2);
+		occupied = new boolean[cellCount];
+		Arrays.fill(occupied, true);
+		neighbourOffsets = new int[] { -paddedWidth, 1, paddedWidth, -1 };
+
+		component = new int[cellCount];
+		searchStamps = new int[cellCount];
+		searchStamp = 0;
+		discovery = new int[cellCount];
+		low = new int[cellCount];
+		subtreeSize = new int[cellCount];
+		parent = new int[cellCount];
+		nextNeighbour = new int[cellCount];
+		stack = new int[cellCount];
+
+		visited = new int[cellCount];
+		pieceLabels = new int[cellCount];
+		queue = new int[cellCount];
+	}
+
+	/**
+	 * Searches the component of a cell iteratively and stores the discovery time,
+	 * the lowest reachable discovery time and the subtree size of each cell.
+	 * 
+	 * @param root the first cell of the component
+	 */
+	private void search(final int root) {
+		int top = 0;
+		visit(root, NO_PARENT);
+		stack[top++] = root;
+		while (top > 0) {
+			final int cell = stack[top - 1];
+			if (nextNeighbour[cell] < neighbourOffsets.length) {
+				final int next = cell + neighbourOffsets[nextNeighbour[cell]++];
+				if (occupied[next])
+					continue;
+				if (searchStamps[next] != searchStamp) {
+					visit(next, cell);
+					stack[top++] = next;
+				} else if (next != parent[cell]) {
+					low[cell] = Math.min(low[cell], discovery[next]);
+				}
+			} else {
+				top--;
+				final int parentCell = parent[cell];
+				if (parentCell != NO_PARENT) {
+					subtreeSize[parentCell] += subtreeSize[cell];
+					low[parentCell] = Math.min(low[parentCell], low[cell]);
+				}
+			}
+		}
+		searchedSizes[component[root]] = subtreeSize[root];
+		searchedCells += subtreeSize[root];
+	}
+
+	private void visit(final int cell, final int parentCell) {
+		searchStamps[cell] = searchStamp;
+		discovery[cell] = discoveryCounter++;
+		low[cell] = discovery[cell];
+		subtreeSize[cell] = 1;
+		parent[cell] = parentCell;
+		nextNeighbour[cell] = 0;
+	}
+
+	private int getPaddedIndex(final int x, final int y) {
+		return (y + 1) * paddedWidth + x + 1;
+	}
+
+	/**
+	 * Returns the amount of cells searched by the last update.
+	 * 
+	 * @return the amount of searched cells
+	 */
+	public int getSearchedCellCount() {
+		return searchedCells;
+	}
+
+	/**
+	 * Returns the size of the component of a free cell.
+	 * 
+	 * @param position the position of the cell
+	 * @return the amount of cells of the component or 0 if the cell is occupied
+	 */
+	public int getComponentSize(final Point2i position) {
+		final int index = getPaddedIndex(position.getX(), position.getY());
+		return occupied[index] ? 0 : componentSizes[component[index]];
+	}
+
+	/**
+	 * Determines if occupying a free cell splits its component.
+	 * 
+	 * @param position the position of the cell
+	 * @return true if the cell is an articulation point
+	 */
+	public boolean isArticulationPoint(final Point2i position) {
+		final int index = getPaddedIndex(position.getX(), position.getY());
+		if (occupied[index])
+			return false;
+		findSeparatedChildren(index);
+		return parent[index] == NO_PARENT ? separatedCount > 1 : separatedCount > 0;
+	}
+
+	/**
+	 * Calculates the {@link RegionSplit} of each {@link PlayerAction} of the own
+	 * player, which does not lead to a collision.
+	 * 
+	 * @param self    the own {@link IPlayer}
+	 * @param enemies the enemy {@link IPlayer players}
+	 * @param board   the {@link Board} the analysis was updated with
+	 * @return the {@link RegionSplit} of each valid {@link PlayerAction}
+	 */
+	public Map<PlayerAction, RegionSplit> splitActions(final IPlayer self, final Collection<? extends IPlayer> enemies,
+			final Board<Cell> board) {
+		final Map<PlayerAction, RegionSplit> result = new EnumMap<>(PlayerAction.class);
+		final PredictivePlayer startPlayer = new PredictivePlayer(self);
+		for (final PlayerAction action : PlayerAction.values()) {
+			final PredictivePlayer nextPlayer = new PredictivePlayer(startPlayer, action, board);
+			if (nextPlayer.isActive())
+				result.put(action, split(nextPlayer, enemies));
+		}
+		return result;
+	}
+
+	/**
+	 * Calculates the regions of the own player and the enemies after a move of
+	 * the own player.
+	 * 
+	 * @param next    the active {@link PredictivePlayer} after the move
+	 * @param enemies the enemy {@link IPlayer players}
+	 * @return the {@link RegionSplit} of the move
+	 */
+	public RegionSplit split(final PredictivePlayer next, final Collection<? extends IPlayer> enemies) {
+		tailCount = 0;
+		next.forEachShortTailPoint((x, y) -> tailCells[tailCount++] = getPaddedIndex(x, y));
+		final int head = getPaddedIndex(next.getPosition().getX(), next.getPosition().getY());
+
+		// the regions of the enemies before the move are their components
+		int enemyRegionSizeBefore = 0;
+		int enemyPieceCount = 0;
+		for (final IPlayer enemy : enemies) {
+			if (!enemy.isActive() || !isOnBoard(enemy.getPosition()))
+				continue;
+			final int enemyHead = getPaddedIndex(enemy.getPosition().getX(), enemy.getPosition().getY());
+			for (final int offset : neighbourOffsets) {
+				final int cell = enemyHead + offset;
+				if (!occupied[cell] && !contains(enemyPieces, enemyPieceCount, component[cell])) {
+					enemyPieces[enemyPieceCount++] = component[cell];
+					enemyRegionSizeBefore += componentSizes[component[cell]];
+				}
+			}
+		}
+
+		final boolean singleCell = tailCount == 1;
+		if (singleCell) {
+			findSeparatedChildren(head);
+		} else {
+			generation++;
+			pieceCount = 0;
+			for (int i = 0; i < tailCount; i++)
+				occupied[tailCells[i]] = true;
+		}
+
+		int ownPiece = NO_PIECE;
+		int ownRegionSize = 0;
+		for (final int offset : neighbourOffsets) {
+			final int piece = singleCell ? getPieceAfterCell(head, head + offset) : getPiece(head + offset);
+			final int size = singleCell ? getPieceSizeAfterCell(piece) : getPieceSize(piece);
+			if (piece != NO_PIECE && size > ownRegionSize) {
+				ownPiece = piece;
+				ownRegionSize = size;
+			}
+		}
+
+		int enemyRegionSize = 0;
+		boolean shared = false;
+		enemyPieceCount = 0;
+		for (final IPlayer enemy : enemies) {
+			if (!enemy.isActive() || !isOnBoard(enemy.getPosition()))
+				continue;
+			final int enemyHead = getPaddedIndex(enemy.getPosition().getX(), enemy.getPosition().getY());
+			for (final int offset : neighbourOffsets) {
+				final int cell = enemyHead + offset;
+				final int piece = singleCell ? getPieceAfterCell(head, cell) : getPiece(cell);
+				if (piece == NO_PIECE || contains(enemyPieces, enemyPieceCount, piece))
+					continue;
+				enemyPieces[enemyPieceCount++] = piece;
+				enemyRegionSize += singleCell ? getPieceSizeAfterCell(piece) : getPieceSize(piece);
+				shared |= piece == ownPiece;
+			}
+		}
+
+		if (!singleCell) {
+			for (int i = 0; i < tailCount; i++)
+				occupied[tailCells[i]] = false;
+		}
+		return new RegionSplit(ownRegionSize, enemyRegionSize, enemyRegionSizeBefore, shared);
+	}
+
+	private boolean isOnBoard(final Point2i position) {
+		return position.getX() >= 0 && position.getY() >= 0 && position.getX() < width && position.getY() < height;
+	}
+
+	private static boolean contains(final int[] values, final int count, final int value) {
+		for (int i = 0; i < count; i++) {
+			if (values[i] == value)
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Stores the children of a cell in the search tree, which are separated from
+	 * the rest of the component if the cell is occupied, and the size of the rest.
+	 * 
+	 * @param cell the free cell
+	 */
+	private void findSeparatedChildren(final int cell) {
+		separatedCount = 0;
+		restSize = componentSizes[component[cell]] - 1;
+		for (final int offset : neighbourOffsets) {
+			final int child = cell + offset;
+			if (!occupied[child] && parent[child] == cell && low[child] >= discovery[cell]) {
+				separatedChildren[separatedCount++] = child;
+				restSize -= subtreeSize[child];
+			}
+		}
+	}
+
+	/**
+	 * Returns the chamber of a cell after another cell was occupied, based on the
+	 * {@link ChamberAnalysis#findSeparatedChildren(int) separated children} of the
+	 * occupied cell. The chamber of a separated child is identified by the child,
+	 * other components by their id.
+	 * 
+	 * @param removed the occupied cell
+	 * @param cell    the cell to get the chamber of
+	 * @return the id of the chamber or {@link ChamberAnalysis#NO_PIECE} for
+	 *         occupied cells
+	 */
+	private int getPieceAfterCell(final int removed, final int cell) {
+		if (occupied[cell] || cell == removed)
+			return NO_PIECE;
+		if (component[cell] != component[removed])
+			return component[cell];
+		for (int i = 0; i < separatedCount; i++) {
+			final int child = separatedChildren[i];
+			if (discovery[cell] >= discovery[child] && discovery[cell] < discovery[child] + subtreeSize[child])
+				return REST_PIECE - 1 - child;
+		}
+		return REST_PIECE;
+	}
+
+	private int getPieceSizeAfterCell(final int piece) {
+		if (piece == NO_PIECE)
+			return 0;
+		if (piece >= 0)
+			return componentSizes[piece];
+		if (piece == REST_PIECE)
+			return restSize;
+		return subtreeSize[REST_PIECE - 1 - piece];
+	}
+
+	/**
+	 * Returns the chamber of a cell by flood filling it, if it was not filled in
+	 * the current generation yet.
+	 * 
+	 * @param cell the cell to get the chamber of
+	 * @return the id of the chamber or {@link ChamberAnalysis#NO_PIECE} for
+	 *         occupied cells
+	 */
+	private int getPiece(final int cell) {
+		if (occupied[cell])
+			return NO_PIECE;
+		if (visited[cell] == generation)
+			return pieceLabels[cell];
+
+		if (pieceCount == pieceSizes.length)
+			pieceSizes = Arrays.copyOf(pieceSizes, pieceCount * 2);
+		final int piece = pieceCount++;
+		int queueHead = 0;
+		int queueTail = 0;
+		visited[cell] = generation;
+		pieceLabels[cell] = piece;
+		queue[queueTail++] = cell;
+		while (queueHead < queueTail) {
+			final int current = queue[queueHead++];
+			for (final int offset : neighbourOffsets) {
+				final int next = current + offset;
+				if (!occupied[next] && visited[next] != generation) {
+					visited[next] = generation;
+					pieceLabels[next] = piece;
+					queue[queueTail++] = next;
+				}
+			}
+		}
+		pieceSizes[piece] = queueTail;
+		return piece;
+	}
+
+	private int getPieceSize(final int piece) {
+		return piece == NO_PIECE ? 0 : pieceSizes[piece];
+	}
+}
@@ -0,0 +1,83 @@
+package solver.analysis.chamber;
+
+/**
+ * Sizes of the free regions after a move of the own player, calculated by a
+ * {@link ChamberAnalysis}. The own region is the largest region the player can
+ * enter after the move, the enemy region contains all regions next to the
+ * enemies.
+ */
+public final class RegionSplit {
+
+	private final int ownRegionSize;
+	private final int enemyRegionSize;
+	private final int enemyRegionSizeBefore;
+	private final boolean shared;
+
+	/**
+	 * Creates a new {@link RegionSplit}.
+	 * 
+	 * @param ownRegionSize         the size of the largest region the own player
+	 *                              can enter
+	 * @param enemyRegionSize       the size of all regions the enemies can enter
+	 * @param enemyRegionSizeBefore the size of all regions the enemies can enter
+	 *                              without the move
+	 * @param shared                true if the own region can be entered by an
+	 *                              enemy
+	 */
+	RegionSplit(final int ownRegionSize, final int enemyRegionSize, final int enemyRegionSizeBefore,
+			final boolean shared) {
+		this.ownRegionSize = ownRegionSize;
+		this.enemyRegionSize = enemyRegionSize;
+		this.enemyRegionSizeBefore = enemyRegionSizeBefore;
+		this.shared = shared;
+	}
+
+	/**
+	 * Returns the size of the largest region the own player can enter after the
+	 * move.
+	 * 
+	 * @return the amount of free cells of the own region
+	 */
+	public int getOwnRegionSize() {
+		return ownRegionSize;
+	}
+
+	/**
+	 * Returns the size of all regions next to an active enemy after the move.
+	 * 
+	 * @return the amount of free cells the enemies can enter
+	 */
+	public int getEnemyRegionSize() {
+		return enemyRegionSize;
+	}
+
+	/**
+	 * Returns the size of all regions next to an active enemy before the move.
+	 * 
+	 * @return the amount of free cells the enemies could enter before the move
+	 */
+	public int getEnemyRegionSizeBefore() {
+		return enemyRegionSizeBefore;
+	}
+
+	/**
+	 * Determines if the own region can be entered by an enemy.
+	 * 
+	 * @return true if an enemy is next to the own region
+	 */
+	public boolean isShared() {
+		return shared;
+	}
+
+	/**
+	 * Returns the part of the enemy region which is cut off by the move, either
+	 * because it was occupied or because the enemies cannot reach it anymore.
+	 * 
+	 * @return the cut off part of the enemy region between 0 and 1
+	 */
+	public double getCutOffRatio() {
+		if (enemyRegionSizeBefore == 0)
+			return 0;
+		return 1 - (double) enemyRegionSize / enemyRegionSizeBefore;
+	}
+}
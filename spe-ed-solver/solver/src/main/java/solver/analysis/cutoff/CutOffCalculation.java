@@ -6,6 +6,7 @@ import java.util.Map;
 import solver.analysis.ActionsRating;
 import utility.game.player.PlayerAction;
 import utility.geometry.FloatMatrix;
+import utility.geometry.FloatMatrixArena;
 import utility.geometry.Point2i;
 
 /**
@@ -20,13 +21,14 @@ public class CutOffCalculation {
 	 * 
 	 * @param width  the width of the board and the resulting {@link FloatMatrix}
 	 * @param height the height of the board and the resulting {@link FloatMatrix}
+	 * @param arena  the {@link FloatMatrixArena} to obtain the result matrices from
 	 */
-	public CutOffCalculation(int width, int height) {
+	public CutOffCalculation(int width, int height, FloatMatrixArena arena) {
 		ratingsResult = new ActionsRating();
 		this.matrixResult = new EnumMap<>(PlayerAction.class);
 
 		for (final PlayerAction action : PlayerAction.values()) {
-			matrixResult.put(action, new FloatMatrix(width, height, 0));
+			matrixResult.put(action, arena.obtainTracking(width, height, 0));
 		}
 	}
 
@@ -52,9 +54,8 @@ public class CutOffCalculation {
 		for (final PlayerAction action : PlayerAction.values()) {
 			final FloatMatrix otherMatrix = other.matrixResult.get(action);
 
-			matrixResult.computeIfPresent(action, (k, v) -> v.max(otherMatrix));
-
 			final FloatMatrix selfMatrix = this.matrixResult.get(action);
+			selfMatrix.maxInPlace(otherMatrix);
 			ratingsResult.setRating(action, selfMatrix.max());
 		}
 	}
@@ -3,27 +3,48 @@ package solver.analysis.enemyprobability;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ForkJoinTask;
 
+import solver.SolverExecutor;
 import utility.game.board.Board;
 import utility.game.board.Cell;
 import utility.game.player.IPlayer;
 import utility.geometry.FloatMatrix;
-import utility.geometry.Point2i;
-import utility.logging.ApplicationLogger;
-import utility.logging.LoggingLevel;
+import utility.geometry.FloatMatrixArena;
 
 /**
  * Performs the {@link SingleEnemyPrediction} for each given player and combines
- * the results. The results are stored locally until they are updated.
+ * the results. The results are stored locally until they are updated. The
+ * predictions can run in the background while the calling thread does work
+ * which does not depend on them.
  */
 public class EnemyProbabilityCalculator {
 
 	private final int searchDepth;
+	private final FloatMatrixArena matrixArena;
+	private final SolverExecutor executor;
 	private FloatMatrix probabilities;
 	private FloatMatrix minSteps;
 
-	public EnemyProbabilityCalculator(final int searchDepth) {
+	// the running predictions of the current round
+	private final List<SingleEnemyPrediction> predictions = new ArrayList<>();
+	private List<ForkJoinTask<?>> predictionTasks = new ArrayList<>();
+	private Board<Cell> predictedBoard;
+
+	/**
+	 * Creates a new {@link EnemyProbabilityCalculator}.
+	 * 
+	 * @param searchDepth recursive search depth of each
+	 *                    {@link SingleEnemyPrediction}
+	 * @param matrixArena {@link FloatMatrixArena} to obtain the result matrices
+	 *                    from, the results are valid until the arena is reset
+	 * @param executor    {@link SolverExecutor} to run the predictions in
+	 */
+	public EnemyProbabilityCalculator(final int searchDepth, final FloatMatrixArena matrixArena,
+			final SolverExecutor executor) {
 		this.searchDepth = searchDepth;
+		this.matrixArena = matrixArena;
+		this.executor = executor;
 	}
 
 	/**
@@ -34,46 +55,58 @@ public class EnemyProbabilityCalculator {
 	 * @param board   {@link Board} to check for collisions
 	 */
 	public void performCalculation(final Collection<IPlayer> enemies, final Board<Cell> board) {
+		startCalculation(enemies, board);
+		finishCalculation();
+	}
 
-		final List<SingleEnemyPrediction> predictions = new ArrayList<>();
-		final List<Thread> threads = new ArrayList<>();
+	/**
+	 * Starts the calculation of the probabilities and min steps for each of the
+	 * given {@link IPlayer} enemies in the {@link SolverExecutor} and returns
+	 * immediately. The results are available after
+	 * {@link EnemyProbabilityCalculator#finishCalculation()}.
+	 * 
+	 * @param enemies {@link IPlayer players} to calculate the probabilities for
+	 * @param board   {@link Board} to check for collisions
+	 */
+	public void startCalculation(final Collection<IPlayer> enemies, final Board<Cell> board) {
+		predictions.clear();
+		predictedBoard = board;
+		final List<Runnable> tasks = new ArrayList<>();
 
 		for (final IPlayer enemy : enemies) {
-			final SingleEnemyPrediction prediction = new SingleEnemyPrediction(board, enemy);
+			final SingleEnemyPrediction prediction = new SingleEnemyPrediction(board, enemy, matrixArena);
 			predictions.add(prediction);
-			final Thread thread = new Thread(() -> prediction.doCalculation(searchDepth));
-			thread.start();
-			threads.add(thread);
+			tasks.add(() -> prediction.doCalculation(searchDepth));
 		}
 
-		for (final Thread thread : threads) {
-			try {
-				thread.join();
-			} catch (InterruptedException e) {
-				ApplicationLogger.logException(e, LoggingLevel.WARNING);
-			}
-		}
+		predictionTasks = executor.submitAll(tasks);
+	}
+
+	/**
+	 * Waits for the predictions started by
+	 * {@link EnemyProbabilityCalculator#startCalculation(Collection, Board)} and
+	 * combines their results.
+	 */
+	public void finishCalculation() {
+		executor.joinAll(predictionTasks);
+		predictionTasks = new ArrayList<>();
+		final Board<Cell> board = predictedBoard;
 
 		final SingleEnemyPrediction firstElement = predictions.remove(0);
 		probabilities = firstElement.getProbabilitiesMatrix();
 		minSteps = firstElement.getMinStepsMatrix();
 
 		for (final SingleEnemyPrediction prediction : predictions) {
-			probabilities = probabilities.max(prediction.getProbabilitiesMatrix());
-			minSteps = minSteps.min(prediction.getMinStepsMatrix());
+			probabilities.maxInPlace(prediction.getProbabilitiesMatrix());
+			minSteps.minInPlace(prediction.getMinStepsMatrix());
 		}
 
-		for (int y = 0; y < board.getHeight(); y++) {
-			for (int x = 0; x < board.getWidth(); x++) {
-				final Point2i position = new Point2i(x, y);
-				if (!board.getBoardCellAt(position).isEmpty()) {
-					probabilities.setValue(position, 1);
-					minSteps.setValue(position, 0);
-				}
-				if (minSteps.getValue(position) == Integer.MAX_VALUE)
-					minSteps.setValue(position, searchDepth + 1);
-			}
+		// only visit the occupied cells
+		for (int index = board.nextOccupiedIndex(0); index >= 0; index = board.nextOccupiedIndex(index + 1)) {
+			probabilities.setValue(index, 1);
+			minSteps.setValue(index, 0);
 		}
+		minSteps.replaceInPlace(Integer.MAX_VALUE, searchDepth + 1);
 	}
 
 	/**
@@ -1,6 +1,7 @@
 package solver.analysis.enemyprobability;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import solver.analysis.PredictivePlayer;
@@ -9,7 +10,8 @@ import utility.game.board.Cell;
 import utility.game.player.IPlayer;
 import utility.game.player.PlayerAction;
 import utility.geometry.FloatMatrix;
-import utility.geometry.Point2i;
+import utility.geometry.FloatMatrixArena;
+import utility.geometry.GridIteration;
 
 /**
  * Calculates the enemy forward prediction for a single {@link IPlayer}. Done by
@@ -19,11 +21,22 @@ import utility.geometry.Point2i;
  */
 public class SingleEnemyPrediction {
 
+	private static final int FLOOD_FILL_ENTRY_SIZE = 4;
+
 	private final Board<Cell> board;
 
 	private final IPlayer player;
 
-	private final List<FloodFillPoint> floodFillPoints = new ArrayList<>();
+	private final FloatMatrixArena matrixArena;
+
+	/**
+	 * Stack of the points which still have to be flood filled. Each entry uses
+	 * {@link SingleEnemyPrediction#FLOOD_FILL_ENTRY_SIZE} integers: the relative
+	 * round, the {@link GridIteration#pack(int, int) packed} position, the speed
+	 * and a counter of the steps done with the current speed.
+	 */
+	private int[] floodFillStack = new int[FLOOD_FILL_ENTRY_SIZE * 64];
+	private int floodFillStackSize = 0;
 
 	private FloatMatrix probabilities;
 	private FloatMatrix minSteps;
@@ -32,12 +45,16 @@ public class SingleEnemyPrediction {
 	 * Creates a new {@link SingleEnemyPrediction} calculation object for the given
 	 * {@link IPlayer}.
 	 * 
-	 * @param board  the {@link Board board} the {@link IPlayer player} moves on
-	 * @param player the {@link IPlayer} the calculation is for
+	 * @param board       the {@link Board board} the {@link IPlayer player} moves
+	 *                    on
+	 * @param player      the {@link IPlayer} the calculation is for
+	 * @param matrixArena the {@link FloatMatrixArena} to obtain the result
+	 *                    matrices from
 	 */
-	public SingleEnemyPrediction(final Board<Cell> board, final IPlayer player) {
+	public SingleEnemyPrediction(final Board<Cell> board, final IPlayer player, final FloatMatrixArena matrixArena) {
 		this.board = board;
 		this.player = player;
+		this.matrixArena = matrixArena;
 	}
 
 	/**
@@ -59,9 +76,9 @@ public class SingleEnemyPrediction {
 	 * @param maxSteps the maximum amount of predicted rounds
 	 */
 	private void clearResults(final int maxSteps) {
-		this.probabilities = new FloatMatrix(board.getWidth(), board.getHeight(),
-				1 / Math.pow(PlayerAction.values().length, maxSteps + 1));
-		this.minSteps = new FloatMatrix(board.getWidth(), board.getHeight(), Integer.MAX_VALUE);
+		this.probabilities = matrixArena.obtain(board.getWidth(), board.getHeight(),
+				1 / Math.pow(PlayerAction.values().length, maxSteps + 1), true);
+		this.minSteps = matrixArena.obtain(board.getWidth(), board.getHeight(), Integer.MAX_VALUE);
 	}
 
 	/**
@@ -85,15 +102,17 @@ public class SingleEnemyPrediction {
 
 		for (final PredictivePlayer child : validChildren) {
 
-			for (final Point2i point : child.getShortTail()) {
-				probabilities.add(point, childProbability);
-				minSteps.min(point, depth);
-			}
+			child.forEachShortTailPoint((x, y) -> {
+				final int index = probabilities.getIndex(x, y);
+				probabilities.add(index, childProbability);
+				minSteps.min(index, depth);
+			});
 
 			if (depth <= maxDepth)
 				doRecursiveStep(child, childProbability, depth + 1, maxDepth);
 			else
-				floodFillPoints.add(new FloodFillPoint(depth, child.getPosition(), child.getSpeed()));
+				pushFloodFillPoint(depth, GridIteration.pack(child.getPosition().getX(), child.getPosition().getY()),
+						child.getSpeed(), 1);
 		}
 	}
 
@@ -114,26 +133,57 @@ public class SingleEnemyPrediction {
 	}
 
 	/**
-	 * Executes flood fill for the remaining minimum steps.
+	 * Executes flood fill for the remaining minimum steps. After as many steps as
+	 * the speed of a point, the relative round and the speed are increased.
 	 */
 	private void floodFill() {
-		while (!floodFillPoints.isEmpty()) {
-			final FloodFillPoint current = floodFillPoints.remove(floodFillPoints.size() - 1);
-
-			final List<Point2i> nextPoints = current.getPosition().vonNeumannNeighborhood();
-
-			for (final Point2i nextPoint : nextPoints) {
-				if (board.isOnBoard(nextPoint)) {
-					final FloodFillPoint next = current.next(nextPoint);
-					if (next.getRound() < minSteps.getValue(nextPoint)) {
-						minSteps.setValue(next.getPosition(), next.getRound());
-						floodFillPoints.add(next);
-					}
+		while (floodFillStackSize > 0) {
+			floodFillStackSize -= FLOOD_FILL_ENTRY_SIZE;
+			final int round = floodFillStack[floodFillStackSize];
+			final int position = floodFillStack[floodFillStackSize + 1];
+			final int speed = floodFillStack[floodFillStackSize + 2];
+			final int speedCounter = floodFillStack[floodFillStackSize + 3];
+
+			for (int i = 0; i < GridIteration.VON_NEUMANN_NEIGHBOR_COUNT; i++) {
+				final int nextPosition = GridIteration.vonNeumannNeighbor(position, i);
+				final int nextX = GridIteration.unpackX(nextPosition);
+				final int nextY = GridIteration.unpackY(nextPosition);
+				if (!board.isOnBoard(nextX, nextY))
+					continue;
+
+				final boolean nextRound = speedCounter == speed;
+				final int next = nextRound ? round + 1 : round;
+				final int index = minSteps.getIndex(nextX, nextY);
+				if (next < minSteps.getValue(index)) {
+					minSteps.setValue(index, next);
+					if (nextRound)
+						pushFloodFillPoint(next, nextPosition, Math.max(speed + 1, IPlayer.MAX_SPEED), 1);
+					else
+						pushFloodFillPoint(next, nextPosition, speed, speedCounter + 1);
 				}
 			}
 		}
 	}
 
+	/**
+	 * Adds a point to the flood fill stack.
+	 * 
+	 * @param round        the relative round from the enemy probability calculation
+	 * @param position     the {@link GridIteration#pack(int, int) packed} position
+	 * @param speed        the speed of the {@link IPlayer}
+	 * @param speedCounter the steps done with the current speed, including the
+	 *                     step to the position
+	 */
+	private void pushFloodFillPoint(final int round, final int position, final int speed, final int speedCounter) {
+		if (floodFillStackSize == floodFillStack.length)
+			floodFillStack = Arrays.copyOf(floodFillStack, floodFillStack.length * 2);
+		floodFillStack[floodFillStackSize] = round;
+		floodFillStack[floodFillStackSize + 1] = position;
+		floodFillStack[floodFillStackSize + 2] = speed;
+		floodFillStack[floodFillStackSize + 3] = speedCounter;
+		floodFillStackSize += FLOOD_FILL_ENTRY_SIZE;
+	}
+
 	/**
 	 * Returns the probability result of the calculation as {@link FloatMatrix}.
 	 * 
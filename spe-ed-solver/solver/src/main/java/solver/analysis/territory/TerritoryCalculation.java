@@ -0,0 +1,266 @@
+package solver.analysis.territory;
+
+import java.util.Collection;
+
+import solver.analysis.ActionsRating;
+import solver.analysis.PredictivePlayer;
+import utility.game.board.BitBoard;
+import utility.game.board.Board;
+import utility.game.board.Cell;
+import utility.game.player.IPlayer;
+import utility.game.player.PlayerAction;
+
+/**
+ * Calculation of the territory of the own player: the cells it reaches strictly
+ * before every enemy. All players are expanded at once by a multi source
+ * breadth first search on the words of {@link BitBoard bit boards}, each step
+ * dilates the whole frontier of a player with a few shifts per 64 cells. Cells
+ * reached by the own player and an enemy in the same step belong to nobody and
+ * block both. The search counts steps of single cells and ignores the speed of
+ * the players. The scratch boards are reused, so an instance must not be used
+ * by multiple threads at once.
+ */
+public class TerritoryCalculation {
+
+	private int width = -1;
+	private int height = -1;
+	private int wordsPerRow;
+	private int stride;
+
+	// boards of the rating of the actions
+	private BitBoard occupied;
+	private BitBoard enemyHeads;
+	private BitBoard start;
+
+	// words of the expansion with an empty word around each row and an empty row
+	// around the board, the blocked cells contain the bits behind each row
+	private long paddingMask;
+	private long[] blocked;
+	private long[] own;
+	private long[] enemy;
+	private long[] nextOwn;
+	private long[] nextEnemy;
+
+	// rows containing cells of any frontier
+	private boolean[] activeRows;
+	private boolean[] nextActiveRows;
+
+	/**
+	 * Calculates the {@link ActionsRating} of the territory after each
+	 * {@link PlayerAction}. The enemies answer the action with their next step,
+	 * afterwards all players expand simultaneously. The rating is normalized to
+	 * the largest territory, actions leading to a collision are rated with 0.
+	 * 
+	 * @param self    the own {@link IPlayer}
+	 * @param enemies the enemy {@link IPlayer players}
+	 * @param board   the current {@link Board}
+	 * @return the territory {@link ActionsRating}
+	 */
+	public ActionsRating getActionsRating(final IPlayer self, final Collection<? extends IPlayer> enemies,
+			final Board<Cell> board) {
+		prepare(board.getWidth(), board.getHeight());
+
+		occupied.copyFrom(BitBoard.ofOccupiedCells(board));
+		enemyHeads.clear();
+		for (final IPlayer enemyPlayer : enemies) {
+			if (enemyPlayer.isActive() && board.isOnBoard(enemyPlayer.getPosition()))
+				enemyHeads.set(enemyPlayer.getPosition().getX(), enemyPlayer.getPosition().getY());
+		}
+
+		final PredictivePlayer startPlayer = new PredictivePlayer(self);
+		final ActionsRating result = new ActionsRating();
+		for (final PlayerAction action : PlayerAction.values()) {
+			final PredictivePlayer nextPlayer = new PredictivePlayer(startPlayer, action, board);
+			if (!nextPlayer.isActive()) {
+				result.setRating(action, 0);
+				continue;
+			}
+
+			// the enemies answer the own action
+			start.copyFrom(occupied);
+			nextPlayer.forEachShortTailPoint(start::set);
+			setBlocked(start);
+			start.dilate(enemyHeads);
+			copyWords(start, enemy);
+			andNotWords(enemy, blocked);
+			orWords(blocked, enemy);
+
+			start.clear();
+			start.set(nextPlayer.getPosition().getX(), nextPlayer.getPosition().getY());
+			copyWords(start, own);
+			result.setRating(action, expand());
+		}
+		result.normalize();
+		return result;
+	}
+
+	/**
+	 * Counts the cells the own player reaches strictly before every enemy.
+	 * 
+	 * @param occupiedCells the occupied cells, which are not reachable by anyone
+	 * @param ownCells      the cells the own player starts from
+	 * @param enemyCells    the cells the enemies start from
+	 * @return the amount of cells of the own territory, without the start cells
+	 */
+	public int countOwnCells(final BitBoard occupiedCells, final BitBoard ownCells, final BitBoard enemyCells) {
+		prepare(occupiedCells.getWidth(), occupiedCells.getHeight());
+		setBlocked(occupiedCells);
+		copyWords(ownCells, own);
+		copyWords(enemyCells, enemy);
+		orWords(blocked, own);
+		orWords(blocked, enemy);
+		return expand();
+	}
+
+	/**
+	 * Expands the own and enemy frontiers step by step until the own player
+	 * cannot reach any further cell. Both frontiers have to be contained in the
+	 * blocked cells. Each step is a single pass over the words of all boards,
+	 * rows without frontier cells next to them are skipped.
+	 * 
+	 * @return the amount of cells reached by the own player first
+	 */
+	private int expand() {
+		// the arrays are swapped in local variables, so the fields keep all buffers
+		final long[] blockedWords = blocked;
+		long[] ownWords = own;
+		long[] enemyWords = enemy;
+		long[] nextOwnWords = nextOwn;
+		long[] nextEnemyWords = nextEnemy;
+		boolean[] rows = activeRows;
+		boolean[] nextRows = nextActiveRows;
+
+		for (int y = 0; y < height; y++) {
+			rows[y] = false;
+			for (int index = getRowStart(y); index < getRowStart(y) + wordsPerRow; index++)
+				rows[y] |= (ownWords[index] | enemyWords[index]) != 0;
+		}
+
+		int count = 0;
+		boolean ownActive = true;
+		while (ownActive) {
+			ownActive = false;
+			for (int y = 0; y < height; y++) {
+				final int rowStart = getRowStart(y);
+				final int rowEnd = rowStart + wordsPerRow;
+				if (!rows[y] && (y == 0 || !rows[y - 1]) && (y == height - 1 || !rows[y + 1])) {
+					for (int index = rowStart; index < rowEnd; index++) {
+						nextOwnWords[index] = 0;
+						nextEnemyWords[index] = 0;
+					}
+					nextRows[y] = false;
+					continue;
+				}
+
+				boolean rowActive = false;
+				for (int index = rowStart; index < rowEnd; index++) {
+					final long free = ~blockedWords[index];
+					final long ownReached = dilate(ownWords, index) & free;
+					final long enemyReached = dilate(enemyWords, index) & free;
+
+					final long ownWord = ownReached & ~enemyReached;
+					nextOwnWords[index] = ownWord;
+					nextEnemyWords[index] = enemyReached & ~ownReached;
+					blockedWords[index] |= ownReached | enemyReached;
+					count += Long.bitCount(ownWord);
+					ownActive |= ownWord != 0;
+					rowActive |= (ownReached | enemyReached) != 0;
+				}
+				nextRows[y] = rowActive;
+			}
+
+			final long[] swappedOwn = ownWords;
+			ownWords = nextOwnWords;
+			nextOwnWords = swappedOwn;
+			final long[] swappedEnemy = enemyWords;
+			enemyWords = nextEnemyWords;
+			nextEnemyWords = swappedEnemy;
+			final boolean[] swappedRows = rows;
+			rows = nextRows;
+			nextRows = swappedRows;
+		}
+		return count;
+	}
+
+	/**
+	 * Returns a word of a frontier with the horizontal and vertical neighbours of
+	 * its cells. Bits behind the last cell of a row have to be removed by the
+	 * blocked cells.
+	 * 
+	 * @param frontier the words of the frontier
+	 * @param index    the index of the word
+	 * @return the dilated word
+	 */
+	private long dilate(final long[] frontier, final int index) {
+		final long center = frontier[index];
+		return center | (center << 1) | (center >>> 1) | (frontier[index - 1] >>> (Long.SIZE - 1))
+				| (frontier[index + 1] << (Long.SIZE - 1)) | frontier[index - stride] | frontier[index + stride];
+	}
+
+	private int getRowStart(final int y) {
+		return (y + 1) * stride + 1;
+	}
+
+	/**
+	 * Overwrites the blocked cells with the cells of a {@link BitBoard} and the
+	 * bits behind each row.
+	 * 
+	 * @param cells the {@link BitBoard} of the blocked cells
+	 */
+	private void setBlocked(final BitBoard cells) {
+		copyWords(cells, blocked);
+		for (int y = 0; y < height; y++)
+			blocked[getRowStart(y) + wordsPerRow - 1] |= paddingMask;
+	}
+
+	/**
+	 * Overwrites the words of the board in an expansion array with the cells of a
+	 * {@link BitBoard}.
+	 * 
+	 * @param source the {@link BitBoard} to copy
+	 * @param target the expansion array to copy to
+	 */
+	private void copyWords(final BitBoard source, final long[] target) {
+		for (int y = 0; y < height; y++)
+			System.arraycopy(source.getWords(), y * wordsPerRow, target, getRowStart(y), wordsPerRow);
+	}
+
+	private static void orWords(final long[] target, final long[] other) {
+		for (int i = 0; i < target.length; i++)
+			target[i] |= other[i];
+	}
+
+	private static void andNotWords(final long[] target, final long[] other) {
+		for (int i = 0; i < target.length; i++)
+			target[i] &= ~other[i];
+	}
+
+	/**
+	 * Creates the scratch boards if the board size changed.
+	 * 
+	 * @param width  the width of the board
+	 * @param height the height of the board
+	 */
+	private void prepare(final int width, final int height) {
+		if (this.width == width && this.height == height)
+			return;
+
+		this.width = width;
+		this.height = height;
+		this.occupied = new BitBoard(width, height);
+		this.enemyHeads = new BitBoard(width, height);
+		this.start = new BitBoard(width, height);
+		this.wordsPerRow = occupied.getWordsPerRow();
+		this.stride = wordsPerRow + 2;
+		this.paddingMask = width % Long.SIZE == 0 ? 0 : -1L << width;
+
+		final int wordCount = stride * (height + 2);
+		this.blocked = new long[wordCount];
+		this.own = new long[wordCount];
+		this.enemy = new long[wordCount];
+		this.nextOwn = new long[wordCount];
+		this.nextEnemy = new long[wordCount];
+		this.activeRows = new boolean[height];
+		this.nextActiveRows = new boolean[height];
+	}
+}
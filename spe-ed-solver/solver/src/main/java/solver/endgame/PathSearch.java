@@ -0,0 +1,172 @@
+package solver.endgame;
+
+import solver.CancellationToken;
+import utility.game.player.PlayerAction;
+
+/**
+ * Depth first search for the longest path of the own player in an isolated
+ * region, used by a single thread of the {@link RegionSolver}. States which
+ * cannot beat the best known path according to the
+ * {@link PathState#getUpperBound() upper bound} are cut off. The results of
+ * searched states are stored in a shared {@link PathTable}. The actions leading
+ * along the walls are searched first, so good paths are found early and the
+ * search can be stopped at any time. The search stops as soon as the
+ * {@link CancellationToken} shared by all searches is cancelled.
+ */
+final class PathSearch {
+
+	private static final PlayerAction[] ACTIONS = PlayerAction.values();
+
+	private final PathState state;
+	private final PathTable table;
+	private final CancellationToken token;
+
+	// actions and their order keys of each depth
+	private final PlayerAction[][] orderedActions;
+	private final int[][] orderKeys;
+
+	private long nodeCount = 0;
+	private long stopTime = Long.MAX_VALUE;
+	private boolean aborted = false;
+	private int longestPath = 0;
+
+	/**
+	 * Creates a new {@link PathSearch}.
+	 * 
+	 * @param state the {@link PathState} to search, owned by this search
+	 * @param table the {@link PathTable} shared by all searches
+	 * @param token the {@link CancellationToken} to share the search time until
+	 */
+	PathSearch(final PathState state, final PathTable table, final CancellationToken token) {
+		this.state = state;
+		this.table = table;
+		this.token = token;
+		this.orderedActions = new PlayerAction[state.getMaxDepth() + 1][ACTIONS.length];
+		this.orderKeys = new int[state.getMaxDepth() + 1][ACTIONS.length];
+	}
+
+	/**
+	 * Searches the amount of rounds the own player survives after a first action.
+	 * The search gets an equal share of the remaining time of all first actions
+	 * this search still has to search.
+	 * 
+	 * @param action           the first {@link PlayerAction}, has to be
+	 *                         {@link PathState#isSafe(PlayerAction) safe}
+	 * @param alpha            the amount of rounds another first action already
+	 *                         survives
+	 * @param remainingActions the amount of first actions which are still to be
+	 *                         searched, including this one
+	 * @return the amount of survived rounds including the first action, an upper
+	 *         bound if it is not greater than alpha
+	 */
+	int searchAction(final PlayerAction action, final int alpha, final int remainingActions) {
+		stopTime = System.currentTimeMillis() + token.getRemainingMilliseconds() / remainingActions;
+		aborted = false;
+		longestPath = 0;
+		state.play(action);
+		final int rounds = 1 + search(alpha - 1);
+		state.undo();
+		return rounds;
+	}
+
+	/**
+	 * Returns the length of the longest path found by the last
+	 * {@link PathSearch#searchAction(PlayerAction, int, int) search}, which is a
+	 * lower bound of the survivable rounds even if the search was aborted.
+	 * 
+	 * @return the amount of rounds of the longest found path
+	 */
+	int getLongestPath() {
+		return longestPath;
+	}
+
+	/**
+	 * Determines if the last search was aborted because its time was over or the
+	 * {@link CancellationToken} was cancelled.
+	 * 
+	 * @return true if the search was aborted
+	 */
+	boolean isAborted() {
+		return aborted;
+	}
+
+	/**
+	 * Returns the amount of searched states.
+	 * 
+	 * @return the amount of searched states
+	 */
+	long getNodeCount() {
+		return nodeCount;
+	}
+
+	/**
+	 * Searches the amount of rounds which can be survived from the current state.
+	 * 
+	 * @param alpha the amount of rounds which has to be beaten to matter
+	 * @return the amount of survivable rounds, an upper bound if it is not greater
+	 *         than alpha
+	 */
+	private int search(final int alpha) {
+		final int depth = state.getDepth();
+		longestPath = Math.max(longestPath, depth);
+
+		nodeCount++;
+		if (token.isCancelled(nodeCount)
+				|| (nodeCount % CancellationToken.POLL_INTERVAL == 0 && System.currentTimeMillis() > stopTime))
+			aborted = true;
+		if (aborted || depth == state.getMaxDepth())
+			return 0;
+
+		final long key = state.getHash();
+		final long data = table.probe(key);
+		if (data != 0 && (PathTable.isExact(data) || PathTable.getRounds(data) <= alpha))
+			return PathTable.getRounds(data);
+
+		final int bound = state.getUpperBound();
+		if (bound <= alpha)
+			return bound;
+
+		final int actionCount = orderActions(depth);
+		int best = 0;
+		for (int i = 0; i < actionCount && best < bound; i++) {
+			state.play(orderedActions[depth][i]);
+			final int rounds = 1 + search(Math.max(alpha, best) - 1);
+			state.undo();
+			if (aborted)
+				return best;
+			best = Math.max(best, rounds);
+		}
+
+		table.store(key, best, best > alpha);
+		return best;
+	}
+
+	/**
+	 * Stores the safe actions of the current state in the order they are searched,
+	 * the actions ending next to the fewest free cells first.
+	 * 
+	 * @param depth the depth of the current state
+	 * @return the amount of safe actions
+	 */
+	private int orderActions(final int depth) {
+		final PlayerAction[] actions = orderedActions[depth];
+		final int[] keys = orderKeys[depth];
+		int count = 0;
+		for (final PlayerAction action : ACTIONS) {
+			if (!state.isSafe(action))
+				continue;
+
+			// insertion sort by the amount of free neighbours
+			final int key = state.countFreeNeighboursAfter(action);
+			int position = count++;
+			while (position > 0 && keys[position - 1] > key) {
+				keys[position] = keys[position - 1];
+				actions[position] = actions[position - 1];
+				position--;
+			}
+			keys[position] = key;
+			actions[position] = action;
+		}
+		return count;
+	}
+}
@@ -0,0 +1,283 @@
+package solver.endgame;
+
+import solver.analysis.ZobristKeys;
+import utility.game.board.BitBoard;
+import utility.game.board.Board;
+import utility.game.board.Cell;
+import utility.game.player.IPlayer;
+import utility.game.player.MoveTable;
+import utility.game.player.MoveTransition;
+import utility.game.player.PlayerAction;
+import utility.game.player.PlayerDirection;
+
+/**
+ * Mutable state of the own player filling an isolated region, used by the
+ * {@link RegionSolver}. Only moves with a resulting speed of at most
+ * {@link PathState#MAX_SPEED} are allowed. At these speeds the player never
+ * jumps, so all passed cells form a path of neighbouring cells. Each
+ * {@link PathState#play(PlayerAction) round} can be
+ * {@link PathState#undo() undone}, the hash of the occupied cells is updated
+ * incrementally.
+ */
+final class PathState {
+
+	/**
+	 * Maximum speed of the searched moves. Faster moves waste cells and may
+	 * jump out of the region.
+	 */
+	static final int MAX_SPEED = 2;
+
+	private final BitBoard board;
+	private final int maxDepth;
+
+	private int x;
+	private int y;
+	private int speed;
+	private PlayerDirection direction;
+	private long cellHash;
+	private int depth = 0;
+
+	// previous player states and set cells of each played round
+	private final int[] undoX;
+	private final int[] undoY;
+	private final int[] undoSpeed;
+	private final PlayerDirection[] undoDirection;
+
+	// occupied cells with an occupied border and scratch arrays of the upper
+	// bound, the scratch arrays are only valid for the current generation
+	private final int paddedWidth;
+	private final boolean[] occupied;
+	private final int[] neighbourOffsets;
+	private final int[] visited;
+	private final int[] queue;
+	private int generation = 0;
+
+	/**
+	 * Creates a new {@link PathState}.
+	 * 
+	 * @param self     the own player
+	 * @param board    the current {@link Board}
+	 * @param maxDepth the maximum amount of rounds which can be played at once
+	 */
+	PathState(final IPlayer self, final Board<Cell> board, final int maxDepth) {
+		this.board = BitBoard.ofOccupiedCells(board);
+		this.maxDepth = maxDepth;
+
+		this.x = self.getPosition().getX();
+		this.y = self.getPosition().getY();
+		this.speed = self.getSpeed();
+		this.direction = self.getDirection();
+
+		this.undoX = new int[maxDepth];
+		this.undoY = new int[maxDepth];
+		this.undoSpeed = new int[maxDepth];
+		this.undoDirection = new PlayerDirection[maxDepth];
+
+		this.paddedWidth = board.getWidth() + 2;
+		this.occupied = new boolean[paddedWidth * (board.getHeight() + 2)];
+		for (int cellY = -1; cellY <= board.getHeight(); cellY++) {
+			for (int cellX = -1; cellX <= board.getWidth(); cellX++) {
+				occupied[getPaddedIndex(cellX, cellY)] = !this.board.isFree(cellX, cellY);
+				if (this.board.isOnBoard(cellX, cellY) && this.board.get(cellX, cellY))
+					cellHash ^= ZobristKeys.cell(cellX, cellY);
+			}
+		}
+		this.neighbourOffsets = new int[] { -paddedWidth, 1, paddedWidth, -1 };
+		this.visited = new int[occupied.length];
+		this.queue = new int[occupied.length];
+	}
+
+	/**
+	 * Creates a copy of a {@link PathState} which was not played yet.
+	 * 
+	 * @param other the {@link PathState} to copy
+	 */
+	PathState(final PathState other) {
+		this.board = new BitBoard(other.board);
+		this.maxDepth = other.maxDepth;
+
+		this.x = other.x;
+		this.y = other.y;
+		this.speed = other.speed;
+		this.direction = other.direction;
+		this.cellHash = other.cellHash;
+
+		this.undoX = new int[maxDepth];
+		this.undoY = new int[maxDepth];
+		this.undoSpeed = new int[maxDepth];
+		this.undoDirection = new PlayerDirection[maxDepth];
+
+		this.paddedWidth = other.paddedWidth;
+		this.occupied = other.occupied.clone();
+		this.neighbourOffsets = other.neighbourOffsets;
+		this.visited = new int[occupied.length];
+		this.queue = new int[occupied.length];
+	}
+
+	private int getPaddedIndex(final int cellX, final int cellY) {
+		return (cellY + 1) * paddedWidth + cellX + 1;
+	}
+
+	/**
+	 * Returns the hash of the state, containing the occupied cells and the
+	 * player.
+	 * 
+	 * @return the hash of the state
+	 */
+	long getHash() {
+		return cellHash ^ ZobristKeys.player(0, x, y, direction.ordinal(), speed);
+	}
+
+	/**
+	 * Returns the amount of played rounds which were not undone.
+	 * 
+	 * @return the amount of played rounds
+	 */
+	int getDepth() {
+		return depth;
+	}
+
+	/**
+	 * Returns the maximum amount of rounds which can be played at once.
+	 * 
+	 * @return the maximum amount of played rounds
+	 */
+	int getMaxDepth() {
+		return maxDepth;
+	}
+
+	/**
+	 * Determines if a {@link PlayerAction} is allowed and only passes free cells.
+	 * 
+	 * @param action the {@link PlayerAction} to check
+	 * @return true if the action can be played
+	 */
+	boolean isSafe(final PlayerAction action) {
+		final MoveTransition transition = MoveTable.get(direction, speed, action, false);
+		if (!transition.isValid() || transition.getSpeed() > MAX_SPEED)
+			return false;
+		for (int step = 0; step < transition.getStepCount(); step++) {
+			if (!board.isFree(x + transition.getStepOffsetX(step), y + transition.getStepOffsetY(step)))
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Counts the free neighbours of the cell a
+	 * {@link PathState#isSafe(PlayerAction) safe} action ends in. Moves to cells
+	 * with few free neighbours follow the walls and leave the remaining cells
+	 * connected.
+	 * 
+	 * @param action the safe {@link PlayerAction}
+	 * @return the amount of free neighbours after the action
+	 */
+	int countFreeNeighboursAfter(final PlayerAction action) {
+		final MoveTransition transition = MoveTable.get(direction, speed, action, false);
+		final int index = getPaddedIndex(x + transition.getOffsetX(), y + transition.getOffsetY());
+		int count = 0;
+		for (final int offset : neighbourOffsets) {
+			if (!occupied[index + offset])
+				count++;
+		}
+		// the cell passed before the end cell is occupied after the move
+		return count - (transition.getStepCount() > 1 ? 1 : 0);
+	}
+
+	/**
+	 * Plays a {@link PathState#isSafe(PlayerAction) safe} action.
+	 * 
+	 * @param action the {@link PlayerAction} to play
+	 */
+	void play(final PlayerAction action) {
+		undoX[depth] = x;
+		undoY[depth] = y;
+		undoSpeed[depth] = speed;
+		undoDirection[depth] = direction;
+
+		final MoveTransition transition = MoveTable.get(direction, speed, action, false);
+		for (int step = 0; step < transition.getStepCount(); step++)
+			setOccupied(x + transition.getStepOffsetX(step), y + transition.getStepOffsetY(step), true);
+
+		x += transition.getOffsetX();
+		y += transition.getOffsetY();
+		speed = transition.getSpeed();
+		direction = transition.getDirection();
+		depth++;
+	}
+
+	/**
+	 * Undoes the last played round.
+	 */
+	void undo() {
+		depth--;
+		final int startX = undoX[depth];
+		final int startY = undoY[depth];
+		final int directionX = direction.getDirectionVector().getX();
+		final int directionY = direction.getDirectionVector().getY();
+		for (int step = 1; step <= speed; step++)
+			setOccupied(startX + directionX * step, startY + directionY * step, false);
+
+		x = startX;
+		y = startY;
+		speed = undoSpeed[depth];
+		direction = undoDirection[depth];
+	}
+
+	private void setOccupied(final int cellX, final int cellY, final boolean value) {
+		if (value)
+			board.set(cellX, cellY);
+		else
+			board.unset(cellX, cellY);
+		occupied[getPaddedIndex(cellX, cellY)] = value;
+		cellHash ^= ZobristKeys.cell(cellX, cellY);
+	}
+
+	/**
+	 * Calculates an upper bound of the rounds the player can still survive. Each
+	 * round occupies at least one cell. Because all occupied cells form a path,
+	 * their colors alternate on a checkerboard. The path enters only one of the
+	 * areas separated by the cell of the player, so the bound is the maximum of
+	 * the path lengths allowed by the colors of each area.
+	 * 
+	 * @return the maximum amount of rounds the player can survive
+	 */
+	int getUpperBound() {
+		generation++;
+		final int head = getPaddedIndex(x, y);
+
+		int bound = 0;
+		for (final int firstOffset : neighbourOffsets) {
+			final int first = head + firstOffset;
+			if (occupied[first] || visited[first] == generation)
+				continue;
+
+			// the queue stores the index and whether the color differs from the first cell
+			int queueHead = 0;
+			int queueTail = 0;
+			int firstColorCount = 0;
+			int otherColorCount = 0;
+			visited[first] = generation;
+			queue[queueTail++] = first << 1;
+			while (queueHead < queueTail) {
+				final int entry = queue[queueHead++];
+				final int index = entry >>> 1;
+				final int otherColor = entry & 1;
+				if (otherColor == 0)
+					firstColorCount++;
+				else
+					otherColorCount++;
+
+				for (final int offset : neighbourOffsets) {
+					final int next = index + offset;
+					if (!occupied[next] && visited[next] != generation) {
+						visited[next] = generation;
+						queue[queueTail++] = (next << 1) | (otherColor ^ 1);
+					}
+				}
+			}
+			bound = Math.max(bound, Math.min(2 * firstColorCount, 2 * otherColorCount + 1));
+		}
+		return bound;
+	}
+}
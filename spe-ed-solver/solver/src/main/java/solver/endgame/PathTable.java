@@ -0,0 +1,87 @@
+package solver.endgame;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded hash table storing the amount of rounds which can be survived from
+ * an already searched {@link PathState}. The value is either exact or an upper
+ * bound, if the search of the state was cut off. Like the transposition tables
+ * of the other solvers, the table is lock free: each entry stores the key XOR
+ * the data next to the data, so entries torn by concurrent writes are detected
+ * and treated as empty.
+ */
+final class PathTable {
+
+	private static final int LONGS_PER_ENTRY = 2;
+	private static final int BYTES_PER_ENTRY = LONGS_PER_ENTRY * Long.BYTES;
+	private static final long EXACT_FLAG = 1L << 32;
+	private static final long UPPER_BOUND_FLAG = 1L << 33;
+
+	private final AtomicLongArray entries;
+	private final int slotMask;
+
+	/**
+	 * Creates a new {@link PathTable} using at most the given amount of memory.
+	 * The amount of entries is rounded down to a power of two.
+	 * 
+	 * @param maxMemoryBytes the maximum memory used by the entries
+	 */
+	PathTable(final int maxMemoryBytes) {
+		final int slots = Integer.highestOneBit(Math.max(1, maxMemoryBytes / BYTES_PER_ENTRY));
+		this.entries = new AtomicLongArray(slots * LONGS_PER_ENTRY);
+		this.slotMask = slots - 1;
+	}
+
+	private int getIndex(final long key) {
+		return ((int) (key ^ (key >>> 32)) & slotMask) * LONGS_PER_ENTRY;
+	}
+
+	/**
+	 * Returns the data stored for a key. The data can be read with the static
+	 * getters of the {@link PathTable}.
+	 * 
+	 * @param key the hash of the state
+	 * @return the stored data or 0 if there is no entry for the key
+	 */
+	long probe(final long key) {
+		final int index = getIndex(key);
+		final long data = entries.get(index + 1);
+		if (data == 0 || (entries.get(index) ^ data) != key)
+			return 0;
+		return data;
+	}
+
+	/**
+	 * Stores the amount of rounds which can be survived from a state.
+	 * 
+	 * @param key    the hash of the state
+	 * @param rounds the amount of survivable rounds
+	 * @param exact  false if the amount is an upper bound only
+	 */
+	void store(final long key, final int rounds, final boolean exact) {
+		final int index = getIndex(key);
+		final long data = (exact ? EXACT_FLAG : UPPER_BOUND_FLAG) | rounds;
+		entries.set(index + 1, data);
+		entries.set(index, key ^ data);
+	}
+
+	/**
+	 * Returns the amount of survivable rounds of stored data.
+	 * 
+	 * @param data the data returned by {@link PathTable#probe(long)}
+	 * @return the amount of survivable rounds
+	 */
+	static int getRounds(final long data) {
+		return (int) data;
+	}
+
+	/**
+	 * Determines if stored data is exact.
+	 * 
+	 * @param data the data returned by {@link PathTable#probe(long)}
+	 * @return false if the stored amount is an upper bound only
+	 */
+	static boolean isExact(final long data) {
+		return (data & EXACT_FLAG) != 0;
+	}
+}
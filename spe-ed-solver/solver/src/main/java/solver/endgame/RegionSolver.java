@@ -0,0 +1,178 @@
+package solver.endgame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import solver.CancellationToken;
+import solver.SolverExecutor;
+import solver.analysis.ActionsRating;
+import utility.game.board.Board;
+import utility.game.board.Cell;
+import utility.game.player.IPlayer;
+import utility.game.player.PlayerAction;
+import utility.game.step.GameStep;
+import utility.geometry.FloatMatrix;
+import utility.geometry.Point2i;
+import utility.logging.GameLogger;
+
+/**
+ * Solver for the endgame of the own player in a region which no enemy can
+ * enter. Surviving as long as possible is the only goal in such a region, so
+ * the longest path is searched exactly by {@link PathSearch depth first
+ * searches}. The first actions are split over the threads of the
+ * {@link SolverExecutor}, all threads share one {@link PathTable}. If the
+ * search does not finish until the deadline, the action with the longest found
+ * path is chosen.
+ */
+public class RegionSolver {
+
+	private static final PlayerAction[] ACTIONS = PlayerAction.values();
+	private static final int TABLE_MEMORY_BYTES = 16 * 1024 * 1024;
+	private static final int[] NEIGHBOUR_X = { 0, 1, 0, -1 };
+	private static final int[] NEIGHBOUR_Y = { -1, 0, 1, 0 };
+
+	private final SolverExecutor executor;
+	// allocated by the first search, most games never reach an isolated region
+	private PathTable table;
+
+	/**
+	 * Creates a new {@link RegionSolver}.
+	 * 
+	 * @param executor {@link SolverExecutor} to run the parallel work in
+	 */
+	public RegionSolver(final SolverExecutor executor) {
+		this.executor = executor;
+	}
+
+	/**
+	 * Determines if the own player is slow enough to be searched by a
+	 * {@link RegionSolver}, which follows only moves of the {@link PathState}.
+	 * 
+	 * @param self the own {@link IPlayer}
+	 * @return true if the own player is active and slow enough
+	 */
+	public static boolean isSearchable(final IPlayer self) {
+		return self.isActive() && self.getSpeed() <= PathState.MAX_SPEED + 1;
+	}
+
+	/**
+	 * Determines the size of the region of the own player if it is isolated. The
+	 * region contains all free cells connected to the own player. It is isolated,
+	 * if none of its cells is next to an active enemy or can be reached by an
+	 * enemy within the search depth of the min steps. The own player has to be
+	 * slow enough to follow only moves of the {@link PathState}.
+	 * 
+	 * @param gameStep         the current {@link GameStep}
+	 * @param minSteps         the minimum amount of steps the enemies need to
+	 *                         reach each cell
+	 * @param enemySearchDepth the search depth of the min steps, cells with more
+	 *                         min steps are out of reach of all enemies
+	 * @return the amount of cells of the isolated region or 0 if the own player
+	 *         is not isolated
+	 */
+	public int getIsolatedRegionSize(final GameStep gameStep, final FloatMatrix minSteps,
+			final int enemySearchDepth) {
+		final IPlayer self = gameStep.getSelf();
+		if (!isSearchable(self))
+			return 0;
+
+		final Board<Cell> board = gameStep.getBoard();
+		final boolean[][] enemyHeads = new boolean[board.getHeight()][board.getWidth()];
+		for (final IPlayer enemy : gameStep.getEnemies().values()) {
+			if (enemy.isActive() && board.isOnBoard(enemy.getPosition()))
+				enemyHeads[enemy.getPosition().getY()][enemy.getPosition().getX()] = true;
+		}
+
+		final boolean[][] visited = new boolean[board.getHeight()][board.getWidth()];
+		final List<Point2i> queue = new ArrayList<>();
+		queue.add(self.getPosition());
+		visited[self.getPosition().getY()][self.getPosition().getX()] = true;
+		for (int head = 0; head < queue.size(); head++) {
+			final Point2i cell = queue.get(head);
+			for (int neighbour = 0; neighbour < NEIGHBOUR_X.length; neighbour++) {
+				final int x = cell.getX() + NEIGHBOUR_X[neighbour];
+				final int y = cell.getY() + NEIGHBOUR_Y[neighbour];
+				if (!board.isOnBoard(new Point2i(x, y)) || visited[y][x])
+					continue;
+				if (enemyHeads[y][x])
+					return 0;
+				if (!board.isFree(x, y))
+					continue;
+				if (minSteps.getValue(x, y) <= enemySearchDepth)
+					return 0;
+				visited[y][x] = true;
+				queue.add(new Point2i(x, y));
+			}
+		}
+		// the own position is not a free cell
+		return queue.size() - 1;
+	}
+
+	/**
+	 * Calculates the action surviving the most rounds in the isolated region.
+	 * 
+	 * @param gameStep   the current {@link GameStep}
+	 * @param regionSize the size of the isolated region
+	 * @param token      the {@link CancellationToken} to stop the search
+	 * @return the best {@link PlayerAction}
+	 */
+	public PlayerAction calculateAction(final GameStep gameStep, final int regionSize,
+			final CancellationToken token) {
+		final PathState rootState = new PathState(gameStep.getSelf(), gameStep.getBoard(), regionSize + 1);
+		final List<PlayerAction> rootActions = new ArrayList<>();
+		for (final PlayerAction action : ACTIONS) {
+			if (rootState.isSafe(action))
+				rootActions.add(action);
+		}
+		if (rootActions.isEmpty())
+			return PlayerAction.CHANGE_NOTHING;
+		if (table == null)
+			table = new PathTable(TABLE_MEMORY_BYTES);
+
+		final int threadCount = Math.min(executor.getMaxThreadCount(), rootActions.size());
+		final int[] rounds = new int[ACTIONS.length];
+		final boolean[] exact = new boolean[ACTIONS.length];
+		final AtomicInteger alpha = new AtomicInteger(0);
+		final AtomicLong nodeCount = new AtomicLong();
+
+		final List<Runnable> tasks = new ArrayList<>();
+		for (int thread = 0; thread < threadCount; thread++) {
+			final int firstIndex = thread;
+			tasks.add(() -> {
+				final PathSearch search = new PathSearch(new PathState(rootState), table, token);
+				for (int index = firstIndex; index < rootActions.size(); index += threadCount) {
+					final PlayerAction action = rootActions.get(index);
+					final int searchAlpha = alpha.get();
+					final int remainingActions = (rootActions.size() - index + threadCount - 1) / threadCount;
+					final int result = search.searchAction(action, searchAlpha, remainingActions);
+					if (search.isAborted()) {
+						rounds[action.ordinal()] = search.getLongestPath();
+					} else {
+						rounds[action.ordinal()] = result;
+						exact[action.ordinal()] = result > searchAlpha;
+					}
+					alpha.accumulateAndGet(rounds[action.ordinal()], Math::max);
+				}
+				nodeCount.addAndGet(search.getNodeCount());
+			});
+		}
+		executor.runAll(tasks);
+
+		final ActionsRating rating = new ActionsRating();
+		PlayerAction bestAction = rootActions.get(0);
+		for (final PlayerAction action : rootActions) {
+			rating.setRating(action, rounds[action.ordinal()]);
+			final int difference = rounds[action.ordinal()] - rounds[bestAction.ordinal()];
+			if (difference > 0 || (difference == 0 && exact[action.ordinal()] && !exact[bestAction.ordinal()]))
+				bestAction = action;
+		}
+
+		GameLogger.logGameInformation(String.format("Searched the isolated region of %d cells in %d states%s!",
+				regionSize, nodeCount.get(), exact[bestAction.ordinal()] ? " exactly" : ""));
+		GameLogger.logGameInformation(String.format("survivable-rounds:\t%s", rating));
+
+		return bestAction;
+	}
+}
@@ -0,0 +1,32 @@
+package solver.hybrid;
+
+/**
+ * The phases of a spe_ed game distinguished by the {@link HybridSolver}. Each
+ * phase is calculated by the cheapest solver which is good enough for it.
+ */
+public enum GamePhase {
+
+	/**
+	 * Few cells are occupied and multiple enemies are active. The enemies are far
+	 * away, so a shallow enemy prediction is sufficient.
+	 */
+	OPENING,
+
+	/**
+	 * Many cells are occupied and multiple enemies are active. The full enemy
+	 * prediction and the graph search are needed.
+	 */
+	MIDGAME,
+
+	/**
+	 * Exactly one enemy is active and can still reach the own player. Both players
+	 * are searched exactly.
+	 */
+	DUEL,
+
+	/**
+	 * No enemy can enter the region of the own player anymore, not even by a
+	 * jump. Only the longest path in the region matters.
+	 */
+	SEALED;
+}
@@ -0,0 +1,90 @@
+package solver.hybrid;
+
+import java.util.function.Consumer;
+
+import solver.CancellationToken;
+import solver.ISpeedSolver;
+import solver.SolverExecutor;
+import solver.SolverType;
+import solver.endgame.RegionSolver;
+import solver.minimax.MinimaxSolver;
+import utility.game.player.PlayerAction;
+import utility.game.step.GameStep;
+import utility.geometry.ContextualFloatMatrix;
+import utility.logging.GameLogger;
+
+/**
+ * Player implementing {@link ISpeedSolver} used for the
+ * {@link SolverType#HYBRID} type. Each {@link GameStep} is classified into a
+ * {@link GamePhase} by a {@link PhaseClassifier} and calculated by the
+ * cheapest solver which is good enough for the phase: the opening solver while
+ * the board is mostly free, the midgame solver on crowded boards, a
+ * {@link MinimaxSolver} against the last enemy and a {@link RegionSolver} if
+ * the own region is sealed. The last two need no enemy prediction at all. The
+ * calculation time of each phase is recorded and logged.
+ */
+public class HybridSolver implements ISpeedSolver {
+
+	private static final double NANOSECONDS_PER_MILLISECOND = 1_000_000d;
+	private static final int DEADLINE_MILLISECOND_BUFFER = 500;
+
+	private final ISpeedSolver openingSolver;
+	private final ISpeedSolver midgameSolver;
+	private final MinimaxSolver duelSolver;
+	private final RegionSolver regionSolver;
+	private final PhaseClassifier classifier;
+	private final PhaseStatistics statistics = new PhaseStatistics();
+
+	/**
+	 * Creates a new {@link HybridSolver}.
+	 * 
+	 * @param openingSolver  {@link ISpeedSolver} for the {@link GamePhase#OPENING}
+	 * @param midgameSolver  {@link ISpeedSolver} for the {@link GamePhase#MIDGAME}
+	 * @param openingDensity the share of occupied cells up to which the game is in
+	 *                       the {@link GamePhase#OPENING}
+	 * @param executor       {@link SolverExecutor} to run the parallel work in
+	 */
+	public HybridSolver(final ISpeedSolver openingSolver, final ISpeedSolver midgameSolver,
+			final double openingDensity, final SolverExecutor executor) {
+		this.openingSolver = openingSolver;
+		this.midgameSolver = midgameSolver;
+		this.duelSolver = new MinimaxSolver(executor);
+		this.regionSolver = new RegionSolver(executor);
+		this.classifier = new PhaseClassifier(openingDensity);
+	}
+
+	@Override
+	public PlayerAction calculateAction(final GameStep gameStep,
+			final Consumer<ContextualFloatMatrix> boardRatingConsumer) {
+		if (!gameStep.getSelf().isActive())
+			return PlayerAction.CHANGE_NOTHING;
+
+		final long start = System.nanoTime();
+		final GamePhase phase = classifier.classify(gameStep);
+		GameLogger.logGameInformation(String.format(
+				"Classified the round as %s in %.3f ms: density %.3f, %d live enemies, own region of %d cells!",
+				phase, (System.nanoTime() - start) / NANOSECONDS_PER_MILLISECOND, classifier.getDensity(),
+				classifier.getLiveEnemyCount(), classifier.getOwnRegionSize()));
+
+		final PlayerAction action;
+		switch (phase) {
+		case SEALED:
+			action = regionSolver.calculateAction(gameStep, classifier.getOwnRegionSize(),
+					new CancellationToken(gameStep.getDeadline(), DEADLINE_MILLISECOND_BUFFER));
+			break;
+		case DUEL:
+			action = duelSolver.calculateAction(gameStep, boardRatingConsumer);
+			break;
+		case OPENING:
+			action = openingSolver.calculateAction(gameStep, boardRatingConsumer);
+			break;
+		default:
+			action = midgameSolver.calculateAction(gameStep, boardRatingConsumer);
+			break;
+		}
+
+		statistics.record(phase, System.nanoTime() - start);
+		GameLogger.logGameInformation(String.format("phase-cost:\t%s", statistics));
+		return action;
+	}
+}
@@ -0,0 +1,216 @@
+package solver.hybrid;
+
+import java.util.Arrays;
+
+import solver.endgame.RegionSolver;
+import utility.game.board.Board;
+import utility.game.board.Cell;
+import utility.game.board.ComponentLabels;
+import utility.game.player.IPlayer;
+import utility.game.step.GameStep;
+import utility.geometry.Point2i;
+
+/**
+ * Classifies each {@link GameStep} into a {@link GamePhase} by the density of
+ * the board, the isolation of the own region and the amount of active enemies.
+ * The regions are read from incrementally updated {@link ComponentLabels}, so
+ * the classification does not need an enemy prediction.
+ * <p>
+ * Sharing no region with an enemy is not enough for the own region to be
+ * sealed, because a fast enemy can jump over up to
+ * {@link PhaseClassifier#MAX_JUMP_GAP} occupied cells. Therefore the regions
+ * an enemy can jump to are added to its regions until no other region can be
+ * reached.
+ */
+public final class PhaseClassifier {
+
+	private static final int MAX_JUMP_GAP = IPlayer.MAX_SPEED - 2;
+	private static final int[] NEIGHBOUR_X = { 0, 1, 0, -1 };
+	private static final int[] NEIGHBOUR_Y = { -1, 0, 1, 0 };
+
+	private final double openingDensity;
+	private final ComponentLabels labels = new ComponentLabels();
+
+	// scratch arrays of the jump search
+	private int[] gaps;
+	private int[] queue;
+	private boolean[] queued;
+	private boolean[] enemyLabels = new boolean[16];
+
+	private final int[] ownLabels = new int[NEIGHBOUR_X.length];
+	private int ownLabelCount;
+	private double density;
+	private int liveEnemyCount;
+	private int ownRegionSize;
+
+	/**
+	 * Creates a new {@link PhaseClassifier}.
+	 * 
+	 * @param openingDensity the share of occupied cells up to which a game with
+	 *                       multiple active enemies is in the
+	 *                       {@link GamePhase#OPENING}
+	 */
+	public PhaseClassifier(final double openingDensity) {
+		this.openingDensity = openingDensity;
+	}
+
+	/**
+	 * Determines the {@link GamePhase} of a {@link GameStep}.
+	 * 
+	 * @param gameStep the current {@link GameStep}
+	 * @return the {@link GamePhase} of the {@link GameStep}
+	 */
+	public GamePhase classify(final GameStep gameStep) {
+		final Board<Cell> board = gameStep.getBoard();
+		final IPlayer self = gameStep.getSelf();
+		labels.update(board);
+
+		final int[] cellLabels = labels.getLabels();
+		int freeCells = 0;
+		for (final int label : cellLabels) {
+			if (label != ComponentLabels.NO_COMPONENT)
+				freeCells++;
+		}
+		density = 1 - freeCells / (double) cellLabels.length;
+		liveEnemyCount = (int) gameStep.getEnemies().values().stream().filter(IPlayer::isActive).count();
+
+		ownLabelCount = 0;
+		ownRegionSize = 0;
+		for (int neighbour = 0; neighbour < NEIGHBOUR_X.length; neighbour++) {
+			final int label = labels.getLabel(self.getPosition().getX() + NEIGHBOUR_X[neighbour],
+					self.getPosition().getY() + NEIGHBOUR_Y[neighbour]);
+			if (label != ComponentLabels.NO_COMPONENT && !isOwnLabel(label)) {
+				ownLabels[ownLabelCount++] = label;
+				ownRegionSize += labels.getSizes()[label];
+			}
+		}
+
+		if (ownRegionSize > 0 && RegionSolver.isSearchable(self) && isSealed(gameStep))
+			return GamePhase.SEALED;
+		if (liveEnemyCount == 1)
+			return GamePhase.DUEL;
+		return density <= openingDensity ? GamePhase.OPENING : GamePhase.MIDGAME;
+	}
+
+	private boolean isOwnLabel(final int label) {
+		for (int i = 0; i < ownLabelCount; i++) {
+			if (ownLabels[i] == label)
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Determines if no enemy can reach the region of the own player. Starting
+	 * with the regions next to the active enemies, a search walks over the
+	 * occupied cells and adds each region which is at most
+	 * {@link PhaseClassifier#MAX_JUMP_GAP} occupied cells away.
+	 * 
+	 * @param gameStep the current {@link GameStep}
+	 * @return true if the own region is sealed
+	 */
+	private boolean isSealed(final GameStep gameStep) {
+		final int width = gameStep.getBoard().getWidth();
+		final int[] cellLabels = labels.getLabels();
+		if (enemyLabels.length < labels.getLabelCount())
+			enemyLabels = new boolean[Math.max(labels.getLabelCount(), enemyLabels.length * 2)];
+		else
+			Arrays.fill(enemyLabels, false);
+
+		boolean anyEnemy = false;
+		for (final IPlayer enemy : gameStep.getEnemies().values()) {
+			if (!enemy.isActive())
+				continue;
+			final Point2i position = enemy.getPosition();
+			for (int neighbour = 0; neighbour < NEIGHBOUR_X.length; neighbour++) {
+				final int label = labels.getLabel(position.getX() + NEIGHBOUR_X[neighbour],
+						position.getY() + NEIGHBOUR_Y[neighbour]);
+				if (label == ComponentLabels.NO_COMPONENT)
+					continue;
+				if (isOwnLabel(label))
+					return false;
+				enemyLabels[label] = true;
+				anyEnemy = true;
+			}
+		}
+		if (!anyEnemy)
+			return true;
+
+		if (gaps == null || gaps.length != cellLabels.length) {
+			gaps = new int[cellLabels.length];
+			queue = new int[cellLabels.length];
+			queued = new boolean[cellLabels.length];
+		}
+		Arrays.fill(gaps, Integer.MAX_VALUE);
+
+		// breadth first search with a circular queue, cells are queued again if
+		// they are reached with a smaller gap
+		int queueHead = 0;
+		int queueSize = 0;
+		for (int index = 0; index < cellLabels.length; index++) {
+			if (cellLabels[index] != ComponentLabels.NO_COMPONENT && enemyLabels[cellLabels[index]]) {
+				gaps[index] = 0;
+				queued[index] = true;
+				queue[(queueHead + queueSize++) % queue.length] = index;
+			}
+		}
+		while (queueSize > 0) {
+			final int cell = queue[queueHead];
+			queueHead = (queueHead + 1) % queue.length;
+			queueSize--;
+			queued[cell] = false;
+
+			final int x = cell % width;
+			final int y = cell / width;
+			for (int neighbour = 0; neighbour < NEIGHBOUR_X.length; neighbour++) {
+				final int nextX = x + NEIGHBOUR_X[neighbour];
+				final int nextY = y + NEIGHBOUR_Y[neighbour];
+				if (!gameStep.getBoard().isOnBoard(nextX, nextY))
+					continue;
+				final int next = nextY * width + nextX;
+				final boolean free = cellLabels[next] != ComponentLabels.NO_COMPONENT;
+				final int gap = free ? 0 : gaps[cell] + 1;
+				if (gap > MAX_JUMP_GAP || gap >= gaps[next])
+					continue;
+				if (free && isOwnLabel(cellLabels[next]))
+					return false;
+				gaps[next] = gap;
+				if (!queued[next]) {
+					queued[next] = true;
+					queue[(queueHead + queueSize++) % queue.length] = next;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the share of occupied cells of the last classified
+	 * {@link GameStep}.
+	 * 
+	 * @return the density of the board
+	 */
+	public double getDensity() {
+		return density;
+	}
+
+	/**
+	 * Returns the amount of active enemies of the last classified
+	 * {@link GameStep}.
+	 * 
+	 * @return the amount of active enemies
+	 */
+	public int getLiveEnemyCount() {
+		return liveEnemyCount;
+	}
+
+	/**
+	 * Returns the amount of free cells connected to the own player in the last
+	 * classified {@link GameStep}.
+	 * 
+	 * @return the size of the own region
+	 */
+	public int getOwnRegionSize() {
+		return ownRegionSize;
+	}
+}
@@ -0,0 +1,55 @@
+package solver.hybrid;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records the calculation time of the rounds of each {@link GamePhase}. The
+ * statistics are logged each round, so the thresholds of the
+ * {@link PhaseClassifier} can be tuned from the logs.
+ */
+final class PhaseStatistics {
+
+	private static final GamePhase[] PHASES = GamePhase.values();
+	private static final double NANOSECONDS_PER_MILLISECOND = 1_000_000d;
+
+	private final int[] rounds = new int[PHASES.length];
+	private final long[] totalNanoseconds = new long[PHASES.length];
+	private final long[] maxNanoseconds = new long[PHASES.length];
+
+	/**
+	 * Records the calculation time of a round.
+	 * 
+	 * @param phase       the {@link GamePhase} of the round
+	 * @param nanoseconds the calculation time of the round
+	 */
+	void record(final GamePhase phase, final long nanoseconds) {
+		rounds[phase.ordinal()]++;
+		totalNanoseconds[phase.ordinal()] += nanoseconds;
+		maxNanoseconds[phase.ordinal()] = Math.max(maxNanoseconds[phase.ordinal()], nanoseconds);
+	}
+
+	/**
+	 * Returns the amount of recorded rounds of a {@link GamePhase}.
+	 * 
+	 * @param phase the {@link GamePhase}
+	 * @return the amount of rounds
+	 */
+	int getRounds(final GamePhase phase) {
+		return rounds[phase.ordinal()];
+	}
+
+	@Override
+	public String toString() {
+		final List<String> entries = new ArrayList<>();
+		for (final GamePhase phase : PHASES) {
+			final int phaseRounds = rounds[phase.ordinal()];
+			if (phaseRounds == 0)
+				continue;
+			entries.add(String.format("%s=%d rounds, %.1f ms average, %.1f ms max", phase, phaseRounds,
+					totalNanoseconds[phase.ordinal()] / NANOSECONDS_PER_MILLISECOND / phaseRounds,
+					maxNanoseconds[phase.ordinal()] / NANOSECONDS_PER_MILLISECOND));
+		}
+		return entries.toString();
+	}
+}
@@ -0,0 +1,35 @@
+package solver.mcts;
+
+/**
+ * Enum describing how the threads of the {@link MctsSolver} share the work.
+ */
+public enum MctsMode {
+	/**
+	 * Each thread searches its own tree. The visits of the first actions of all
+	 * trees are summed up at the end of the round.
+	 */
+	ROOT_PARALLEL {
+		@Override
+		int getTreeCount(final int threadCount) {
+			return threadCount;
+		}
+	},
+	/**
+	 * All threads search the same tree concurrently. Virtual losses keep the
+	 * threads from following the same path.
+	 */
+	TREE_PARALLEL {
+		@Override
+		int getTreeCount(final int threadCount) {
+			return 1;
+		}
+	};
+
+	/**
+	 * Returns the amount of trees searched by the given amount of threads.
+	 * 
+	 * @param threadCount the amount of searching threads
+	 * @return the amount of trees
+	 */
+	abstract int getTreeCount(final int threadCount);
+}
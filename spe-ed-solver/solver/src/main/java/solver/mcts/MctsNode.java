@@ -0,0 +1,112 @@
+package solver.mcts;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import utility.game.player.PlayerAction;
+
+/**
+ * Node of the search tree of the {@link MctsSolver}. A node represents a
+ * sequence of own {@link PlayerAction actions}, the moves of the enemies are
+ * sampled again in each simulation. The statistics of the actions are stored in
+ * atomic arrays, so multiple threads can search the same tree without locks.
+ * The visit of an action is counted when it is selected, before its reward is
+ * known. Until the reward is added, the action looks worse to the other
+ * threads, which works as a virtual loss and spreads the threads over the tree.
+ */
+final class MctsNode {
+
+	static final int ACTION_COUNT = PlayerAction.values().length;
+
+	/**
+	 * Rewards are accumulated as fixed point numbers with this scale.
+	 */
+	private static final double REWARD_SCALE = 1 << 20;
+
+	private final AtomicInteger totalVisits = new AtomicInteger();
+	private final AtomicIntegerArray visits = new AtomicIntegerArray(ACTION_COUNT);
+	private final AtomicLongArray rewardSums = new AtomicLongArray(ACTION_COUNT);
+	private final AtomicReferenceArray<MctsNode> children = new AtomicReferenceArray<>(ACTION_COUNT);
+
+	/**
+	 * Selects the action with the highest upper confidence bound and counts its
+	 * visit. Actions which were never visited are selected first.
+	 * 
+	 * @param exploration the weight of the exploration term
+	 * @return the index of the selected {@link PlayerAction}
+	 */
+	int select(final double exploration) {
+		final double logVisits = Math.log(totalVisits.getAndIncrement() + 1);
+
+		int bestAction = 0;
+		double bestValue = Double.NEGATIVE_INFINITY;
+		for (int action = 0; action < ACTION_COUNT; action++) {
+			final int actionVisits = visits.get(action);
+			if (actionVisits == 0) {
+				bestAction = action;
+				break;
+			}
+
+			final double value = rewardSums.get(action) / REWARD_SCALE / actionVisits
+					+ exploration * Math.sqrt(logVisits / actionVisits);
+			if (value > bestValue) {
+				bestValue = value;
+				bestAction = action;
+			}
+		}
+
+		visits.incrementAndGet(bestAction);
+		return bestAction;
+	}
+
+	/**
+	 * Adds the reward of a simulation to a previously selected action.
+	 * 
+	 * @param action the index of the selected {@link PlayerAction}
+	 * @param reward the reward between 0 and 1
+	 */
+	void addReward(final int action, final double reward) {
+		rewardSums.addAndGet(action, Math.round(reward * REWARD_SCALE));
+	}
+
+	/**
+	 * Returns the child of an action.
+	 * 
+	 * @param action the index of the {@link PlayerAction}
+	 * @return the child or null if it was not expanded yet
+	 */
+	MctsNode getChild(final int action) {
+		return children.get(action);
+	}
+
+	/**
+	 * Creates the child of an action, if no other thread created it yet.
+	 * 
+	 * @param action the index of the {@link PlayerAction}
+	 */
+	void expand(final int action) {
+		children.compareAndSet(action, null, new MctsNode());
+	}
+
+	/**
+	 * Returns the visits of an action.
+	 * 
+	 * @param action the index of the {@link PlayerAction}
+	 * @return the amount of simulations which selected the action
+	 */
+	int getVisits(final int action) {
+		return visits.get(action);
+	}
+
+	/**
+	 * Returns the accumulated reward of an action.
+	 * 
+	 * @param action the index of the {@link PlayerAction}
+	 * @return the sum of the rewards of all finished simulations of the action
+	 */
+	double getRewardSum(final int action) {
+		return rewardSums.get(action) / REWARD_SCALE;
+	}
+}
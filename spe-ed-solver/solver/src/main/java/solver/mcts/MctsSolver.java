@@ -0,0 +1,197 @@
+package solver.mcts;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import solver.CancellationToken;
+import solver.ISpeedSolver;
+import solver.SolverExecutor;
+import solver.SolverType;
+import solver.analysis.ActionsRating;
+import solver.analysis.enemyprobability.EnemyProbabilityCalculator;
+import utility.game.player.PlayerAction;
+import utility.game.step.GameStep;
+import utility.geometry.ContextualFloatMatrix;
+import utility.geometry.FloatMatrix;
+import utility.geometry.FloatMatrixArena;
+import utility.logging.GameLogger;
+
+/**
+ * Player implementing {@link ISpeedSolver} used for the Monte Carlo tree search
+ * {@link SolverType} values. The tree contains the own {@link PlayerAction
+ * actions}, the selection uses upper confidence bounds. Each simulation plays
+ * all players simultaneously on a copied board until the own player is
+ * eliminated, is the last remaining player or the horizon is reached. The
+ * enemies choose random safe actions, the own rollout actions avoid the cells
+ * which the enemies will probably reach according to the
+ * {@link EnemyProbabilityCalculator}. The search runs until the deadline and
+ * chooses the most visited action.
+ */
+public class MctsSolver implements ISpeedSolver {
+
+	private static final PlayerAction[] ACTIONS = PlayerAction.values();
+	private static final int ENEMY_SEARCH_DEPTH = 6;
+	private static final int DEADLINE_MILLISECOND_BUFFER = 500;
+
+	/**
+	 * Maximum amount of simulated rounds. Surviving all of them gives the full
+	 * reward.
+	 */
+	private static final int HORIZON = 40;
+
+	/**
+	 * Weight of the exploration term of the upper confidence bounds.
+	 */
+	private static final double EXPLORATION = 0.7;
+
+	private final MctsMode mode;
+	private final SolverExecutor executor;
+
+	/**
+	 * Arena for all matrices of a single round. It is reset at the start of the
+	 * next round, after the consumer received the matrices of the last round.
+	 */
+	private final FloatMatrixArena matrixArena;
+	private final EnemyProbabilityCalculator enemyProbabilityCalculator;
+	private final Random random = new Random();
+
+	/**
+	 * Creates a new {@link MctsSolver}.
+	 * 
+	 * @param mode     the {@link MctsMode} the threads search in
+	 * @param executor {@link SolverExecutor} to run the parallel work in
+	 */
+	public MctsSolver(final MctsMode mode, final SolverExecutor executor) {
+		this.mode = mode;
+		this.executor = executor;
+		this.matrixArena = new FloatMatrixArena();
+		this.enemyProbabilityCalculator = new EnemyProbabilityCalculator(ENEMY_SEARCH_DEPTH, matrixArena, executor);
+	}
+
+	@Override
+	public PlayerAction calculateAction(final GameStep gameStep,
+			final Consumer<ContextualFloatMatrix> boardRatingConsumer) {
+		if (!gameStep.getSelf().isActive())
+			return PlayerAction.CHANGE_NOTHING;
+
+		// Reclaim the matrices of the last round
+		matrixArena.reset();
+
+		enemyProbabilityCalculator.performCalculation(gameStep.getEnemies().values(), gameStep.getBoard());
+		final FloatMatrix probabilities = enemyProbabilityCalculator.getProbabilitiesMatrix();
+
+		final SimulationState rootState = new SimulationState(gameStep);
+		final int threadCount = executor.getMaxThreadCount();
+		final List<MctsNode> roots = new ArrayList<>();
+		for (int i = 0; i < mode.getTreeCount(threadCount); i++)
+			roots.add(new MctsNode());
+
+		final CancellationToken token = new CancellationToken(gameStep.getDeadline(), DEADLINE_MILLISECOND_BUFFER);
+		final AtomicLong simulationCount = new AtomicLong();
+		final List<Runnable> tasks = new ArrayList<>();
+		for (int i = 0; i < threadCount; i++) {
+			final MctsNode root = roots.get(i % roots.size());
+			final SplittableRandom threadRandom = new SplittableRandom(random.nextLong());
+			tasks.add(() -> simulationCount.addAndGet(
+					search(root, rootState, probabilities, threadRandom, token)));
+		}
+		executor.runAll(tasks);
+
+		final ActionsRating visits = new ActionsRating();
+		final ActionsRating rewards = new ActionsRating();
+		for (int action = 0; action < ACTIONS.length; action++) {
+			int actionVisits = 0;
+			double rewardSum = 0;
+			for (final MctsNode root : roots) {
+				actionVisits += root.getVisits(action);
+				rewardSum += root.getRewardSum(action);
+			}
+			visits.setRating(ACTIONS[action], actionVisits);
+			rewards.setRating(ACTIONS[action], actionVisits == 0 ? 0 : rewardSum / actionVisits);
+		}
+
+		GameLogger.logGameInformation(String.format("Performed %d simulations in %d trees!", simulationCount.get(),
+				roots.size()));
+		GameLogger.logGameInformation(String.format("mcts-visits:\t%s", visits));
+		GameLogger.logGameInformation(String.format("mcts-reward:\t%s", rewards));
+
+		boardRatingConsumer.accept(new ContextualFloatMatrix("probability", probabilities, 0, 1));
+
+		return visits.maxAction();
+	}
+
+	/**
+	 * Performs simulations until the {@link CancellationToken} is cancelled. Every
+	 * action of the root is simulated at least once, even if the deadline is
+	 * already reached.
+	 * 
+	 * @param root          the root {@link MctsNode} of the searched tree
+	 * @param rootState     the {@link SimulationState} of the current game step
+	 * @param probabilities the probabilities of the enemies reaching the cells
+	 * @param random        the source of randomness of this thread
+	 * @param token         the {@link CancellationToken} of the game step
+	 * @return the amount of performed simulations
+	 */
+	private long search(final MctsNode root, final SimulationState rootState, final FloatMatrix probabilities,
+			final SplittableRandom random, final CancellationToken token) {
+		final SimulationState state = new SimulationState(rootState);
+		final MctsNode[] pathNodes = new MctsNode[HORIZON];
+		final int[] pathActions = new int[HORIZON];
+
+		long count = 0;
+		while (count < ACTIONS.length || !token.isCancelled()) {
+			state.copyFrom(rootState);
+			simulate(root, state, probabilities, random, pathNodes, pathActions);
+			count++;
+		}
+		return count;
+	}
+
+	/**
+	 * Performs a single simulation. The actions are selected in the tree until a
+	 * new node is added, the remaining rounds are chosen by the rollout policy.
+	 * The reward is the share of survived rounds of the horizon and the full reward
+	 * if the own player survives all of them or outlives all enemies.
+	 * 
+	 * @param root          the root {@link MctsNode} of the searched tree
+	 * @param state         the {@link SimulationState} to simulate in, reset to
+	 *                      the current game step
+	 * @param probabilities the probabilities of the enemies reaching the cells
+	 * @param random        the source of randomness of this thread
+	 * @param pathNodes     array to store the selected nodes in
+	 * @param pathActions   array to store the selected actions in
+	 */
+	private void simulate(final MctsNode root, final SimulationState state, final FloatMatrix probabilities,
+			final SplittableRandom random, final MctsNode[] pathNodes, final int[] pathActions) {
+		MctsNode node = root;
+		int pathLength = 0;
+		int rounds = 0;
+		while (rounds < HORIZON && state.isSelfActive() && !state.isWon()) {
+			final PlayerAction action;
+			if (node != null) {
+				final int selected = node.select(EXPLORATION);
+				pathNodes[pathLength] = node;
+				pathActions[pathLength] = selected;
+				pathLength++;
+				action = ACTIONS[selected];
+
+				final MctsNode child = node.getChild(selected);
+				if (child == null)
+					node.expand(selected);
+				node = child;
+			} else {
+				action = state.sampleOwnAction(probabilities, random);
+			}
+			state.performRound(action, random);
+			rounds++;
+		}
+
+		final double reward = state.isSelfActive() ? 1 : (rounds - 1) / (double) HORIZON;
+		for (int i = 0; i < pathLength; i++)
+			pathNodes[i].addReward(pathActions[i], reward);
+	}
+}
@@ -0,0 +1,316 @@
+package solver.mcts;
+
+import java.util.SplittableRandom;
+
+import utility.game.board.BitBoard;
+import utility.game.player.IPlayer;
+import utility.game.player.MoveTable;
+import utility.game.player.MoveTransition;
+import utility.game.player.PlayerAction;
+import utility.game.player.PlayerDirection;
+import utility.game.step.GameStep;
+import utility.geometry.FloatMatrix;
+
+/**
+ * Mutable state of a simulated game used by the {@link MctsSolver}. All players
+ * move simultaneously, the own player is always stored at index 0. The occupied
+ * cells are stored in a {@link BitBoard}, so resetting the state for the next
+ * simulation only copies a few arrays.
+ */
+final class SimulationState {
+
+	private static final PlayerAction[] ACTIONS = PlayerAction.values();
+
+	/**
+	 * Weight every safe action keeps in the rollout policy of the own player, even
+	 * if the enemies are certain to reach all of its cells.
+	 */
+	private static final double MIN_ACTION_WEIGHT = 0.05;
+
+	private final BitBoard board;
+	private final int playerCount;
+	private final boolean hasEnemies;
+
+	private final int[] x;
+	private final int[] y;
+	private final int[] speed;
+	private final PlayerDirection[] direction;
+	private final boolean[] active;
+	private int round;
+
+	private final PlayerAction[] actions;
+	private final int[][] cellsX;
+	private final int[][] cellsY;
+	private final int[] cellCounts;
+	private final PlayerAction[] safeActions = new PlayerAction[ACTIONS.length];
+	private final double[] actionWeights = new double[ACTIONS.length];
+
+	/**
+	 * Creates a new {@link SimulationState} containing the own player and all
+	 * active enemies of a {@link GameStep}.
+	 * 
+	 * @param gameStep the {@link GameStep} to simulate
+	 */
+	SimulationState(final GameStep gameStep) {
+		this.board = BitBoard.ofOccupiedCells(gameStep.getBoard());
+		this.playerCount = 1
+				+ (int) gameStep.getEnemies().values().stream().filter(IPlayer::isActive).count();
+		this.hasEnemies = playerCount > 1;
+
+		this.x = new int[playerCount];
+		this.y = new int[playerCount];
+		this.speed = new int[playerCount];
+		this.direction = new PlayerDirection[playerCount];
+		this.active = new boolean[playerCount];
+		this.round = gameStep.getSelf().getRound();
+
+		this.actions = new PlayerAction[playerCount];
+		this.cellsX = new int[playerCount][IPlayer.MAX_SPEED];
+		this.cellsY = new int[playerCount][IPlayer.MAX_SPEED];
+		this.cellCounts = new int[playerCount];
+
+		setPlayer(0, gameStep.getSelf());
+		int index = 1;
+		for (final IPlayer enemy : gameStep.getEnemies().values()) {
+			if (enemy.isActive())
+				setPlayer(index++, enemy);
+		}
+	}
+
+	/**
+	 * Creates a copy of the given {@link SimulationState}.
+	 * 
+	 * @param other the {@link SimulationState} to copy
+	 */
+	SimulationState(final SimulationState other) {
+		this.board = new BitBoard(other.board);
+		this.playerCount = other.playerCount;
+		this.hasEnemies = other.hasEnemies;
+
+		this.x = other.x.clone();
+		this.y = other.y.clone();
+		this.speed = other.speed.clone();
+		this.direction = other.direction.clone();
+		this.active = other.active.clone();
+		this.round = other.round;
+
+		this.actions = new PlayerAction[playerCount];
+		this.cellsX = new int[playerCount][IPlayer.MAX_SPEED];
+		this.cellsY = new int[playerCount][IPlayer.MAX_SPEED];
+		this.cellCounts = new int[playerCount];
+	}
+
+	private void setPlayer(final int index, final IPlayer player) {
+		x[index] = player.getPosition().getX();
+		y[index] = player.getPosition().getY();
+		speed[index] = player.getSpeed();
+		direction[index] = player.getDirection();
+		active[index] = true;
+	}
+
+	/**
+	 * Resets this state to another {@link SimulationState} of the same game step.
+	 * 
+	 * @param other the {@link SimulationState} to copy
+	 */
+	void copyFrom(final SimulationState other) {
+		board.copyFrom(other.board);
+		System.arraycopy(other.x, 0, x, 0, playerCount);
+		System.arraycopy(other.y, 0, y, 0, playerCount);
+		System.arraycopy(other.speed, 0, speed, 0, playerCount);
+		System.arraycopy(other.direction, 0, direction, 0, playerCount);
+		System.arraycopy(other.active, 0, active, 0, playerCount);
+		round = other.round;
+	}
+
+	/**
+	 * Determines if the own player is still active.
+	 * 
+	 * @return true if the own player is active
+	 */
+	boolean isSelfActive() {
+		return active[0];
+	}
+
+	/**
+	 * Determines if the own player outlived all enemies. A game without enemies
+	 * is never won.
+	 * 
+	 * @return true if the own player is the last active player
+	 */
+	boolean isWon() {
+		if (!hasEnemies || !active[0])
+			return false;
+		for (int i = 1; i < playerCount; i++) {
+			if (active[i])
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Simulates a single round. The enemies choose a random action that does not
+	 * lead into an occupied cell. Players moving through the same cell in the same
+	 * round are both eliminated.
+	 * 
+	 * @param ownAction the {@link PlayerAction} of the own player
+	 * @param random    the source of randomness of the enemies
+	 */
+	void performRound(final PlayerAction ownAction, final SplittableRandom random) {
+		actions[0] = ownAction;
+		for (int i = 1; i < playerCount; i++) {
+			if (active[i])
+				actions[i] = sampleEnemyAction(i, random);
+		}
+
+		final boolean jumpRound = MoveTable.isJumpRound(round + 1);
+		for (int i = 0; i < playerCount; i++) {
+			cellCounts[i] = 0;
+			if (active[i])
+				move(i, MoveTable.get(direction[i], speed[i], actions[i], jumpRound));
+		}
+
+		for (int i = 0; i < playerCount; i++) {
+			for (int j = i + 1; j < playerCount; j++) {
+				if (isColliding(i, j)) {
+					active[i] = false;
+					active[j] = false;
+				}
+			}
+		}
+
+		for (int i = 0; i < playerCount; i++) {
+			for (int cell = 0; cell < cellCounts[i]; cell++)
+				board.set(cellsX[i][cell], cellsY[i][cell]);
+		}
+		round++;
+	}
+
+	/**
+	 * Moves a player and stores the passed cells until the first occupied cell.
+	 * The player is eliminated if the move is not valid.
+	 * 
+	 * @param player     index of the player
+	 * @param transition the {@link MoveTransition} of the player
+	 */
+	private void move(final int player, final MoveTransition transition) {
+		if (!transition.isValid()) {
+			active[player] = false;
+			return;
+		}
+
+		for (int step = 0; step < transition.getStepCount(); step++) {
+			final int cellX = x[player] + transition.getStepOffsetX(step);
+			final int cellY = y[player] + transition.getStepOffsetY(step);
+			if (!board.isFree(cellX, cellY)) {
+				active[player] = false;
+				return;
+			}
+			cellsX[player][cellCounts[player]] = cellX;
+			cellsY[player][cellCounts[player]] = cellY;
+			cellCounts[player]++;
+		}
+
+		x[player] += transition.getOffsetX();
+		y[player] += transition.getOffsetY();
+		speed[player] = transition.getSpeed();
+		direction[player] = transition.getDirection();
+	}
+
+	private boolean isColliding(final int first, final int second) {
+		for (int i = 0; i < cellCounts[first]; i++) {
+			for (int j = 0; j < cellCounts[second]; j++) {
+				if (cellsX[first][i] == cellsX[second][j] && cellsY[first][i] == cellsY[second][j])
+					return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Determines if a {@link PlayerAction} of a player only passes free cells,
+	 * ignoring the moves of the other players in the same round.
+	 * 
+	 * @param player index of the player
+	 * @param action the {@link PlayerAction} to check
+	 * @return true if the action does not eliminate the player immediately
+	 */
+	boolean isSafe(final int player, final PlayerAction action) {
+		final MoveTransition transition = MoveTable.get(direction[player], speed[player], action,
+				MoveTable.isJumpRound(round + 1));
+		if (!transition.isValid())
+			return false;
+		for (int step = 0; step < transition.getStepCount(); step++) {
+			if (!board.isFree(x[player] + transition.getStepOffsetX(step), y[player] + transition.getStepOffsetY(step)))
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Chooses a uniformly random safe {@link PlayerAction} of an enemy.
+	 * 
+	 * @param player index of the enemy
+	 * @param random the source of randomness
+	 * @return a safe {@link PlayerAction} or {@link PlayerAction#CHANGE_NOTHING}
+	 *         if there is none
+	 */
+	private PlayerAction sampleEnemyAction(final int player, final SplittableRandom random) {
+		int safeCount = 0;
+		for (final PlayerAction action : ACTIONS) {
+			if (isSafe(player, action))
+				safeActions[safeCount++] = action;
+		}
+		if (safeCount == 0)
+			return PlayerAction.CHANGE_NOTHING;
+		return safeActions[random.nextInt(safeCount)];
+	}
+
+	/**
+	 * Chooses a safe {@link PlayerAction} of the own player for a rollout. Each
+	 * action is weighted by the probability that the enemies do not reach any of
+	 * its cells, so the rollouts avoid the areas the enemies are likely to enter.
+	 * 
+	 * @param probabilities the probabilities of the enemies reaching the cells
+	 * @param random        the source of randomness
+	 * @return a safe {@link PlayerAction} or {@link PlayerAction#CHANGE_NOTHING}
+	 *         if there is none
+	 */
+	PlayerAction sampleOwnAction(final FloatMatrix probabilities, final SplittableRandom random) {
+		final boolean jumpRound = MoveTable.isJumpRound(round + 1);
+		int safeCount = 0;
+		double weightSum = 0;
+		for (final PlayerAction action : ACTIONS) {
+			final MoveTransition transition = MoveTable.get(direction[0], speed[0], action, jumpRound);
+			if (!transition.isValid())
+				continue;
+
+			double weight = 1;
+			for (int step = 0; step < transition.getStepCount() && weight > 0; step++) {
+				final int cellX = x[0] + transition.getStepOffsetX(step);
+				final int cellY = y[0] + transition.getStepOffsetY(step);
+				if (board.isFree(cellX, cellY))
+					weight *= 1 - probabilities.getValue(cellX, cellY);
+				else
+					weight = -1;
+			}
+			if (weight < 0)
+				continue;
+
+			safeActions[safeCount] = action;
+			actionWeights[safeCount] = Math.max(weight, MIN_ACTION_WEIGHT);
+			weightSum += actionWeights[safeCount];
+			safeCount++;
+		}
+		if (safeCount == 0)
+			return PlayerAction.CHANGE_NOTHING;
+
+		double target = random.nextDouble() * weightSum;
+		for (int i = 0; i < safeCount - 1; i++) {
+			target -= actionWeights[i];
+			if (target < 0)
+				return safeActions[i];
+		}
+		return safeActions[safeCount - 1];
+	}
+}
@@ -0,0 +1,123 @@
+package solver.minimax;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded hash table storing the results of the {@link DuelSearch}. An entry
+ * contains the searched depth, the value with its {@link Bound} and the best
+ * own action of a {@link DuelState}. Like the transposition table of the
+ * reachable points search, the table is lock free: each entry stores the key
+ * XOR the data next to the data, so entries torn by concurrent writes are
+ * detected and treated as empty. Because the hash contains all occupied cells,
+ * the entries stay valid for the following rounds of the game.
+ */
+final class BoundTable {
+
+	/**
+	 * Describes how a stored value relates to the exact value of a state.
+	 */
+	enum Bound {
+		EXACT, LOWER, UPPER
+	}
+
+	private static final int LONGS_PER_ENTRY = 2;
+	private static final int BYTES_PER_ENTRY = LONGS_PER_ENTRY * Long.BYTES;
+	private static final Bound[] BOUNDS = Bound.values();
+
+	private final AtomicLongArray entries;
+	private final int slotMask;
+
+	/**
+	 * Creates a new {@link BoundTable} using at most the given amount of memory.
+	 * The amount of entries is rounded down to a power of two.
+	 * 
+	 * @param maxMemoryBytes the maximum memory used by the entries
+	 */
+	BoundTable(final int maxMemoryBytes) {
+		final int slots = Integer.highestOneBit(Math.max(1, maxMemoryBytes / BYTES_PER_ENTRY));
+		this.entries = new AtomicLongArray(slots * LONGS_PER_ENTRY);
+		this.slotMask = slots - 1;
+	}
+
+	private int getIndex(final long key) {
+		return ((int) (key ^ (key >>> 32)) & slotMask) * LONGS_PER_ENTRY;
+	}
+
+	/**
+	 * Returns the data stored for a key. The data can be read with the static
+	 * getters of the {@link BoundTable}.
+	 * 
+	 * @param key the hash of the state
+	 * @return the stored data or 0 if there is no entry for the key
+	 */
+	long probe(final long key) {
+		final int index = getIndex(key);
+		final long data = entries.get(index + 1);
+		if (data == 0 || (entries.get(index) ^ data) != key)
+			return 0;
+		return data;
+	}
+
+	/**
+	 * Stores the result of a search. An entry of another key is only replaced by
+	 * a result of at least the same depth.
+	 * 
+	 * @param key        the hash of the state
+	 * @param depth      the searched depth
+	 * @param bound      the {@link Bound} of the value
+	 * @param value      the value of the state
+	 * @param bestAction the index of the best own action
+	 */
+	void store(final long key, final int depth, final Bound bound, final int value, final int bestAction) {
+		final int index = getIndex(key);
+		final long storedData = entries.get(index + 1);
+		if (storedData != 0 && (entries.get(index) ^ storedData) != key && getDepth(storedData) > depth)
+			return;
+
+		// the bound is stored with an offset, so the data is never 0
+		final long data = ((long) value << 32) | ((depth & 0xFFFFL) << 16) | ((bound.ordinal() + 1L) << 8)
+				| (bestAction & 0xFFL);
+		entries.set(index + 1, data);
+		entries.set(index, key ^ data);
+	}
+
+	/**
+	 * Returns the value of stored data.
+	 * 
+	 * @param data the data returned by {@link BoundTable#probe(long)}
+	 * @return the stored value
+	 */
+	static int getValue(final long data) {
+		return (int) (data >> 32);
+	}
+
+	/**
+	 * Returns the searched depth of stored data.
+	 * 
+	 * @param data the data returned by {@link BoundTable#probe(long)}
+	 * @return the searched depth
+	 */
+	static int getDepth(final long data) {
+		return (int) ((data >>> 16) & 0xFFFF);
+	}
+
+	/**
+	 * Returns the {@link Bound} of stored data.
+	 * 
+	 * @param data the data returned by {@link BoundTable#probe(long)}
+	 * @return the {@link Bound} of the stored value
+	 */
+	static Bound getBound(final long data) {
+		return BOUNDS[(int) ((data >>> 8) & 0xFF) - 1];
+	}
+
+	/**
+	 * Returns the best own action of stored data.
+	 * 
+	 * @param data the data returned by {@link BoundTable#probe(long)}
+	 * @return the index of the best own action
+	 */
+	static int getBestAction(final long data) {
+		return (int) (data & 0xFF);
+	}
+}
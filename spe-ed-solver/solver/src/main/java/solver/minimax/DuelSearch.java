@@ -0,0 +1,203 @@
+package solver.minimax;
+
+import solver.CancellationToken;
+import solver.minimax.BoundTable.Bound;
+import utility.game.player.PlayerAction;
+
+/**
+ * Depth limited alpha-beta search of a {@link DuelState} used by a single
+ * thread of the {@link MinimaxSolver}. The simultaneous moves are searched
+ * paranoid: the enemy chooses its action knowing the own action of the same
+ * round. The value of a state is the result of the game if it is decided and
+ * the territory difference otherwise.
+ */
+final class DuelSearch {
+
+	static final int WIN_VALUE = 1_000_000;
+	static final int INFINITY = 2 * WIN_VALUE;
+
+	/**
+	 * Value of both players being eliminated in the same round. It is better than
+	 * losing alone, but worse than any undecided state.
+	 */
+	static final int DRAW_VALUE = -WIN_VALUE / 2;
+
+	/**
+	 * Values beyond this bound are decided games, the difference to the
+	 * {@link DuelSearch#WIN_VALUE} is the amount of rounds until the end.
+	 */
+	static final int DECIDED_BOUND = WIN_VALUE - 10_000;
+
+	private static final PlayerAction[] ACTIONS = PlayerAction.values();
+
+	private final DuelState state;
+	private final BoundTable table;
+	private final CancellationToken token;
+	private final boolean abortable;
+
+	/**
+	 * Enemy action which caused the last cut off for each ply.
+	 */
+	private final int[] enemyKillers;
+
+	private long nodeCount = 0;
+	private boolean aborted = false;
+
+	/**
+	 * Creates a new {@link DuelSearch}.
+	 * 
+	 * @param state     the {@link DuelState} to search, owned by this search
+	 * @param table     the {@link BoundTable} shared by all searches
+	 * @param token     the {@link CancellationToken} to abort the search at,
+	 *                  shared by all searches of a game step
+	 * @param abortable false if the search has to finish regardless of the
+	 *                  deadline
+	 */
+	DuelSearch(final DuelState state, final BoundTable table, final CancellationToken token,
+			final boolean abortable) {
+		this.state = state;
+		this.table = table;
+		this.token = token;
+		this.abortable = abortable;
+		this.enemyKillers = new int[state.getMaxPly()];
+	}
+
+	/**
+	 * Searches the value of an own action in the current state.
+	 * 
+	 * @param ownAction the index of the own {@link PlayerAction}
+	 * @param depth     the amount of rounds to search
+	 * @param alpha     the value the own player is already guaranteed
+	 * @return the value of the action, an upper bound if it is not greater than
+	 *         alpha
+	 */
+	int searchAction(final int ownAction, final int depth, final int alpha) {
+		return minimize(ownAction, depth, alpha, INFINITY);
+	}
+
+	/**
+	 * Determines if the search was aborted because the deadline was reached. The
+	 * values of an aborted search are meaningless.
+	 * 
+	 * @return true if the search was aborted
+	 */
+	boolean isAborted() {
+		return aborted;
+	}
+
+	/**
+	 * Returns the amount of searched states.
+	 * 
+	 * @return the amount of searched states
+	 */
+	long getNodeCount() {
+		return nodeCount;
+	}
+
+	/**
+	 * Searches the best own action of the current state.
+	 */
+	private int maximize(final int depth, int alpha, int beta) {
+		final int ply = state.getPly();
+		nodeCount++;
+		if (abortable && token.isCancelled(nodeCount))
+			aborted = true;
+		if (aborted)
+			return 0;
+
+		if (!state.isActive(DuelState.SELF))
+			return state.isActive(DuelState.ENEMY) ? -WIN_VALUE + ply : DRAW_VALUE;
+		if (!state.isActive(DuelState.ENEMY))
+			return WIN_VALUE - ply;
+		if (depth == 0 || ply == state.getMaxPly())
+			return state.evaluate();
+
+		final long key = state.getHash();
+		final long data = table.probe(key);
+		int firstAction = 0;
+		if (data != 0) {
+			firstAction = BoundTable.getBestAction(data);
+			if (BoundTable.getDepth(data) >= depth) {
+				final int value = fromTable(BoundTable.getValue(data), ply);
+				final Bound bound = BoundTable.getBound(data);
+				if (bound == Bound.EXACT)
+					return value;
+				if (bound == Bound.LOWER)
+					alpha = Math.max(alpha, value);
+				else
+					beta = Math.min(beta, value);
+				if (alpha >= beta)
+					return value;
+			}
+		}
+
+		final int originalAlpha = alpha;
+		int bestValue = -INFINITY;
+		int bestAction = firstAction;
+		for (int i = 0; i < ACTIONS.length; i++) {
+			// the best action of an earlier search first, then the others in order
+			final int action = i == 0 ? firstAction : (i <= firstAction ? i - 1 : i);
+			final int value = minimize(action, depth, alpha, beta);
+			if (aborted)
+				return 0;
+			if (value > bestValue) {
+				bestValue = value;
+				bestAction = action;
+			}
+			alpha = Math.max(alpha, value);
+			if (alpha >= beta)
+				break;
+		}
+
+		final Bound bound = bestValue <= originalAlpha ? Bound.UPPER
+				: (bestValue >= beta ? Bound.LOWER : Bound.EXACT);
+		table.store(key, depth, bound, toTable(bestValue, ply), bestAction);
+		return bestValue;
+	}
+
+	/**
+	 * Searches the best enemy action answering an own action.
+	 */
+	private int minimize(final int ownAction, final int depth, final int alpha, int beta) {
+		final int ply = state.getPly();
+		final int killer = enemyKillers[ply];
+		int bestValue = INFINITY;
+		for (int i = 0; i < ACTIONS.length; i++) {
+			final int action = i == 0 ? killer : (i <= killer ? i - 1 : i);
+			state.play(ACTIONS[ownAction], ACTIONS[action]);
+			final int value = maximize(depth - 1, alpha, beta);
+			state.undo();
+			if (aborted)
+				return 0;
+
+			bestValue = Math.min(bestValue, value);
+			beta = Math.min(beta, value);
+			if (alpha >= beta) {
+				enemyKillers[ply] = action;
+				break;
+			}
+		}
+		return bestValue;
+	}
+
+	/**
+	 * Converts a value relative to the root into a value relative to the state,
+	 * so decided games keep their distance if the state is reached at another
+	 * ply.
+	 */
+	private static int toTable(final int value, final int ply) {
+		if (value >= DECIDED_BOUND)
+			return value + ply;
+		if (value <= -DECIDED_BOUND)
+			return value - ply;
+		return value;
+	}
+
+	private static int fromTable(final int value, final int ply) {
+		if (value >= DECIDED_BOUND)
+			return value - ply;
+		if (value <= -DECIDED_BOUND)
+			return value + ply;
+		return value;
+	}
+}
@@ -0,0 +1,386 @@
+package solver.minimax;
+
+import solver.analysis.ZobristKeys;
+import utility.game.board.BitBoard;
+import utility.game.board.Board;
+import utility.game.board.Cell;
+import utility.game.player.IPlayer;
+import utility.game.player.MoveTable;
+import utility.game.player.MoveTransition;
+import utility.game.player.PlayerAction;
+import utility.game.player.PlayerDirection;
+
+/**
+ * Mutable state of a game between the own player and a single enemy, used by
+ * the {@link MinimaxSolver}. Both players move simultaneously. Each
+ * {@link DuelState#play(PlayerAction, PlayerAction) round} can be
+ * {@link DuelState#undo() undone}, so a search works on a single instance. The
+ * hash of the occupied cells is updated incrementally.
+ */
+final class DuelState {
+
+	static final int SELF = 0;
+	static final int ENEMY = 1;
+
+	private static final int PLAYER_COUNT = 2;
+	private static final byte NEUTRAL = 2;
+
+	private final BitBoard board;
+	private final int maxPly;
+
+	private final int[] x = new int[PLAYER_COUNT];
+	private final int[] y = new int[PLAYER_COUNT];
+	private final int[] speed = new int[PLAYER_COUNT];
+	private final PlayerDirection[] direction = new PlayerDirection[PLAYER_COUNT];
+	private final boolean[] active = new boolean[PLAYER_COUNT];
+	private int round;
+	private long cellHash;
+	private int ply = 0;
+
+	// previous player states and set cells of each played round
+	private final int[] undoX;
+	private final int[] undoY;
+	private final int[] undoSpeed;
+	private final PlayerDirection[] undoDirection;
+	private final boolean[] undoActive;
+	private final int[] undoCellCounts;
+	private final int[] undoCellsX;
+	private final int[] undoCellsY;
+
+	// passed cells of the round which is currently played
+	private final int[][] moveCellsX = new int[PLAYER_COUNT][IPlayer.MAX_SPEED];
+	private final int[][] moveCellsY = new int[PLAYER_COUNT][IPlayer.MAX_SPEED];
+	private final int[] moveCellCounts = new int[PLAYER_COUNT];
+
+	// occupied cells with an occupied border and scratch arrays of the territory
+	// evaluation, the scratch arrays are only valid for the current generation
+	private final boolean[] occupied;
+	private final int[] neighbourOffsets;
+	private final int[] visited;
+	private final int[] distances;
+	private final byte[] owners;
+	private final int[] queue;
+	private int generation = 0;
+
+	/**
+	 * Creates a new {@link DuelState}.
+	 * 
+	 * @param self   the own player
+	 * @param enemy  the only remaining enemy
+	 * @param board  the current {@link Board}
+	 * @param maxPly the maximum amount of rounds which can be played at once
+	 */
+	DuelState(final IPlayer self, final IPlayer enemy, final Board<Cell> board, final int maxPly) {
+		this.board = BitBoard.ofOccupiedCells(board);
+		this.maxPly = maxPly;
+
+		setPlayer(SELF, self);
+		setPlayer(ENEMY, enemy);
+		this.round = self.getRound();
+
+		for (int cellY = 0; cellY < board.getHeight(); cellY++) {
+			for (int cellX = 0; cellX < board.getWidth(); cellX++) {
+				if (this.board.get(cellX, cellY))
+					cellHash ^= ZobristKeys.cell(cellX, cellY);
+			}
+		}
+
+		this.undoX = new int[maxPly * PLAYER_COUNT];
+		this.undoY = new int[maxPly * PLAYER_COUNT];
+		this.undoSpeed = new int[maxPly * PLAYER_COUNT];
+		this.undoDirection = new PlayerDirection[maxPly * PLAYER_COUNT];
+		this.undoActive = new boolean[maxPly * PLAYER_COUNT];
+		this.undoCellCounts = new int[maxPly];
+		this.undoCellsX = new int[maxPly * PLAYER_COUNT * IPlayer.MAX_SPEED];
+		this.undoCellsY = new int[maxPly * PLAYER_COUNT * IPlayer.MAX_SPEED];
+
+		final int paddedWidth = board.getWidth() + 2;
+		this.occupied = new boolean[paddedWidth * (board.getHeight() + 2)];
+		for (int cellY = -1; cellY <= board.getHeight(); cellY++) {
+			for (int cellX = -1; cellX <= board.getWidth(); cellX++)
+				occupied[getPaddedIndex(cellX, cellY)] = !this.board.isFree(cellX, cellY);
+		}
+		this.neighbourOffsets = new int[] { -paddedWidth, 1, paddedWidth, -1 };
+		this.visited = new int[occupied.length];
+		this.distances = new int[visited.length];
+		this.owners = new byte[visited.length];
+		this.queue = new int[visited.length];
+	}
+
+	/**
+	 * Creates a copy of a {@link DuelState} which was not played yet.
+	 * 
+	 * @param other the {@link DuelState} to copy
+	 */
+	DuelState(final DuelState other) {
+		this.board = new BitBoard(other.board);
+		this.maxPly = other.maxPly;
+
+		System.arraycopy(other.x, 0, x, 0, PLAYER_COUNT);
+		System.arraycopy(other.y, 0, y, 0, PLAYER_COUNT);
+		System.arraycopy(other.speed, 0, speed, 0, PLAYER_COUNT);
+		System.arraycopy(other.direction, 0, direction, 0, PLAYER_COUNT);
+		System.arraycopy(other.active, 0, active, 0, PLAYER_COUNT);
+		this.round = other.round;
+		this.cellHash = other.cellHash;
+
+		this.undoX = new int[other.undoX.length];
+		this.undoY = new int[other.undoY.length];
+		this.undoSpeed = new int[other.undoSpeed.length];
+		this.undoDirection = new PlayerDirection[other.undoDirection.length];
+		this.undoActive = new boolean[other.undoActive.length];
+		this.undoCellCounts = new int[other.undoCellCounts.length];
+		this.undoCellsX = new int[other.undoCellsX.length];
+		this.undoCellsY = new int[other.undoCellsY.length];
+
+		this.occupied = other.occupied.clone();
+		this.neighbourOffsets = other.neighbourOffsets;
+		this.visited = new int[other.visited.length];
+		this.distances = new int[visited.length];
+		this.owners = new byte[visited.length];
+		this.queue = new int[visited.length];
+	}
+
+	private void setPlayer(final int player, final IPlayer source) {
+		x[player] = source.getPosition().getX();
+		y[player] = source.getPosition().getY();
+		speed[player] = source.getSpeed();
+		direction[player] = source.getDirection();
+		active[player] = source.isActive();
+	}
+
+	/**
+	 * Returns the hash of the state. It contains the occupied cells, both players
+	 * and the position in the jump cycle.
+	 * 
+	 * @return the hash of the state
+	 */
+	long getHash() {
+		return cellHash ^ ZobristKeys.player(SELF, x[SELF], y[SELF], direction[SELF].ordinal(), speed[SELF])
+				^ ZobristKeys.player(ENEMY, x[ENEMY], y[ENEMY], direction[ENEMY].ordinal(), speed[ENEMY])
+				^ ZobristKeys.jumpPhase(round % MoveTable.JUMP_FREQUENCY);
+	}
+
+	/**
+	 * Determines if a player is still active.
+	 * 
+	 * @param player {@link DuelState#SELF} or {@link DuelState#ENEMY}
+	 * @return true if the player is active
+	 */
+	boolean isActive(final int player) {
+		return active[player];
+	}
+
+	/**
+	 * Returns the amount of played rounds which were not undone.
+	 * 
+	 * @return the amount of played rounds
+	 */
+	int getPly() {
+		return ply;
+	}
+
+	/**
+	 * Returns the maximum amount of rounds which can be played at once.
+	 * 
+	 * @return the maximum amount of played rounds
+	 */
+	int getMaxPly() {
+		return maxPly;
+	}
+
+	/**
+	 * Determines if a {@link PlayerAction} of a player only passes free cells,
+	 * ignoring the move of the other player in the same round.
+	 * 
+	 * @param player {@link DuelState#SELF} or {@link DuelState#ENEMY}
+	 * @param action the {@link PlayerAction} to check
+	 * @return true if the action does not eliminate the player immediately
+	 */
+	boolean isSafe(final int player, final PlayerAction action) {
+		final MoveTransition transition = MoveTable.get(direction[player], speed[player], action,
+				MoveTable.isJumpRound(round + 1));
+		if (!transition.isValid())
+			return false;
+		for (int step = 0; step < transition.getStepCount(); step++) {
+			if (!board.isFree(x[player] + transition.getStepOffsetX(step), y[player] + transition.getStepOffsetY(step)))
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Plays a single round. Players passing an occupied cell or passing the same
+	 * cell in this round are eliminated.
+	 * 
+	 * @param selfAction  the {@link PlayerAction} of the own player
+	 * @param enemyAction the {@link PlayerAction} of the enemy
+	 */
+	void play(final PlayerAction selfAction, final PlayerAction enemyAction) {
+		final int undoIndex = ply * PLAYER_COUNT;
+		for (int player = 0; player < PLAYER_COUNT; player++) {
+			undoX[undoIndex + player] = x[player];
+			undoY[undoIndex + player] = y[player];
+			undoSpeed[undoIndex + player] = speed[player];
+			undoDirection[undoIndex + player] = direction[player];
+			undoActive[undoIndex + player] = active[player];
+		}
+
+		final boolean jumpRound = MoveTable.isJumpRound(round + 1);
+		moveCellCounts[SELF] = 0;
+		moveCellCounts[ENEMY] = 0;
+		if (active[SELF])
+			move(SELF, MoveTable.get(direction[SELF], speed[SELF], selfAction, jumpRound));
+		if (active[ENEMY])
+			move(ENEMY, MoveTable.get(direction[ENEMY], speed[ENEMY], enemyAction, jumpRound));
+
+		if (isColliding()) {
+			active[SELF] = false;
+			active[ENEMY] = false;
+		}
+
+		// occupy the passed cells and remember them to be freed on undo
+		int cellCount = 0;
+		final int cellOffset = ply * PLAYER_COUNT * IPlayer.MAX_SPEED;
+		for (int player = 0; player < PLAYER_COUNT; player++) {
+			for (int cell = 0; cell < moveCellCounts[player]; cell++) {
+				final int cellX = moveCellsX[player][cell];
+				final int cellY = moveCellsY[player][cell];
+				if (!board.get(cellX, cellY)) {
+					board.set(cellX, cellY);
+					occupied[getPaddedIndex(cellX, cellY)] = true;
+					cellHash ^= ZobristKeys.cell(cellX, cellY);
+					undoCellsX[cellOffset + cellCount] = cellX;
+					undoCellsY[cellOffset + cellCount] = cellY;
+					cellCount++;
+				}
+			}
+		}
+		undoCellCounts[ply] = cellCount;
+
+		round++;
+		ply++;
+	}
+
+	private void move(final int player, final MoveTransition transition) {
+		if (!transition.isValid()) {
+			active[player] = false;
+			return;
+		}
+
+		for (int step = 0; step < transition.getStepCount(); step++) {
+			final int cellX = x[player] + transition.getStepOffsetX(step);
+			final int cellY = y[player] + transition.getStepOffsetY(step);
+			if (!board.isFree(cellX, cellY)) {
+				active[player] = false;
+				return;
+			}
+			moveCellsX[player][moveCellCounts[player]] = cellX;
+			moveCellsY[player][moveCellCounts[player]] = cellY;
+			moveCellCounts[player]++;
+		}
+
+		x[player] += transition.getOffsetX();
+		y[player] += transition.getOffsetY();
+		speed[player] = transition.getSpeed();
+		direction[player] = transition.getDirection();
+	}
+
+	private boolean isColliding() {
+		for (int i = 0; i < moveCellCounts[SELF]; i++) {
+			for (int j = 0; j < moveCellCounts[ENEMY]; j++) {
+				if (moveCellsX[SELF][i] == moveCellsX[ENEMY][j] && moveCellsY[SELF][i] == moveCellsY[ENEMY][j])
+					return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Undoes the last played round.
+	 */
+	void undo() {
+		ply--;
+		round--;
+
+		final int cellOffset = ply * PLAYER_COUNT * IPlayer.MAX_SPEED;
+		for (int cell = 0; cell < undoCellCounts[ply]; cell++) {
+			board.unset(undoCellsX[cellOffset + cell], undoCellsY[cellOffset + cell]);
+			occupied[getPaddedIndex(undoCellsX[cellOffset + cell], undoCellsY[cellOffset + cell])] = false;
+			cellHash ^= ZobristKeys.cell(undoCellsX[cellOffset + cell], undoCellsY[cellOffset + cell]);
+		}
+
+		final int undoIndex = ply * PLAYER_COUNT;
+		for (int player = 0; player < PLAYER_COUNT; player++) {
+			x[player] = undoX[undoIndex + player];
+			y[player] = undoY[undoIndex + player];
+			speed[player] = undoSpeed[undoIndex + player];
+			direction[player] = undoDirection[undoIndex + player];
+			active[player] = undoActive[undoIndex + player];
+		}
+	}
+
+	/**
+	 * Evaluates the state by the territory of both players. A free cell belongs to
+	 * the player reaching it with less steps, cells reached by both players with
+	 * the same amount of steps belong to nobody and are not passed. The speed of
+	 * the players is ignored. Both players are searched in a single breadth first
+	 * search.
+	 * 
+	 * @return the amount of own cells minus the amount of enemy cells
+	 */
+	int evaluate() {
+		generation++;
+
+		int head = 0;
+		int tail = 0;
+		for (int player = 0; player < PLAYER_COUNT; player++) {
+			final int index = getPaddedIndex(x[player], y[player]);
+			visited[index] = generation;
+			distances[index] = 0;
+			owners[index] = (byte) player;
+			queue[tail++] = index;
+		}
+
+		int territory = 0;
+		while (head < tail) {
+			final int index = queue[head++];
+			final byte owner = owners[index];
+			if (owner == NEUTRAL)
+				continue;
+
+			final int nextDistance = distances[index] + 1;
+			for (int neighbour = 0; neighbour < neighbourOffsets.length; neighbour++) {
+				final int nextIndex = index + neighbourOffsets[neighbour];
+				if (occupied[nextIndex])
+					continue;
+
+				if (visited[nextIndex] != generation) {
+					visited[nextIndex] = generation;
+					distances[nextIndex] = nextDistance;
+					owners[nextIndex] = owner;
+					queue[tail++] = nextIndex;
+					territory += owner == SELF ? 1 : -1;
+				} else if (distances[nextIndex] == nextDistance && owners[nextIndex] != owner
+						&& owners[nextIndex] != NEUTRAL) {
+					owners[nextIndex] = NEUTRAL;
+					territory += owner == SELF ? 1 : -1;
+				}
+			}
+		}
+		return territory;
+	}
+
+	/**
+	 * Returns the index of a cell in the arrays of the territory evaluation. These
+	 * arrays have an occupied border around the board, so neighbours of board
+	 * cells never have to be checked for being on the board.
+	 * 
+	 * @param cellX the x coordinate of the cell
+	 * @param cellY the y coordinate of the cell
+	 * @return the index of the cell
+	 */
+	private int getPaddedIndex(final int cellX, final int cellY) {
+		return (cellY + 1) * (board.getWidth() + 2) + cellX + 1;
+	}
+}
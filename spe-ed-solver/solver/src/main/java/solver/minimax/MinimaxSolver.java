@@ -0,0 +1,133 @@
+package solver.minimax;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import solver.CancellationToken;
+import solver.ISpeedSolver;
+import solver.SolverExecutor;
+import solver.analysis.ActionsRating;
+import utility.game.player.IPlayer;
+import utility.game.player.PlayerAction;
+import utility.game.step.GameStep;
+import utility.geometry.ContextualFloatMatrix;
+import utility.logging.GameLogger;
+
+/**
+ * Player implementing {@link ISpeedSolver} for games with only one remaining
+ * enemy. The own actions and the enemy answers are searched exactly with an
+ * iterative deepening alpha-beta {@link DuelSearch}. The own actions of the
+ * root are split over the threads of the {@link SolverExecutor}, all threads
+ * share one {@link BoundTable}. Each iteration searches the root actions in the
+ * order of the values of the previous iteration. The search stops at the
+ * deadline or if the game is decided and chooses the best action of the
+ * deepest finished iteration.
+ */
+public class MinimaxSolver implements ISpeedSolver {
+
+	private static final PlayerAction[] ACTIONS = PlayerAction.values();
+	private static final int MAX_DEPTH = 64;
+	private static final int DEADLINE_MILLISECOND_BUFFER = 500;
+	private static final int TABLE_MEMORY_BYTES = 32 * 1024 * 1024;
+
+	private final SolverExecutor executor;
+	// allocated by the first search, most games never reach a duel
+	private BoundTable table;
+
+	/**
+	 * Creates a new {@link MinimaxSolver}.
+	 * 
+	 * @param executor {@link SolverExecutor} to run the parallel work in
+	 */
+	public MinimaxSolver(final SolverExecutor executor) {
+		this.executor = executor;
+	}
+
+	/**
+	 * Determines if a {@link GameStep} can be calculated by a
+	 * {@link MinimaxSolver}, which is the case if exactly one enemy is active.
+	 * 
+	 * @param gameStep the {@link GameStep} to check
+	 * @return true if exactly one enemy is active
+	 */
+	public static boolean isApplicable(final GameStep gameStep) {
+		return gameStep.getEnemies().values().stream().filter(IPlayer::isActive).count() == 1;
+	}
+
+	@Override
+	public PlayerAction calculateAction(final GameStep gameStep,
+			final Consumer<ContextualFloatMatrix> boardRatingConsumer) {
+		if (!gameStep.getSelf().isActive() || !isApplicable(gameStep))
+			return PlayerAction.CHANGE_NOTHING;
+
+		if (table == null)
+			table = new BoundTable(TABLE_MEMORY_BYTES);
+
+		final IPlayer enemy = gameStep.getEnemies().values().stream().filter(IPlayer::isActive).findAny().get();
+		final DuelState rootState = new DuelState(gameStep.getSelf(), enemy, gameStep.getBoard(), MAX_DEPTH);
+
+		final int threadCount = Math.min(executor.getMaxThreadCount(), ACTIONS.length);
+		final List<Integer> rootOrder = new ArrayList<>();
+		for (int action = 0; action < ACTIONS.length; action++)
+			rootOrder.add(action);
+
+		final CancellationToken token = new CancellationToken(gameStep.getDeadline(), DEADLINE_MILLISECOND_BUFFER);
+		final ActionsRating rating = new ActionsRating();
+		final AtomicLong nodeCount = new AtomicLong();
+		int finishedDepth = 0;
+		for (int depth = 1; depth <= MAX_DEPTH; depth++) {
+			final int[] values = new int[ACTIONS.length];
+			final boolean[] exact = new boolean[ACTIONS.length];
+			final AtomicInteger alpha = new AtomicInteger(-DuelSearch.INFINITY);
+			final boolean[] aborted = new boolean[threadCount];
+
+			final int searchDepth = depth;
+			final List<Runnable> tasks = new ArrayList<>();
+			for (int thread = 0; thread < threadCount; thread++) {
+				final int firstIndex = thread;
+				tasks.add(() -> {
+					final DuelSearch search = new DuelSearch(new DuelState(rootState), table, token,
+							searchDepth > 1);
+					for (int index = firstIndex; index < ACTIONS.length && !search.isAborted(); index += threadCount) {
+						final int action = rootOrder.get(index);
+						final int searchAlpha = alpha.get();
+						values[action] = search.searchAction(action, searchDepth, searchAlpha);
+						exact[action] = values[action] > searchAlpha;
+						alpha.accumulateAndGet(values[action], Math::max);
+					}
+					aborted[firstIndex] = search.isAborted();
+					nodeCount.addAndGet(search.getNodeCount());
+				});
+			}
+			executor.runAll(tasks);
+
+			boolean iterationAborted = false;
+			for (final boolean threadAborted : aborted)
+				iterationAborted |= threadAborted;
+			if (iterationAborted)
+				break;
+
+			// values which are upper bounds only, are placed behind exact values
+			rootOrder.sort((first, second) -> values[first] != values[second]
+					? Integer.compare(values[second], values[first])
+					: Boolean.compare(exact[second], exact[first]));
+			for (int action = 0; action < ACTIONS.length; action++)
+				rating.setRating(ACTIONS[action], values[action]);
+			finishedDepth = depth;
+
+			final int bestValue = values[rootOrder.get(0)];
+			if (Math.abs(bestValue) >= DuelSearch.DECIDED_BOUND || bestValue == DuelSearch.DRAW_VALUE
+					|| token.isCancelled())
+				break;
+		}
+
+		GameLogger.logGameInformation(String.format("Searched the duel %d rounds deep in %d states!", finishedDepth,
+				nodeCount.get()));
+		GameLogger.logGameInformation(String.format("minimax-rating:\t%s", rating));
+
+		return ACTIONS[rootOrder.get(0)];
+	}
+}
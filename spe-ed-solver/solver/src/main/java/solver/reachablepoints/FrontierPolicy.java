@@ -0,0 +1,73 @@
+package solver.reachablepoints;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Enum describing how the reachable points calculations store the states they
+ * still have to expand. Each policy is able to provide a new {@link IFrontier}.
+ */
+public enum FrontierPolicy {
+	/**
+	 * States are expanded in the order they were found. If the frontier is full,
+	 * one of the last added states is replaced randomly.
+	 */
+	FIFO {
+		@Override
+		public <Element> IFrontier<Element> newFrontier(final Class<?> elementClass, final int size,
+				final ToDoubleFunction<? super Element> priorityFunction) {
+			return new LimitedQueue<>(elementClass, size);
+		}
+	},
+	/**
+	 * The most promising state is expanded first. If the frontier is full, the
+	 * least promising state is dropped.
+	 */
+	BEST_FIRST {
+		@Override
+		public <Element> IFrontier<Element> newFrontier(final Class<?> elementClass, final int size,
+				final ToDoubleFunction<? super Element> priorityFunction) {
+			return new PriorityFrontier<>(elementClass, size, priorityFunction);
+		}
+	};
+
+	/**
+	 * Factor the priority of a state is reduced by for each predicted round.
+	 */
+	private static final double DEPTH_DISCOUNT = 0.98;
+
+	private static final double[] DEPTH_DISCOUNTS = new double[256];
+
+	static {
+		DEPTH_DISCOUNTS[0] = 1;
+		for (int i = 1; i < DEPTH_DISCOUNTS.length; i++)
+			DEPTH_DISCOUNTS[i] = DEPTH_DISCOUNTS[i - 1] * DEPTH_DISCOUNT;
+	}
+
+	/**
+	 * Returns a new {@link IFrontier} according to the {@link FrontierPolicy}.
+	 * 
+	 * @param <Element>        type of the stored states
+	 * @param elementClass     class of the stored states
+	 * @param size             maximum amount of stored states
+	 * @param priorityFunction function calculating the priority of a state, only
+	 *                         used by policies ordering the states
+	 * @return {@link IFrontier} instance
+	 */
+	public abstract <Element> IFrontier<Element> newFrontier(final Class<?> elementClass, final int size,
+			final ToDoubleFunction<? super Element> priorityFunction);
+
+	/**
+	 * Calculates the priority of a state as its success rating discounted by the
+	 * amount of predicted rounds, so that deep paths do not push out the broad
+	 * exploration near the player.
+	 * 
+	 * @param successRating the success rating of the state
+	 * @param relativeRound amount of rounds which are predicted
+	 * @return the priority of the state
+	 */
+	public static double getPriority(final double successRating, final int relativeRound) {
+		if (relativeRound < DEPTH_DISCOUNTS.length)
+			return successRating * DEPTH_DISCOUNTS[relativeRound];
+		return successRating * Math.pow(DEPTH_DISCOUNT, relativeRound);
+	}
+}
@@ -0,0 +1,46 @@
+package solver.reachablepoints;
+
+/**
+ * Bounded collection of the states a search still has to expand. The order in
+ * which the states are returned and the state which is dropped if the frontier
+ * is full depend on the implementation.
+ * 
+ * @param <Element> type of the stored states
+ */
+public interface IFrontier<Element> {
+
+	/**
+	 * Adds a state to the frontier. If the frontier is full, a state is dropped.
+	 * 
+	 * @param value state to add
+	 */
+	void add(final Element value);
+
+	/**
+	 * Returns and removes the next state to expand.
+	 * 
+	 * @return the next state
+	 */
+	Element poll();
+
+	/**
+	 * Determines if the frontier has a next state.
+	 * 
+	 * @return true if the frontier has a next state
+	 */
+	boolean hasNext();
+
+	/**
+	 * The amount of stored states.
+	 * 
+	 * @return An integer equal or higher than 0 and not higher than the capacity
+	 */
+	int remaining();
+
+	/**
+	 * Determines if the frontier is full.
+	 * 
+	 * @return true if the frontier is full
+	 */
+	boolean isFull();
+}
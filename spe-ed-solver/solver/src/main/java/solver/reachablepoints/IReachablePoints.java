@@ -2,6 +2,7 @@ package solver.reachablepoints;
 
 import java.util.Collection;
 
+import solver.CancellationToken;
 import solver.analysis.ActionsRating;
 import utility.game.player.IPlayer;
 import utility.game.player.PlayerAction;
@@ -17,9 +18,25 @@ import utility.logging.LoggingLevel;
  */
 public interface IReachablePoints {
 
+	/**
+	 * Prepares the calculation of a {@link GameStep} with all work which does not
+	 * depend on the enemy probabilities. It is called while the enemy predictions
+	 * are running, before
+	 * {@link IReachablePoints#performCalculation(GameStep, FloatMatrix, FloatMatrix, ActionsRating, CancellationToken)}
+	 * is called with the same {@link GameStep}.
+	 * 
+	 * @param gameStep the current {@link GameStep}
+	 */
+	void prepareCalculation(GameStep gameStep);
+
 	/**
 	 * Performs the calculation with the given values and updates the stored
-	 * results.
+	 * results. The calculation stops as soon as the {@link CancellationToken} is
+	 * cancelled. All threads of the calculation are finished when this method
+	 * returns. The fixed {@link ActionsRating} of the analyses known before the
+	 * calculation is added to the ratings reported to the convergence monitor, so
+	 * the calculation only stops early on the ranking the combined rating of the
+	 * solver has.
 	 * 
 	 * @param gameStep      {@link IPlayer} of yourself in the spe_ed game
 	 * 
@@ -27,8 +44,14 @@ public interface IReachablePoints {
 	 *                      values
 	 * @param minSteps      {@link FloatMatrix} containing the minimum enemy steps
 	 *                      for each element
+	 * @param fixedRating   the weighted {@link ActionsRating} of all other
+	 *                      analyses, which the solver adds to the
+	 *                      {@link IReachablePoints#combineActionsRating(double, double)
+	 *                      combined rating}
+	 * @param token         {@link CancellationToken} to stop the calculation
 	 */
-	void performCalculation(GameStep gameStep, FloatMatrix probabilities, FloatMatrix minSteps);
+	void performCalculation(GameStep gameStep, FloatMatrix probabilities, FloatMatrix minSteps,
+			ActionsRating fixedRating, CancellationToken token);
 
 	/**
 	 * Combines the last calculated {@link ActionsRating}.
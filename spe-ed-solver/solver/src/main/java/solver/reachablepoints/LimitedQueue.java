@@ -11,7 +11,7 @@ import java.util.Random;
  * 
  * @param <Element> type of the elements stored in the buffer
  */
-public class LimitedQueue<Element> {
+public class LimitedQueue<Element> implements IFrontier<Element> {
 
 	private static final int RANDOM_REPLACEMENT_SECTION_SIZE = 10;
 
@@ -42,6 +42,7 @@ public class LimitedQueue<Element> {
 	 * 
 	 * @param value value to add to the list
 	 */
+	@Override
 	public void add(final Element value) {
 		if (!isFull()) {
 			buffer[writeIndex] = value;
@@ -73,6 +74,7 @@ public class LimitedQueue<Element> {
 	 * 
 	 * @return the next value
 	 */
+	@Override
 	public Element poll() {
 		if (!hasNext())
 			throw new NoSuchElementException("Tried to poll from an empty list!");
@@ -84,6 +86,7 @@ public class LimitedQueue<Element> {
 	 * 
 	 * @return true if the {@link LimitedQueue} has a next value
 	 */
+	@Override
 	public boolean hasNext() {
 		return size > 0;
 	}
@@ -93,6 +96,7 @@ public class LimitedQueue<Element> {
 	 * 
 	 * @return An integer equal or higher than 0 and less than the buffer length
 	 */
+	@Override
 	public int remaining() {
 		return size;
 	}
@@ -102,6 +106,7 @@ public class LimitedQueue<Element> {
 	 * 
 	 * @return true if the {@link LimitedQueue} is full
 	 */
+	@Override
 	public boolean isFull() {
 		return size == buffer.length;
 	}
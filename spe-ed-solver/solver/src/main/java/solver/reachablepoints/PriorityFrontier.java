@@ -0,0 +1,274 @@
+package solver.reachablepoints;
+
+import java.lang.reflect.Array;
+import java.util.NoSuchElementException;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Bounded frontier returning the state with the highest priority first. If the
+ * frontier is full, the state with the lowest priority is dropped. The states
+ * are stored in a min-max heap, so both ends can be accessed in logarithmic
+ * time. The priorities are stored as primitive values next to the states, they
+ * are calculated once when a state is added.
+ * 
+ * @param <Element> type of the stored states
+ */
+public class PriorityFrontier<Element> implements IFrontier<Element> {
+
+	private final ToDoubleFunction<? super Element> priorityFunction;
+
+	private final Element[] elements;
+	private final double[] priorities;
+
+	private int size = 0;
+
+	/**
+	 * Creates a new {@link PriorityFrontier} of the given Class of a specific
+	 * given size.
+	 * 
+	 * @param elementClass     class of the represented elements
+	 * @param bufferSize       maximum amount of stored elements
+	 * @param priorityFunction function calculating the priority of an element,
+	 *                         higher priorities are returned first
+	 */
+	@SuppressWarnings("unchecked")
+	public PriorityFrontier(final Class<?> elementClass, final int bufferSize,
+			final ToDoubleFunction<? super Element> priorityFunction) {
+		this.elements = (Element[]) Array.newInstance(elementClass, bufferSize);
+		this.priorities = new double[bufferSize];
+		this.priorityFunction = priorityFunction;
+	}
+
+	/**
+	 * Adds a value to the frontier. If the frontier is filled up, the element with
+	 * the lowest priority gets dropped, which may be the added one.
+	 * 
+	 * @param value value to add to the frontier
+	 */
+	@Override
+	public void add(final Element value) {
+		final double priority = priorityFunction.applyAsDouble(value);
+
+		if (!isFull()) {
+			elements[size] = value;
+			priorities[size] = priority;
+			pushUp(size++);
+		} else if (priority > priorities[0]) {
+			// replace the minimum, which is always stored in the root
+			elements[0] = value;
+			priorities[0] = priority;
+			pushDownMin(0);
+		}
+	}
+
+	/**
+	 * Returns and removes the element with the highest priority.
+	 * 
+	 * @return the element with the highest priority
+	 */
+	@Override
+	public Element poll() {
+		if (!hasNext())
+			throw new NoSuchElementException("Tried to poll from an empty frontier!");
+
+		int maxIndex = 0;
+		if (size == 2)
+			maxIndex = 1;
+		else if (size > 2)
+			maxIndex = priorities[1] >= priorities[2] ? 1 : 2;
+
+		final Element returnValue = elements[maxIndex];
+		removeAt(maxIndex);
+		return returnValue;
+	}
+
+	/**
+	 * Returns the lowest priority of all stored elements.
+	 * 
+	 * @return the lowest priority
+	 */
+	public double minPriority() {
+		if (!hasNext())
+			throw new NoSuchElementException("Tried to access an empty frontier!");
+		return priorities[0];
+	}
+
+	@Override
+	public boolean hasNext() {
+		return size > 0;
+	}
+
+	@Override
+	public int remaining() {
+		return size;
+	}
+
+	@Override
+	public boolean isFull() {
+		return size == elements.length;
+	}
+
+	/**
+	 * Removes the element at the given index by moving the last element to it.
+	 * 
+	 * @param index index of the element to remove
+	 */
+	private void removeAt(final int index) {
+		size--;
+		if (index < size) {
+			elements[index] = elements[size];
+			priorities[index] = priorities[size];
+			elements[size] = null;
+			pushDown(index);
+		} else {
+			elements[size] = null;
+		}
+	}
+
+	/**
+	 * Determines if the given index is on a level storing minimums. The root is
+	 * on a minimum level, the levels alternate.
+	 * 
+	 * @param index index in the heap
+	 * @return true if the index is on a minimum level
+	 */
+	private static boolean isMinLevel(final int index) {
+		// the level of the index is the position of the highest bit of index + 1
+		return (31 - Integer.numberOfLeadingZeros(index + 1)) % 2 == 0;
+	}
+
+	private static int parent(final int index) {
+		return (index - 1) / 2;
+	}
+
+	private void swap(final int first, final int second) {
+		final Element element = elements[first];
+		elements[first] = elements[second];
+		elements[second] = element;
+
+		final double priority = priorities[first];
+		priorities[first] = priorities[second];
+		priorities[second] = priority;
+	}
+
+	/**
+	 * Moves a new element at the given index up until the heap is valid again.
+	 * 
+	 * @param index index of the new element
+	 */
+	private void pushUp(final int index) {
+		if (index == 0)
+			return;
+
+		final int parent = parent(index);
+		if (isMinLevel(index)) {
+			if (priorities[index] > priorities[parent]) {
+				swap(index, parent);
+				pushUpMax(parent);
+			} else {
+				pushUpMin(index);
+			}
+		} else {
+			if (priorities[index] < priorities[parent]) {
+				swap(index, parent);
+				pushUpMin(parent);
+			} else {
+				pushUpMax(index);
+			}
+		}
+	}
+
+	private void pushUpMin(int index) {
+		while (index > 2) {
+			final int grandparent = parent(parent(index));
+			if (priorities[index] >= priorities[grandparent])
+				return;
+			swap(index, grandparent);
+			index = grandparent;
+		}
+	}
+
+	private void pushUpMax(int index) {
+		while (index > 2) {
+			final int grandparent = parent(parent(index));
+			if (priorities[index] <= priorities[grandparent])
+				return;
+			swap(index, grandparent);
+			index = grandparent;
+		}
+	}
+
+	/**
+	 * Moves a replaced element at the given index down until the heap is valid
+	 * again.
+	 * 
+	 * @param index index of the replaced element
+	 */
+	private void pushDown(final int index) {
+		if (isMinLevel(index))
+			pushDownMin(index);
+		else
+			pushDownMax(index);
+	}
+
+	private void pushDownMin(int index) {
+		while (2 * index + 1 < size) {
+			final int smallest = extremeDescendant(index, false);
+			if (priorities[smallest] >= priorities[index])
+				return;
+			swap(smallest, index);
+
+			// the children of a child are grandchildren, so none of them is smaller
+			if (smallest <= 2 * index + 2)
+				return;
+
+			final int parent = parent(smallest);
+			if (priorities[smallest] > priorities[parent])
+				swap(smallest, parent);
+			index = smallest;
+		}
+	}
+
+	private void pushDownMax(int index) {
+		while (2 * index + 1 < size) {
+			final int largest = extremeDescendant(index, true);
+			if (priorities[largest] <= priorities[index])
+				return;
+			swap(largest, index);
+
+			// the children of a child are grandchildren, so none of them is larger
+			if (largest <= 2 * index + 2)
+				return;
+
+			final int parent = parent(largest);
+			if (priorities[largest] < priorities[parent])
+				swap(largest, parent);
+			index = largest;
+		}
+	}
+
+	/**
+	 * Returns the index of the child or grandchild with the highest or the lowest
+	 * priority.
+	 * 
+	 * @param index   index of the element whose descendants are compared
+	 * @param largest true to find the highest priority, false for the lowest
+	 * @return index of the descendant
+	 */
+	private int extremeDescendant(final int index, final boolean largest) {
+		final int firstChild = 2 * index + 1;
+		int result = firstChild;
+
+		// the second child is followed by the grandchildren, which are stored in a row
+		final int end = Math.min(size, 2 * firstChild + 5);
+		for (int candidate = firstChild + 1; candidate < end; candidate = nextDescendant(firstChild, candidate)) {
+			if (largest ? priorities[candidate] > priorities[result] : priorities[candidate] < priorities[result])
+				result = candidate;
+		}
+		return result;
+	}
+
+	private static int nextDescendant(final int firstChild, final int candidate) {
+		return candidate == firstChild + 1 ? 2 * firstChild + 1 : candidate + 1;
+	}
+}
@@ -5,11 +5,13 @@ import java.util.Collection;
 import java.util.List;
 
 import solver.analysis.PredictivePlayer;
+import solver.analysis.ZobristKeys;
 import utility.game.board.Board;
 import utility.game.board.Cell;
 import utility.game.player.IPlayer;
 import utility.game.player.PlayerAction;
 import utility.geometry.FloatMatrix;
+import utility.geometry.IPointConsumer;
 import utility.geometry.Point2i;
 
 /**
@@ -58,60 +60,68 @@ public class RatedPredictivePlayer extends PredictivePlayer {
 		this.relativeRound = parent.getRelativeRound() + 1;
 
 		if (isActive()) {
-			this.successRating = calculateSuccessRating(parent.getSuccessRating(), probabilities, minSteps,
-					getShortTail(), relativeRound);
-			this.cutOffRating = calculateCutOffRating(probabilities, minSteps, getShortTail(), relativeRound,
-					successRating);
+			final TailProbabilities shortTail = new TailProbabilities(probabilities, minSteps, relativeRound);
+			forEachShortTailPoint(shortTail);
+			this.successRating = calculateSuccessRating(parent.getSuccessRating(), shortTail.reachedProbability);
+			this.cutOffRating = calculateCutOffRating(shortTail.cutOffProbability, successRating);
 		} else {
 			this.successRating = 0;
 			this.cutOffRating = 0;
 		}
 	}
 
+	/**
+	 * Collects the highest enemy probability of the cells on the short tail in a
+	 * single pass without allocating {@link Point2i points}. The cells the enemies
+	 * can reach until the relative round and the cells they reach later are
+	 * collected separately.
+	 */
+	private static final class TailProbabilities implements IPointConsumer {
+
+		private final FloatMatrix probabilities;
+		private final FloatMatrix minSteps;
+		private final int relativeRound;
+
+		private double reachedProbability = 0;
+		private double cutOffProbability = 0;
+
+		private TailProbabilities(final FloatMatrix probabilities, final FloatMatrix minSteps,
+				final int relativeRound) {
+			this.probabilities = probabilities;
+			this.minSteps = minSteps;
+			this.relativeRound = relativeRound;
+		}
+
+		@Override
+		public void accept(final int x, final int y) {
+			if (relativeRound >= minSteps.getValue(x, y))
+				reachedProbability = Math.max(reachedProbability, probabilities.getValue(x, y));
+			else
+				cutOffProbability = Math.max(cutOffProbability, probabilities.getValue(x, y));
+		}
+	}
+
 	/**
 	 * Calculates the new success rating based on the success rating of the parent.
 	 * 
 	 * @param parentSuccessRating success rating of the parent
-	 * @param probabilities       {@link FloatMatrix} with enemy probabilities to
-	 *                            consider
-	 * @param minSteps            {@link FloatMatrix} with the enemy minimum steps
-	 *                            to consider
-	 * @param shortTail           {@link Point2i points} of the last step from the
-	 *                            parent to the child
-	 * @param relativeRound       amount of round which are predictive
+	 * @param successFactor       highest probability of the enemies to reach a
+	 *                            cell of the short tail before the child
 	 * @return new success rating for the child
 	 */
-	private double calculateSuccessRating(final double parentSuccessRating, final FloatMatrix probabilities,
-			final FloatMatrix minSteps, final Collection<Point2i> shortTail, final int relativeRound) {
-		double successFactor = 0;
-		for (final Point2i point : shortTail) {
-			if (relativeRound >= minSteps.getValue(point))
-				successFactor = Math.max(successFactor, probabilities.getValue(point));
-		}
+	private double calculateSuccessRating(final double parentSuccessRating, final double successFactor) {
 		return (double) (parentSuccessRating * (1 - Math.pow(successFactor, SUCCESS_BOOST)));
 	}
 
 	/**
 	 * Calculates the cut off rating based on the probabilities on the short tail.
 	 * 
-	 * @param probabilities {@link FloatMatrix} with enemy probabilities to consider
-	 * @param minSteps      {@link FloatMatrix} with the enemy minimum steps to
-	 *                      consider
-	 * @param shortTail     {@link Point2i points} of the last step from the parent
-	 *                      to the child
-	 * @param relativeRound amount of round which are predictive
+	 * @param cutOff        highest probability of the enemies to reach a cell of
+	 *                      the short tail after the child
 	 * @param successRating the probability to reach the given state
 	 * @return new cut off rating for the child
 	 */
-	private double calculateCutOffRating(final FloatMatrix probabilities, final FloatMatrix minSteps,
-			final Collection<Point2i> shortTail, final int relativeRound, final double successRating) {
-
-		double cutOff = 0;
-		for (final Point2i point : shortTail) {
-			if (relativeRound < minSteps.getValue(point)) {
-				cutOff = Math.max(cutOff, probabilities.getValue(point));
-			}
-		}
+	private double calculateCutOffRating(final double cutOff, final double successRating) {
 		return cutOff * successRating;
 	}
 
@@ -137,6 +147,17 @@ public class RatedPredictivePlayer extends PredictivePlayer {
 		return result;
 	}
 
+	/**
+	 * Calculates the hash of the state including the relative round, which
+	 * influences the ratings of all descendants.
+	 * 
+	 * @return hash of the player state
+	 */
+	@Override
+	public long getStateHash() {
+		return super.getStateHash() ^ ZobristKeys.round(relativeRound);
+	}
+
 	/**
 	 * Returns the success rating.
 	 * 
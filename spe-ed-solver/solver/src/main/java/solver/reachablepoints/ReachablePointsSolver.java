@@ -1,29 +1,66 @@
 package solver.reachablepoints;
 
+import java.util.Map;
 import java.util.function.Consumer;
 
+import solver.CancellationToken;
 import solver.ISpeedSolver;
+import solver.SolverExecutor;
 import solver.SolverType;
 import solver.analysis.ActionsRating;
+import solver.analysis.ConvergenceMonitor;
+import solver.analysis.chamber.ChamberAnalysis;
+import solver.analysis.chamber.RegionSplit;
 import solver.analysis.enemyprobability.EnemyProbabilityCalculator;
+import solver.analysis.territory.TerritoryCalculation;
+import solver.endgame.RegionSolver;
+import solver.hybrid.GamePhase;
+import solver.hybrid.PhaseClassifier;
+import solver.minimax.MinimaxSolver;
 import utility.game.player.PlayerAction;
 import utility.game.step.GameStep;
 import utility.geometry.ContextualFloatMatrix;
+import utility.geometry.FloatMatrixArena;
+import utility.logging.GameLogger;
 
 /**
  * Player implementing {@link ISpeedSolver} used for multiple {@link SolverType}
  * values. For each possible {@link PlayerAction} the reachable points are
  * determined. For each reachable point is rated for its success and for the cut
- * off potential. The {@link ActionsRating} is used to give each analysis its
- * weight. The overall highest rated {@link PlayerAction} gets chosen for each
- * {@link GameStep}.
+ * off potential. Additionally each action is rated by the cells it reaches
+ * before all enemies with a {@link TerritoryCalculation} and by the regions it
+ * leaves to the own player and the enemies with a {@link ChamberAnalysis}. The
+ * {@link ActionsRating} is used to give each analysis its weight. The overall
+ * highest rated {@link PlayerAction} gets chosen for each {@link GameStep}. If
+ * the own player is isolated from all enemies, the longest path in its region
+ * is searched by a {@link RegionSolver} instead. If only one enemy is left, the
+ * {@link GameStep} is searched exactly by a {@link MinimaxSolver}. A sealed
+ * region and a duel are detected before the enemy prediction is started,
+ * because neither search needs it.
  */
 public class ReachablePointsSolver implements ISpeedSolver {
 
+	private static final int DEADLINE_MILLISECOND_BUFFER = 500;
+
+	/**
+	 * Arena for all matrices of a single round. It is reset at the start of the
+	 * next round, after the consumer received the matrices of the last round.
+	 */
+	private final FloatMatrixArena matrixArena;
 	private final EnemyProbabilityCalculator enemyProbabilityCalculator;
 	private final IReachablePoints reachablePointsCalculator;
+	private final RegionSolver regionSolver;
+	private final MinimaxSolver duelSolver;
+	// only the sealed region is classified, the opening density is not used
+	private final PhaseClassifier phaseClassifier = new PhaseClassifier(0);
+	private final TerritoryCalculation territoryCalculation = new TerritoryCalculation();
+	private final ChamberAnalysis chamberAnalysis = new ChamberAnalysis();
 	private final double aggressiveWeight;
 	private final double defensiveWeight;
+	private final double territoryWeight;
+	private final double cutOffWeight;
+	private final double regionWeight;
+	private final int enemySearchDepth;
 
 	/**
 	 * Creates a new {@link ReachablePointsSolver} with the given configuration
@@ -34,16 +71,56 @@ public class ReachablePointsSolver implements ISpeedSolver {
 	 * @param aggressiveWeight relative weight for aggressive {@link ActionsRating}
 	 * @param defensiveWeight  relative weight for the defensive
 	 *                         {@link ActionsRating}
-	 * @param maxThreadCount   specifies the maximum number of concurrent threads to
-	 *                         use
+	 * @param territoryWeight  relative weight for the territory
+	 *                         {@link ActionsRating}
+	 * @param cutOffWeight     relative weight for the {@link ActionsRating} of
+	 *                         the enemy regions cut off by the {@link ChamberAnalysis}
+	 * @param regionWeight     relative weight for the {@link ActionsRating} of
+	 *                         the own region kept by the {@link ChamberAnalysis}
 	 * @param type             the {@link ReachablePointsType} of the calculation
+	 * @param executor         {@link SolverExecutor} to run the parallel work in
 	 */
 	public ReachablePointsSolver(final int enemySearchDepth, double aggressiveWeight, double defensiveWeight,
-			final ReachablePointsType type, final int maxThreadCount) {
-		this.enemyProbabilityCalculator = new EnemyProbabilityCalculator(enemySearchDepth);
-		this.reachablePointsCalculator = type.newInstance(maxThreadCount);
+			double territoryWeight, double cutOffWeight, double regionWeight, final ReachablePointsType type,
+			final SolverExecutor executor) {
+		this(enemySearchDepth, aggressiveWeight, defensiveWeight, territoryWeight, cutOffWeight, regionWeight, type,
+				FrontierPolicy.FIFO, executor);
+	}
+
+	/**
+	 * Creates a new {@link ReachablePointsSolver} with the given configuration
+	 * values.
+	 * 
+	 * @param enemySearchDepth recursive search depth to search for enemy
+	 *                         {@link PlayerAction actions}
+	 * @param aggressiveWeight relative weight for aggressive {@link ActionsRating}
+	 * @param defensiveWeight  relative weight for the defensive
+	 *                         {@link ActionsRating}
+	 * @param territoryWeight  relative weight for the territory
+	 *                         {@link ActionsRating}
+	 * @param cutOffWeight     relative weight for the {@link ActionsRating} of
+	 *                         the enemy regions cut off by the {@link ChamberAnalysis}
+	 * @param regionWeight     relative weight for the {@link ActionsRating} of
+	 *                         the own region kept by the {@link ChamberAnalysis}
+	 * @param type             the {@link ReachablePointsType} of the calculation
+	 * @param frontierPolicy   the {@link FrontierPolicy} of the calculation
+	 * @param executor         {@link SolverExecutor} to run the parallel work in
+	 */
+	public ReachablePointsSolver(final int enemySearchDepth, double aggressiveWeight, double defensiveWeight,
+			double territoryWeight, double cutOffWeight, double regionWeight, final ReachablePointsType type,
+			final FrontierPolicy frontierPolicy, final SolverExecutor executor) {
+		this.matrixArena = new FloatMatrixArena();
+		this.enemyProbabilityCalculator = new EnemyProbabilityCalculator(enemySearchDepth, matrixArena, executor);
+		this.reachablePointsCalculator = type.newInstance(executor, matrixArena,
+				new ConvergenceMonitor(aggressiveWeight, defensiveWeight), frontierPolicy);
+		this.regionSolver = new RegionSolver(executor);
+		this.duelSolver = new MinimaxSolver(executor);
 		this.aggressiveWeight = aggressiveWeight;
 		this.defensiveWeight = defensiveWeight;
+		this.territoryWeight = territoryWeight;
+		this.cutOffWeight = cutOffWeight;
+		this.regionWeight = regionWeight;
+		this.enemySearchDepth = enemySearchDepth;
 	}
 
 	@Override
@@ -51,18 +128,73 @@ public class ReachablePointsSolver implements ISpeedSolver {
 		if (!gameStep.getSelf().isActive())
 			return PlayerAction.CHANGE_NOTHING;
 
-		// Calculate enemyProbability
-		enemyProbabilityCalculator.performCalculation(gameStep.getEnemies().values(), gameStep.getBoard());
+		// Reclaim the matrices of the last round
+		matrixArena.reset();
+		final CancellationToken token = new CancellationToken(gameStep.getDeadline(), DEADLINE_MILLISECOND_BUFFER);
+
+		// Search the longest path if the own region is sealed and the duel exactly if
+		// only one enemy is left, neither needs the enemy prediction
+		if (phaseClassifier.classify(gameStep) == GamePhase.SEALED)
+			return regionSolver.calculateAction(gameStep, phaseClassifier.getOwnRegionSize(), token);
+		if (MinimaxSolver.isApplicable(gameStep))
+			return duelSolver.calculateAction(gameStep, boardRatingConsumer);
+
+		// Predict the enemies in the background
+		enemyProbabilityCalculator.startCalculation(gameStep.getEnemies().values(), gameStep.getBoard());
+
+		// Meanwhile do all work which does not depend on the enemy probabilities
+		final long preparationStart = System.currentTimeMillis();
+		reachablePointsCalculator.prepareCalculation(gameStep);
+		final ActionsRating territoryRating = territoryWeight > 0
+				? territoryCalculation.getActionsRating(gameStep.getSelf(), gameStep.getEnemies().values(),
+						gameStep.getBoard())
+				: new ActionsRating();
+		// Rate the regions kept by each action and the regions cut off from the enemies
+		final ActionsRating regionRating = new ActionsRating();
+		final ActionsRating chamberCutOffRating = new ActionsRating();
+		final boolean chambersUsed = cutOffWeight > 0 || regionWeight > 0;
+		if (chambersUsed) {
+			chamberAnalysis.update(gameStep.getBoard());
+			final Map<PlayerAction, RegionSplit> regionSplits = chamberAnalysis.splitActions(gameStep.getSelf(),
+					gameStep.getEnemies().values(), gameStep.getBoard());
+			for (final Map.Entry<PlayerAction, RegionSplit> entry : regionSplits.entrySet()) {
+				regionRating.setRating(entry.getKey(), entry.getValue().getOwnRegionSize());
+				chamberCutOffRating.setRating(entry.getKey(), entry.getValue().getCutOffRatio());
+			}
+			regionRating.normalize();
+		}
+		// The ratings known before the calculation are part of its convergence estimate
+		final ActionsRating fixedRating = new ActionsRating().combine(territoryRating, territoryWeight)
+				.combine(chamberCutOffRating, cutOffWeight).combine(regionRating, regionWeight);
+		final long preparationTime = System.currentTimeMillis() - preparationStart;
+
+		enemyProbabilityCalculator.finishCalculation();
+		GameLogger.logGameInformation(String.format(
+				"Prepared the round in %d ms and waited %d ms for the enemy predictions!", preparationTime,
+				System.currentTimeMillis() - preparationStart - preparationTime));
+
+		// Search the longest path if no enemy can reach the own region within the
+		// search depth
+		final int isolatedRegionSize = regionSolver.getIsolatedRegionSize(gameStep,
+				enemyProbabilityCalculator.getMinStepsMatrix(), enemySearchDepth);
+		if (isolatedRegionSize > 0)
+			return regionSolver.calculateAction(gameStep, isolatedRegionSize, token);
 
 		// Calculate the Action
 		reachablePointsCalculator.performCalculation(gameStep, enemyProbabilityCalculator.getProbabilitiesMatrix(),
-				enemyProbabilityCalculator.getMinStepsMatrix());
+				enemyProbabilityCalculator.getMinStepsMatrix(), fixedRating, token);
 
 		// Combine the results
-		final ActionsRating combinedActionsRating = reachablePointsCalculator.combineActionsRating(aggressiveWeight,
-				defensiveWeight);
+		final ActionsRating combinedActionsRating = reachablePointsCalculator
+				.combineActionsRating(aggressiveWeight, defensiveWeight).combine(fixedRating, 1);
 
 		// Log the results
+		if (chambersUsed)
+			GameLogger.logGameInformation(String.format("Updated the chambers of %d free cells!",
+					chamberAnalysis.getSearchedCellCount()));
+		GameLogger.logGameInformation(String.format("territory-rating:\t%s", territoryRating));
+		GameLogger.logGameInformation(String.format("region-rating:\t%s", regionRating));
+		GameLogger.logGameInformation(String.format("chamber-cut-off-rating:\t%s", chamberCutOffRating));
 		reachablePointsCalculator.logGameInformation(combinedActionsRating);
 
 		// get the best action
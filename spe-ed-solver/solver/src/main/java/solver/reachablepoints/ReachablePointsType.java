@@ -1,8 +1,11 @@
 package solver.reachablepoints;
 
+import solver.SolverExecutor;
+import solver.analysis.ConvergenceMonitor;
 import solver.reachablepoints.graph.GraphCalculator;
 import solver.reachablepoints.multithreaded.ReachablePointsMultithreaded;
 import solver.reachablepoints.singlethreaded.ReachablePointsSingleThreaded;
+import utility.geometry.FloatMatrixArena;
 
 /**
  * Enum describing multiple types of the {@link IReachablePoints} calculation.
@@ -11,17 +14,19 @@ import solver.reachablepoints.singlethreaded.ReachablePointsSingleThreaded;
 public enum ReachablePointsType {
 	CLASSIC {
 		@Override
-		public IReachablePoints newInstance(final int maxThreadCount) {
-			if (6 <= maxThreadCount)
-				return new ReachablePointsMultithreaded();
+		public IReachablePoints newInstance(final SolverExecutor executor, final FloatMatrixArena matrixArena,
+				final ConvergenceMonitor convergenceMonitor, final FrontierPolicy frontierPolicy) {
+			if (1 < executor.getMaxThreadCount())
+				return new ReachablePointsMultithreaded(executor, matrixArena, convergenceMonitor, frontierPolicy);
 			else
-				return new ReachablePointsSingleThreaded();
+				return new ReachablePointsSingleThreaded(matrixArena, convergenceMonitor, frontierPolicy);
 		}
 	},
 	GRAPH {
 		@Override
-		public IReachablePoints newInstance(final int maxThreadCount) {
-			return new GraphCalculator(maxThreadCount);
+		public IReachablePoints newInstance(final SolverExecutor executor, final FloatMatrixArena matrixArena,
+				final ConvergenceMonitor convergenceMonitor, final FrontierPolicy frontierPolicy) {
+			return new GraphCalculator(executor, matrixArena, convergenceMonitor, frontierPolicy);
 		}
 	};
 
@@ -29,10 +34,16 @@ public enum ReachablePointsType {
 	 * Returns a new instance of {@link IReachablePoints} according to the
 	 * {@link ReachablePointsType}.
 	 * 
-	 * @param maxThreadCount specifies the maximum number of concurrent threads to
-	 *                       use
+	 * @param executor           {@link SolverExecutor} to run the parallel work in
+	 * @param matrixArena        {@link FloatMatrixArena} the instance obtains its
+	 *                           result matrices from
+	 * @param convergenceMonitor {@link ConvergenceMonitor} to stop the calculation
+	 *                           early
+	 * @param frontierPolicy     {@link FrontierPolicy} deciding the expansion
+	 *                           order of the calculation
 	 * @return {@link IReachablePoints} instance
 	 */
-	public abstract IReachablePoints newInstance(final int maxThreadCount);
+	public abstract IReachablePoints newInstance(final SolverExecutor executor, final FloatMatrixArena matrixArena,
+			final ConvergenceMonitor convergenceMonitor, final FrontierPolicy frontierPolicy);
 
 }
@@ -0,0 +1,131 @@
+package solver.reachablepoints;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded hash table remembering the success and cut off rating of already
+ * expanded search states. It is used to skip states which were already reached
+ * by a different order of actions with at least the same success and cut off
+ * rating. Both ratings are compared, because the cut off results take the
+ * maximum over all paths, so a revisit with a better cut off rating has to be
+ * expanded even if its success rating is not better. States are only stored
+ * when they are expanded, not when they are queued: a bounded frontier may drop
+ * a queued state, which must not block its transpositions. The table is lock
+ * free and can be shared by multiple threads: each entry stores the key XOR both
+ * values next to the values, so entries torn by concurrent writes are detected
+ * and treated as empty.
+ */
+public class TranspositionTable {
+
+	/**
+	 * Decides which entry is kept if two states are mapped to the same slot.
+	 */
+	public enum ReplacementPolicy {
+		/**
+		 * The newest state always replaces the stored one.
+		 */
+		ALWAYS_REPLACE,
+		/**
+		 * A stored state of another key is only replaced by a state with a higher
+		 * success rating.
+		 */
+		PREFER_HIGHER_RATING
+	}
+
+	private static final int LONGS_PER_ENTRY = 3;
+	private static final int BYTES_PER_ENTRY = LONGS_PER_ENTRY * Long.BYTES;
+
+	private final AtomicLongArray entries;
+	private final int slotMask;
+	private final ReplacementPolicy replacementPolicy;
+
+	/**
+	 * Creates a new {@link TranspositionTable} using at most the given amount of
+	 * memory. The amount of entries is rounded down to a power of two.
+	 *
+	 * @param maxMemoryBytes    the maximum memory used by the entries
+	 * @param replacementPolicy the {@link ReplacementPolicy} for colliding states
+	 */
+	public TranspositionTable(final int maxMemoryBytes, final ReplacementPolicy replacementPolicy) {
+		final int slots = Integer.highestOneBit(Math.max(1, maxMemoryBytes / BYTES_PER_ENTRY));
+		this.entries = new AtomicLongArray(slots * LONGS_PER_ENTRY);
+		this.slotMask = slots - 1;
+		this.replacementPolicy = replacementPolicy;
+	}
+
+	/**
+	 * Determines if a state was already expanded with at least the same success
+	 * and cut off rating. The table is not changed, so the check can be used
+	 * before a state is queued.
+	 *
+	 * @param key           the hash of the state, 0 is not allowed
+	 * @param successRating the success rating of the state
+	 * @param cutOffRating  the cut off rating of the state
+	 * @return true if the state is a duplicate of an expanded state
+	 */
+	public boolean isExpanded(final long key, final double successRating, final double cutOffRating) {
+		final int index = ((int) (key ^ (key >>> 32)) & slotMask) * LONGS_PER_ENTRY;
+		final long storedSuccess = entries.get(index + 1);
+		final long storedCutOff = entries.get(index + 2);
+		final long storedKey = entries.get(index) ^ storedSuccess ^ storedCutOff;
+		final boolean occupied = storedSuccess != 0 || storedCutOff != 0 || entries.get(index) != 0;
+
+		return occupied && storedKey == key && Double.longBitsToDouble(storedSuccess) >= successRating
+				&& Double.longBitsToDouble(storedCutOff) >= cutOffRating;
+	}
+
+	/**
+	 * Offers a state which is about to be expanded to the table. The state should
+	 * be expanded, if it was not expanded before with at least the same success
+	 * and cut off rating. In this case it is stored according to the
+	 * {@link ReplacementPolicy}.
+	 *
+	 * @param key           the hash of the state, 0 is not allowed
+	 * @param successRating the success rating of the state
+	 * @param cutOffRating  the cut off rating of the state
+	 * @return true if the state should be expanded, false if it is a duplicate
+	 */
+	public boolean offer(final long key, final double successRating, final double cutOffRating) {
+		final int index = ((int) (key ^ (key >>> 32)) & slotMask) * LONGS_PER_ENTRY;
+		final long newSuccess = Double.doubleToRawLongBits(successRating);
+		final long newCutOff = Double.doubleToRawLongBits(cutOffRating);
+
+		final long storedSuccess = entries.get(index + 1);
+		final long storedCutOff = entries.get(index + 2);
+		final long storedKey = entries.get(index) ^ storedSuccess ^ storedCutOff;
+		final boolean occupied = storedSuccess != 0 || storedCutOff != 0 || entries.get(index) != 0;
+
+		if (occupied && storedKey == key) {
+			if (Double.longBitsToDouble(storedSuccess) >= successRating
+					&& Double.longBitsToDouble(storedCutOff) >= cutOffRating)
+				return false;
+		} else if (occupied && replacementPolicy == ReplacementPolicy.PREFER_HIGHER_RATING
+				&& Double.longBitsToDouble(storedSuccess) >= successRating) {
+			// keep the better state of the other key and expand this one anyway
+			return true;
+		}
+
+		entries.set(index + 1, newSuccess);
+		entries.set(index + 2, newCutOff);
+		entries.set(index, key ^ newSuccess ^ newCutOff);
+		return true;
+	}
+
+	/**
+	 * Removes all stored states. Has to be called before the table is used for a
+	 * new search.
+	 */
+	public void clear() {
+		for (int i = 0; i < entries.length(); i++)
+			entries.set(i, 0);
+	}
+
+	/**
+	 * Returns the amount of states the table can store.
+	 *
+	 * @return the amount of slots
+	 */
+	public int getCapacity() {
+		return slotMask + 1;
+	}
+}
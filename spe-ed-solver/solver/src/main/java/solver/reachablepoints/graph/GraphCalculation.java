@@ -6,9 +6,11 @@ import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Random;
 
+import solver.CancellationToken;
 import solver.analysis.cutoff.CutOffCalculation;
 import solver.analysis.success.SuccessCalculation;
-import solver.reachablepoints.LimitedQueue;
+import solver.reachablepoints.FrontierPolicy;
+import solver.reachablepoints.IFrontier;
 import solver.reachablepoints.graph.board.ConcreteEdge;
 import solver.reachablepoints.graph.board.Node;
 import solver.reachablepoints.graph.importance.EdgeImportance;
@@ -16,6 +18,7 @@ import utility.game.board.Board;
 import utility.game.player.PlayerAction;
 import utility.game.step.IDeadline;
 import utility.geometry.FloatMatrix;
+import utility.geometry.FloatMatrixArena;
 import utility.geometry.Point2i;
 
 /**
@@ -26,14 +29,18 @@ import utility.geometry.Point2i;
  */
 public class GraphCalculation {
 
-	private static final int DEADLINE_MILLISECOND_BUFFER = 500;
 	private static final int DEFAULT_QUEUE_SIZE = 10000;
 
+	/**
+	 * Amount of steps after which the rating estimates are published.
+	 */
+	private static final int PUBLISH_INTERVAL = 1024;
+
 	/**
 	 * Maps for each possible {@link PlayerAction initial player action} a
-	 * {@link LimitedQueue}
+	 * {@link IFrontier}
 	 */
-	private final Map<PlayerAction, LimitedQueue<RatedPredictiveGraphPlayer>> queues;
+	private final Map<PlayerAction, IFrontier<RatedPredictiveGraphPlayer>> queues;
 
 	/**
 	 * All {@link PlayerAction player actions} that are a key in
@@ -45,7 +52,7 @@ public class GraphCalculation {
 	private final FloatMatrix probabilities;
 	private final FloatMatrix minSteps;
 
-	private final IDeadline deadline;
+	private final CancellationToken token;
 
 	private SuccessCalculation successCalculation;
 	private CutOffCalculation cutOffCalculation;
@@ -54,6 +61,9 @@ public class GraphCalculation {
 	private int calculatedPathsCount = 0;
 	private final Board<Node> graph;
 
+	private volatile double[] publishedSuccessEstimate = new double[PlayerAction.values().length];
+	private volatile double[] publishedCutOffEstimate = new double[PlayerAction.values().length];
+
 	/**
 	 * Creates a new {@link GraphCalculation} object.
 	 * 
@@ -62,26 +72,32 @@ public class GraphCalculation {
 	 * @param minSteps      {@link FloatMatrix} with minimum steps
 	 * @param initialEdges  all possible Edges the player can do for the current
 	 *                      round
-	 * @param deadline      {@link IDeadline} to limit execution time
+	 * @param token         {@link CancellationToken} to stop the execution
+	 * @param matrixArena   {@link FloatMatrixArena} to obtain the result matrices
+	 *                      from
 	 * @param queueSize     the maximum Size of elements for each of the 5 queues
+	 * @param policy        the {@link FrontierPolicy} of the queues
 	 */
 	public GraphCalculation(final Board<Node> graph, final FloatMatrix probabilities, final FloatMatrix minSteps,
-			final Map<PlayerAction, ConcreteEdge> initialEdges, final IDeadline deadline, int queueSize) {
+			final Map<PlayerAction, ConcreteEdge> initialEdges, final CancellationToken token,
+			final FloatMatrixArena matrixArena, int queueSize, final FrontierPolicy policy) {
 
 		this.probabilities = probabilities;
 		this.minSteps = minSteps;
 
-		this.deadline = deadline;
+		this.token = token;
 		this.graph = graph;
 
 		queues = new EnumMap<>(PlayerAction.class);
 		queuedActions = PlayerAction.values();
 		for (final PlayerAction action : PlayerAction.values()) {
-			queues.put(action, new LimitedQueue<>(RatedPredictiveGraphPlayer.class, queueSize));
+			queues.put(action, policy.<RatedPredictiveGraphPlayer>newFrontier(RatedPredictiveGraphPlayer.class,
+					queueSize, player -> FrontierPolicy.getPriority(player.getSuccessRating(),
+							player.getRelativeRound())));
 		}
 
-		successCalculation = new SuccessCalculation(graph.getWidth(), graph.getHeight());
-		cutOffCalculation = new CutOffCalculation(graph.getWidth(), graph.getHeight());
+		successCalculation = new SuccessCalculation(graph.getWidth(), graph.getHeight(), matrixArena);
+		cutOffCalculation = new CutOffCalculation(graph.getWidth(), graph.getHeight(), matrixArena);
 		edgeImportance = new EdgeImportance(graph.getWidth(), graph.getHeight(), initialEdges);
 	}
 
@@ -94,11 +110,15 @@ public class GraphCalculation {
 	 * @param minSteps      {@link FloatMatrix} with minimum steps * @param
 	 * @param initialEdges  all possible Edges the player can do for the current
 	 *                      round
-	 * @param deadline      {@link IDeadline} to limit execution time
+	 * @param token         {@link CancellationToken} to stop the execution
+	 * @param matrixArena   {@link FloatMatrixArena} to obtain the result matrices
+	 *                      from
+	 * @param policy        the {@link FrontierPolicy} of the queues
 	 */
 	public GraphCalculation(Board<Node> graph, FloatMatrix probabilities, FloatMatrix minSteps,
-			final Map<PlayerAction, ConcreteEdge> initialEdges, IDeadline deadline) {
-		this(graph, probabilities, minSteps, initialEdges, deadline, DEFAULT_QUEUE_SIZE);
+			final Map<PlayerAction, ConcreteEdge> initialEdges, final CancellationToken token,
+			final FloatMatrixArena matrixArena, final FrontierPolicy policy) {
+		this(graph, probabilities, minSteps, initialEdges, token, matrixArena, DEFAULT_QUEUE_SIZE, policy);
 	}
 
 	/**
@@ -120,13 +140,54 @@ public class GraphCalculation {
 
 	/**
 	 * Starts the execution for the {@link GraphCalculation} with the given
-	 * startPlayers. Ends when no steps can be found or the Deadline exceeds the
-	 * {@link GraphCalculation#DEADLINE_MILLISECOND_BUFFER}
+	 * startPlayers. Ends when no steps can be found or the
+	 * {@link CancellationToken} is cancelled, which is polled every
+	 * {@link CancellationToken#POLL_INTERVAL} steps.
 	 */
 	public void executeDeadline() {
-		while (queuesHasNext() && deadline.getRemainingMilliseconds() > DEADLINE_MILLISECOND_BUFFER) {
+		int steps = 0;
+		while (queuesHasNext() && !token.isCancelled(steps)) {
 			executeStep();
+			if (++steps % PUBLISH_INTERVAL == 0)
+				publishEstimates();
+		}
+	}
+
+	/**
+	 * Publishes the current success and cut off ratings, so other threads can
+	 * read them while the calculation is running.
+	 */
+	private void publishEstimates() {
+		final double[] successEstimate = new double[PlayerAction.values().length];
+		final double[] cutOffEstimate = new double[PlayerAction.values().length];
+		for (final PlayerAction action : PlayerAction.values()) {
+			successEstimate[action.ordinal()] = successCalculation.getMatrixResult(action).sum();
+			cutOffEstimate[action.ordinal()] = cutOffCalculation.getMatrixResult(action).max();
 		}
+		publishedSuccessEstimate = successEstimate;
+		publishedCutOffEstimate = cutOffEstimate;
+	}
+
+	/**
+	 * Returns the last published success rating of a {@link PlayerAction}. The
+	 * value can be read by any thread while the calculation is running.
+	 * 
+	 * @param action the initial {@link PlayerAction}
+	 * @return the sum of the success matrix of the action
+	 */
+	public double getSuccessEstimate(final PlayerAction action) {
+		return publishedSuccessEstimate[action.ordinal()];
+	}
+
+	/**
+	 * Returns the last published cut off rating of a {@link PlayerAction}. The
+	 * value can be read by any thread while the calculation is running.
+	 * 
+	 * @param action the initial {@link PlayerAction}
+	 * @return the maximum of the cut off matrix of the action
+	 */
+	public double getCutOffEstimate(final PlayerAction action) {
+		return publishedCutOffEstimate[action.ordinal()];
 	}
 
 	/**
@@ -152,7 +213,7 @@ public class GraphCalculation {
 	public int queuesRemaining() {
 		int remaining = 0;
 
-		for (final LimitedQueue<?> queue : queues.values())
+		for (final IFrontier<?> queue : queues.values())
 			remaining += queue.remaining();
 
 		return remaining;
@@ -164,7 +225,7 @@ public class GraphCalculation {
 	 * @return true if any of the {@link GraphCalculation#queues} has a next value
 	 */
 	public boolean queuesHasNext() {
-		return queues.values().stream().anyMatch(LimitedQueue::hasNext);
+		return queues.values().stream().anyMatch(IFrontier::hasNext);
 	}
 
 	/**
@@ -2,11 +2,19 @@ package solver.reachablepoints.graph;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinTask;
 
+import solver.CancellationToken;
+import solver.SolverExecutor;
+import solver.ThreadCountModel;
 import solver.analysis.ActionsRating;
+import solver.analysis.ConvergenceMonitor;
 import solver.analysis.cutoff.CutOffCalculation;
 import solver.analysis.success.SuccessCalculation;
+import solver.reachablepoints.FrontierPolicy;
 import solver.reachablepoints.IReachablePoints;
 import solver.reachablepoints.graph.board.ConcreteEdge;
 import solver.reachablepoints.graph.board.Graph;
@@ -14,56 +22,183 @@ import solver.reachablepoints.graph.board.IEdge;
 import solver.reachablepoints.graph.board.Node;
 import solver.reachablepoints.graph.importance.EdgeImportance;
 import utility.game.board.Board;
+import utility.game.board.BoardDelta;
 import utility.game.player.IPlayer;
 import utility.game.player.PlayerAction;
 import utility.game.step.IDeadline;
 import utility.game.step.GameStep;
 import utility.geometry.ContextualFloatMatrix;
 import utility.geometry.FloatMatrix;
+import utility.geometry.FloatMatrixArena;
 import utility.logging.GameLogger;
 
 /**
  * Calculator class calculating success and cut off ratings as
- * {@link ActionsRating} objects and storing the last calculated results.
+ * {@link ActionsRating} objects and storing the last calculated results. The
+ * amount of threads is chosen each round by a {@link ThreadCountModel}.
  */
 public class GraphCalculator implements IReachablePoints {
+
+	private static final double NANOSECONDS_PER_SECOND = 1_000_000_000d;
+
+	private final SolverExecutor executor;
 	private final int maxThreadCount;
+	private final FloatMatrixArena matrixArena;
+	private final ConvergenceMonitor convergenceMonitor;
+	private final FrontierPolicy frontierPolicy;
+	private final ThreadCountModel threadCountModel;
 
 	private FloatMatrix enemyProbabilitiesMatrix;
+	private ActionsRating fixedRating;
 	private FloatMatrix enemyMinStepsMatrix;
 	private int calculatedPaths;
+	private long roundPaths;
 	private Graph graph;
-	private int[] activeEnemiesIds;
+	private long boardVersion;
+	private GameStep preparedGameStep;
 
 	private SuccessCalculation successCalculation;
 	private CutOffCalculation cutOffCalculation;
 	private EdgeImportance importanceCalculation;
 
+	/**
+	 * Start players and not expanded states of the last round. The states below
+	 * the start player matching the next position of the real player are carried
+	 * over to the next round.
+	 */
+	private List<RatedPredictiveGraphPlayer> previousStartPlayers = new ArrayList<>();
+	private final List<RatedPredictiveGraphPlayer> previousFrontier = new ArrayList<>();
+
 	/**
 	 * Creates a new Instance of the {@link GraphCalculator graph solver }.
 	 * 
-	 * @param maxThreadCount specifies the maximum number of concurrent threads to
-	 *                       use
+	 * @param executor           {@link SolverExecutor} to run the calculations in,
+	 *                           one calculation is created for each of its threads
+	 * @param matrixArena        {@link FloatMatrixArena} to obtain the result
+	 *                           matrices from
+	 * @param convergenceMonitor {@link ConvergenceMonitor} to stop the
+	 *                           calculations early
+	 * @param frontierPolicy     {@link FrontierPolicy} of the calculation queues
 	 */
-	public GraphCalculator(final int maxThreadCount) {
-		this.maxThreadCount = maxThreadCount;
+	public GraphCalculator(final SolverExecutor executor, final FloatMatrixArena matrixArena,
+			final ConvergenceMonitor convergenceMonitor, final FrontierPolicy frontierPolicy) {
+		this.executor = executor;
+		this.maxThreadCount = executor.getMaxThreadCount();
+		this.matrixArena = matrixArena;
+		this.convergenceMonitor = convergenceMonitor;
+		this.frontierPolicy = frontierPolicy;
+		this.threadCountModel = new ThreadCountModel(maxThreadCount);
+	}
+
+	@Override
+	public void prepareCalculation(final GameStep gameStep) {
+		updateGraph(gameStep);
+		preparedGameStep = gameStep;
 	}
 
 	@Override
 	public void performCalculation(final GameStep gameStep, final FloatMatrix probabilities,
-			final FloatMatrix minSteps) {
+			final FloatMatrix minSteps, final ActionsRating fixedRating, final CancellationToken token) {
 		this.enemyProbabilitiesMatrix = probabilities;
+		this.fixedRating = fixedRating;
 		this.enemyMinStepsMatrix = minSteps;
+		convergenceMonitor.reset();
 
-		updateGraph(gameStep);
+		// the graph is updated only once per game step
+		if (gameStep != preparedGameStep)
+			updateGraph(gameStep);
+		preparedGameStep = null;
 
 		final List<RatedPredictiveGraphPlayer> startPlayers = RatedPredictiveGraphPlayer
 				.getValidChildren(gameStep.getSelf(), graph, probabilities, minSteps);
 
-		final List<GraphCalculation> calculations = getCalculations(startPlayers, gameStep.getDeadline(), graph);
+		final List<RatedPredictiveGraphPlayer> carriedPlayers = carryOverFrontier(gameStep.getSelf(), startPlayers,
+				probabilities, minSteps);
+
+		final long start = System.nanoTime();
+		roundPaths = 0;
+		final int threadCount = threadCountModel.chooseThreadCount(maxThreadCount);
+		final double expectedThroughput = threadCountModel.getExpectedThroughput(threadCount);
+
+		final List<GraphCalculation> calculations = getCalculations(startPlayers, carriedPlayers,
+				token, graph, threadCount);
 
-		calculate(calculations);
+		calculate(calculations, token, gameStep.getDeadline());
 		addResults(calculations);
+		keepFrontier(calculations, startPlayers);
+
+		final long duration = Math.max(1, System.nanoTime() - start);
+		threadCountModel.record(calculations.size(), roundPaths, duration);
+		GameLogger.logGameInformation(String.format(
+				"Calculated the graph with %d of %d threads: %.0f paths per second expected, %.0f measured!",
+				calculations.size(), maxThreadCount, expectedThroughput,
+				roundPaths * NANOSECONDS_PER_SECOND / duration));
+	}
+
+	/**
+	 * Carries the not expanded states of the last round over to this round. Only
+	 * the states below the action which was actually taken are kept. They are
+	 * checked against the updated {@link Graph graph} and rated with the new
+	 * {@link FloatMatrix matrices}.
+	 * 
+	 * @param self          the current {@link IPlayer player}
+	 * @param startPlayers  the {@link RatedPredictiveGraphPlayer start players} of
+	 *                      this round
+	 * @param probabilities {@link FloatMatrix} with the new probabilities
+	 * @param minSteps      {@link FloatMatrix} with the new minimum steps
+	 * @return the carried over {@link RatedPredictiveGraphPlayer states}
+	 */
+	private List<RatedPredictiveGraphPlayer> carryOverFrontier(final IPlayer self,
+			final List<RatedPredictiveGraphPlayer> startPlayers, final FloatMatrix probabilities,
+			final FloatMatrix minSteps) {
+		final List<RatedPredictiveGraphPlayer> carriedPlayers = new ArrayList<>();
+
+		PlayerAction takenAction = null;
+		for (final RatedPredictiveGraphPlayer previousStartPlayer : previousStartPlayers) {
+			if (previousStartPlayer.getRound() == self.getRound()
+					&& previousStartPlayer.getPosition().equals(self.getPosition())
+					&& previousStartPlayer.getDirection() == self.getDirection()
+					&& previousStartPlayer.getSpeed() == self.getSpeed())
+				takenAction = previousStartPlayer.getInitialAction();
+		}
+
+		if (takenAction != null) {
+			final Map<ConcreteEdge, PlayerAction> initialEdgeActions = new HashMap<>();
+			for (final RatedPredictiveGraphPlayer startPlayer : startPlayers)
+				initialEdgeActions.put(startPlayer.getEdgeTail().get(0), startPlayer.getInitialAction());
+
+			for (final RatedPredictiveGraphPlayer player : previousFrontier) {
+				if (player.getInitialAction() != takenAction)
+					continue;
+				final RatedPredictiveGraphPlayer carriedPlayer = player.carryOver(initialEdgeActions, probabilities,
+						minSteps);
+				if (carriedPlayer != null)
+					carriedPlayers.add(carriedPlayer);
+			}
+			GameLogger.logGameInformation(
+					String.format("Carried %d graph states over from the last round!", carriedPlayers.size()));
+		}
+
+		previousStartPlayers = new ArrayList<>();
+		previousFrontier.clear();
+		return carriedPlayers;
+	}
+
+	/**
+	 * Stores the not expanded states of the {@link GraphCalculation calculations},
+	 * so they can be carried over to the next round.
+	 * 
+	 * @param calculations the finished {@link GraphCalculation calculations}
+	 * @param startPlayers the {@link RatedPredictiveGraphPlayer start players} of
+	 *                     this round
+	 */
+	private void keepFrontier(final List<GraphCalculation> calculations,
+			final List<RatedPredictiveGraphPlayer> startPlayers) {
+		for (final GraphCalculation calculation : calculations) {
+			while (calculation.queuesHasNext())
+				previousFrontier.add(calculation.queuesPoll());
+		}
+		previousStartPlayers = startPlayers;
 	}
 
 	/**
@@ -77,106 +212,150 @@ public class GraphCalculator implements IReachablePoints {
 			// Initialize the graph with an empty Node-Array
 			final Node[][] emptyNodes = new Node[gameStep.getBoard().getHeight()][gameStep.getBoard().getWidth()];
 			this.graph = new Graph(emptyNodes);
-
-			// Initialize the alive player
-			this.activeEnemiesIds = gameStep.getEnemies().keySet().stream().mapToInt(Integer::intValue).toArray();
+			this.boardVersion = BoardDelta.EMPTY_BOARD_VERSION;
 		}
 
-		// Merge all players that were active last round into one list
-		List<IPlayer> enemies = new ArrayList<>();
-		for (int playerId : this.activeEnemiesIds)
-			enemies.add(gameStep.getEnemies().get(playerId));
-
-		// Transfer the new occupied cells to the graph
-		graph.updateGraph(gameStep.getBoard(), gameStep.getSelf(), enemies);
-
-		// Determine the currently dead players to ignore them in the following round
-		// for the graph-update.
-		this.activeEnemiesIds = enemies.stream().filter(IPlayer::isActive).mapToInt(IPlayer::getPlayerId).toArray();
+		// Transfer the new occupied cells to the graph. If a game step was missed
+		// all occupied cells have to be transferred.
+		BoardDelta boardDelta = gameStep.getBoardDelta();
+		if (!boardDelta.follows(this.boardVersion))
+			boardDelta = BoardDelta.ofOccupiedCells(gameStep.getBoard());
+		graph.updateGraph(gameStep.getBoard(), boardDelta, gameStep.getSelf());
+		this.boardVersion = gameStep.getBoardDelta().getVersion();
 	}
 
 	/**
 	 * Generates {@link GraphCalculation GraphCalculations} for different Threads
-	 * with a base of {@link RatedPredictiveGraphPlayer start players}.
+	 * with a base of {@link RatedPredictiveGraphPlayer start players}. The
+	 * carried over states of the last round are distributed to all
+	 * {@link GraphCalculation calculations}.
 	 * 
-	 * @param startPlayers {@link RatedPredictiveGraphPlayer players} to start the
-	 *                     {@link GraphCalculation calculations} with
-	 * @param deadline     {@link IDeadline} which must not be exceeded
-	 * @param graph        the {@link Graph graph board} to find the
-	 *                     {@link ConcreteEdge edges}
+	 * @param startPlayers   {@link RatedPredictiveGraphPlayer players} to start
+	 *                       the {@link GraphCalculation calculations} with
+	 * @param carriedPlayers {@link RatedPredictiveGraphPlayer states} carried over
+	 *                       from the last round
+	 * @param token          {@link CancellationToken} to stop the calculations
+	 * @param graph          the {@link Graph graph board} to find the
+	 *                       {@link ConcreteEdge edges}
+	 * @param threadCount    the amount of threads chosen for this round, fewer
+	 *                       calculations are created if the base is too small
 	 * @return the created {@link GraphCalculation calculation objects}
 	 */
 	private List<GraphCalculation> getCalculations(final List<RatedPredictiveGraphPlayer> startPlayers,
-			final IDeadline deadline, final Board<Node> graph) {
+			final List<RatedPredictiveGraphPlayer> carriedPlayers, final CancellationToken token,
+			final Board<Node> graph, final int threadCount) {
 
 		final int width = graph.getWidth();
 		final int height = graph.getHeight();
-		successCalculation = new SuccessCalculation(width, height);
-		cutOffCalculation = new CutOffCalculation(width, height);
+		successCalculation = new SuccessCalculation(width, height, matrixArena);
+		cutOffCalculation = new CutOffCalculation(width, height, matrixArena);
 		importanceCalculation = new EdgeImportance(width, height, startPlayers);
 
 		// Create a Calculation for each thread
 		List<GraphCalculation> calculations = new ArrayList<>();
 
-		if (maxThreadCount <= 1) {
+		if (threadCount <= 1) {
 			GraphCalculation calculation = new GraphCalculation(graph, this.enemyProbabilitiesMatrix,
-					this.enemyMinStepsMatrix, importanceCalculation.getInitialEdges(), deadline);
+					this.enemyMinStepsMatrix, importanceCalculation.getInitialEdges(), token, matrixArena,
+					frontierPolicy);
 			calculations.add(calculation);
 			startPlayers.stream().forEach(calculation::addPlayerToQueue);
+			carriedPlayers.stream().forEach(calculation::addPlayerToQueue);
 			return calculations;
 		}
 
-		while (calculations.size() < maxThreadCount)
-			calculations.add(new GraphCalculation(graph, this.enemyProbabilitiesMatrix, this.enemyMinStepsMatrix,
-					importanceCalculation.getInitialEdges(), deadline));
-
 		// Define the number of required start players
 		final int threadBase = (graph.getHeight() + graph.getWidth()) * 10;
-		final int totalBase = threadBase * maxThreadCount;
+		final int totalBase = threadBase * threadCount;
 
 		// create a Base of Player states
 		GraphCalculation baseCalculation = new GraphCalculation(graph, this.enemyProbabilitiesMatrix,
-				this.enemyMinStepsMatrix, importanceCalculation.getInitialEdges(), deadline, totalBase);
+				this.enemyMinStepsMatrix, importanceCalculation.getInitialEdges(), token, matrixArena, totalBase,
+				frontierPolicy);
 		startPlayers.stream().forEach(baseCalculation::addPlayerToQueue);
 
-		while (baseCalculation.queuesHasNext() && baseCalculation.queuesRemaining() < totalBase) {
+		int baseSteps = 0;
+		while (baseCalculation.queuesHasNext() && baseCalculation.queuesRemaining() < totalBase
+				&& !token.isCancelled(baseSteps++)) {
 			baseCalculation.executeStep();
 		}
 		addResults(baseCalculation);
 
+		// a small base does not keep all threads busy
+		final int usedThreadCount = Math.max(1,
+				Math.min(threadCount, (baseCalculation.queuesRemaining() + threadBase - 1) / threadBase));
+		while (calculations.size() < usedThreadCount)
+			calculations.add(new GraphCalculation(graph, this.enemyProbabilitiesMatrix, this.enemyMinStepsMatrix,
+					importanceCalculation.getInitialEdges(), token, matrixArena, frontierPolicy));
+
 		for (int calculationIndex = 0; baseCalculation
-				.queuesHasNext(); calculationIndex = (calculationIndex + 1) % maxThreadCount) {
+				.queuesHasNext(); calculationIndex = (calculationIndex + 1) % usedThreadCount) {
 			final RatedPredictiveGraphPlayer startPlayer = baseCalculation.queuesPoll();
 			calculations.get(calculationIndex).addPlayerToQueue(startPlayer);
 		}
 
+		for (int playerIndex = 0; playerIndex < carriedPlayers.size(); playerIndex++)
+			calculations.get(playerIndex % usedThreadCount).addPlayerToQueue(carriedPlayers.get(playerIndex));
+
 		return calculations;
 	}
 
 	/**
-	 * Calculates the first given {@link GraphCalculation} in this Thread and all
-	 * other {@link GraphCalculation calculations} in seperate Threads.
+	 * Calculates the given {@link GraphCalculation calculations} in the threads of
+	 * the {@link SolverExecutor}. While waiting, this thread reports the estimated
+	 * {@link ActionsRating} to the {@link ConvergenceMonitor} at each checkpoint
+	 * and cancels the {@link CancellationToken} as soon as the best action is
+	 * settled. All calculations are joined before this method returns.
 	 * 
 	 * @param calculations {@link GraphCalculation calculations} that must be
 	 *                     calculated
+	 * @param token        {@link CancellationToken} of the calculations
+	 * @param deadline     {@link IDeadline} of the current game step
 	 */
-	private static void calculate(final List<GraphCalculation> calculations) {
-		if (calculations.isEmpty())
-			return;
-
-		final List<Thread> threads = new ArrayList<>();
-
-		for (int i = 1; i < calculations.size(); i++) {
-			final GraphCalculation calculation = calculations.get(i);
-			final Thread thread = new Thread(calculation::executeDeadline);
-			threads.add(thread);
-			thread.start();
+	private void calculate(final List<GraphCalculation> calculations, final CancellationToken token,
+			final IDeadline deadline) {
+		final List<ForkJoinTask<?>> tasks = new ArrayList<>();
+		for (final GraphCalculation calculation : calculations)
+			tasks.add(executor.getPool().submit(calculation::executeDeadline));
+
+		while (!executor.awaitAll(tasks, convergenceMonitor.getCheckpointMilliseconds(), token)) {
+			// cancelled calculations return within a poll interval, they are waited for
+			if (!token.isCancelled() && convergenceMonitor.addCheckpoint(estimateActionsRating(calculations))) {
+				token.cancel();
+				GameLogger.logGameInformation(String.format("Stopped the converged calculation %d ms early!",
+						deadline.getRemainingMilliseconds()));
+			}
 		}
+	}
 
-		calculations.get(0).executeDeadline();
+	/**
+	 * Estimates the combined {@link ActionsRating} of the running calculations.
+	 * Each rating is the best one of the base results and the results the
+	 * calculations published. The importance is only known from the base results.
+	 * The fixed {@link ActionsRating} of the other analyses is added.
+	 * 
+	 * @param calculations running {@link GraphCalculation calculations}
+	 * @return the estimated combined {@link ActionsRating}
+	 */
+	private ActionsRating estimateActionsRating(final List<GraphCalculation> calculations) {
+		final ActionsRating successEstimate = new ActionsRating();
+		final ActionsRating cutOffEstimate = new ActionsRating();
+
+		for (final PlayerAction action : PlayerAction.values()) {
+			double success = successCalculation.getMatrixResult(action).sum();
+			double cutOff = cutOffCalculation.getMatrixResult(action).max();
+			for (final GraphCalculation calculation : calculations) {
+				success = Math.max(success, calculation.getSuccessEstimate(action));
+				cutOff = Math.max(cutOff, calculation.getCutOffEstimate(action));
+			}
+			successEstimate.setRating(action, success);
+			cutOffEstimate.setRating(action, cutOff);
+		}
+		successEstimate.normalize();
 
-		// To be on the safe side interrupt all other threads
-		threads.stream().forEach(Thread::interrupt);
+		return combine(successEstimate, cutOffEstimate, importanceCalculation.getInvertedRatingResult(),
+				convergenceMonitor.getAggressiveWeight(), convergenceMonitor.getDefensiveWeight())
+						.combine(fixedRating, 1);
 	}
 
 	/**
@@ -204,6 +383,7 @@ public class GraphCalculator implements IReachablePoints {
 		this.cutOffCalculation.add(calculation.getCutOffCalculation());
 		this.importanceCalculation.add(calculation.getEdgeImportance());
 		calculatedPaths += calculation.getCalculatedPathsCount();
+		roundPaths += calculation.getCalculatedPathsCount();
 	}
 
 	public void logGameInformation(ActionsRating combinedActionsRating) {
@@ -215,8 +395,24 @@ public class GraphCalculator implements IReachablePoints {
 	}
 
 	public ActionsRating combineActionsRating(double aggressiveWeight, double defensiveWeight) {
-		return successCalculation.getRatingResult().combine(cutOffCalculation.getRatingResult(), aggressiveWeight)
-				.combine(importanceCalculation.getInvertedRatingResult(), defensiveWeight);
+		return combine(successCalculation.getRatingResult(), cutOffCalculation.getRatingResult(),
+				importanceCalculation.getInvertedRatingResult(), aggressiveWeight, defensiveWeight);
+	}
+
+	/**
+	 * Combines the single {@link ActionsRating ratings} to the rating the solver
+	 * decides with.
+	 * 
+	 * @param success          the success {@link ActionsRating}
+	 * @param cutOff           the cut off {@link ActionsRating}
+	 * @param importance       the inverted importance {@link ActionsRating}
+	 * @param aggressiveWeight relative weight for the cut off rating
+	 * @param defensiveWeight  relative weight for the importance rating
+	 * @return the combined {@link ActionsRating}
+	 */
+	private static ActionsRating combine(final ActionsRating success, final ActionsRating cutOff,
+			final ActionsRating importance, final double aggressiveWeight, final double defensiveWeight) {
+		return success.combine(cutOff, aggressiveWeight).combine(importance, defensiveWeight);
 	}
 
 	@Override
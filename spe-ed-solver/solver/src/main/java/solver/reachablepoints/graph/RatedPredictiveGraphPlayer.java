@@ -9,6 +9,8 @@ import solver.reachablepoints.graph.board.ConcreteEdge;
 import solver.reachablepoints.graph.board.Node;
 import utility.game.board.Board;
 import utility.game.player.IPlayer;
+import utility.game.player.MoveTable;
+import utility.game.player.MoveTransition;
 import utility.game.player.PlayerAction;
 import utility.game.player.PlayerDirection;
 import utility.geometry.FloatMatrix;
@@ -64,6 +66,32 @@ public final class RatedPredictiveGraphPlayer implements IPlayer {
 		this.relativeRound = relativeRound + 1;
 	}
 
+	/**
+	 * Creates a new {@link RatedPredictiveGraphPlayer} in the same state as the
+	 * given one, but with a shorter {@link ConcreteEdge edge} tail.
+	 * 
+	 * @param source        the {@link RatedPredictiveGraphPlayer} to copy the
+	 *                      state from
+	 * @param initialAction the {@link PlayerAction action} the shorter tail
+	 *                      started with
+	 * @param edgeTail      the shorter tail as {@link List} of {@link ConcreteEdge
+	 *                      edges}
+	 */
+	private RatedPredictiveGraphPlayer(RatedPredictiveGraphPlayer source, PlayerAction initialAction,
+			List<ConcreteEdge> edgeTail) {
+
+		this.playerId = source.playerId;
+		this.direction = source.direction;
+		this.speed = source.speed;
+		this.position = source.position;
+		this.active = source.active;
+		this.round = source.round;
+
+		this.initialAction = initialAction;
+		this.edgeTail = edgeTail;
+		this.relativeRound = edgeTail.size();
+	}
+
 	/**
 	 * Calculates from the possible {@link PlayerAction actions} the children that
 	 * survive.
@@ -93,7 +121,7 @@ public final class RatedPredictiveGraphPlayer implements IPlayer {
 	public static List<RatedPredictiveGraphPlayer> getValidChildren(IPlayer parent, Board<Node> graph,
 			FloatMatrix probabilities, FloatMatrix minSteps) {
 
-		boolean doJump = (parent.getRound() + 1) % 6 == 0;
+		final boolean doJump = MoveTable.isJumpRound(parent.getRound() + 1);
 		List<RatedPredictiveGraphPlayer> children = new ArrayList<>();
 		List<ConcreteEdge> childEdges = new ArrayList<>();
 
@@ -113,20 +141,14 @@ public final class RatedPredictiveGraphPlayer implements IPlayer {
 		}
 
 		for (final PlayerAction action : PlayerAction.values()) {
-			int childSpeed = parent.getSpeed();
-			PlayerDirection childDirection = parent.getDirection();
-
-			if (action == PlayerAction.SPEED_UP) {
-				childSpeed++;
-			} else if (action == PlayerAction.SLOW_DOWN) {
-				childSpeed--;
-			} else {
-				childDirection = childDirection.doAction(action);
-			}
-
-			if (childSpeed > IPlayer.MAX_SPEED || childSpeed < IPlayer.MIN_SPEED)
+			final MoveTransition transition = MoveTable.get(parent.getDirection(), parent.getSpeed(), action,
+					doJump);
+			if (!transition.isValid())
 				continue;
 
+			final int childSpeed = transition.getSpeed();
+			final PlayerDirection childDirection = transition.getDirection();
+
 			PlayerAction childInitialAction = initialAction == null ? action : initialAction;
 
 			final RatedPredictiveGraphPlayer child = new RatedPredictiveGraphPlayer(parent, childSpeed, childDirection,
@@ -152,6 +174,61 @@ public final class RatedPredictiveGraphPlayer implements IPlayer {
 		return children;
 	}
 
+	/**
+	 * Creates the state this {@link RatedPredictiveGraphPlayer} is in after the
+	 * first {@link ConcreteEdge edge} of its tail was taken by the real player. The
+	 * first edge is removed from the tail, the remaining edges are checked against
+	 * the current {@link Node nodes} and all ratings are calculated again with the
+	 * given matrices.
+	 * 
+	 * @param initialEdgeActions the {@link PlayerAction initial actions} of the
+	 *                           real player mapped by their {@link ConcreteEdge
+	 *                           edges}
+	 * @param probabilities      the Enemy-Pobability {@link FloatMatrix matrix}
+	 * @param minSteps           the Min-Steps {@link FloatMatrix matrix}
+	 * @return the carried over {@link RatedPredictiveGraphPlayer} or null if the
+	 *         state is not reachable anymore
+	 */
+	public RatedPredictiveGraphPlayer carryOver(final Map<ConcreteEdge, PlayerAction> initialEdgeActions,
+			final FloatMatrix probabilities, final FloatMatrix minSteps) {
+		if (!active || edgeTail.size() < 2)
+			return null;
+
+		final List<ConcreteEdge> carriedEdgeTail = new ArrayList<>(edgeTail.subList(1, edgeTail.size()));
+		final PlayerAction carriedInitialAction = initialEdgeActions.get(carriedEdgeTail.get(0));
+		if (carriedInitialAction == null)
+			return null;
+
+		final RatedPredictiveGraphPlayer carried = new RatedPredictiveGraphPlayer(this, carriedInitialAction,
+				carriedEdgeTail);
+
+		Map<ConcreteEdge, Integer> increments = new HashMap<>();
+		for (final ConcreteEdge initialEdge : initialEdgeActions.keySet())
+			increments.put(initialEdge, 0);
+
+		double carriedSuccessRating = 1;
+		for (int edgeIndex = 0; edgeIndex < carriedEdgeTail.size(); edgeIndex++) {
+			final ConcreteEdge edge = carriedEdgeTail.get(edgeIndex);
+
+			// cells occupied since the state was found make it unreachable
+			for (final Node node : edge.getPath()) {
+				if (!node.isEmpty())
+					return null;
+			}
+
+			carriedSuccessRating = calculateSuccessRating(carriedSuccessRating, probabilities, minSteps, edge,
+					edgeIndex + 1);
+			if (edgeIndex > 0)
+				increments = calculateInitialEdgeIncrements(increments, edge);
+		}
+
+		carried.successRating = carriedSuccessRating;
+		carried.cutOffRating = calculateCutOffRating(probabilities, minSteps,
+				carriedEdgeTail.get(carriedEdgeTail.size() - 1), carriedSuccessRating, carried.relativeRound);
+		carried.initialEdgeIncrements = increments;
+		return carried;
+	}
+
 	/**
 	 * Calculates the new success rating based on the success rating of the
 	 * {@link RatedPredictiveGraphPlayer parent}.
@@ -165,10 +242,12 @@ public final class RatedPredictiveGraphPlayer implements IPlayer {
 	 * @param lastEdge            {@link ConcreteEdge Edge} of the last step from
 	 *                            the {@link RatedPredictiveGraphPlayer parent} to
 	 *                            the {@link RatedPredictiveGraphPlayer child}
+	 * @param relativeRound       the relative round of the
+	 *                            {@link RatedPredictiveGraphPlayer child}
 	 * @return new success rating for the {@link RatedPredictiveGraphPlayer child}
 	 */
-	private double calculateSuccessRating(final double parentSuccessRating, final FloatMatrix probabilities,
-			final FloatMatrix minSteps, final ConcreteEdge lastEdge) {
+	private static double calculateSuccessRating(final double parentSuccessRating, final FloatMatrix probabilities,
+			final FloatMatrix minSteps, final ConcreteEdge lastEdge, final int relativeRound) {
 		double successFactor = 0;
 		for (final Node node : lastEdge.getPath()) {
 			if (relativeRound >= minSteps.getValue(node.getPosition()))
@@ -187,10 +266,12 @@ public final class RatedPredictiveGraphPlayer implements IPlayer {
 	 *                      {@link RatedPredictiveGraphPlayer parent} to the
 	 *                      {@link RatedPredictiveGraphPlayer child}
 	 * @param successRating the probability to reach the given state
+	 * @param relativeRound the relative round of the
+	 *                      {@link RatedPredictiveGraphPlayer child}
 	 * @return new cut off rating for the {@link RatedPredictiveGraphPlayer child}
 	 */
-	private double calculateCutOffRating(final FloatMatrix probabilities, final FloatMatrix minSteps,
-			final ConcreteEdge lastEdge, final double successRating) {
+	private static double calculateCutOffRating(final FloatMatrix probabilities, final FloatMatrix minSteps,
+			final ConcreteEdge lastEdge, final double successRating, final int relativeRound) {
 
 		double cutOff = 0;
 		for (final Node node : lastEdge.getPath()) {
@@ -268,8 +349,9 @@ public final class RatedPredictiveGraphPlayer implements IPlayer {
 			final FloatMatrix minSteps, final Map<ConcreteEdge, Integer> parentInitialEdgeIncrements,
 			final ConcreteEdge newEdge) {
 		if (isActive()) {
-			this.successRating = calculateSuccessRating(parentSuccessRating, probabilities, minSteps, newEdge);
-			this.cutOffRating = calculateCutOffRating(probabilities, minSteps, newEdge, successRating);
+			this.successRating = calculateSuccessRating(parentSuccessRating, probabilities, minSteps, newEdge,
+					relativeRound);
+			this.cutOffRating = calculateCutOffRating(probabilities, minSteps, newEdge, successRating, relativeRound);
 			this.initialEdgeIncrements = calculateInitialEdgeIncrements(parentInitialEdgeIncrements, newEdge);
 		} else {
 			this.successRating = 0;
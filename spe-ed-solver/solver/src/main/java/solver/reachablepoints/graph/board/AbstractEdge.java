@@ -1,9 +1,11 @@
 package solver.reachablepoints.graph.board;
 
 import utility.game.player.IPlayer;
+import utility.game.player.MoveTable;
+import utility.game.player.MoveTransition;
+import utility.game.player.PlayerAction;
 import utility.game.player.PlayerDirection;
 import utility.geometry.Point2i;
-import utility.geometry.Vector2i;
 
 /**
  * An {@link AbstractEdge} that is the edge of a {@link Node}. The
@@ -31,26 +33,18 @@ public final class AbstractEdge implements IEdge {
 	public ConcreteEdge calculatePath(Graph graph, Node startNode, PlayerDirection direction, boolean doJump,
 			int speed) {
 
-		int stepCount;
-		int[] abstractPath;
-		if (doJump && speed > 2) {
-			stepCount = 2;
-			abstractPath = new int[] { 1, speed };
-		} else {
-			stepCount = speed;
-			abstractPath = new int[speed];
-			for (int i = 0; i < speed; i++) {
-				abstractPath[i] = i + 1;
-			}
-		}
+		final MoveTransition transition = MoveTable.get(direction, speed, PlayerAction.CHANGE_NOTHING, doJump);
+		final int stepCount = transition.getStepCount();
+		final int startX = startNode.getPosition().getX();
+		final int startY = startNode.getPosition().getY();
 
 		Node[] path = new Node[stepCount];
 		Node[] invertedPath = new Node[stepCount];
 
 		// Scan the stepped nodes and set the path and the inverted path
 		for (int stepIndex = 0; stepIndex < stepCount; stepIndex++) {
-			final Vector2i deltaX = direction.getDirectionVector().multiply(abstractPath[stepIndex]);
-			final Node stepNode = graph.getBoardCellAt(startNode.getPosition().translate(deltaX));
+			final Node stepNode = graph.getBoardCellAt(startX + transition.getStepOffsetX(stepIndex),
+					startY + transition.getStepOffsetY(stepIndex));
 			if (stepNode == null)
 				return null;
 			path[stepIndex] = stepNode;
@@ -61,8 +55,8 @@ public final class AbstractEdge implements IEdge {
 
 		final ConcreteEdge edge = new ConcreteEdge(startNode, path);
 
-		final Point2i invertedStartPosition = endPosition.translate(direction.getDirectionVector());
-		final Node invertedStartNode = graph.getBoardCellAt(invertedStartPosition);
+		final Node invertedStartNode = graph.getBoardCellAt(endPosition.getX() + transition.getDirectionX(),
+				endPosition.getY() + transition.getDirectionY());
 
 		if (invertedStartNode != null) {
 			final ConcreteEdge invertedEdge = new ConcreteEdge(invertedStartNode, invertedPath);
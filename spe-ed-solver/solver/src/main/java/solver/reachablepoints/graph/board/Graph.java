@@ -3,12 +3,12 @@ package solver.reachablepoints.graph.board;
 import java.util.Arrays;
 
 import utility.game.board.Board;
+import utility.game.board.BoardDelta;
 import utility.game.board.Cell;
 import utility.game.board.CellValue;
 import utility.game.board.IBoardCell;
 import utility.game.player.IPlayer;
 import utility.geometry.Point2i;
-import utility.geometry.Vector2i;
 
 /**
  * A {@link Board board} that interprets the game as a graph. the
@@ -17,6 +17,8 @@ import utility.geometry.Vector2i;
  */
 public class Graph extends Board<Node> {
 
+    private Point2i previousSelfPosition;
+
     /**
      * Initilizes a {@link Graph graph board}.
      * 
@@ -44,51 +46,41 @@ public class Graph extends Board<Node> {
 
     /**
      * Removes all unavailable {@link ConcreteEdge edges} from the {@link Graph
-     * graph}.
+     * graph}. Only the {@link Cell cells} contained in the {@link BoardDelta} and
+     * the last position of the current {@link IPlayer player} are visited.
      * 
-     * @param board   the new {@link Board game board} with the updated {@link Cell
-     *                cells}
-     * @param self    the current {@link IPlayer player}
-     * @param enemies the enemies of current
+     * @param board      the new {@link Board game board} with the updated
+     *                   {@link Cell cells}
+     * @param boardDelta the {@link BoardDelta} with the {@link Cell cells} changed
+     *                   since the last update
+     * @param self       the current {@link IPlayer player}
      */
-    public void updateGraph(final Board<Cell> board, final IPlayer self, final Iterable<IPlayer> enemies) {
+    public void updateGraph(final Board<Cell> board, final BoardDelta boardDelta, final IPlayer self) {
 
-        // remove outgoing and incoming edges for the passed steps
-        // (excluding the new end position, but including the previous end position)
+        // the previous position kept its outgoing edges, because self was located
+        // there. Remove them now.
         final CellValue selfCellValue = CellValue.fromInteger(self.getPlayerId());
-        for (int i = 1; i <= self.getSpeed(); i++) {
-            final Vector2i speedDirectionVector = self.getDirection().getDirectionVector().multiply(-1 * i);
-            final Point2i affectedPosition = self.getPosition().translate(speedDirectionVector);
+        if (previousSelfPosition != null && !previousSelfPosition.equals(self.getPosition()))
+            getBoardCellAt(previousSelfPosition).setCellValue(selfCellValue, true);
+
+        // remove outgoing and incoming edges for all newly occupied cells
+        final int selfIndex = getIndex(self.getPosition().getX(), self.getPosition().getY());
+        for (final int index : boardDelta.getChangedIndices()) {
+            final Point2i affectedPosition = new Point2i(index % getWidth(), index / getWidth());
             final Node affectedNode = getBoardCellAt(affectedPosition);
 
-            // set the node value, if the cell is passed by any player (otherwise the cell
-            // was not passed)
-            if (affectedNode != null && board.getBoardCellAt(affectedPosition).getCellValue() != CellValue.EMPTY_CELL)
-                affectedNode.setCellValue(selfCellValue, true);
+            // nodes which are not empty have no edges left
+            if (index == selfIndex || !affectedNode.isEmpty())
+                continue;
+
+            final CellValue affectedCellValue = board.getBoardCellAt(affectedPosition).getCellValue();
+            if (affectedCellValue != CellValue.EMPTY_CELL)
+                affectedNode.setCellValue(affectedCellValue, true);
         }
 
         // remove all incomming edges for the current player position
         getBoardCellAt(self.getPosition()).setCellValue(selfCellValue, false);
-
-        // remove all outgoing and incoming edges for the passed steps by enemies
-        for (final IPlayer player : enemies) {
-            final CellValue enemyCellValue = CellValue.fromInteger(player.getPlayerId());
-
-            // remove outgoing and incoming edges for the passed steps
-            for (int i = 0; i <= player.getSpeed(); i++) {
-                final Vector2i speedDirectionVector = player.getDirection().getDirectionVector().multiply(-1 * i);
-                final Point2i affectedPosition = player.getPosition().translate(speedDirectionVector);
-                final Node affectedNode = getBoardCellAt(affectedPosition);
-
-                if (affectedNode == null)
-                    continue;
-
-                final CellValue affectedCellValue = board.getBoardCellAt(affectedPosition).getCellValue();
-
-                if (affectedCellValue == enemyCellValue || affectedCellValue == CellValue.MULTIPLE_PLAYER)
-                    affectedNode.setCellValue(enemyCellValue, true);
-            }
-        }
+        previousSelfPosition = self.getPosition();
     }
 
 }
@@ -1,25 +1,50 @@
 package solver.reachablepoints.multithreaded;
 
 import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.DoubleAdder;
 
-import solver.reachablepoints.LimitedQueue;
+import solver.CancellationToken;
+import solver.reachablepoints.FrontierPolicy;
+import solver.reachablepoints.IFrontier;
 import solver.reachablepoints.RatedPredictivePlayer;
+import solver.reachablepoints.TranspositionTable;
 import utility.game.board.Board;
 import utility.game.board.Cell;
 import utility.game.step.IDeadline;
 import utility.geometry.FloatMatrix;
+import utility.geometry.FloatMatrixArena;
 import utility.geometry.Point2i;
+import utility.logging.ApplicationLogger;
+import utility.logging.LoggingLevel;
 
 /**
  * Calculation object for calculating success and cut off ratings based on an
  * initial player until a {@link IDeadline} is reached. Calculations are queued
- * up based on their local solution improvement and a small random value.
+ * up based on their local solution improvement and a small random value. The
+ * calculation is executed by {@link FrontierTask tasks} of a
+ * {@link ForkJoinPool}, which split their frontier, so idle threads can steal
+ * parts of it. Each task is registered at a {@link Phaser} until it returned,
+ * so the caller can wait for all tasks without executing any of them. As no
+ * task is joined, a failing task logs its exception itself. Each thread
+ * collects its results separately, they are merged by
+ * {@link DeadlineReachablePointsCalculation#mergeResults()}.
  */
 public class DeadlineReachablePointsCalculation {
 
-	private static final int DEADLINE_MILLISECOND_BUFFER = 500;
 	private static final int QUEUE_SIZE = 10000;
 
+	/**
+	 * Minimum size of a frontier before a part of it is offered to other threads.
+	 */
+	private static final int SPLIT_THRESHOLD = 64;
+
 	private final Board<Cell> board;
 
 	private final FloatMatrix probabilities;
@@ -27,12 +52,147 @@ public class DeadlineReachablePointsCalculation {
 
 	private final RatedPredictivePlayer startPlayer;
 
-	private final IDeadline deadline;
+	private final CancellationToken token;
+	private final FloatMatrixArena matrixArena;
 
 	private final FloatMatrix successMatrixResult;
 	private final FloatMatrix cutOffMatrixResult;
 
+	private final TranspositionTable transpositionTable;
+	private final long transpositionKeySalt;
+
+	private final FrontierPolicy frontierPolicy;
+
+	/**
+	 * Success rating of each cell as float bits and its sum, shared by all
+	 * threads. The estimate is the merged result, no matter how the frontier is
+	 * split between the threads.
+	 */
+	private final AtomicIntegerArray successEstimate;
+	private final DoubleAdder successEstimateSum = new DoubleAdder();
+	private final AtomicLong cutOffEstimate = new AtomicLong(Double.doubleToRawLongBits(0));
+
+	/**
+	 * Phaser the running tasks are registered at, set when the calculation is
+	 * submitted.
+	 */
+	private Phaser pendingTasks;
+
+	/**
+	 * Results of each thread working on this calculation.
+	 */
+	private final Map<Thread, WorkerResult> workerResults = new ConcurrentHashMap<>();
+
 	private int calculatedPathsCount = 0;
+	private int skippedPathsCount = 0;
+
+	/**
+	 * Results a single thread collected for this calculation.
+	 */
+	private static final class WorkerResult {
+		private final FloatMatrix successMatrix;
+		private final FloatMatrix cutOffMatrix;
+		private int calculatedPathsCount = 0;
+		private int skippedPathsCount = 0;
+
+		private WorkerResult(final FloatMatrix successMatrix, final FloatMatrix cutOffMatrix) {
+			this.successMatrix = successMatrix;
+			this.cutOffMatrix = cutOffMatrix;
+		}
+	}
+
+	/**
+	 * Task expanding a part of the frontier of the calculation. If other threads
+	 * run out of work, half of the frontier is forked into a new task.
+	 */
+	private final class FrontierTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final transient IFrontier<RatedPredictivePlayer> queue = frontierPolicy.newFrontier(
+				RatedPredictivePlayer.class, QUEUE_SIZE,
+				player -> FrontierPolicy.getPriority(player.getSuccessRating(), player.getRelativeRound()));
+
+		@Override
+		protected void compute() {
+			// the tasks are never joined, so a failure would otherwise get lost
+			try {
+				expand();
+			} catch (RuntimeException e) {
+				ApplicationLogger.logException(e, LoggingLevel.ERROR);
+			} finally {
+				pendingTasks.arriveAndDeregister();
+			}
+		}
+
+		/**
+		 * Expands the frontier until it is empty or the
+		 * {@link CancellationToken} is cancelled.
+		 */
+		private void expand() {
+			final WorkerResult result = workerResults.computeIfAbsent(Thread.currentThread(),
+					thread -> new WorkerResult(
+							matrixArena.obtainTracking(board.getWidth(), board.getHeight(), 0),
+							matrixArena.obtainTracking(board.getWidth(), board.getHeight(), 0)));
+
+			int expansions = 0;
+			while (queue.hasNext() && !token.isCancelled(expansions)) {
+
+				if (queue.remaining() >= SPLIT_THRESHOLD && getSurplusQueuedTaskCount() <= 0)
+					split();
+
+				final RatedPredictivePlayer calculationPlayer = queue.poll();
+				// another path may have expanded the same state since it was queued
+				if (!transpositionTable.offer(calculationPlayer.getStateHash() ^ transpositionKeySalt,
+						calculationPlayer.getSuccessRating(), calculationPlayer.getCutOffRating())) {
+					result.skippedPathsCount++;
+					continue;
+				}
+				final Collection<RatedPredictivePlayer> children = calculationPlayer.getValidChildren(board,
+						probabilities, minSteps);
+
+				for (final RatedPredictivePlayer child : children) {
+					final Point2i position = child.getPosition();
+
+					if (child.getSuccessRating() > result.successMatrix.getValue(position)) {
+						result.successMatrix.setValue(position, child.getSuccessRating());
+						raiseSuccessEstimate(position, (float) child.getSuccessRating());
+					}
+					if (child.getCutOffRating() > result.cutOffMatrix.getValue(position)) {
+						result.cutOffMatrix.setValue(position, child.getCutOffRating());
+						raiseCutOffEstimate(child.getCutOffRating());
+					}
+
+					// states expanded before with at least the same ratings have no better
+					// descendants
+					if (transpositionTable.isExpanded(child.getStateHash() ^ transpositionKeySalt,
+							child.getSuccessRating(), child.getCutOffRating()))
+						result.skippedPathsCount++;
+					else
+						queue.add(child);
+					result.calculatedPathsCount++;
+				}
+				expansions++;
+			}
+		}
+
+		/**
+		 * Moves every second element of the frontier to a new task and forks it.
+		 */
+		private void split() {
+			final FrontierTask stolen = new FrontierTask();
+			final int count = queue.remaining();
+			for (int i = 0; i < count; i++) {
+				final RatedPredictivePlayer player = queue.poll();
+				if (i % 2 == 0)
+					queue.add(player);
+				else
+					stolen.queue.add(player);
+			}
+			pendingTasks.register();
+			stolen.fork();
+		}
+	}
 
 	/**
 	 * Creates a new {@link DeadlineReachablePointsCalculation} object.
@@ -41,52 +201,132 @@ public class DeadlineReachablePointsCalculation {
 	 * @param probabilities {@link FloatMatrix} with probabilities
 	 * @param minSteps      {@link FloatMatrix} with minimum steps
 	 * @param startPlayer   {@link RatedPredictivePlayer} to start with
-	 * @param deadline      {@link IDeadline} to limit execution time
+	 * @param token         {@link CancellationToken} to stop the calculation at
+	 *                      the deadline or as soon as it is converged
+	 * @param matrixArena   {@link FloatMatrixArena} to obtain the result matrices
+	 *                      from
+	 * @param table         {@link TranspositionTable} to skip already expanded
+	 *                      states, may be shared with other calculations
+	 * @param keySalt       value combined with all keys to separate the states of
+	 *                      this calculation from others in the same table
+	 * @param policy        {@link FrontierPolicy} of the frontiers
 	 */
 	public DeadlineReachablePointsCalculation(final Board<Cell> board, final FloatMatrix probabilities,
-			final FloatMatrix minSteps, final RatedPredictivePlayer startPlayer, final IDeadline deadline) {
+			final FloatMatrix minSteps, final RatedPredictivePlayer startPlayer, final CancellationToken token,
+			final FloatMatrixArena matrixArena, final TranspositionTable table, final long keySalt,
+			final FrontierPolicy policy) {
 
 		this.board = board;
 		this.probabilities = probabilities;
 		this.minSteps = minSteps;
 		this.startPlayer = startPlayer;
 
-		this.deadline = deadline;
+		this.token = token;
+		this.matrixArena = matrixArena;
 
-		this.successMatrixResult = new FloatMatrix(board.getWidth(), board.getHeight(), 0);
-		this.cutOffMatrixResult = new FloatMatrix(board.getWidth(), board.getHeight(), 0);
+		this.transpositionTable = table;
+		this.transpositionKeySalt = keySalt;
+		this.frontierPolicy = policy;
+
+		this.successMatrixResult = matrixArena.obtainTracking(board.getWidth(), board.getHeight(), 0);
+		this.cutOffMatrixResult = matrixArena.obtainTracking(board.getWidth(), board.getHeight(), 0);
+		this.successEstimate = new AtomicIntegerArray(board.getWidth() * board.getHeight());
 	}
 
 	/**
-	 * Starts the execution for the {@link DeadlineReachablePointsCalculation}
-	 * object.
+	 * Raises the shared success rating of a cell and adds the improvement to the
+	 * estimated sum. Threads only write if the rating of their own result
+	 * improved, so most updates need no write to shared memory.
+	 * 
+	 * @param position the {@link Point2i} of the cell
+	 * @param rating   the new success rating of the cell
 	 */
-	public void execute() {
-
-		final LimitedQueue<RatedPredictivePlayer> queue = new LimitedQueue<>(RatedPredictivePlayer.class, QUEUE_SIZE);
+	private void raiseSuccessEstimate(final Point2i position, final float rating) {
+		final int index = position.getY() * board.getWidth() + position.getX();
+		int stored = successEstimate.get(index);
+		while (Float.intBitsToFloat(stored) < rating) {
+			final int witness = successEstimate.compareAndExchange(index, stored, Float.floatToRawIntBits(rating));
+			if (witness == stored) {
+				successEstimateSum.add(rating - Float.intBitsToFloat(stored));
+				return;
+			}
+			stored = witness;
+		}
+	}
 
-		final RatedPredictivePlayer nextPlayer = this.startPlayer;
-		if (this.startPlayer.isActive()) {
-			queue.add(nextPlayer);
-			successMatrixResult.max(nextPlayer.getPosition(), nextPlayer.getSuccessRating());
-			cutOffMatrixResult.max(nextPlayer.getPosition(), nextPlayer.getCutOffRating());
+	/**
+	 * Raises the shared maximum cut off rating.
+	 * 
+	 * @param rating the cut off rating of a reached cell
+	 */
+	private void raiseCutOffEstimate(final double rating) {
+		long stored = cutOffEstimate.get();
+		while (Double.longBitsToDouble(stored) < rating) {
+			final long witness = cutOffEstimate.compareAndExchange(stored, Double.doubleToRawLongBits(rating));
+			if (witness == stored)
+				return;
+			stored = witness;
 		}
+	}
 
-		while (queue.hasNext() && deadline.getRemainingMilliseconds() > DEADLINE_MILLISECOND_BUFFER) {
-			final RatedPredictivePlayer calculationPlayer = queue.poll();
-			final Collection<RatedPredictivePlayer> children = calculationPlayer.getValidChildren(board, probabilities,
-					minSteps);
+	/**
+	 * Starts the execution for the {@link DeadlineReachablePointsCalculation}
+	 * object in the given {@link ForkJoinPool}. Every task is registered at the
+	 * {@link Phaser} until it returned, the calculation is finished when all of
+	 * them arrived. Once the
+	 * {@link CancellationToken} is cancelled, all tasks return within
+	 * {@link CancellationToken#POLL_INTERVAL} expansions.
+	 * 
+	 * @param pool         {@link ForkJoinPool} to execute the tasks in
+	 * @param pendingTasks {@link Phaser} to register the tasks at
+	 */
+	public void submit(final ForkJoinPool pool, final Phaser pendingTasks) {
+		this.pendingTasks = pendingTasks;
+		if (!startPlayer.isActive())
+			return;
 
-			for (final RatedPredictivePlayer child : children) {
-				final Point2i position = child.getPosition();
+		successMatrixResult.max(startPlayer.getPosition(), startPlayer.getSuccessRating());
+		cutOffMatrixResult.max(startPlayer.getPosition(), startPlayer.getCutOffRating());
 
-				successMatrixResult.max(position, child.getSuccessRating());
-				cutOffMatrixResult.max(position, child.getCutOffRating());
+		final FrontierTask rootTask = new FrontierTask();
+		rootTask.queue.add(startPlayer);
+		pendingTasks.register();
+		pool.execute(rootTask);
+	}
 
-				queue.add(child);
-				calculatedPathsCount++;
-			}
+	/**
+	 * Merges the results of all threads into the result {@link FloatMatrix
+	 * matrices}. Has to be called after all tasks are finished.
+	 */
+	public void mergeResults() {
+		for (final WorkerResult result : workerResults.values()) {
+			successMatrixResult.maxInPlace(result.successMatrix);
+			cutOffMatrixResult.maxInPlace(result.cutOffMatrix);
+			calculatedPathsCount += result.calculatedPathsCount;
+			skippedPathsCount += result.skippedPathsCount;
 		}
+		workerResults.clear();
+	}
+
+	/**
+	 * Estimates the sum of the success matrix while the calculation is running.
+	 * The estimate is the sum of the success ratings all threads reached so far,
+	 * so it is the sum of the merged result for every split of the frontier.
+	 * 
+	 * @return estimated success rating
+	 */
+	public double getSuccessEstimate() {
+		return successEstimateSum.sum();
+	}
+
+	/**
+	 * Estimates the maximum of the cut off matrix while the calculation is
+	 * running. The estimate is the maximum all threads reached so far.
+	 * 
+	 * @return estimated cut off rating
+	 */
+	public double getCutOffEstimate() {
+		return Double.longBitsToDouble(cutOffEstimate.get());
 	}
 
 	/**
@@ -116,4 +356,14 @@ public class DeadlineReachablePointsCalculation {
 		return calculatedPathsCount;
 	}
 
+	/**
+	 * Returns the amount of calculated paths which were not expanded, because the
+	 * same state was already reached with at least the same rating.
+	 * 
+	 * @return amount of skipped paths
+	 */
+	public int getSkippedPathsCount() {
+		return skippedPathsCount;
+	}
+
 }
@@ -3,15 +3,23 @@ package solver.reachablepoints.multithreaded;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.EnumMap;
-import java.util.List;
 import java.util.Map;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
+import solver.CancellationToken;
+import solver.SolverExecutor;
 import solver.analysis.ActionsRating;
+import solver.analysis.ConvergenceMonitor;
+import solver.analysis.ZobristKeys;
 import solver.analysis.slowdown.SlowDown;
+import solver.reachablepoints.FrontierPolicy;
 import solver.reachablepoints.IReachablePoints;
 import solver.reachablepoints.RatedPredictivePlayer;
+import solver.reachablepoints.TranspositionTable;
+import solver.reachablepoints.TranspositionTable.ReplacementPolicy;
 import utility.game.board.Board;
 import utility.game.board.Cell;
 import utility.game.player.PlayerAction;
@@ -19,6 +27,7 @@ import utility.game.step.IDeadline;
 import utility.game.step.GameStep;
 import utility.geometry.ContextualFloatMatrix;
 import utility.geometry.FloatMatrix;
+import utility.geometry.FloatMatrixArena;
 import utility.logging.ApplicationLogger;
 import utility.logging.GameLogger;
 import utility.logging.LoggingLevel;
@@ -29,11 +38,19 @@ import utility.logging.LoggingLevel;
  */
 public class ReachablePointsMultithreaded implements IReachablePoints {
 
-	private static final int DEADLINE_MILLISECOND_INTERRUPT = 250;
+	private static final int TRANSPOSITION_TABLE_BYTES = 4 * 1024 * 1024;
+
+	private final FloatMatrixArena matrixArena;
+	private final ForkJoinPool pool;
+	private final ConvergenceMonitor convergenceMonitor;
+	private final FrontierPolicy frontierPolicy;
+	private final TranspositionTable transpositionTable = new TranspositionTable(TRANSPOSITION_TABLE_BYTES,
+			ReplacementPolicy.PREFER_HIGHER_RATING);
 
 	private ActionsRating successRatingsResult;
 	private ActionsRating cutOffRatingsResult;
 	private ActionsRating slowDownRatingsResult;
+	private ActionsRating fixedRating;
 
 	private Map<PlayerAction, FloatMatrix> successMatrixResult;
 	private Map<PlayerAction, FloatMatrix> cutOffMatrixResult;
@@ -41,20 +58,47 @@ public class ReachablePointsMultithreaded implements IReachablePoints {
 	private FloatMatrix enemyProbabilitiesMatrix;
 	private FloatMatrix enemyMinStepsMatrix;
 
+	/**
+	 * Creates a new {@link ReachablePointsMultithreaded} calculator.
+	 * 
+	 * @param executor           {@link SolverExecutor} whose {@link ForkJoinPool}
+	 *                           executes the calculations
+	 * @param matrixArena        {@link FloatMatrixArena} to obtain the result
+	 *                           matrices from
+	 * @param convergenceMonitor {@link ConvergenceMonitor} to stop the calculation
+	 *                           as soon as the best action is settled
+	 * @param frontierPolicy     {@link FrontierPolicy} of the calculation frontiers
+	 */
+	public ReachablePointsMultithreaded(final SolverExecutor executor, final FloatMatrixArena matrixArena,
+			final ConvergenceMonitor convergenceMonitor, final FrontierPolicy frontierPolicy) {
+		this.matrixArena = matrixArena;
+		this.pool = executor.getPool();
+		this.convergenceMonitor = convergenceMonitor;
+		this.frontierPolicy = frontierPolicy;
+	}
+
+	@Override
+	public void prepareCalculation(final GameStep gameStep) {
+		// the search depends on the enemy probabilities from its first step
+	}
+
 	@Override
 	public void performCalculation(final GameStep gameStep, final FloatMatrix probabilities,
-			final FloatMatrix minSteps) {
+			final FloatMatrix minSteps, final ActionsRating fixedRating, final CancellationToken token) {
 
 		this.enemyProbabilitiesMatrix = probabilities;
+		this.fixedRating = fixedRating;
 		this.enemyMinStepsMatrix = minSteps;
 		slowDownRatingsResult = SlowDown.getActionsRating(gameStep.getSelf(), gameStep.getBoard());
 
 		final RatedPredictivePlayer startPlayer = new RatedPredictivePlayer(gameStep.getSelf());
+		transpositionTable.clear();
+		convergenceMonitor.reset();
 
 		final Map<PlayerAction, DeadlineReachablePointsCalculation> calculations = getCalculations(startPlayer,
-				gameStep.getBoard(), probabilities, minSteps, gameStep.getDeadline());
+				gameStep.getBoard(), probabilities, minSteps, token);
 
-		calculateMultithreaded(calculations.values(), gameStep.getDeadline());
+		calculateMultithreaded(calculations, token, gameStep.getDeadline());
 
 		updateResults(calculations);
 	}
@@ -71,13 +115,13 @@ public class ReachablePointsMultithreaded implements IReachablePoints {
 	 *                      values
 	 * @param minSteps      {@link FloatMatrix} containing the minimum enemy steps
 	 *                      for each element
-	 * @param deadline      {@link IDeadline} which must not be exceeded
+	 * @param token         {@link CancellationToken} to stop the calculations
 	 * @return {@link DeadlineReachablePointsCalculation} objects mapped to the
 	 *         taken child {@link PlayerAction}
 	 */
 	private Map<PlayerAction, DeadlineReachablePointsCalculation> getCalculations(
 			final RatedPredictivePlayer startPlayer, final Board<Cell> board, final FloatMatrix probabilities,
-			final FloatMatrix minSteps, final IDeadline deadline) {
+			final FloatMatrix minSteps, final CancellationToken token) {
 
 		final Map<PlayerAction, DeadlineReachablePointsCalculation> result = new EnumMap<>(PlayerAction.class);
 
@@ -85,7 +129,8 @@ public class ReachablePointsMultithreaded implements IReachablePoints {
 			final RatedPredictivePlayer child = new RatedPredictivePlayer(startPlayer, action, board, probabilities,
 					minSteps);
 			final DeadlineReachablePointsCalculation calculation = new DeadlineReachablePointsCalculation(board,
-					probabilities, minSteps, child, deadline);
+					probabilities, minSteps, child, token, matrixArena, transpositionTable,
+					ZobristKeys.salt(action.ordinal()), frontierPolicy);
 			result.put(action, calculation);
 		}
 
@@ -93,46 +138,95 @@ public class ReachablePointsMultithreaded implements IReachablePoints {
 	}
 
 	/**
-	 * Calculates each given {@link DeadlineReachablePointsCalculation} in a
-	 * separate threads and joins all of them. Additionally a timer is set to
-	 * interrupt running threads, which are not finished in time.
+	 * Calculates all given {@link DeadlineReachablePointsCalculation} objects in
+	 * the {@link ForkJoinPool} and waits until all of them are finished. The
+	 * frontiers of the calculations are split into tasks, so all threads stay busy
+	 * even if only a few {@link PlayerAction actions} survive. While waiting, the
+	 * estimated ratings are reported to the {@link ConvergenceMonitor}. As soon as
+	 * the best action is settled, the {@link CancellationToken} is cancelled. This
+	 * thread only waits for the tasks and never executes one of them, so it
+	 * reports every checkpoint in time and does not compete with the pool. The
+	 * results of the threads are merged after all tasks returned, so no task keeps
+	 * running into the next round.
 	 * 
 	 * @param calculations {@link DeadlineReachablePointsCalculation} objects to
-	 *                     execute the calculation for
-	 * @param deadline     {@link IDeadline} for the calculations
+	 *                     execute the calculation for, mapped to the taken
+	 *                     {@link PlayerAction}
+	 * @param token        {@link CancellationToken} of the calculations
+	 * @param deadline     {@link IDeadline} of the current game step
 	 */
-	private void calculateMultithreaded(final Collection<DeadlineReachablePointsCalculation> calculations,
-			final IDeadline deadline) {
+	private void calculateMultithreaded(final Map<PlayerAction, DeadlineReachablePointsCalculation> calculations,
+			final CancellationToken token, final IDeadline deadline) {
+
+		// this thread is registered until all calculations are submitted
+		final Phaser pendingTasks = new Phaser(1);
+		for (final DeadlineReachablePointsCalculation calculation : calculations.values())
+			calculation.submit(pool, pendingTasks);
+		final int phase = pendingTasks.arriveAndDeregister();
+
+		while (!awaitTasks(pendingTasks, phase, token)) {
+			// cancelled tasks return within a poll interval, they are waited for
+			if (!token.isCancelled() && convergenceMonitor.addCheckpoint(estimateActionsRating(calculations))) {
+				token.cancel();
+				GameLogger.logGameInformation(String.format("Stopped the converged calculation %d ms early!",
+						deadline.getRemainingMilliseconds()));
+			}
+		}
 
-		final List<Thread> threads = new ArrayList<>();
+		for (final DeadlineReachablePointsCalculation calculation : calculations.values())
+			calculation.mergeResults();
+	}
 
-		for (final DeadlineReachablePointsCalculation calculation : calculations) {
-			final Thread thread = new Thread(calculation::execute);
-			threads.add(thread);
-			thread.start();
+	/**
+	 * Waits until all tasks registered at the {@link Phaser} arrived or the
+	 * checkpoint time of the {@link ConvergenceMonitor} elapsed. If this thread is
+	 * interrupted, the {@link CancellationToken} is cancelled and the tasks are
+	 * waited for regardless.
+	 * 
+	 * @param pendingTasks {@link Phaser} the running tasks are registered at
+	 * @param phase        the phase which ends when all tasks arrived
+	 * @param token        {@link CancellationToken} of the tasks
+	 * @return true if all tasks are finished
+	 */
+	private boolean awaitTasks(final Phaser pendingTasks, final int phase, final CancellationToken token) {
+		try {
+			pendingTasks.awaitAdvanceInterruptibly(phase, convergenceMonitor.getCheckpointMilliseconds(),
+					TimeUnit.MILLISECONDS);
+			return true;
+		} catch (TimeoutException e) {
+			return false;
+		} catch (InterruptedException e) {
+			ApplicationLogger.logException(e, LoggingLevel.WARNING);
+			Thread.currentThread().interrupt();
+			token.cancel();
+			pendingTasks.awaitAdvance(phase);
+			return true;
 		}
+	}
 
-		final Timer timer = new Timer();
-		timer.schedule(new TimerTask() {
-			@Override
-			public void run() {
-				for (final Thread thread : threads) {
-					if (thread.isAlive()) {
-						thread.interrupt();
-					}
-				}
-				timer.cancel();
-			}
-		}, Math.max(1, deadline.getRemainingMilliseconds() - DEADLINE_MILLISECOND_INTERRUPT));
-
-		for (final Thread thread : threads) {
-			try {
-				thread.join();
-			} catch (InterruptedException e) {
-				ApplicationLogger.logWarning("The reachable points calculation was interrupted!");
-				ApplicationLogger.logException(e, LoggingLevel.WARNING);
-			}
+	/**
+	 * Estimates the combined {@link ActionsRating} of the running calculations,
+	 * including the fixed {@link ActionsRating} of the other analyses.
+	 * 
+	 * @param calculations running {@link DeadlineReachablePointsCalculation}
+	 *                     objects mapped to the taken {@link PlayerAction}
+	 * @return the estimated combined {@link ActionsRating}
+	 */
+	private ActionsRating estimateActionsRating(
+			final Map<PlayerAction, DeadlineReachablePointsCalculation> calculations) {
+		final ActionsRating successEstimate = new ActionsRating();
+		final ActionsRating cutOffEstimate = new ActionsRating();
+
+		for (final PlayerAction action : PlayerAction.values()) {
+			final DeadlineReachablePointsCalculation calculation = calculations.get(action);
+			successEstimate.setRating(action, calculation.getSuccessEstimate());
+			cutOffEstimate.setRating(action, calculation.getCutOffEstimate());
 		}
+		successEstimate.normalize();
+
+		return combine(successEstimate, cutOffEstimate, slowDownRatingsResult,
+				convergenceMonitor.getAggressiveWeight(), convergenceMonitor.getDefensiveWeight())
+						.combine(fixedRating, 1);
 	}
 
 	/**
@@ -147,6 +241,7 @@ public class ReachablePointsMultithreaded implements IReachablePoints {
 		clearResults();
 
 		int calculatedPaths = 0;
+		int skippedPaths = 0;
 
 		for (final PlayerAction action : PlayerAction.values()) {
 			final DeadlineReachablePointsCalculation calculation = calculations.get(action);
@@ -160,9 +255,11 @@ public class ReachablePointsMultithreaded implements IReachablePoints {
 			cutOffRatingsResult.setRating(action, cutOffMatrix.max());
 
 			calculatedPaths += calculation.getCalculatedPathsCount();
+			skippedPaths += calculation.getSkippedPathsCount();
 		}
 
 		GameLogger.logGameInformation(String.format("Calculated %d reachable points paths!", calculatedPaths));
+		GameLogger.logGameInformation(String.format("Skipped %d transposed reachable points paths!", skippedPaths));
 
 		successRatingsResult.normalize();
 	}
@@ -179,10 +276,26 @@ public class ReachablePointsMultithreaded implements IReachablePoints {
 
 	@Override
 	public ActionsRating combineActionsRating(double aggressiveWeight, double defensiveWeight) {
-		return successRatingsResult.combine(cutOffRatingsResult, aggressiveWeight).combine(slowDownRatingsResult,
+		return combine(successRatingsResult, cutOffRatingsResult, slowDownRatingsResult, aggressiveWeight,
 				defensiveWeight);
 	}
 
+	/**
+	 * Combines the success, cut off and slow down {@link ActionsRating ratings}
+	 * with the given weights.
+	 * 
+	 * @param success          normalized success {@link ActionsRating}
+	 * @param cutOff           cut off {@link ActionsRating}
+	 * @param slowDown         slow down {@link ActionsRating}
+	 * @param aggressiveWeight weight of the cut off {@link ActionsRating}
+	 * @param defensiveWeight  weight of the slow down {@link ActionsRating}
+	 * @return combined {@link ActionsRating}
+	 */
+	private static ActionsRating combine(final ActionsRating success, final ActionsRating cutOff,
+			final ActionsRating slowDown, final double aggressiveWeight, final double defensiveWeight) {
+		return success.combine(cutOff, aggressiveWeight).combine(slowDown, defensiveWeight);
+	}
+
 	@Override
 	public void logGameInformation(ActionsRating combinedActionsRating) {
 		GameLogger.logGameInformation(String.format("success-rating:\t%s", successRatingsResult));
@@ -2,11 +2,14 @@ package solver.reachablepoints.singlethreaded;
 
 import java.util.Collection;
 
-import solver.reachablepoints.LimitedQueue;
+import solver.reachablepoints.FrontierPolicy;
+import solver.reachablepoints.IFrontier;
 import solver.reachablepoints.RatedPredictivePlayer;
+import solver.reachablepoints.TranspositionTable;
 import utility.game.board.Board;
 import utility.game.board.Cell;
 import utility.geometry.FloatMatrix;
+import utility.geometry.FloatMatrixArena;
 import utility.geometry.Point2i;
 
 /**
@@ -25,12 +28,16 @@ public class GradualReachablePointsCalculation {
 	private final FloatMatrix probabilities;
 	private final FloatMatrix minSteps;
 
-	private final LimitedQueue<RatedPredictivePlayer> queue;
+	private final IFrontier<RatedPredictivePlayer> queue;
 
 	private final FloatMatrix successMatrixResult;
 	private final FloatMatrix cutOffMatrixResult;
 
+	private final TranspositionTable transpositionTable;
+	private final long transpositionKeySalt;
+
 	private int calculatedPathsCount = 0;
+	private int skippedPathsCount = 0;
 
 	/**
 	 * Creates a new {@link GradualReachablePointsCalculation} object with the given
@@ -41,18 +48,30 @@ public class GradualReachablePointsCalculation {
 	 * @param minSteps      minimum steps of enemies as {@link FloatMatrix}
 	 * @param startPlayer   initial {@link RatedPredictivePlayer} all children paths
 	 *                      depend on
+	 * @param matrixArena   {@link FloatMatrixArena} to obtain the result matrices
+	 *                      from
+	 * @param table         {@link TranspositionTable} to skip already expanded
+	 *                      states, may be shared with other calculations
+	 * @param keySalt       value combined with all keys to separate the states of
+	 *                      this calculation from others in the same table
+	 * @param policy        {@link FrontierPolicy} of the queue
 	 */
 	public GradualReachablePointsCalculation(final Board<Cell> board, final FloatMatrix probabilities,
-			final FloatMatrix minSteps, final RatedPredictivePlayer startPlayer) {
+			final FloatMatrix minSteps, final RatedPredictivePlayer startPlayer, final FloatMatrixArena matrixArena,
+			final TranspositionTable table, final long keySalt, final FrontierPolicy policy) {
 
 		this.board = board;
 		this.probabilities = probabilities;
 		this.minSteps = minSteps;
 
-		this.queue = new LimitedQueue<>(RatedPredictivePlayer.class, QUEUE_SIZE);
+		this.queue = policy.newFrontier(RatedPredictivePlayer.class, QUEUE_SIZE,
+				player -> FrontierPolicy.getPriority(player.getSuccessRating(), player.getRelativeRound()));
+
+		this.transpositionTable = table;
+		this.transpositionKeySalt = keySalt;
 
-		this.successMatrixResult = new FloatMatrix(board.getWidth(), board.getHeight(), 0);
-		this.cutOffMatrixResult = new FloatMatrix(board.getWidth(), board.getHeight(), 0);
+		this.successMatrixResult = matrixArena.obtainTracking(board.getWidth(), board.getHeight(), 0);
+		this.cutOffMatrixResult = matrixArena.obtainTracking(board.getWidth(), board.getHeight(), 0);
 
 		if (startPlayer.isActive()) {
 			queue.add(startPlayer);
@@ -63,14 +82,20 @@ public class GradualReachablePointsCalculation {
 
 	/**
 	 * Performs a single step of the player specific reachable points calculating by
-	 * polling a {@link RatedPredictivePlayer} from a {@link LimitedQueue},
-	 * evaluating the {@link RatedPredictivePlayer children} and adding the valid
-	 * {@link RatedPredictivePlayer children} to the {@link LimitedQueue}. The local
+	 * polling a {@link RatedPredictivePlayer} from a {@link IFrontier}, evaluating
+	 * the {@link RatedPredictivePlayer children} and adding the valid
+	 * {@link RatedPredictivePlayer children} to the {@link IFrontier}. The local
 	 * results are added to the global result {@link FloatMatrix matrices}.
 	 */
 	public void performSingleStep() {
 
 		final RatedPredictivePlayer calculationPlayer = queue.poll();
+		// another path may have expanded the same state since it was queued
+		if (!transpositionTable.offer(calculationPlayer.getStateHash() ^ transpositionKeySalt,
+				calculationPlayer.getSuccessRating(), calculationPlayer.getCutOffRating())) {
+			skippedPathsCount++;
+			return;
+		}
 		final Collection<RatedPredictivePlayer> children = calculationPlayer.getValidChildren(board, probabilities,
 				minSteps);
 
@@ -80,7 +105,13 @@ public class GradualReachablePointsCalculation {
 			successMatrixResult.max(position, child.getSuccessRating());
 			cutOffMatrixResult.max(position, child.getCutOffRating());
 
-			queue.add(child);
+			// states expanded before with at least the same ratings have no better
+			// descendants
+			if (transpositionTable.isExpanded(child.getStateHash() ^ transpositionKeySalt, child.getSuccessRating(),
+					child.getCutOffRating()))
+				skippedPathsCount++;
+			else
+				queue.add(child);
 			calculatedPathsCount++;
 		}
 	}
@@ -121,4 +152,14 @@ public class GradualReachablePointsCalculation {
 		return calculatedPathsCount;
 	}
 
+	/**
+	 * Returns the amount of calculated paths which were not expanded, because the
+	 * same state was already reached with at least the same rating.
+	 * 
+	 * @return amount of skipped paths
+	 */
+	public int getSkippedPathsCount() {
+		return skippedPathsCount;
+	}
+
 }
@@ -5,10 +5,16 @@ import java.util.Collection;
 import java.util.EnumMap;
 import java.util.Map;
 
+import solver.CancellationToken;
 import solver.analysis.ActionsRating;
+import solver.analysis.ConvergenceMonitor;
+import solver.analysis.ZobristKeys;
 import solver.analysis.slowdown.SlowDown;
+import solver.reachablepoints.FrontierPolicy;
 import solver.reachablepoints.IReachablePoints;
 import solver.reachablepoints.RatedPredictivePlayer;
+import solver.reachablepoints.TranspositionTable;
+import solver.reachablepoints.TranspositionTable.ReplacementPolicy;
 import utility.game.board.Board;
 import utility.game.board.Cell;
 import utility.game.player.IPlayer;
@@ -17,6 +23,7 @@ import utility.game.step.IDeadline;
 import utility.game.step.GameStep;
 import utility.geometry.ContextualFloatMatrix;
 import utility.geometry.FloatMatrix;
+import utility.geometry.FloatMatrixArena;
 import utility.logging.GameLogger;
 
 /**
@@ -28,39 +35,70 @@ import utility.logging.GameLogger;
  */
 public class ReachablePointsSingleThreaded implements IReachablePoints {
 
-	private static final int DEADLINE_MILLISECOND_BUFFER = 500;
+	private static final int TRANSPOSITION_TABLE_BYTES = 4 * 1024 * 1024;
+
+	private final FloatMatrixArena matrixArena;
+	private final ConvergenceMonitor convergenceMonitor;
+	private final FrontierPolicy frontierPolicy;
+	private final TranspositionTable transpositionTable = new TranspositionTable(TRANSPOSITION_TABLE_BYTES,
+			ReplacementPolicy.PREFER_HIGHER_RATING);
 
 	private Map<PlayerAction, GradualReachablePointsCalculation> calculations;
 
 	private ActionsRating successRating;
 	private ActionsRating cutOffRating;
 	private ActionsRating slowDownRating;
+	private ActionsRating fixedRating;
 
 	private FloatMatrix enemyProbabilitiesMatrix;
 	private FloatMatrix enemyMinStepsMatrix;
 
+	/**
+	 * Creates a new {@link ReachablePointsSingleThreaded} calculator.
+	 * 
+	 * @param matrixArena        {@link FloatMatrixArena} to obtain the result
+	 *                           matrices from
+	 * @param convergenceMonitor {@link ConvergenceMonitor} to stop the calculation
+	 *                           as soon as the best action is settled
+	 * @param frontierPolicy     {@link FrontierPolicy} of the calculation queues
+	 */
+	public ReachablePointsSingleThreaded(final FloatMatrixArena matrixArena,
+			final ConvergenceMonitor convergenceMonitor, final FrontierPolicy frontierPolicy) {
+		this.matrixArena = matrixArena;
+		this.convergenceMonitor = convergenceMonitor;
+		this.frontierPolicy = frontierPolicy;
+	}
+
+	@Override
+	public void prepareCalculation(final GameStep gameStep) {
+		// the search depends on the enemy probabilities from its first step
+	}
+
 	@Override
 	public void performCalculation(final GameStep gameStep, final FloatMatrix probabilities,
-			final FloatMatrix minSteps) {
+			final FloatMatrix minSteps, final ActionsRating fixedRating, final CancellationToken token) {
 		reset();
 
 		this.enemyProbabilitiesMatrix = probabilities;
+		this.fixedRating = fixedRating;
 		this.enemyMinStepsMatrix = minSteps;
 		slowDownRating = SlowDown.getActionsRating(gameStep.getSelf(), gameStep.getBoard());
 
 		initCalculations(gameStep.getSelf(), gameStep.getBoard(), probabilities, minSteps);
-		executeCalculationLoop(gameStep.getDeadline());
+		executeCalculationLoop(token, gameStep.getDeadline());
 		updateActionsRatings();
 	}
 
 	/**
-	 * Resets the {@link GradualReachablePointsCalculation calculations} and
-	 * {@link ActionsRating ratings}.
+	 * Resets the {@link GradualReachablePointsCalculation calculations},
+	 * {@link ActionsRating ratings} and the {@link TranspositionTable}.
 	 */
 	private void reset() {
 		calculations = new EnumMap<>(PlayerAction.class);
 		successRating = new ActionsRating();
 		cutOffRating = new ActionsRating();
+		transpositionTable.clear();
+		convergenceMonitor.reset();
 	}
 
 	/**
@@ -80,7 +118,8 @@ public class ReachablePointsSingleThreaded implements IReachablePoints {
 			final RatedPredictivePlayer nextPlayer = new RatedPredictivePlayer(startPlayer, action, board,
 					probabilities, minSteps);
 			final GradualReachablePointsCalculation calculation = new GradualReachablePointsCalculation(board,
-					probabilities, minSteps, nextPlayer);
+					probabilities, minSteps, nextPlayer, matrixArena, transpositionTable,
+					ZobristKeys.salt(action.ordinal()), frontierPolicy);
 			calculations.put(action, calculation);
 		}
 	}
@@ -88,16 +127,20 @@ public class ReachablePointsSingleThreaded implements IReachablePoints {
 	/**
 	 * Executes the main calculation loop. Thereby multiple
 	 * {@link GradualReachablePointsCalculation calculations} are repeatedly
-	 * alternated until a {@link IDeadline} is reached.
+	 * alternated until the {@link CancellationToken} is cancelled. The token is
+	 * cancelled as soon as the {@link ConvergenceMonitor} decides that the best
+	 * action is settled.
 	 * 
-	 * @param deadline {@link IDeadline} for the
+	 * @param token    {@link CancellationToken} for the
 	 *                 {@link GradualReachablePointsCalculation calculations}
+	 * @param deadline {@link IDeadline} of the current game step
 	 */
-	private void executeCalculationLoop(final IDeadline deadline) {
+	private void executeCalculationLoop(final CancellationToken token, final IDeadline deadline) {
 
 		boolean finished = false;
+		int steps = 0;
 
-		while (deadline.getRemainingMilliseconds() > DEADLINE_MILLISECOND_BUFFER && !finished) {
+		while (!token.isCancelled(steps++) && !finished) {
 			finished = true;
 			for (final PlayerAction action : PlayerAction.values()) {
 				final GradualReachablePointsCalculation calculation = calculations.get(action);
@@ -106,12 +149,27 @@ public class ReachablePointsSingleThreaded implements IReachablePoints {
 					finished = false;
 				}
 			}
+
+			if (!finished && convergenceMonitor.isCheckpointDue()) {
+				updateActionsRatings();
+				if (convergenceMonitor.addCheckpoint(combineActionsRating(convergenceMonitor.getAggressiveWeight(),
+						convergenceMonitor.getDefensiveWeight()).combine(fixedRating, 1))) {
+					token.cancel();
+					GameLogger.logGameInformation(String.format("Stopped the converged calculation %d ms early!",
+							deadline.getRemainingMilliseconds()));
+					break;
+				}
+			}
 		}
 
 		int calculatedPaths = 0;
-		for (final GradualReachablePointsCalculation calculation : calculations.values())
+		int skippedPaths = 0;
+		for (final GradualReachablePointsCalculation calculation : calculations.values()) {
 			calculatedPaths += calculation.getCalculatedPathsCount();
+			skippedPaths += calculation.getSkippedPathsCount();
+		}
 		GameLogger.logGameInformation(String.format("Calculated %d reachable points paths!", calculatedPaths));
+		GameLogger.logGameInformation(String.format("Skipped %d transposed reachable points paths!", skippedPaths));
 	}
 
 	/**
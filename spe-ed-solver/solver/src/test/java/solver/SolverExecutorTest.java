@@ -0,0 +1,29 @@
+package solver;
+
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinTask;
+
+import org.junit.Test;
+
+public class SolverExecutorTest {
+
+	@Test
+	public void testInterruptedWaitJoinsTasks() {
+		SolverExecutor executor = new SolverExecutor(1);
+		CancellationToken token = new CancellationToken(() -> 10_000, 0);
+		ForkJoinTask<?> task = executor.getPool().submit(() -> {
+			while (!token.isCancelled())
+				Thread.onSpinWait();
+		});
+
+		// the interrupted wait stops the task and still returns only after it finished
+		Thread.currentThread().interrupt();
+		assertTrue(executor.awaitAll(List.of(task), 10_000, token));
+		assertTrue(task.isDone());
+		assertTrue(token.isCancelled());
+		assertTrue(Thread.interrupted());
+		executor.shutdown();
+	}
+}
@@ -0,0 +1,57 @@
+package solver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class ThreadCountModelTest {
+
+	@Test
+	public void testClimbsToBestThreadCount() {
+		// the throughput grows up to 3 threads, more threads only add overhead
+		double[] throughputs = { 0, 100, 180, 240, 200, 150, 120, 100, 90 };
+		ThreadCountModel model = new ThreadCountModel(8);
+
+		int[] counts = new int[9];
+		for (int round = 0; round < 100; round++) {
+			int threadCount = model.chooseThreadCount(8);
+			counts[threadCount]++;
+			model.record(threadCount, (long) throughputs[threadCount], 1_000_000_000L);
+		}
+
+		assertTrue(counts[3] > 75);
+		assertEquals(240, model.getExpectedThroughput(3), 1e-9);
+	}
+
+	@Test
+	public void testRespectsLimit() {
+		ThreadCountModel model = new ThreadCountModel(4);
+		assertEquals(4, model.chooseThreadCount(10));
+		assertEquals(2, model.chooseThreadCount(2));
+		assertEquals(1, model.chooseThreadCount(0));
+
+		model.record(4, 100, 1_000_000_000L);
+		model.record(3, 50, 1_000_000_000L);
+		for (int round = 0; round < 20; round++)
+			assertTrue(model.chooseThreadCount(2) <= 2);
+	}
+
+	@Test
+	public void testFollowsChangingLoad() {
+		ThreadCountModel model = new ThreadCountModel(4);
+		for (int round = 0; round < 40; round++) {
+			int threadCount = model.chooseThreadCount(4);
+			model.record(threadCount, threadCount * 100, 1_000_000_000L);
+		}
+
+		// other processes occupy the cores, a single thread is the fastest now
+		int[] counts = new int[5];
+		for (int round = 0; round < 200; round++) {
+			int threadCount = model.chooseThreadCount(4);
+			counts[threadCount]++;
+			model.record(threadCount, 400 / threadCount, 1_000_000_000L);
+		}
+		assertTrue(counts[1] > 120);
+	}
+}
@@ -0,0 +1,52 @@
+package solver.analysis;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import utility.game.player.PlayerAction;
+
+public class ConvergenceMonitorTest {
+
+	private static ActionsRating rating(final PlayerAction best, final double bestRating, final double otherRating) {
+		final ActionsRating rating = new ActionsRating();
+		for (final PlayerAction action : PlayerAction.values())
+			rating.setRating(action, action == best ? bestRating : otherRating);
+		return rating;
+	}
+
+	@Test
+	public void testConvergesAfterStableCheckpoints() {
+		ConvergenceMonitor monitor = new ConvergenceMonitor(1, 1, 50, 3, 0.2);
+
+		assertFalse(monitor.addCheckpoint(rating(PlayerAction.SPEED_UP, 1, 0.5)));
+		assertFalse(monitor.addCheckpoint(rating(PlayerAction.SPEED_UP, 1, 0.5)));
+		assertTrue(monitor.addCheckpoint(rating(PlayerAction.SPEED_UP, 1, 0.5)));
+		assertTrue(monitor.isConverged());
+
+		monitor.reset();
+		assertFalse(monitor.isConverged());
+	}
+
+	@Test
+	public void testChangedBestActionRestarts() {
+		ConvergenceMonitor monitor = new ConvergenceMonitor(1, 1, 50, 3, 0.2);
+
+		assertFalse(monitor.addCheckpoint(rating(PlayerAction.SPEED_UP, 1, 0.5)));
+		assertFalse(monitor.addCheckpoint(rating(PlayerAction.SPEED_UP, 1, 0.5)));
+		assertFalse(monitor.addCheckpoint(rating(PlayerAction.TURN_LEFT, 1, 0.5)));
+		assertFalse(monitor.addCheckpoint(rating(PlayerAction.TURN_LEFT, 1, 0.5)));
+		assertTrue(monitor.addCheckpoint(rating(PlayerAction.TURN_LEFT, 1, 0.5)));
+	}
+
+	@Test
+	public void testCloseRatingsDoNotConverge() {
+		ConvergenceMonitor monitor = new ConvergenceMonitor(1, 1, 50, 2, 0.2);
+
+		for (int i = 0; i < 10; i++)
+			assertFalse(monitor.addCheckpoint(rating(PlayerAction.SPEED_UP, 1, 0.9)));
+		for (int i = 0; i < 10; i++)
+			assertFalse(monitor.addCheckpoint(rating(PlayerAction.SPEED_UP, 0, 0)));
+	}
+}
@@ -0,0 +1,79 @@
+package solver.analysis;
+
+import solver.MockPlayer;
+import solver.reachablepoints.LimitedQueue;
+import utility.game.board.Board;
+import utility.game.board.Cell;
+import utility.game.player.PlayerAction;
+import utility.game.player.PlayerDirection;
+import utility.geometry.Point2i;
+
+/**
+ * Micro benchmark measuring how many {@link PredictivePlayer} children can be
+ * created per second. The expansion order mimics the reachable points search: a
+ * {@link LimitedQueue} is filled breadth first, so the tails of the polled
+ * players grow with the search depth.
+ *
+ * Not executed as part of the test suite. Run the main method with the test
+ * class path of the solver module.
+ */
+public class PredictivePlayerBenchmark {
+
+	private static final int QUEUE_SIZE = 10000;
+	private static final long WARM_UP_MILLISECONDS = 2000;
+	private static final long MEASURE_MILLISECONDS = 5000;
+
+	public static void main(String[] args) {
+		for (final int size : new int[] { 50, 100 }) {
+			run(size, WARM_UP_MILLISECONDS);
+			final double childrenPerSecond = run(size, MEASURE_MILLISECONDS);
+			System.out.println(String.format("%dx%d board: %.0f children/sec", size, size, childrenPerSecond));
+		}
+	}
+
+	/**
+	 * Expands {@link PredictivePlayer players} on an empty board for the given
+	 * time.
+	 *
+	 * @param size         width and height of the board
+	 * @param milliseconds duration of the run
+	 * @return created children per second
+	 */
+	private static double run(final int size, final long milliseconds) {
+		final Board<Cell> board = createEmptyBoard(size);
+		final PredictivePlayer root = new PredictivePlayer(
+				new MockPlayer(1, PlayerDirection.UP, 1, new Point2i(size / 2, size / 2), 1, true));
+
+		LimitedQueue<PredictivePlayer> queue = new LimitedQueue<>(PredictivePlayer.class, QUEUE_SIZE);
+		queue.add(root);
+
+		long children = 0;
+		final long start = System.nanoTime();
+		final long end = start + milliseconds * 1_000_000L;
+		while (System.nanoTime() < end) {
+			for (int i = 0; i < 1000; i++) {
+				if (!queue.hasNext())
+					queue.add(root);
+				final PredictivePlayer parent = queue.poll();
+				for (final PlayerAction action : PlayerAction.values()) {
+					final PredictivePlayer child = new PredictivePlayer(parent, action, board);
+					children++;
+					if (child.isActive())
+						queue.add(child);
+				}
+			}
+		}
+		final double seconds = (System.nanoTime() - start) / 1e9;
+		return children / seconds;
+	}
+
+	private static Board<Cell> createEmptyBoard(final int size) {
+		final Cell[][] cells = new Cell[size][size];
+		for (int y = 0; y < size; y++) {
+			for (int x = 0; x < size; x++) {
+				cells[y][x] = new Cell(0);
+			}
+		}
+		return new Board<Cell>(cells);
+	}
+}
@@ -2,6 +2,7 @@ package solver.analysis;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertTrue;
 
 import java.util.Arrays;
@@ -107,6 +108,63 @@ public class PredictivePlayerTest {
 				new HashSet<Point2i>(nextPlayer.getShortTail()));
 	}
 
+	@Test
+	public void testChildLongTail() {
+		Board<Cell> board = createEmptyTestBoard();
+		IPlayer player = new MockPlayer(0, PlayerDirection.UP, 1, new Point2i(5, 5), 0, true);
+		PredictivePlayer startPlayer = new PredictivePlayer(player);
+
+		PredictivePlayer nextPlayer0 = new PredictivePlayer(startPlayer, PlayerAction.SPEED_UP, board);
+		PredictivePlayer nextPlayer1 = new PredictivePlayer(nextPlayer0, PlayerAction.TURN_RIGHT, board);
+		PredictivePlayer nextPlayer2 = new PredictivePlayer(nextPlayer1, PlayerAction.TURN_RIGHT, board);
+
+		assertEquals(new HashSet<Point2i>(Arrays.asList(new Point2i(5, 4), new Point2i(5, 3), new Point2i(6, 3),
+				new Point2i(7, 3))), nextPlayer2.getLongTail());
+		assertTrue(nextPlayer2.isActive());
+	}
+
+	@Test
+	public void testSelfCollisionInsideFilterBlock() {
+		Board<Cell> board = createEmptyTestBoard();
+		IPlayer player = new MockPlayer(0, PlayerDirection.UP, 1, new Point2i(5, 5), 0, true);
+		PredictivePlayer startPlayer = new PredictivePlayer(player);
+
+		// all visited cells share the same block of the tail filter
+		PredictivePlayer nextPlayer0 = new PredictivePlayer(startPlayer, PlayerAction.CHANGE_NOTHING, board);
+		PredictivePlayer nextPlayer1 = new PredictivePlayer(nextPlayer0, PlayerAction.TURN_RIGHT, board);
+		PredictivePlayer nextPlayer2 = new PredictivePlayer(nextPlayer1, PlayerAction.TURN_RIGHT, board);
+		PredictivePlayer nextPlayer3 = new PredictivePlayer(nextPlayer2, PlayerAction.TURN_RIGHT, board);
+		PredictivePlayer nextPlayer4 = new PredictivePlayer(nextPlayer3, PlayerAction.CHANGE_NOTHING, board);
+		PredictivePlayer nextPlayer5 = new PredictivePlayer(nextPlayer4, PlayerAction.TURN_RIGHT, board);
+		PredictivePlayer nextPlayer6 = new PredictivePlayer(nextPlayer5, PlayerAction.TURN_RIGHT, board);
+
+		assertTrue(nextPlayer4.isActive());
+		assertTrue(nextPlayer5.isActive());
+		assertFalse(nextPlayer6.isActive());
+	}
+
+	@Test
+	public void testStateHashIgnoresActionOrder() {
+		Board<Cell> board = createEmptyTestBoard();
+		IPlayer player = new MockPlayer(0, PlayerDirection.UP, 1, new Point2i(5, 9), 0, true);
+		PredictivePlayer startPlayer = new PredictivePlayer(player);
+
+		PredictivePlayer first = new PredictivePlayer(startPlayer, PlayerAction.SPEED_UP, board);
+		first = new PredictivePlayer(first, PlayerAction.SLOW_DOWN, board);
+		first = new PredictivePlayer(first, PlayerAction.CHANGE_NOTHING, board);
+
+		PredictivePlayer second = new PredictivePlayer(startPlayer, PlayerAction.CHANGE_NOTHING, board);
+		second = new PredictivePlayer(second, PlayerAction.SPEED_UP, board);
+		second = new PredictivePlayer(second, PlayerAction.SLOW_DOWN, board);
+
+		PredictivePlayer shorter = new PredictivePlayer(startPlayer, PlayerAction.CHANGE_NOTHING, board);
+		shorter = new PredictivePlayer(shorter, PlayerAction.CHANGE_NOTHING, board);
+		shorter = new PredictivePlayer(shorter, PlayerAction.CHANGE_NOTHING, board);
+
+		assertEquals(first.getStateHash(), second.getStateHash());
+		assertNotEquals(first.getStateHash(), shorter.getStateHash());
+	}
+
 	private Board<Cell> createEmptyTestBoard() {
 		Cell[][] cells = new Cell[10][10];
 		for (int y = 0; y < cells.length; y++) {
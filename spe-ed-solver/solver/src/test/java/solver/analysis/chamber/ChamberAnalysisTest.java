@@ -0,0 +1,215 @@
+package solver.analysis.chamber;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+import solver.MockPlayer;
+import utility.game.board.Board;
+import utility.game.board.Cell;
+import utility.game.player.IPlayer;
+import utility.game.player.PlayerAction;
+import utility.game.player.PlayerDirection;
+import utility.geometry.Point2i;
+
+public class ChamberAnalysisTest {
+
+	private static final PlayerDirection[] DIRECTIONS = PlayerDirection.values();
+
+	@Test
+	public void testArticulationPoints() {
+		// two rooms connected by the door at (2, 1)
+		Board<Cell> board = createBoard(5, 3);
+		board.getBoardCellAt(new Point2i(2, 0)).setCellValue(-1);
+		board.getBoardCellAt(new Point2i(2, 2)).setCellValue(-1);
+
+		ChamberAnalysis analysis = new ChamberAnalysis();
+		analysis.update(board);
+		assertEquals(13, analysis.getSearchedCellCount());
+		assertEquals(13, analysis.getComponentSize(new Point2i(0, 0)));
+		assertTrue(analysis.isArticulationPoint(new Point2i(2, 1)));
+		assertFalse(analysis.isArticulationPoint(new Point2i(0, 0)));
+		assertTrue(analysis.isArticulationPoint(new Point2i(1, 1)));
+		assertFalse(analysis.isArticulationPoint(new Point2i(0, 1)));
+
+		// only the split component is searched again
+		board.getBoardCellAt(new Point2i(2, 1)).setCellValue(-1);
+		analysis.update(board);
+		assertEquals(12, analysis.getSearchedCellCount());
+		assertEquals(6, analysis.getComponentSize(new Point2i(4, 2)));
+		board.getBoardCellAt(new Point2i(4, 2)).setCellValue(-1);
+		analysis.update(board);
+		assertEquals(5, analysis.getSearchedCellCount());
+		assertTrue(analysis.isArticulationPoint(new Point2i(3, 1)));
+		assertFalse(analysis.isArticulationPoint(new Point2i(4, 1)));
+	}
+
+	@Test
+	public void testIncrementalUpdate() {
+		Random random = new Random(3);
+		Board<Cell> board = createBoard(15, 11);
+		ChamberAnalysis analysis = new ChamberAnalysis();
+		for (int round = 0; round < 30; round++) {
+			for (int i = 0; i < 5; i++)
+				board.getBoardCellAt(new Point2i(random.nextInt(15), random.nextInt(11))).setCellValue(-1);
+			analysis.update(board);
+
+			ChamberAnalysis freshAnalysis = new ChamberAnalysis();
+			freshAnalysis.update(board);
+			for (int y = 0; y < 11; y++) {
+				for (int x = 0; x < 15; x++) {
+					Point2i position = new Point2i(x, y);
+					assertEquals(freshAnalysis.getComponentSize(position), analysis.getComponentSize(position));
+					assertEquals(freshAnalysis.isArticulationPoint(position), analysis.isArticulationPoint(position));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testMatchesFloodFill() {
+		Random random = new Random(5);
+		int width = 12;
+		int height = 9;
+		int comparedSplits = 0;
+		for (int run = 0; run < 200; run++) {
+			Board<Cell> board = createBoard(width, height);
+			for (int y = 0; y < height; y++) {
+				for (int x = 0; x < width; x++) {
+					if (random.nextInt(10) < 3)
+						board.getBoardCellAt(new Point2i(x, y)).setCellValue(-1);
+				}
+			}
+			PlayerDirection direction = DIRECTIONS[random.nextInt(DIRECTIONS.length)];
+			Point2i position = new Point2i(random.nextInt(width), random.nextInt(height));
+			IPlayer self = new MockPlayer(1, direction, 1, position, 1, true);
+			board.getBoardCellAt(self.getPosition()).setCellValue(1);
+			List<IPlayer> enemies = new ArrayList<>();
+			for (int id = 2; id <= 3; id++) {
+				IPlayer enemy = new MockPlayer(id, direction, 1,
+						new Point2i(random.nextInt(width), random.nextInt(height)), 1, true);
+				board.getBoardCellAt(enemy.getPosition()).setCellValue(id);
+				enemies.add(enemy);
+			}
+
+			ChamberAnalysis analysis = new ChamberAnalysis();
+			analysis.update(board);
+			Map<PlayerAction, RegionSplit> splits = analysis.splitActions(self, enemies, board);
+			for (Map.Entry<PlayerAction, RegionSplit> entry : splits.entrySet()) {
+				int steps = entry.getKey() == PlayerAction.SPEED_UP ? 2 : 1;
+				PlayerDirection nextDirection = getDirection(direction, entry.getKey());
+				List<Point2i> tail = new ArrayList<>();
+				for (int step = 1; step <= steps; step++) {
+					tail.add(new Point2i(self.getPosition().getX() + nextDirection.getDirectionVector().getX() * step,
+							self.getPosition().getY() + nextDirection.getDirectionVector().getY() * step));
+				}
+				int[] expected = splitByFloodFill(board, tail, enemies);
+				assertEquals(expected[0], entry.getValue().getOwnRegionSize());
+				assertEquals(expected[1], entry.getValue().getEnemyRegionSize());
+				assertEquals(expected[2], entry.getValue().getEnemyRegionSizeBefore());
+				comparedSplits++;
+			}
+		}
+		assertTrue(comparedSplits > 100);
+	}
+
+	private PlayerDirection getDirection(PlayerDirection direction, PlayerAction action) {
+		int turn = action == PlayerAction.TURN_LEFT ? -1 : action == PlayerAction.TURN_RIGHT ? 1 : 0;
+		return DIRECTIONS[(direction.ordinal() + turn + DIRECTIONS.length) % DIRECTIONS.length];
+	}
+
+	/**
+	 * Calculates the own region, the enemy region and the enemy region before the
+	 * move by labeling all regions of the board.
+	 */
+	private int[] splitByFloodFill(Board<Cell> board, List<Point2i> tail, List<IPlayer> enemies) {
+		int[][] before = labelRegions(board, List.of());
+		int[][] after = labelRegions(board, tail);
+		Point2i head = tail.get(tail.size() - 1);
+
+		int ownRegion = 0;
+		for (Point2i neighbour : getNeighbours(board, head))
+			ownRegion = Math.max(ownRegion, getRegionSize(after, neighbour));
+		return new int[] { ownRegion, getEnemyRegion(board, after, enemies), getEnemyRegion(board, before, enemies) };
+	}
+
+	private int getEnemyRegion(Board<Cell> board, int[][] labels, List<IPlayer> enemies) {
+		List<Integer> seen = new ArrayList<>();
+		int size = 0;
+		for (IPlayer enemy : enemies) {
+			for (Point2i neighbour : getNeighbours(board, enemy.getPosition())) {
+				int label = labels[neighbour.getY()][neighbour.getX()];
+				if (label > 0 && !seen.contains(label)) {
+					seen.add(label);
+					size += getRegionSize(labels, neighbour);
+				}
+			}
+		}
+		return size;
+	}
+
+	private int getRegionSize(int[][] labels, Point2i position) {
+		int label = labels[position.getY()][position.getX()];
+		if (label <= 0)
+			return 0;
+		int size = 0;
+		for (int[] row : labels) {
+			for (int value : row)
+				size += value == label ? 1 : 0;
+		}
+		return size;
+	}
+
+	private int[][] labelRegions(Board<Cell> board, List<Point2i> removed) {
+		int[][] labels = new int[board.getHeight()][board.getWidth()];
+		for (Point2i cell : removed)
+			labels[cell.getY()][cell.getX()] = -1;
+		int nextLabel = 1;
+		for (int y = 0; y < board.getHeight(); y++) {
+			for (int x = 0; x < board.getWidth(); x++) {
+				if (labels[y][x] != 0 || !board.isFree(x, y))
+					continue;
+				List<Point2i> queue = new ArrayList<>();
+				queue.add(new Point2i(x, y));
+				labels[y][x] = nextLabel;
+				for (int i = 0; i < queue.size(); i++) {
+					for (Point2i neighbour : getNeighbours(board, queue.get(i))) {
+						if (labels[neighbour.getY()][neighbour.getX()] == 0) {
+							labels[neighbour.getY()][neighbour.getX()] = nextLabel;
+							queue.add(neighbour);
+						}
+					}
+				}
+				nextLabel++;
+			}
+		}
+		return labels;
+	}
+
+	private List<Point2i> getNeighbours(Board<Cell> board, Point2i position) {
+		List<Point2i> neighbours = new ArrayList<>();
+		for (PlayerDirection direction : DIRECTIONS) {
+			Point2i neighbour = new Point2i(position.getX() + direction.getDirectionVector().getX(),
+					position.getY() + direction.getDirectionVector().getY());
+			if (board.isOnBoard(neighbour) && board.isFree(neighbour.getX(), neighbour.getY()))
+				neighbours.add(neighbour);
+		}
+		return neighbours;
+	}
+
+	private Board<Cell> createBoard(int width, int height) {
+		Cell[][] cells = new Cell[height][width];
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++)
+				cells[y][x] = new Cell(0);
+		}
+		return new Board<Cell>(cells);
+	}
+}
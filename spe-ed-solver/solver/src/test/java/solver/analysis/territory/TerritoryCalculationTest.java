@@ -0,0 +1,154 @@
+package solver.analysis.territory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import solver.MockPlayer;
+import solver.analysis.ActionsRating;
+import utility.game.board.BitBoard;
+import utility.game.board.Board;
+import utility.game.board.Cell;
+import utility.game.player.IPlayer;
+import utility.game.player.PlayerAction;
+import utility.game.player.PlayerDirection;
+import utility.geometry.Point2i;
+
+public class TerritoryCalculationTest {
+
+	@Test
+	public void testContestedCells() {
+		TerritoryCalculation calculation = new TerritoryCalculation();
+		BitBoard occupied = new BitBoard(5, 1);
+		BitBoard own = new BitBoard(5, 1);
+		BitBoard enemy = new BitBoard(5, 1);
+		own.set(0, 0);
+		enemy.set(4, 0);
+
+		// the middle cell is reached by both players at once
+		assertEquals(1, calculation.countOwnCells(occupied, own, enemy));
+
+		occupied.set(3, 0);
+		assertEquals(2, calculation.countOwnCells(occupied, own, enemy));
+	}
+
+	@Test
+	public void testMatchesBreadthFirstSearch() {
+		TerritoryCalculation calculation = new TerritoryCalculation();
+		Random random = new Random(7);
+		int width = 70;
+		int height = 20;
+		for (int run = 0; run < 20; run++) {
+			BitBoard occupied = new BitBoard(width, height);
+			BitBoard own = new BitBoard(width, height);
+			BitBoard enemy = new BitBoard(width, height);
+			for (int y = 0; y < height; y++) {
+				for (int x = 0; x < width; x++) {
+					if (random.nextInt(4) == 0)
+						occupied.set(x, y);
+				}
+			}
+			for (int i = 0; i < 3; i++) {
+				int x = random.nextInt(width);
+				int y = random.nextInt(height);
+				occupied.unset(x, y);
+				enemy.set(x, y);
+			}
+			int x = random.nextInt(width);
+			int y = random.nextInt(height);
+			occupied.unset(x, y);
+			enemy.unset(x, y);
+			own.set(x, y);
+
+			int expected = countOwnCells(occupied, own, enemy);
+			assertEquals(expected, calculation.countOwnCells(occupied, own, enemy));
+		}
+	}
+
+	@Test
+	public void testActionsRating() {
+		// going straight leads into a narrow corridor, turning right into the open board
+		IPlayer self = new MockPlayer(1, PlayerDirection.UP, 1, new Point2i(1, 5), 1, true);
+		IPlayer enemy = new MockPlayer(2, PlayerDirection.DOWN, 1, new Point2i(8, 5), 1, true);
+		Cell[][] cells = new Cell[10][10];
+		for (int y = 0; y < cells.length; y++) {
+			for (int x = 0; x < cells[0].length; x++)
+				cells[y][x] = new Cell(x == 2 && y < 5 ? -1 : 0);
+		}
+		Board<Cell> board = new Board<Cell>(cells);
+		board.getBoardCellAt(self.getPosition()).setCellValue(1);
+		board.getBoardCellAt(enemy.getPosition()).setCellValue(2);
+
+		ActionsRating rating = new TerritoryCalculation().getActionsRating(self, List.of(enemy), board);
+		assertEquals(PlayerAction.TURN_RIGHT, rating.maxAction());
+		assertEquals(1, rating.getRating(PlayerAction.TURN_RIGHT), 0);
+		assertEquals(0, rating.getRating(PlayerAction.SLOW_DOWN), 0);
+		assertTrue(rating.getRating(PlayerAction.CHANGE_NOTHING) < 1);
+	}
+
+	/**
+	 * Counts the own territory cell by cell, expanding the players layer by layer
+	 * like the bit parallel calculation.
+	 */
+	private int countOwnCells(BitBoard occupied, BitBoard own, BitBoard enemy) {
+		int width = occupied.getWidth();
+		int height = occupied.getHeight();
+		int[] owners = new int[width * height];
+		List<Integer> ownFrontier = new ArrayList<>();
+		List<Integer> enemyFrontier = new ArrayList<>();
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				if (occupied.get(x, y))
+					owners[y * width + x] = 3;
+				if (own.get(x, y)) {
+					owners[y * width + x] = 1;
+					ownFrontier.add(y * width + x);
+				}
+				if (enemy.get(x, y)) {
+					owners[y * width + x] = 2;
+					enemyFrontier.add(y * width + x);
+				}
+			}
+		}
+
+		int count = 0;
+		while (!ownFrontier.isEmpty()) {
+			int[] reached = new int[width * height];
+			expand(ownFrontier, owners, reached, 1, width, height);
+			expand(enemyFrontier, owners, reached, 2, width, height);
+			ownFrontier.clear();
+			enemyFrontier.clear();
+			for (int index = 0; index < reached.length; index++) {
+				if (reached[index] == 0)
+					continue;
+				owners[index] = 3;
+				if (reached[index] == 1) {
+					ownFrontier.add(index);
+					count++;
+				} else if (reached[index] == 2) {
+					enemyFrontier.add(index);
+				}
+			}
+		}
+		return count;
+	}
+
+	private void expand(List<Integer> frontier, int[] owners, int[] reached, int player, int width, int height) {
+		int[] offsetsX = { 0, 1, 0, -1 };
+		int[] offsetsY = { -1, 0, 1, 0 };
+		for (int index : frontier) {
+			for (int neighbour = 0; neighbour < 4; neighbour++) {
+				int x = index % width + offsetsX[neighbour];
+				int y = index / width + offsetsY[neighbour];
+				if (x < 0 || y < 0 || x >= width || y >= height || owners[y * width + x] != 0)
+					continue;
+				reached[y * width + x] |= player;
+			}
+		}
+	}
+}
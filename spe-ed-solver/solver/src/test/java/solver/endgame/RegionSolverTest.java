@@ -0,0 +1,128 @@
+package solver.endgame;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+
+import org.junit.Test;
+
+import solver.CancellationToken;
+import solver.MockPlayer;
+import solver.SolverExecutor;
+import utility.game.board.Board;
+import utility.game.board.Cell;
+import utility.game.player.IPlayer;
+import utility.game.player.PlayerAction;
+import utility.game.player.PlayerDirection;
+import utility.game.step.GameStep;
+import utility.game.step.IDeadline;
+import utility.geometry.FloatMatrix;
+import utility.geometry.Point2i;
+
+public class RegionSolverTest {
+
+	@Test
+	public void testIsolatedRegionSize() {
+		IPlayer self = new MockPlayer(1, PlayerDirection.UP, 1, new Point2i(1, 5), 1, true);
+		IPlayer enemy = new MockPlayer(2, PlayerDirection.UP, 1, new Point2i(8, 5), 1, true);
+		Board<Cell> board = createBoard(self, enemy);
+		for (int y = 0; y < 10; y++)
+			board.getBoardCellAt(new Point2i(5, y)).setCellValue(-1);
+
+		// the enemy reaches the right side of the wall only
+		FloatMatrix minSteps = new FloatMatrix(10, 10, 100.);
+		for (int y = 0; y < 10; y++) {
+			for (int x = 6; x < 10; x++)
+				minSteps.setValue(x, y, 1);
+		}
+
+		RegionSolver solver = new RegionSolver(new SolverExecutor(1));
+		GameStep gameStep = createGameStep(self, enemy, board);
+		assertEquals(49, solver.getIsolatedRegionSize(gameStep, minSteps, 6));
+
+		board.getBoardCellAt(new Point2i(5, 9)).setCellValue(0);
+		assertEquals(0, solver.getIsolatedRegionSize(gameStep, minSteps, 6));
+	}
+
+	@Test
+	public void testPlayAndUndo() {
+		IPlayer self = new MockPlayer(1, PlayerDirection.RIGHT, 1, new Point2i(2, 2), 1, true);
+		IPlayer enemy = new MockPlayer(2, PlayerDirection.UP, 1, new Point2i(8, 8), 1, true);
+		PathState state = new PathState(self, createBoard(self, enemy), 8);
+		long hash = state.getHash();
+		int bound = state.getUpperBound();
+
+		assertTrue(state.isSafe(PlayerAction.SPEED_UP));
+		assertFalse(state.isSafe(PlayerAction.SLOW_DOWN));
+		state.play(PlayerAction.SPEED_UP);
+		// speed 3 is not searched
+		assertFalse(state.isSafe(PlayerAction.SPEED_UP));
+		state.play(PlayerAction.TURN_RIGHT);
+		assertTrue(state.getUpperBound() < bound);
+		state.undo();
+		state.undo();
+
+		assertEquals(0, state.getDepth());
+		assertEquals(hash, state.getHash());
+		assertEquals(bound, state.getUpperBound());
+	}
+
+	@Test
+	public void testLongestPath() {
+		// the corridor to the right is longer than the cell below, speeding up wastes cells
+		IPlayer self = new MockPlayer(1, PlayerDirection.RIGHT, 1, new Point2i(0, 0), 1, true);
+		IPlayer enemy = new MockPlayer(2, PlayerDirection.UP, 1, new Point2i(8, 8), 1, true);
+		Board<Cell> board = createBoard(self, enemy);
+		for (int y = 0; y < 10; y++) {
+			for (int x = 0; x < 10; x++) {
+				boolean corridor = y == 0 && x <= 4;
+				if (!corridor && !(x == 0 && y == 1) && board.isFree(x, y))
+					board.getBoardCellAt(new Point2i(x, y)).setCellValue(-1);
+			}
+		}
+
+		SolverExecutor executor = new SolverExecutor(2);
+		GameStep gameStep = createGameStep(self, enemy, board);
+		PlayerAction action = new RegionSolver(executor).calculateAction(gameStep, 5,
+				new CancellationToken(gameStep.getDeadline(), 500));
+		executor.shutdown();
+		assertEquals(PlayerAction.CHANGE_NOTHING, action);
+	}
+
+	@Test
+	public void testCancelledSearch() {
+		IPlayer self = new MockPlayer(1, PlayerDirection.RIGHT, 1, new Point2i(2, 2), 1, true);
+		IPlayer enemy = new MockPlayer(2, PlayerDirection.UP, 1, new Point2i(8, 8), 1, true);
+		Board<Cell> board = createBoard(self, enemy);
+		GameStep gameStep = createGameStep(self, enemy, board);
+		CancellationToken token = new CancellationToken(gameStep.getDeadline(), 0);
+		token.cancel();
+
+		// all searches stop at once and answer with a safe action
+		SolverExecutor executor = new SolverExecutor(2);
+		PlayerAction action = new RegionSolver(executor).calculateAction(gameStep, 98, token);
+		executor.shutdown();
+		assertTrue(new PathState(self, board, 99).isSafe(action));
+	}
+
+	private GameStep createGameStep(IPlayer self, IPlayer enemy, Board<Cell> board) {
+		long end = System.currentTimeMillis() + 700;
+		IDeadline deadline = () -> end - System.currentTimeMillis();
+		return new GameStep(self, Map.of(2, enemy), deadline, board, true);
+	}
+
+	private Board<Cell> createBoard(IPlayer self, IPlayer enemy) {
+		Cell[][] cells = new Cell[10][10];
+		for (int y = 0; y < cells.length; y++) {
+			for (int x = 0; x < cells[0].length; x++) {
+				cells[y][x] = new Cell(0);
+			}
+		}
+		Board<Cell> board = new Board<Cell>(cells);
+		board.getBoardCellAt(self.getPosition()).setCellValue(self.getPlayerId());
+		board.getBoardCellAt(enemy.getPosition()).setCellValue(enemy.getPlayerId());
+		return board;
+	}
+}
@@ -0,0 +1,96 @@
+package solver.hybrid;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Map;
+
+import org.junit.Test;
+
+import solver.MockPlayer;
+import utility.game.board.Board;
+import utility.game.board.Cell;
+import utility.game.player.IPlayer;
+import utility.game.player.PlayerDirection;
+import utility.game.step.GameStep;
+import utility.geometry.Point2i;
+
+public class PhaseClassifierTest {
+
+	@Test
+	public void testOpeningAndMidgame() {
+		IPlayer self = new MockPlayer(1, PlayerDirection.UP, 1, new Point2i(1, 5), 1, true);
+		IPlayer enemy = new MockPlayer(2, PlayerDirection.UP, 1, new Point2i(18, 5), 1, true);
+		IPlayer secondEnemy = new MockPlayer(3, PlayerDirection.UP, 1, new Point2i(10, 1), 1, true);
+		Board<Cell> board = createBoard(self, enemy, secondEnemy);
+		PhaseClassifier classifier = new PhaseClassifier(0.1);
+
+		assertEquals(GamePhase.OPENING, classifier.classify(createGameStep(self, enemy, secondEnemy, board)));
+		assertEquals(2, classifier.getLiveEnemyCount());
+		assertEquals(197, classifier.getOwnRegionSize());
+
+		for (int x = 0; x < 20; x++)
+			occupy(board, x, 3);
+		board.getBoardCellAt(new Point2i(4, 3)).setCellValue(0);
+		assertEquals(GamePhase.MIDGAME, classifier.classify(createGameStep(self, enemy, secondEnemy, board)));
+		assertEquals(0.11, classifier.getDensity(), 1e-9);
+	}
+
+	@Test
+	public void testJumpOverThinWall() {
+		IPlayer self = new MockPlayer(1, PlayerDirection.UP, 1, new Point2i(1, 5), 1, true);
+		IPlayer enemy = new MockPlayer(2, PlayerDirection.UP, 1, new Point2i(18, 5), 1, true);
+		IPlayer secondEnemy = new MockPlayer(3, PlayerDirection.UP, 1, new Point2i(10, 1), 1, false);
+		Board<Cell> board = createBoard(self, enemy, secondEnemy);
+		for (int y = 0; y < 10; y++)
+			occupy(board, 5, y);
+		PhaseClassifier classifier = new PhaseClassifier(0.1);
+
+		// the enemy can jump over the wall, so the region is not sealed
+		assertEquals(GamePhase.DUEL, classifier.classify(createGameStep(self, enemy, secondEnemy, board)));
+		assertEquals(1, classifier.getLiveEnemyCount());
+		assertEquals(49, classifier.getOwnRegionSize());
+	}
+
+	@Test
+	public void testSealedRegion() {
+		IPlayer self = new MockPlayer(1, PlayerDirection.UP, 1, new Point2i(1, 5), 1, true);
+		IPlayer enemy = new MockPlayer(2, PlayerDirection.UP, 1, new Point2i(18, 5), 1, true);
+		IPlayer secondEnemy = new MockPlayer(3, PlayerDirection.UP, 1, new Point2i(10, 1), 1, true);
+		Board<Cell> board = createBoard(self, enemy, secondEnemy);
+		for (int y = 0; y < 10; y++) {
+			for (int x = 3; x < 17; x++)
+				occupy(board, x, y);
+		}
+		PhaseClassifier classifier = new PhaseClassifier(0.1);
+
+		// the wall is too thick to jump over
+		assertEquals(GamePhase.SEALED, classifier.classify(createGameStep(self, enemy, secondEnemy, board)));
+		assertEquals(29, classifier.getOwnRegionSize());
+
+		// a free cell in the wall can be reached by two jumps
+		board.getBoardCellAt(new Point2i(9, 5)).setCellValue(0);
+		assertEquals(GamePhase.MIDGAME, classifier.classify(createGameStep(self, enemy, secondEnemy, board)));
+	}
+
+	private void occupy(Board<Cell> board, int x, int y) {
+		if (board.isFree(x, y))
+			board.getBoardCellAt(new Point2i(x, y)).setCellValue(-1);
+	}
+
+	private GameStep createGameStep(IPlayer self, IPlayer enemy, IPlayer secondEnemy, Board<Cell> board) {
+		return new GameStep(self, Map.of(2, enemy, 3, secondEnemy), () -> 1000L, board, true);
+	}
+
+	private Board<Cell> createBoard(IPlayer... players) {
+		Cell[][] cells = new Cell[10][20];
+		for (int y = 0; y < cells.length; y++) {
+			for (int x = 0; x < cells[0].length; x++) {
+				cells[y][x] = new Cell(0);
+			}
+		}
+		Board<Cell> board = new Board<Cell>(cells);
+		for (IPlayer player : players)
+			board.getBoardCellAt(player.getPosition()).setCellValue(player.getPlayerId());
+		return board;
+	}
+}
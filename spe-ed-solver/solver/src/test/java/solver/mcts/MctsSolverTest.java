@@ -0,0 +1,74 @@
+package solver.mcts;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+
+import org.junit.Test;
+
+import solver.MockPlayer;
+import solver.SolverExecutor;
+import utility.game.board.Board;
+import utility.game.board.Cell;
+import utility.game.player.IPlayer;
+import utility.game.player.PlayerAction;
+import utility.game.player.PlayerDirection;
+import utility.game.step.GameStep;
+import utility.game.step.IDeadline;
+import utility.geometry.Point2i;
+
+public class MctsSolverTest {
+
+	@Test
+	public void testAvoidsWall() {
+		for (MctsMode mode : MctsMode.values()) {
+			IPlayer self = new MockPlayer(1, PlayerDirection.LEFT, 1, new Point2i(0, 5), 1, true);
+			IPlayer enemy = new MockPlayer(2, PlayerDirection.UP, 1, new Point2i(9, 9), 1, true);
+			PlayerAction action = calculateAction(mode, self, Map.of(2, enemy), createEmptyTestBoard());
+
+			assertTrue(action == PlayerAction.TURN_LEFT || action == PlayerAction.TURN_RIGHT);
+		}
+	}
+
+	@Test
+	public void testAvoidsDeadEnd() {
+		for (MctsMode mode : MctsMode.values()) {
+			// turning right leads into a dead end, turning left into the open board
+			Board<Cell> board = createEmptyTestBoard();
+			board.getBoardCellAt(new Point2i(1, 0)).setCellValue(-1);
+			IPlayer self = new MockPlayer(1, PlayerDirection.LEFT, 1, new Point2i(0, 1), 1, true);
+			IPlayer enemy = new MockPlayer(2, PlayerDirection.UP, 1, new Point2i(9, 9), 1, true);
+			PlayerAction action = calculateAction(mode, self, Map.of(2, enemy), board);
+
+			assertEquals(PlayerAction.TURN_LEFT, action);
+		}
+	}
+
+	private PlayerAction calculateAction(MctsMode mode, IPlayer self, Map<Integer, IPlayer> enemies,
+			Board<Cell> board) {
+		board.getBoardCellAt(self.getPosition()).setCellValue(self.getPlayerId());
+		for (IPlayer enemy : enemies.values())
+			board.getBoardCellAt(enemy.getPosition()).setCellValue(enemy.getPlayerId());
+
+		long end = System.currentTimeMillis() + 700;
+		IDeadline deadline = () -> end - System.currentTimeMillis();
+		GameStep gameStep = new GameStep(self, enemies, deadline, board, true);
+
+		SolverExecutor executor = new SolverExecutor(2);
+		PlayerAction action = new MctsSolver(mode, executor).calculateAction(gameStep, matrix -> {
+		});
+		executor.shutdown();
+		return action;
+	}
+
+	private Board<Cell> createEmptyTestBoard() {
+		Cell[][] cells = new Cell[10][10];
+		for (int y = 0; y < cells.length; y++) {
+			for (int x = 0; x < cells[0].length; x++) {
+				cells[y][x] = new Cell(0);
+			}
+		}
+		return new Board<Cell>(cells);
+	}
+}
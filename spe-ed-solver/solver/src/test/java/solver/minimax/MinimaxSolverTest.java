@@ -0,0 +1,99 @@
+package solver.minimax;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+
+import org.junit.Test;
+
+import solver.MockPlayer;
+import solver.SolverExecutor;
+import utility.game.board.Board;
+import utility.game.board.Cell;
+import utility.game.player.IPlayer;
+import utility.game.player.PlayerAction;
+import utility.game.player.PlayerDirection;
+import utility.game.step.GameStep;
+import utility.game.step.IDeadline;
+import utility.geometry.Point2i;
+
+public class MinimaxSolverTest {
+
+	@Test
+	public void testCollisionAndUndo() {
+		IPlayer self = new MockPlayer(1, PlayerDirection.RIGHT, 1, new Point2i(2, 5), 1, true);
+		IPlayer enemy = new MockPlayer(2, PlayerDirection.LEFT, 1, new Point2i(4, 5), 1, true);
+		DuelState state = new DuelState(self, enemy, createBoard(self, enemy), 8);
+		long hash = state.getHash();
+		int territory = state.evaluate();
+
+		state.play(PlayerAction.CHANGE_NOTHING, PlayerAction.TURN_LEFT);
+		assertTrue(state.isActive(DuelState.SELF));
+		assertTrue(state.isActive(DuelState.ENEMY));
+		assertTrue(state.getHash() != hash);
+		state.undo();
+
+		// both players move into the same cell
+		state.play(PlayerAction.CHANGE_NOTHING, PlayerAction.CHANGE_NOTHING);
+		assertFalse(state.isActive(DuelState.SELF));
+		assertFalse(state.isActive(DuelState.ENEMY));
+		state.undo();
+
+		assertTrue(state.isActive(DuelState.SELF));
+		assertTrue(state.isActive(DuelState.ENEMY));
+		assertEquals(hash, state.getHash());
+		assertEquals(territory, state.evaluate());
+	}
+
+	@Test
+	public void testAvoidsDeadEnd() {
+		// turning right leads into a dead end, turning left into the open board
+		IPlayer self = new MockPlayer(1, PlayerDirection.LEFT, 1, new Point2i(0, 1), 1, true);
+		IPlayer enemy = new MockPlayer(2, PlayerDirection.UP, 1, new Point2i(9, 9), 1, true);
+		Board<Cell> board = createBoard(self, enemy);
+		board.getBoardCellAt(new Point2i(1, 0)).setCellValue(-1);
+
+		assertEquals(PlayerAction.TURN_LEFT, calculateAction(self, enemy, board));
+	}
+
+	@Test
+	public void testWinsDuel() {
+		// the enemy is trapped in the top row and will crash into the wall in two rounds
+		IPlayer self = new MockPlayer(1, PlayerDirection.DOWN, 1, new Point2i(5, 5), 1, true);
+		IPlayer enemy = new MockPlayer(2, PlayerDirection.RIGHT, 1, new Point2i(7, 0), 1, true);
+		Board<Cell> board = createBoard(self, enemy);
+		for (int x = 0; x < 10; x++)
+			board.getBoardCellAt(new Point2i(x, 1)).setCellValue(-1);
+
+		PlayerAction action = calculateAction(self, enemy, board);
+		assertTrue(action != PlayerAction.SLOW_DOWN);
+	}
+
+	private PlayerAction calculateAction(IPlayer self, IPlayer enemy, Board<Cell> board) {
+		long end = System.currentTimeMillis() + 700;
+		IDeadline deadline = () -> end - System.currentTimeMillis();
+		GameStep gameStep = new GameStep(self, Map.of(2, enemy), deadline, board, true);
+		assertTrue(MinimaxSolver.isApplicable(gameStep));
+
+		SolverExecutor executor = new SolverExecutor(2);
+		PlayerAction action = new MinimaxSolver(executor).calculateAction(gameStep, matrix -> {
+		});
+		executor.shutdown();
+		return action;
+	}
+
+	private Board<Cell> createBoard(IPlayer self, IPlayer enemy) {
+		Cell[][] cells = new Cell[10][10];
+		for (int y = 0; y < cells.length; y++) {
+			for (int x = 0; x < cells[0].length; x++) {
+				cells[y][x] = new Cell(0);
+			}
+		}
+		Board<Cell> board = new Board<Cell>(cells);
+		board.getBoardCellAt(self.getPosition()).setCellValue(self.getPlayerId());
+		board.getBoardCellAt(enemy.getPosition()).setCellValue(enemy.getPlayerId());
+		return board;
+	}
+}
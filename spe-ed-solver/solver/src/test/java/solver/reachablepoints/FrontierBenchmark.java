@@ -0,0 +1,170 @@
+package solver.reachablepoints;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+
+import solver.MockPlayer;
+import solver.SolverExecutor;
+import solver.analysis.ActionsRating;
+import solver.analysis.ZobristKeys;
+import solver.analysis.enemyprobability.EnemyProbabilityCalculator;
+import solver.reachablepoints.TranspositionTable.ReplacementPolicy;
+import solver.reachablepoints.singlethreaded.GradualReachablePointsCalculation;
+import utility.game.board.Board;
+import utility.game.board.Cell;
+import utility.game.player.IPlayer;
+import utility.game.player.PlayerAction;
+import utility.game.player.PlayerDirection;
+import utility.geometry.FloatMatrix;
+import utility.geometry.FloatMatrixArena;
+import utility.geometry.Point2i;
+
+/**
+ * Benchmark comparing the {@link FrontierPolicy policies} of the reachable
+ * points search. Random boards with two enemies are searched for different
+ * deadlines, the expanded paths per deadline and the quality of the decision
+ * are reported. The quality is measured against a reference rating, which is
+ * the best success rating of long runs with both policies. The agreement is the
+ * share of decisions equal to the reference decision, the regret is the
+ * relative loss of reference rating of the decided action.
+ * 
+ * Not executed as part of the test suite. Run the main method with the test
+ * class path of the solver module.
+ */
+public class FrontierBenchmark {
+
+	private static final int BOARD_SIZE = 40;
+	private static final double OBSTACLE_DENSITY = 0.2;
+	private static final int SCENARIOS = 20;
+	private static final long[] DEADLINE_MILLISECONDS = { 10, 50, 200 };
+	private static final long REFERENCE_MILLISECONDS = 2000;
+	private static final int TRANSPOSITION_TABLE_BYTES = 4 * 1024 * 1024;
+
+	public static void main(String[] args) {
+		final SolverExecutor executor = new SolverExecutor(1);
+		final Random random = new Random(42);
+
+		final List<Scenario> scenarios = new ArrayList<>();
+		for (int i = 0; i < SCENARIOS; i++)
+			scenarios.add(new Scenario(random, executor));
+		executor.shutdown();
+
+		final List<ActionsRating> references = new ArrayList<>();
+		for (final Scenario scenario : scenarios) {
+			final ActionsRating reference = search(scenario, FrontierPolicy.FIFO, REFERENCE_MILLISECONDS).rating;
+			final ActionsRating bestFirst = search(scenario, FrontierPolicy.BEST_FIRST, REFERENCE_MILLISECONDS).rating;
+			for (final PlayerAction action : PlayerAction.values())
+				reference.setRating(action, Math.max(reference.getRating(action), bestFirst.getRating(action)));
+			references.add(reference);
+		}
+
+		for (final long deadline : DEADLINE_MILLISECONDS) {
+			for (final FrontierPolicy policy : FrontierPolicy.values()) {
+				long paths = 0;
+				int agreements = 0;
+				double regret = 0;
+				for (int i = 0; i < scenarios.size(); i++) {
+					final Result result = search(scenarios.get(i), policy, deadline);
+					final ActionsRating reference = references.get(i);
+					final PlayerAction decision = result.rating.maxAction();
+
+					paths += result.calculatedPaths;
+					if (decision == reference.maxAction())
+						agreements++;
+					if (reference.maxRating() > 0)
+						regret += (reference.maxRating() - reference.getRating(decision)) / reference.maxRating();
+				}
+				System.out.println(String.format("%4d ms %-10s: %9d paths, %5.1f%% agreement, %.4f mean regret",
+						deadline, policy, paths / scenarios.size(), 100.0 * agreements / scenarios.size(),
+						regret / scenarios.size()));
+			}
+		}
+	}
+
+	/**
+	 * Searches all {@link PlayerAction actions} of a {@link Scenario} with the
+	 * given policy, alternating the calculations like the single threaded solver.
+	 * 
+	 * @param scenario     the {@link Scenario} to search
+	 * @param policy       the {@link FrontierPolicy} of the calculations
+	 * @param milliseconds the search time
+	 * @return the success rating and the amount of calculated paths
+	 */
+	private static Result search(final Scenario scenario, final FrontierPolicy policy, final long milliseconds) {
+		final FloatMatrixArena arena = new FloatMatrixArena();
+		final TranspositionTable table = new TranspositionTable(TRANSPOSITION_TABLE_BYTES,
+				ReplacementPolicy.PREFER_HIGHER_RATING);
+
+		final RatedPredictivePlayer startPlayer = new RatedPredictivePlayer(scenario.self);
+		final List<GradualReachablePointsCalculation> calculations = new ArrayList<>();
+		for (final PlayerAction action : PlayerAction.values()) {
+			final RatedPredictivePlayer child = new RatedPredictivePlayer(startPlayer, action, scenario.board,
+					scenario.probabilities, scenario.minSteps);
+			calculations.add(new GradualReachablePointsCalculation(scenario.board, scenario.probabilities,
+					scenario.minSteps, child, arena, table, ZobristKeys.salt(action.ordinal()), policy));
+		}
+
+		final long end = System.nanoTime() + milliseconds * 1_000_000L;
+		boolean finished = false;
+		while (!finished && System.nanoTime() < end) {
+			finished = true;
+			for (final GradualReachablePointsCalculation calculation : calculations) {
+				if (!calculation.isFinished()) {
+					calculation.performSingleStep();
+					finished = false;
+				}
+			}
+		}
+
+		final Result result = new Result();
+		for (final PlayerAction action : PlayerAction.values()) {
+			final GradualReachablePointsCalculation calculation = calculations.get(action.ordinal());
+			result.rating.setRating(action, calculation.getSuccessMatrixResult().sum());
+			result.calculatedPaths += calculation.getCalculatedPathsCount();
+		}
+		return result;
+	}
+
+	private static final class Result {
+		private final ActionsRating rating = new ActionsRating();
+		private long calculatedPaths = 0;
+	}
+
+	/**
+	 * Random board with obstacles, the own player and two enemies.
+	 */
+	private static final class Scenario {
+		private final Board<Cell> board;
+		private final IPlayer self;
+		private final FloatMatrix probabilities;
+		private final FloatMatrix minSteps;
+
+		private Scenario(final Random random, final SolverExecutor executor) {
+			final Cell[][] cells = new Cell[BOARD_SIZE][BOARD_SIZE];
+			for (int y = 0; y < BOARD_SIZE; y++) {
+				for (int x = 0; x < BOARD_SIZE; x++) {
+					cells[y][x] = new Cell(random.nextDouble() < OBSTACLE_DENSITY ? -1 : 0);
+				}
+			}
+			board = new Board<Cell>(cells);
+
+			self = randomPlayer(random, 1);
+			final Collection<IPlayer> enemies = List.of(randomPlayer(random, 2), randomPlayer(random, 3));
+
+			final EnemyProbabilityCalculator calculator = new EnemyProbabilityCalculator(6, new FloatMatrixArena(),
+					executor);
+			calculator.performCalculation(enemies, board);
+			probabilities = calculator.getProbabilitiesMatrix();
+			minSteps = calculator.getMinStepsMatrix();
+		}
+
+		private IPlayer randomPlayer(final Random random, final int playerId) {
+			final Point2i position = new Point2i(random.nextInt(BOARD_SIZE), random.nextInt(BOARD_SIZE));
+			board.getBoardCellAt(position).setCellValue(playerId);
+			final PlayerDirection direction = PlayerDirection.values()[random.nextInt(PlayerDirection.values().length)];
+			return new MockPlayer(playerId, direction, 1 + random.nextInt(3), position, 1, true);
+		}
+	}
+}
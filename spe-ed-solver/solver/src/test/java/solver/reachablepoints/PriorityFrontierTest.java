@@ -0,0 +1,58 @@
+package solver.reachablepoints;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class PriorityFrontierTest {
+
+	@Test
+	public void testPollReturnsHighestPriorityFirst() {
+		PriorityFrontier<Double> frontier = new PriorityFrontier<>(Double.class, 1000, value -> value);
+		List<Double> values = new ArrayList<>();
+		Random random = new Random(1);
+		for (int i = 0; i < 1000; i++) {
+			double value = random.nextDouble();
+			values.add(value);
+			frontier.add(value);
+		}
+		assertTrue(frontier.isFull());
+
+		values.sort(Collections.reverseOrder());
+		for (double value : values)
+			assertEquals(value, frontier.poll(), 0);
+		assertFalse(frontier.hasNext());
+	}
+
+	@Test
+	public void testFullFrontierDropsLowestPriority() {
+		PriorityFrontier<Double> frontier = new PriorityFrontier<>(Double.class, 100, value -> value);
+		List<Double> values = new ArrayList<>();
+		Random random = new Random(2);
+		for (int i = 0; i < 5000; i++) {
+			double value = random.nextDouble();
+			values.add(value);
+			frontier.add(value);
+			if (values.size() > 100)
+				values.remove(Collections.min(values));
+
+			// interleave some polls to mix removals of both ends
+			if (i % 7 == 0)
+				assertEquals(values.remove(values.indexOf(Collections.max(values))), frontier.poll(), 0);
+			if (!values.isEmpty())
+				assertEquals(Collections.min(values), frontier.minPriority(), 0);
+		}
+
+		assertEquals(values.size(), frontier.remaining());
+		values.sort(Collections.reverseOrder());
+		for (double value : values)
+			assertEquals(value, frontier.poll(), 0);
+	}
+}
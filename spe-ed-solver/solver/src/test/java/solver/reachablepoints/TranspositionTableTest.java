@@ -0,0 +1,90 @@
+package solver.reachablepoints;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+
+import solver.reachablepoints.TranspositionTable.ReplacementPolicy;
+
+public class TranspositionTableTest {
+
+	@Test
+	public void testDuplicateIsSkipped() {
+		TranspositionTable table = new TranspositionTable(1024, ReplacementPolicy.PREFER_HIGHER_RATING);
+
+		assertTrue(table.offer(42, 0.5, 0));
+		assertFalse(table.offer(42, 0.5, 0));
+		assertFalse(table.offer(42, 0.25, 0));
+		assertTrue(table.offer(42, 0.75, 0));
+		assertFalse(table.offer(42, 0.75, 0));
+	}
+
+	@Test
+	public void testBetterCutOffIsExpanded() {
+		TranspositionTable table = new TranspositionTable(1024, ReplacementPolicy.PREFER_HIGHER_RATING);
+
+		assertTrue(table.offer(42, 0.5, 0.25));
+		assertFalse(table.offer(42, 0.5, 0.25));
+		assertTrue(table.offer(42, 0.5, 0.75));
+		assertFalse(table.offer(42, 0.25, 0.5));
+	}
+
+	@Test
+	public void testDroppedStateIsNotBlocked() {
+		TranspositionTable table = new TranspositionTable(1024, ReplacementPolicy.PREFER_HIGHER_RATING);
+		// the frontier is smaller than the amount of transposed states and drops some of them
+		IFrontier<Long> frontier = new LimitedQueue<>(Long.class, 10);
+		for (long key = 1; key <= 20; key++) {
+			if (!table.isExpanded(key, 0.5, 0))
+				frontier.add(key);
+		}
+		Set<Long> expanded = new HashSet<>();
+		while (frontier.hasNext()) {
+			long key = frontier.poll();
+			if (table.offer(key, 0.5, 0))
+				expanded.add(key);
+		}
+
+		// only the expanded states block their transpositions
+		assertEquals(10, expanded.size());
+		for (long key = 1; key <= 20; key++)
+			assertEquals(expanded.contains(key), table.isExpanded(key, 0.5, 0));
+	}
+
+	@Test
+	public void testClear() {
+		TranspositionTable table = new TranspositionTable(1024, ReplacementPolicy.ALWAYS_REPLACE);
+
+		assertTrue(table.offer(42, 0, 0));
+		assertFalse(table.offer(42, 0, 0));
+		table.clear();
+		assertTrue(table.offer(42, 0, 0));
+	}
+
+	@Test
+	public void testReplacementPolicy() {
+		// a single slot forces every key into the same entry
+		TranspositionTable preferHigher = new TranspositionTable(1, ReplacementPolicy.PREFER_HIGHER_RATING);
+		assertEquals(1, preferHigher.getCapacity());
+		assertTrue(preferHigher.offer(1, 0.5, 0));
+		assertTrue(preferHigher.offer(2, 0.25, 0));
+		assertFalse(preferHigher.offer(1, 0.5, 0));
+
+		TranspositionTable alwaysReplace = new TranspositionTable(1, ReplacementPolicy.ALWAYS_REPLACE);
+		assertTrue(alwaysReplace.offer(1, 0.5, 0));
+		assertTrue(alwaysReplace.offer(2, 0.25, 0));
+		assertTrue(alwaysReplace.offer(1, 0.5, 0));
+	}
+
+	@Test
+	public void testCapacity() {
+		TranspositionTable table = new TranspositionTable(1000, ReplacementPolicy.ALWAYS_REPLACE);
+
+		assertEquals(32, table.getCapacity());
+	}
+}
@@ -0,0 +1,93 @@
+package solver.reachablepoints.graph;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import solver.MockPlayer;
+import solver.reachablepoints.graph.board.ConcreteEdge;
+import solver.reachablepoints.graph.board.Graph;
+import solver.reachablepoints.graph.board.Node;
+import utility.game.board.Board;
+import utility.game.board.BoardDelta;
+import utility.game.board.Cell;
+import utility.game.board.CellValue;
+import utility.game.player.IPlayer;
+import utility.game.player.PlayerAction;
+import utility.game.player.PlayerDirection;
+import utility.geometry.FloatMatrix;
+import utility.geometry.Point2i;
+
+public class RatedPredictiveGraphPlayerTest {
+
+	private final FloatMatrix probabilities = new FloatMatrix(10, 10, 0);
+	private final FloatMatrix minSteps = new FloatMatrix(10, 10, 0);
+
+	@Test
+	public void testCarryOver() {
+		Cell[][] cells = createEmptyCells();
+		Graph graph = new Graph(new Node[10][10]);
+		IPlayer self = new MockPlayer(1, PlayerDirection.UP, 1, new Point2i(5, 5), 1, true);
+		cells[5][5] = new Cell(CellValue.PLAYER_ONE);
+		Board<Cell> board = new Board<>(cells);
+		graph.updateGraph(board, BoardDelta.ofOccupiedCells(board), self);
+
+		RatedPredictiveGraphPlayer taken = getChild(
+				RatedPredictiveGraphPlayer.getValidChildren(self, graph, probabilities, minSteps),
+				PlayerAction.CHANGE_NOTHING);
+		List<RatedPredictiveGraphPlayer> frontier = taken.getValidChildren(graph, probabilities, minSteps);
+
+		// the player moves one cell up
+		IPlayer nextSelf = new MockPlayer(1, PlayerDirection.UP, 1, new Point2i(5, 4), 2, true);
+		cells[4][5] = new Cell(CellValue.PLAYER_ONE);
+		Board<Cell> nextBoard = new Board<>(cells);
+		graph.updateGraph(nextBoard, BoardDelta.ofOccupiedCells(nextBoard), nextSelf);
+
+		Map<ConcreteEdge, PlayerAction> initialEdgeActions = new HashMap<>();
+		for (RatedPredictiveGraphPlayer startPlayer : RatedPredictiveGraphPlayer.getValidChildren(nextSelf, graph,
+				probabilities, minSteps))
+			initialEdgeActions.put(startPlayer.getEdgeTail().get(0), startPlayer.getInitialAction());
+
+		RatedPredictiveGraphPlayer turnLeft = null;
+		for (RatedPredictiveGraphPlayer player : frontier) {
+			if (player.getDirection() == PlayerDirection.LEFT)
+				turnLeft = player;
+		}
+
+		RatedPredictiveGraphPlayer carried = turnLeft.carryOver(initialEdgeActions, probabilities, minSteps);
+		assertNotNull(carried);
+		assertEquals(PlayerAction.TURN_LEFT, carried.getInitialAction());
+		assertEquals(1, carried.getRelativeRound());
+		assertEquals(1, carried.getEdgeTail().size());
+		assertEquals(turnLeft.getPosition(), carried.getPosition());
+		assertEquals(1, carried.getSuccessRating(), 0);
+
+		// a state on a cell occupied in the meantime is not reachable anymore
+		graph.getBoardCellAt(turnLeft.getPosition()).setCellValue(CellValue.PLAYER_TWO);
+		assertNull(turnLeft.carryOver(initialEdgeActions, probabilities, minSteps));
+	}
+
+	private RatedPredictiveGraphPlayer getChild(List<RatedPredictiveGraphPlayer> children, PlayerAction action) {
+		for (RatedPredictiveGraphPlayer child : children) {
+			if (child.getInitialAction() == action)
+				return child;
+		}
+		return null;
+	}
+
+	private Cell[][] createEmptyCells() {
+		Cell[][] cells = new Cell[10][10];
+		for (int y = 0; y < cells.length; y++) {
+			for (int x = 0; x < cells[0].length; x++) {
+				cells[y][x] = new Cell(0);
+			}
+		}
+		return cells;
+	}
+}
@@ -11,6 +11,7 @@ import org.junit.Test;
 
 import solver.MockPlayer;
 import utility.game.board.Board;
+import utility.game.board.BoardDelta;
 import utility.game.board.Cell;
 import utility.game.board.CellValue;
 import utility.game.player.IPlayer;
@@ -45,7 +46,7 @@ public class GraphTest {
 
         Board<Cell> board = new Board<>(boardCells);
 
-        graph.updateGraph(board, player, enemies);
+        graph.updateGraph(board, BoardDelta.ofOccupiedCells(board), player);
 
         // try moving from the players position
         var playerPositionNode = graph.getBoardCellAt(player.getPosition());
@@ -83,7 +84,7 @@ public class GraphTest {
         boardCells[3][4] = new Cell(CellValue.PLAYER_THREE);
         enemies.add(enemy2);
         board = new Board<>(boardCells);
-        graph.updateGraph(board, player, enemies);
+        graph.updateGraph(board, BoardDelta.ofOccupiedCells(board), player);
 
         // try moving from the players position
         playerPositionNode = graph.getBoardCellAt(player.getPosition());
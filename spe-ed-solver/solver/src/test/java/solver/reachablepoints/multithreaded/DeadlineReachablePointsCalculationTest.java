@@ -0,0 +1,64 @@
+package solver.reachablepoints.multithreaded;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.Phaser;
+
+import org.junit.Test;
+
+import solver.CancellationToken;
+import solver.MockPlayer;
+import solver.SolverExecutor;
+import solver.reachablepoints.FrontierPolicy;
+import solver.reachablepoints.RatedPredictivePlayer;
+import solver.reachablepoints.TranspositionTable;
+import solver.reachablepoints.TranspositionTable.ReplacementPolicy;
+import utility.game.board.Board;
+import utility.game.board.Cell;
+import utility.game.player.IPlayer;
+import utility.game.player.PlayerDirection;
+import utility.game.step.IDeadline;
+import utility.geometry.FloatMatrix;
+import utility.geometry.FloatMatrixArena;
+import utility.geometry.Point2i;
+
+public class DeadlineReachablePointsCalculationTest {
+
+	@Test
+	public void testEstimatesMergedResults() {
+		Board<Cell> board = createEmptyTestBoard(40);
+		IPlayer self = new MockPlayer(1, PlayerDirection.UP, 1, new Point2i(20, 20), 1, true);
+		board.getBoardCellAt(self.getPosition()).setCellValue(self.getPlayerId());
+		FloatMatrix probabilities = new FloatMatrix(40, 40, 0);
+		probabilities.setValue(10, 10, 0.5);
+		long end = System.currentTimeMillis() + 300;
+		IDeadline deadline = () -> end - System.currentTimeMillis();
+
+		SolverExecutor executor = new SolverExecutor(2);
+		DeadlineReachablePointsCalculation calculation = new DeadlineReachablePointsCalculation(board,
+				probabilities, new FloatMatrix(40, 40, 7), new RatedPredictivePlayer(self),
+				new CancellationToken(deadline, 0), new FloatMatrixArena(),
+				new TranspositionTable(1 << 20, ReplacementPolicy.PREFER_HIGHER_RATING), 1, FrontierPolicy.FIFO);
+		Phaser pendingTasks = new Phaser(1);
+		calculation.submit(executor.getPool(), pendingTasks);
+		pendingTasks.awaitAdvance(pendingTasks.arriveAndDeregister());
+		calculation.mergeResults();
+		executor.shutdown();
+
+		// the estimates match the merged results of all threads, only the start cell is missing
+		assertTrue(calculation.getSuccessEstimate() > 0);
+		assertEquals(calculation.getSuccessMatrixResult().sum() - 1, calculation.getSuccessEstimate(), 1e-2);
+		assertEquals(calculation.getCutOffMatrixResult().max(), calculation.getCutOffEstimate(), 1e-6);
+	}
+
+	private Board<Cell> createEmptyTestBoard(int size) {
+		Cell[][] cells = new Cell[size][size];
+		for (int y = 0; y < cells.length; y++) {
+			for (int x = 0; x < cells[0].length; x++) {
+				cells[y][x] = new Cell(0);
+			}
+		}
+		return new Board<Cell>(cells);
+	}
+}
@@ -0,0 +1,108 @@
+package solver.reachablepoints.multithreaded;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+
+import org.junit.Test;
+
+import solver.CancellationToken;
+import solver.MockPlayer;
+import solver.SolverExecutor;
+import solver.analysis.ActionsRating;
+import solver.analysis.ConvergenceMonitor;
+import solver.reachablepoints.FrontierPolicy;
+import utility.game.board.Board;
+import utility.game.board.Cell;
+import utility.game.player.IPlayer;
+import utility.game.player.PlayerAction;
+import utility.game.player.PlayerDirection;
+import utility.game.step.GameStep;
+import utility.game.step.IDeadline;
+import utility.geometry.FloatMatrix;
+import utility.geometry.FloatMatrixArena;
+import utility.geometry.Point2i;
+
+public class ReachablePointsMultithreadedTest {
+
+	@Test
+	public void testResultsOfDeadActions() {
+		Board<Cell> board = createEmptyTestBoard();
+		IPlayer self = new MockPlayer(1, PlayerDirection.LEFT, 1, new Point2i(0, 5), 1, true);
+		long end = System.currentTimeMillis() + 1000;
+		IDeadline deadline = () -> end - System.currentTimeMillis();
+		GameStep gameStep = new GameStep(self, Collections.emptyMap(), deadline, board, true);
+
+		SolverExecutor executor = new SolverExecutor(2);
+		ReachablePointsMultithreaded calculator = new ReachablePointsMultithreaded(executor, new FloatMatrixArena(),
+				new ConvergenceMonitor(1, 1), FrontierPolicy.FIFO);
+		calculator.performCalculation(gameStep, new FloatMatrix(10, 10, 0), new FloatMatrix(10, 10, 7),
+				new ActionsRating(), new CancellationToken(deadline, 0));
+		executor.shutdown();
+
+		// only the turns survive, each of them reaches half of the board
+		ActionsRating successRating = calculator.combineActionsRating(0, 0);
+		assertEquals(0, successRating.getRating(PlayerAction.CHANGE_NOTHING), 0);
+		assertEquals(0, successRating.getRating(PlayerAction.SPEED_UP), 0);
+		assertEquals(0, successRating.getRating(PlayerAction.SLOW_DOWN), 0);
+		assertTrue(successRating.getRating(PlayerAction.TURN_LEFT) > 0);
+		assertTrue(successRating.getRating(PlayerAction.TURN_RIGHT) > 0);
+	}
+
+	@Test
+	public void testJoinsTasksAtDeadline() {
+		Board<Cell> board = createEmptyTestBoard(40);
+		IPlayer self = new MockPlayer(1, PlayerDirection.UP, 1, new Point2i(20, 20), 1, true);
+		long end = System.currentTimeMillis() + 200;
+		IDeadline deadline = () -> end - System.currentTimeMillis();
+		GameStep gameStep = new GameStep(self, Collections.emptyMap(), deadline, board, true);
+
+		SolverExecutor executor = new SolverExecutor(2);
+		ReachablePointsMultithreaded calculator = new ReachablePointsMultithreaded(executor, new FloatMatrixArena(),
+				new ConvergenceMonitor(1, 1), FrontierPolicy.FIFO);
+		calculator.performCalculation(gameStep, new FloatMatrix(40, 40, 0), new FloatMatrix(40, 40, 7),
+				new ActionsRating(), new CancellationToken(deadline, 0));
+
+		// no task of the calculation is left to run into the next round
+		assertEquals(0, executor.getPool().getQueuedTaskCount());
+		assertEquals(0, executor.getPool().getQueuedSubmissionCount());
+		assertTrue(deadline.getRemainingMilliseconds() > -1000);
+		executor.shutdown();
+	}
+
+	@Test
+	public void testStopsConvergedCalculationEarly() {
+		// only one action leaves the corner, so the best action is settled at once
+		Board<Cell> board = createEmptyTestBoard(40);
+		IPlayer self = new MockPlayer(1, PlayerDirection.LEFT, 1, new Point2i(0, 0), 1, true);
+		long end = System.currentTimeMillis() + 5000;
+		IDeadline deadline = () -> end - System.currentTimeMillis();
+		GameStep gameStep = new GameStep(self, Collections.emptyMap(), deadline, board, true);
+
+		SolverExecutor executor = new SolverExecutor(2);
+		ConvergenceMonitor monitor = new ConvergenceMonitor(1, 1, 10, 3, 0.2);
+		ReachablePointsMultithreaded calculator = new ReachablePointsMultithreaded(executor, new FloatMatrixArena(),
+				monitor, FrontierPolicy.FIFO);
+		calculator.performCalculation(gameStep, new FloatMatrix(40, 40, 0), new FloatMatrix(40, 40, 7),
+				new ActionsRating(), new CancellationToken(deadline, 0));
+		executor.shutdown();
+
+		assertTrue(monitor.isConverged());
+		assertTrue(deadline.getRemainingMilliseconds() > 3000);
+	}
+
+	private Board<Cell> createEmptyTestBoard() {
+		return createEmptyTestBoard(10);
+	}
+
+	private Board<Cell> createEmptyTestBoard(int size) {
+		Cell[][] cells = new Cell[size][size];
+		for (int y = 0; y < cells.length; y++) {
+			for (int x = 0; x < cells[0].length; x++) {
+				cells[y][x] = new Cell(0);
+			}
+		}
+		return new Board<Cell>(cells);
+	}
+}
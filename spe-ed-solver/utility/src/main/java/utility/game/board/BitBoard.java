@@ -0,0 +1,214 @@
+package utility.game.board;
+
+import java.util.Arrays;
+
+/**
+ * Mutable set of cells of a board stored as one bit per cell. Each row is
+ * stored in its own {@code long} words, so whole rows can be combined and
+ * shifted word by word. Copying a {@link BitBoard} only copies the words, which
+ * makes it suitable for simulations that have to reset a board very often.
+ */
+public class BitBoard {
+
+	private final int width;
+	private final int height;
+	private final int wordsPerRow;
+	private final long lastWordMask;
+	private final long[] words;
+
+	/**
+	 * Creates a new empty {@link BitBoard}.
+	 * 
+	 * @param width  the width of the board
+	 * @param height the height of the board
+	 */
+	public BitBoard(final int width, final int height) {
+		this.width = width;
+		this.height = height;
+		this.wordsPerRow = (width + Long.SIZE - 1) / Long.SIZE;
+		this.lastWordMask = width % Long.SIZE == 0 ? -1L : (1L << width) - 1;
+		this.words = new long[wordsPerRow * height];
+	}
+
+	/**
+	 * Creates a copy of the given {@link BitBoard}.
+	 * 
+	 * @param other the {@link BitBoard} to copy
+	 */
+	public BitBoard(final BitBoard other) {
+		this.width = other.width;
+		this.height = other.height;
+		this.wordsPerRow = other.wordsPerRow;
+		this.lastWordMask = other.lastWordMask;
+		this.words = other.words.clone();
+	}
+
+	/**
+	 * Creates a {@link BitBoard} containing all occupied cells of a {@link Board}.
+	 * 
+	 * @param board the {@link Board} to read the occupied cells from
+	 * @return a {@link BitBoard} of the same size
+	 */
+	public static BitBoard ofOccupiedCells(final Board<?> board) {
+		final BitBoard bitBoard = new BitBoard(board.getWidth(), board.getHeight());
+		for (int y = 0; y < board.getHeight(); y++) {
+			for (int x = 0; x < board.getWidth(); x++) {
+				if (!board.isFree(x, y))
+					bitBoard.set(x, y);
+			}
+		}
+		return bitBoard;
+	}
+
+	/**
+	 * Overwrites all cells with the cells of another {@link BitBoard} of the same
+	 * size.
+	 * 
+	 * @param other the {@link BitBoard} to copy the cells from
+	 */
+	public void copyFrom(final BitBoard other) {
+		System.arraycopy(other.words, 0, words, 0, words.length);
+	}
+
+	/**
+	 * Determines if a position is on the board.
+	 * 
+	 * @param x the x coordinate of the position
+	 * @param y the y coordinate of the position
+	 * @return true if the position is on the board
+	 */
+	public boolean isOnBoard(final int x, final int y) {
+		return x >= 0 && y >= 0 && x < width && y < height;
+	}
+
+	/**
+	 * Determines if a cell is contained. The position has to be on the board.
+	 * 
+	 * @param x the x coordinate of the cell
+	 * @param y the y coordinate of the cell
+	 * @return true if the cell is contained
+	 */
+	public boolean get(final int x, final int y) {
+		return (words[y * wordsPerRow + x / Long.SIZE] & (1L << x)) != 0;
+	}
+
+	/**
+	 * Determines if a cell is on the board and not contained.
+	 * 
+	 * @param x the x coordinate of the cell
+	 * @param y the y coordinate of the cell
+	 * @return true if the cell is on the board and not contained
+	 */
+	public boolean isFree(final int x, final int y) {
+		return isOnBoard(x, y) && !get(x, y);
+	}
+
+	/**
+	 * Adds a cell. The position has to be on the board.
+	 * 
+	 * @param x the x coordinate of the cell
+	 * @param y the y coordinate of the cell
+	 */
+	public void set(final int x, final int y) {
+		words[y * wordsPerRow + x / Long.SIZE] |= 1L << x;
+	}
+
+	/**
+	 * Removes a cell. The position has to be on the board.
+	 * 
+	 * @param x the x coordinate of the cell
+	 * @param y the y coordinate of the cell
+	 */
+	public void unset(final int x, final int y) {
+		words[y * wordsPerRow + x / Long.SIZE] &= ~(1L << x);
+	}
+
+	/**
+	 * Removes all cells.
+	 */
+	public void clear() {
+		Arrays.fill(words, 0);
+	}
+
+	/**
+	 * Overwrites all cells with the cells of another {@link BitBoard} of the same
+	 * size and their horizontal and vertical neighbours on the board. The rows are
+	 * shifted word by word, so all cells are dilated at once.
+	 * 
+	 * @param source the {@link BitBoard} to dilate, has to be another instance
+	 */
+	public void dilate(final BitBoard source) {
+		final long[] sourceWords = source.words;
+		for (int y = 0; y < height; y++) {
+			final int rowStart = y * wordsPerRow;
+			for (int word = 0; word < wordsPerRow; word++) {
+				final int index = rowStart + word;
+				final long center = sourceWords[index];
+				long result = center | (center << 1) | (center >>> 1);
+				if (word > 0)
+					result |= sourceWords[index - 1] >>> (Long.SIZE - 1);
+				if (word < wordsPerRow - 1)
+					result |= sourceWords[index + 1] << (Long.SIZE - 1);
+				if (y > 0)
+					result |= sourceWords[index - wordsPerRow];
+				if (y < height - 1)
+					result |= sourceWords[index + wordsPerRow];
+				if (word == wordsPerRow - 1)
+					result &= lastWordMask;
+				words[index] = result;
+			}
+		}
+	}
+
+	/**
+	 * Counts the contained cells.
+	 * 
+	 * @return the amount of contained cells
+	 */
+	public int cardinality() {
+		int count = 0;
+		for (final long word : words)
+			count += Long.bitCount(word);
+		return count;
+	}
+
+	/**
+	 * Returns the words storing the cells. Each row starts with a new word, the
+	 * bit {@code x % 64} of the word {@code x / 64} of a row stores the cell x.
+	 * The bits behind the last cell of a row are never set. Changes of the array
+	 * change the {@link BitBoard}, which allows fused calculations on multiple
+	 * boards in a single pass.
+	 * 
+	 * @return the words of the {@link BitBoard}
+	 */
+	public long[] getWords() {
+		return words;
+	}
+
+	/**
+	 * Returns the amount of words storing a single row.
+	 * 
+	 * @return the amount of words per row
+	 */
+	public int getWordsPerRow() {
+		return wordsPerRow;
+	}
+
+	/**
+	 * Returns the width of the board.
+	 * 
+	 * @return the width
+	 */
+	public int getWidth() {
+		return width;
+	}
+
+	/**
+	 * Returns the height of the board.
+	 * 
+	 * @return the height
+	 */
+	public int getHeight() {
+		return height;
+	}
+}
@@ -20,6 +20,21 @@ public class Board<CellType extends IBoardCell<?>> {
 		this.width = cells[0].length;
 	}
 
+	/**
+	 * Creates a {@link Board} of the given size without a cell array. Subclasses
+	 * using this constructor store the cells on their own and have to override
+	 * {@link Board#getBoardCellAt(Point2i)}, {@link Board#isFree(int, int)} and
+	 * {@link Board#toString()}.
+	 * 
+	 * @param width  the width of the {@link Board}
+	 * @param height the height of the {@link Board}
+	 */
+	protected Board(final int width, final int height) {
+		this.cells = null;
+		this.height = height;
+		this.width = width;
+	}
+
 	/**
 	 * Returns the {@link IBoardCell Cell} at a given position on the {@link Board}.
 	 * 
@@ -34,6 +49,21 @@ public class Board<CellType extends IBoardCell<?>> {
 			return null;
 	}
 
+	/**
+	 * Returns the {@link IBoardCell Cell} at a given position on the {@link Board}.
+	 * 
+	 * @param x the x coordinate of the {@link IBoardCell Cell}
+	 * @param y the y coordinate of the {@link IBoardCell Cell}
+	 * @return the {@link IBoardCell Cell} or null if the position is not on the
+	 *         {@link Board}
+	 */
+	public CellType getBoardCellAt(final int x, final int y) {
+		if (isOnBoard(x, y))
+			return cells[y][x];
+		else
+			return null;
+	}
+
 	/**
 	 * Determines if a {@link Point2i position} is on the Board.
 	 * 
@@ -41,8 +71,72 @@ public class Board<CellType extends IBoardCell<?>> {
 	 * @return true, if the {@link Point2i position} is on the {@link Board}
 	 */
 	public boolean isOnBoard(Point2i position) {
-		return 0 <= position.getX() && position.getX() < this.width && 0 <= position.getY()
-				&& position.getY() < this.height;
+		return isOnBoard(position.getX(), position.getY());
+	}
+
+	/**
+	 * Determines if a position is on the Board.
+	 * 
+	 * @param x the x coordinate of the position
+	 * @param y the y coordinate of the position
+	 * @return true, if the position is on the {@link Board}
+	 */
+	public boolean isOnBoard(final int x, final int y) {
+		return 0 <= x && x < this.width && 0 <= y && y < this.height;
+	}
+
+	/**
+	 * Determines if the {@link IBoardCell Cell} at a given position is on the
+	 * {@link Board} and can be passed.
+	 * 
+	 * @param x the x coordinate of the position
+	 * @param y the y coordinate of the position
+	 * @return true, if the position is on the {@link Board} and the
+	 *         {@link IBoardCell Cell} is empty
+	 */
+	public boolean isFree(final int x, final int y) {
+		return isOnBoard(x, y) && cells[y][x].isEmpty();
+	}
+
+	/**
+	 * Determines if the {@link IBoardCell Cell} at a given row-major index is on
+	 * the {@link Board} and can be passed.
+	 * 
+	 * @param index the index of the position as calculated by
+	 *              {@link Board#getIndex(int, int)}
+	 * @return true, if the index is on the {@link Board} and the {@link IBoardCell
+	 *         Cell} is empty
+	 */
+	public boolean isFree(final int index) {
+		if (index < 0 || index >= width * height)
+			return false;
+		return isFree(index % width, index / width);
+	}
+
+	/**
+	 * Searches the next occupied {@link IBoardCell Cell} in row-major order.
+	 * 
+	 * @param fromIndex the index to start the search at (inclusive)
+	 * @return the index of the next occupied {@link IBoardCell Cell} or -1 if
+	 *         there is none
+	 */
+	public int nextOccupiedIndex(final int fromIndex) {
+		for (int index = Math.max(fromIndex, 0); index < width * height; index++) {
+			if (!isFree(index))
+				return index;
+		}
+		return -1;
+	}
+
+	/**
+	 * Calculates the row-major index of a position on the {@link Board}.
+	 * 
+	 * @param x the x coordinate of the position
+	 * @param y the y coordinate of the position
+	 * @return the index of the position
+	 */
+	public int getIndex(final int x, final int y) {
+		return y * width + x;
 	}
 
 	/**
@@ -0,0 +1,150 @@
+package utility.game.board;
+
+import java.util.Arrays;
+
+import utility.geometry.Point2i;
+
+/**
+ * The cells which changed between two states of a {@link Board}. Cells are
+ * referenced by their row-major index as calculated by
+ * {@link Board#getIndex(int, int)}. Each state of a {@link Board} is identified
+ * by a version number, so consumers can check if a {@link BoardDelta} directly
+ * follows the last state they know. A delta relative to the
+ * {@link BoardDelta#EMPTY_BOARD_VERSION empty board} contains all occupied cells
+ * and can be applied to any state, because occupied cells never become empty
+ * again.
+ */
+public class BoardDelta {
+
+	/**
+	 * Version of a {@link Board} without any occupied cell.
+	 */
+	public static final long EMPTY_BOARD_VERSION = 0;
+
+	/**
+	 * Version of a {@link Board} state which is not part of a numbered sequence.
+	 */
+	public static final long UNKNOWN_VERSION = -1;
+
+	private final int[] changedIndices;
+	private final long previousVersion;
+	private final long version;
+
+	/**
+	 * Creates a new {@link BoardDelta}.
+	 *
+	 * @param changedIndices  the row-major indices of the changed cells
+	 * @param previousVersion the version of the {@link Board} state the delta is
+	 *                        relative to
+	 * @param version         the version of the {@link Board} state after applying
+	 *                        the delta
+	 */
+	public BoardDelta(final int[] changedIndices, final long previousVersion, final long version) {
+		this.changedIndices = changedIndices;
+		this.previousVersion = previousVersion;
+		this.version = version;
+	}
+
+	/**
+	 * Creates a {@link BoardDelta} relative to the empty board containing all
+	 * occupied cells of the given {@link Board}.
+	 *
+	 * @param board the {@link Board} to collect the occupied cells from
+	 * @return {@link BoardDelta} with an {@link BoardDelta#UNKNOWN_VERSION unknown
+	 *         version}
+	 */
+	public static BoardDelta ofOccupiedCells(final Board<?> board) {
+		int[] indices = new int[16];
+		int count = 0;
+		for (int index = board.nextOccupiedIndex(0); index >= 0; index = board.nextOccupiedIndex(index + 1)) {
+			if (count == indices.length)
+				indices = Arrays.copyOf(indices, count * 2);
+			indices[count++] = index;
+		}
+		return new BoardDelta(Arrays.copyOf(indices, count), EMPTY_BOARD_VERSION, UNKNOWN_VERSION);
+	}
+
+	/**
+	 * Determines the cells with different {@link CellValue values} in two
+	 * {@link Board boards} of the same size.
+	 *
+	 * @param previousBoard   the previous {@link Board} state, null for the empty
+	 *                        board
+	 * @param board           the current {@link Board} state
+	 * @param previousVersion the version of the previous {@link Board} state
+	 * @param version         the version of the current {@link Board} state
+	 * @return the {@link BoardDelta} between both states
+	 */
+	public static BoardDelta between(final Board<Cell> previousBoard, final Board<Cell> board,
+			final long previousVersion, final long version) {
+		if (previousBoard == null)
+			return new BoardDelta(ofOccupiedCells(board).changedIndices, EMPTY_BOARD_VERSION, version);
+
+		if (previousBoard.getWidth() != board.getWidth() || previousBoard.getHeight() != board.getHeight())
+			throw new IllegalArgumentException("Both boards need to have the same size");
+
+		if (previousBoard instanceof CompactBoard && board instanceof CompactBoard)
+			return new BoardDelta(((CompactBoard) board).getChangedIndices((CompactBoard) previousBoard),
+					previousVersion, version);
+
+		int[] indices = new int[16];
+		int count = 0;
+		for (int y = 0; y < board.getHeight(); y++) {
+			for (int x = 0; x < board.getWidth(); x++) {
+				final Point2i position = new Point2i(x, y);
+				if (previousBoard.getBoardCellAt(position).getCellValue() != board.getBoardCellAt(position)
+						.getCellValue()) {
+					if (count == indices.length)
+						indices = Arrays.copyOf(indices, count * 2);
+					indices[count++] = board.getIndex(x, y);
+				}
+			}
+		}
+		return new BoardDelta(Arrays.copyOf(indices, count), previousVersion, version);
+	}
+
+	/**
+	 * Returns the row-major indices of all changed cells. The returned array must
+	 * not be modified.
+	 *
+	 * @return indices of the changed cells
+	 */
+	public int[] getChangedIndices() {
+		return changedIndices;
+	}
+
+	/**
+	 * @return the amount of changed cells
+	 */
+	public int size() {
+		return changedIndices.length;
+	}
+
+	/**
+	 * @return the version of the {@link Board} state the delta is relative to
+	 */
+	public long getPreviousVersion() {
+		return previousVersion;
+	}
+
+	/**
+	 * @return the version of the {@link Board} state after applying the delta
+	 */
+	public long getVersion() {
+		return version;
+	}
+
+	/**
+	 * Determines if the {@link BoardDelta} can be applied to a consumer which knows
+	 * the {@link Board} state with the given version.
+	 *
+	 * @param knownVersion the version of the last applied {@link Board} state
+	 * @return true, if the delta is relative to the known state or to the empty
+	 *         board
+	 */
+	public boolean follows(final long knownVersion) {
+		return previousVersion == EMPTY_BOARD_VERSION
+				|| (previousVersion != UNKNOWN_VERSION && previousVersion == knownVersion);
+	}
+
+}
@@ -7,6 +7,8 @@ public enum CellValue {
 	MULTIPLE_PLAYER(-1, 0xFFFFFF), EMPTY_CELL(0, 0x000000), PLAYER_ONE(1, 0xFF0000), PLAYER_TWO(2, 0x00FF00),
 	PLAYER_THREE(3, 0x0000FF), PLAYER_FOUR(4, 0xFFFF00), PLAYER_FIVE(5, 0x00FFFF), PLAYER_SIX(6, 0xFF00FF);
 
+	private static final CellValue[] VALUES = values();
+
 	private final int integerValue;
 	private final int rgbValue;
 
@@ -44,6 +46,6 @@ public enum CellValue {
 		if (intValue > 6 || intValue < -1) {
 			throw new IllegalArgumentException("Cell value " + intValue + " does not exist!");
 		}
-		return CellValue.values()[intValue + 1];
+		return VALUES[intValue + 1];
 	}
 }
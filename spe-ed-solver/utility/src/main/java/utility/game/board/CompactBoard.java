@@ -0,0 +1,227 @@
+package utility.game.board;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import utility.geometry.Point2i;
+
+/**
+ * Memory efficient {@link Board} storing one byte per cell and an additional
+ * occupancy bitset. Occupancy checks via {@link CompactBoard#isFree(int, int)}
+ * do not touch any {@link Cell} object. {@link Cell Cells} returned by
+ * {@link CompactBoard#getBoardCellAt(Point2i)} are lightweight views writing
+ * through to the {@link CompactBoard}. The view of a cell is created on its
+ * first access and reused afterwards, so repeated accesses do not allocate.
+ */
+public class CompactBoard extends Board<Cell> {
+
+	private final byte[] cellValues;
+	private final long[] occupied;
+
+	/**
+	 * Views of the cells, created on demand. Concurrent accesses may create a
+	 * view twice, which is harmless because views have no state of their own.
+	 */
+	private CompactCell[] cellViews;
+
+	/**
+	 * Creates a new {@link CompactBoard} of the given size with only empty cells.
+	 *
+	 * @param width  the width of the {@link CompactBoard}
+	 * @param height the height of the {@link CompactBoard}
+	 */
+	public CompactBoard(final int width, final int height) {
+		super(width, height);
+		this.cellValues = new byte[width * height];
+		this.occupied = new long[(width * height + Long.SIZE - 1) / Long.SIZE];
+	}
+
+	/**
+	 * Creates a new {@link CompactBoard} from the integer values of the cells as
+	 * sent by the spe_ed server. If a value is not a valid {@link CellValue} an
+	 * {@link IllegalArgumentException} is thrown.
+	 *
+	 * @param cellValues the integer values of the cells, accessed by [y][x]
+	 */
+	public CompactBoard(final int[][] cellValues) {
+		this(cellValues[0].length, cellValues.length);
+		for (int y = 0; y < getHeight(); y++) {
+			for (int x = 0; x < getWidth(); x++) {
+				setCellValue(getIndex(x, y), CellValue.fromInteger(cellValues[y][x]));
+			}
+		}
+	}
+
+	@Override
+	public Cell getBoardCellAt(final Point2i position) {
+		return getBoardCellAt(position.getX(), position.getY());
+	}
+
+	@Override
+	public Cell getBoardCellAt(final int x, final int y) {
+		if (!isOnBoard(x, y))
+			return null;
+
+		CompactCell[] views = cellViews;
+		if (views == null) {
+			views = new CompactCell[cellValues.length];
+			cellViews = views;
+		}
+		final int index = getIndex(x, y);
+		CompactCell view = views[index];
+		if (view == null) {
+			view = new CompactCell(index);
+			views[index] = view;
+		}
+		return view;
+	}
+
+	/**
+	 * Returns the {@link CellValue} at a given position.
+	 *
+	 * @param x the x coordinate of the position, must be on the board
+	 * @param y the y coordinate of the position, must be on the board
+	 * @return the {@link CellValue} of the cell
+	 */
+	public CellValue getCellValue(final int x, final int y) {
+		return getCellValue(getIndex(x, y));
+	}
+
+	/**
+	 * Returns the {@link CellValue} at a given row-major index.
+	 *
+	 * @param index the index of the cell, must be on the board
+	 * @return the {@link CellValue} of the cell
+	 */
+	public CellValue getCellValue(final int index) {
+		return CellValue.fromInteger(cellValues[index]);
+	}
+
+	/**
+	 * Sets the {@link CellValue} at a given position.
+	 *
+	 * @param x     the x coordinate of the position, must be on the board
+	 * @param y     the y coordinate of the position, must be on the board
+	 * @param value the new {@link CellValue}
+	 */
+	public void setCellValue(final int x, final int y, final CellValue value) {
+		setCellValue(getIndex(x, y), value);
+	}
+
+	/**
+	 * Sets the {@link CellValue} at a given row-major index.
+	 *
+	 * @param index the index of the cell, must be on the board
+	 * @param value the new {@link CellValue}
+	 */
+	public void setCellValue(final int index, final CellValue value) {
+		cellValues[index] = (byte) value.getIntegerValue();
+		if (value == CellValue.EMPTY_CELL)
+			occupied[index / Long.SIZE] &= ~(1L << index);
+		else
+			occupied[index / Long.SIZE] |= 1L << index;
+	}
+
+	@Override
+	public boolean isFree(final int x, final int y) {
+		return isOnBoard(x, y) && isFreeUnchecked(getIndex(x, y));
+	}
+
+	@Override
+	public boolean isFree(final int index) {
+		return index >= 0 && index < cellValues.length && isFreeUnchecked(index);
+	}
+
+	@Override
+	public int nextOccupiedIndex(final int fromIndex) {
+		if (fromIndex >= cellValues.length)
+			return -1;
+		final int startIndex = Math.max(fromIndex, 0);
+		int wordIndex = startIndex / Long.SIZE;
+		long word = occupied[wordIndex] & (-1L << startIndex);
+		while (word == 0) {
+			if (++wordIndex == occupied.length)
+				return -1;
+			word = occupied[wordIndex];
+		}
+		return wordIndex * Long.SIZE + Long.numberOfTrailingZeros(word);
+	}
+
+	/**
+	 * Determines the indices of all cells with a different {@link CellValue} than
+	 * in the given {@link CompactBoard}. Both boards need to have the same size.
+	 * 
+	 * @param previousBoard the {@link CompactBoard} to compare with
+	 * @return the indices of the changed cells in ascending order
+	 */
+	public int[] getChangedIndices(final CompactBoard previousBoard) {
+		int[] indices = new int[16];
+		int count = 0;
+		for (int index = 0; index < cellValues.length; index++) {
+			if (cellValues[index] != previousBoard.cellValues[index]) {
+				if (count == indices.length)
+					indices = Arrays.copyOf(indices, count * 2);
+				indices[count++] = index;
+			}
+		}
+		return Arrays.copyOf(indices, count);
+	}
+
+	/**
+	 * Tests the occupancy bit of a cell without validating the index.
+	 *
+	 * @param index the index of the cell
+	 * @return true if the cell is empty
+	 */
+	private boolean isFreeUnchecked(final int index) {
+		return (occupied[index / Long.SIZE] & (1L << index)) == 0;
+	}
+
+	@Override
+	public String toString() {
+		return IntStream.range(0, getHeight())
+				.mapToObj(y -> IntStream.range(0, getWidth()).mapToObj(x -> Byte.toString(cellValues[getIndex(x, y)]))
+						.collect(Collectors.joining(", ", "[", "]")))
+				.collect(Collectors.joining(System.lineSeparator()));
+	}
+
+	/**
+	 * {@link Cell} view on a single cell of a {@link CompactBoard}. All reads and
+	 * writes are delegated to the board.
+	 */
+	private class CompactCell extends Cell {
+
+		private final int index;
+
+		/**
+		 * Creates a new view on the cell with the given index.
+		 *
+		 * @param index the index of the cell
+		 */
+		private CompactCell(final int index) {
+			super(CellValue.EMPTY_CELL);
+			this.index = index;
+		}
+
+		@Override
+		public CellValue getCellValue() {
+			return CompactBoard.this.getCellValue(index);
+		}
+
+		@Override
+		public void setCellValue(final CellValue value) {
+			CompactBoard.this.setCellValue(index, value);
+		}
+
+		@Override
+		public void setCellValue(final int value) {
+			setCellValue(CellValue.fromInteger(value));
+		}
+
+		@Override
+		public boolean isEmpty() {
+			return isFreeUnchecked(index);
+		}
+	}
+}
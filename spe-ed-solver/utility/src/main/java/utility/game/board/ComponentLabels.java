@@ -0,0 +1,398 @@
+package utility.game.board;
+
+import java.util.Arrays;
+
+/**
+ * Labels the connected components of the free cells of a {@link Board}. The
+ * labels and the sizes of the components are stored in primitive arrays, so the
+ * component of a position and its size can be read in constant time.
+ * <p>
+ * Cells are only ever occupied, so the labeling is updated incrementally. An
+ * occupied cell can only split its own component. If the free neighbours of the
+ * cell are connected by the eight cells around it, the component stays
+ * connected. Otherwise a breadth first search is started from each free
+ * neighbour. The searches are expanded alternately and merged when they meet.
+ * As soon as at most one search is left unfinished, every finished search has
+ * filled a separated part, which gets a new label. The largest part keeps the
+ * old label without being filled completely, so the costs depend on the size
+ * of the cut off parts only.
+ */
+public class ComponentLabels {
+
+	/**
+	 * The label of occupied cells.
+	 */
+	public static final int NO_COMPONENT = -1;
+
+	private static final int UNLABELED = -2;
+	private static final int[] RING_X = { 0, 1, 1, 1, 0, -1, -1, -1 };
+	private static final int[] RING_Y = { -1, -1, 0, 1, 1, 1, 0, -1 };
+	private static final int MAX_NEIGHBOURS = 4;
+
+	private int width = -1;
+	private int height = -1;
+	private int[] labels;
+	private int[] sizes = new int[16];
+	private int labelCount = 0;
+	private int relabeledCells = 0;
+	private boolean completeUpdate = false;
+
+	// scratch arrays of the searches of a split, only valid for the current
+	// generation
+	private int[] claimed;
+	private int[] owners;
+	private final int[][] queues = new int[MAX_NEIGHBOURS][];
+	private final int[] queueHeads = new int[MAX_NEIGHBOURS];
+	private final int[] queueTails = new int[MAX_NEIGHBOURS];
+	private final int[] groups = new int[MAX_NEIGHBOURS];
+	private final int[] starts = new int[MAX_NEIGHBOURS];
+	private int generation = 0;
+
+	/**
+	 * Updates the labels with the occupied cells of the current {@link Board}.
+	 * Only the components containing newly occupied cells are changed. If the
+	 * size of the {@link Board} changed or a cell became free again, all cells
+	 * are labeled again.
+	 * 
+	 * @param board the current {@link Board}
+	 */
+	public void update(final Board<?> board) {
+		relabeledCells = 0;
+		completeUpdate = false;
+		if (board.getWidth() != width || board.getHeight() != height) {
+			labelAll(board);
+			return;
+		}
+
+		for (int index = 0; index < labels.length; index++) {
+			final boolean free = board.isFree(index % width, index / width);
+			if (free && labels[index] == NO_COMPONENT) {
+				labelAll(board);
+				return;
+			}
+			if (!free && labels[index] != NO_COMPONENT)
+				occupy(index);
+		}
+	}
+
+	/**
+	 * Labels all free cells of a {@link Board} from scratch.
+	 * 
+	 * @param board the {@link Board} to label
+	 */
+	private void labelAll(final Board<?> board) {
+		width = board.getWidth();
+		height = board.getHeight();
+		final int cellCount = width * height;
+		labels = new int[cellCount];
+		claimed = new int[cellCount];
+		owners = new int[cellCount];
+		for (int i = 0; i < MAX_NEIGHBOURS; i++)
+			queues[i] = new int[cellCount];
+		labelCount = 0;
+		generation = 0;
+		completeUpdate = true;
+
+		for (int index = 0; index < cellCount; index++)
+			labels[index] = board.isFree(index % width, index / width) ? UNLABELED : NO_COMPONENT;
+
+		final int[] queue = queues[0];
+		for (int index = 0; index < cellCount; index++) {
+			if (labels[index] != UNLABELED)
+				continue;
+			final int label = createLabel();
+			int queueHead = 0;
+			int queueTail = 0;
+			labels[index] = label;
+			queue[queueTail++] = index;
+			while (queueHead < queueTail) {
+				final int cell = queue[queueHead++];
+				final int x = cell % width;
+				final int y = cell / width;
+				for (int neighbour = 0; neighbour < RING_X.length; neighbour += 2) {
+					final int next = getIndex(x + RING_X[neighbour], y + RING_Y[neighbour]);
+					if (next >= 0 && labels[next] == UNLABELED) {
+						labels[next] = label;
+						queue[queueTail++] = next;
+					}
+				}
+			}
+			sizes[label] = queueTail;
+			relabeledCells += queueTail;
+		}
+	}
+
+	private int createLabel() {
+		if (labelCount == sizes.length)
+			sizes = Arrays.copyOf(sizes, labelCount * 2);
+		return labelCount++;
+	}
+
+	/**
+	 * Returns the index of a position or -1 if it is not on the board.
+	 */
+	private int getIndex(final int x, final int y) {
+		if (x < 0 || y < 0 || x >= width || y >= height)
+			return -1;
+		return y * width + x;
+	}
+
+	/**
+	 * Occupies a free cell and splits its component if necessary.
+	 * 
+	 * @param cell the index of the newly occupied cell
+	 */
+	private void occupy(final int cell) {
+		final int label = labels[cell];
+		labels[cell] = NO_COMPONENT;
+		sizes[label]--;
+
+		final int x = cell % width;
+		final int y = cell / width;
+		int startCount = 0;
+		for (int neighbour = 0; neighbour < RING_X.length; neighbour += 2) {
+			final int next = getIndex(x + RING_X[neighbour], y + RING_Y[neighbour]);
+			if (next >= 0 && labels[next] == label)
+				starts[startCount++] = next;
+		}
+		if (startCount > 1 && !isConnectedAround(x, y))
+			split(label, startCount);
+	}
+
+	/**
+	 * Determines if the free neighbours of an occupied cell are connected by the
+	 * ring of the eight cells around it. The neighbours are connected if all of
+	 * them lie in the same run of consecutive free ring cells.
+	 * 
+	 * @param x the x coordinate of the occupied cell
+	 * @param y the y coordinate of the occupied cell
+	 * @return true if the free neighbours are connected around the cell
+	 */
+	private boolean isConnectedAround(final int x, final int y) {
+		int start = -1;
+		for (int i = 0; i < RING_X.length && start < 0; i++) {
+			if (!isFreeCell(x + RING_X[i], y + RING_Y[i]))
+				start = i;
+		}
+		if (start < 0)
+			return true;
+
+		int runs = 0;
+		boolean runHasNeighbour = false;
+		for (int step = 1; step <= RING_X.length; step++) {
+			final int i = (start + step) % RING_X.length;
+			if (isFreeCell(x + RING_X[i], y + RING_Y[i])) {
+				runHasNeighbour |= i % 2 == 0;
+			} else {
+				if (runHasNeighbour)
+					runs++;
+				runHasNeighbour = false;
+			}
+		}
+		return runs <= 1;
+	}
+
+	private boolean isFreeCell(final int x, final int y) {
+		final int index = getIndex(x, y);
+		return index >= 0 && labels[index] != NO_COMPONENT;
+	}
+
+	/**
+	 * Splits a component after one of its cells was occupied. A breadth first
+	 * search is started from each free neighbour of the cell.
+	 * 
+	 * @param label      the label of the component
+	 * @param startCount the amount of free neighbours stored in the starts
+	 */
+	private void split(final int label, final int startCount) {
+		generation++;
+		for (int search = 0; search < startCount; search++) {
+			groups[search] = search;
+			queueHeads[search] = 0;
+			queueTails[search] = 0;
+			final int start = starts[search];
+			claimed[start] = generation;
+			owners[start] = search;
+			queues[search][queueTails[search]++] = start;
+		}
+
+		while (countUnfinishedGroups(startCount) > 1) {
+			for (int search = 0; search < startCount; search++) {
+				if (queueHeads[search] < queueTails[search])
+					expand(search, label);
+			}
+		}
+
+		// the unfinished group or the largest finished one keeps the label
+		int keptGroup = -1;
+		int keptSize = -1;
+		for (int search = 0; search < startCount; search++) {
+			final int group = findGroup(search);
+			if (group != search)
+				continue;
+			final boolean finished = isFinished(group, startCount);
+			final int size = finished ? getGroupSize(group, startCount) : Integer.MAX_VALUE;
+			if (size > keptSize) {
+				keptGroup = group;
+				keptSize = size;
+			}
+		}
+
+		for (int search = 0; search < startCount; search++) {
+			if (findGroup(search) != search || search == keptGroup)
+				continue;
+			final int newLabel = createLabel();
+			int size = 0;
+			for (int member = 0; member < startCount; member++) {
+				if (findGroup(member) != search)
+					continue;
+				final int[] queue = queues[member];
+				for (int i = 0; i < queueTails[member]; i++)
+					labels[queue[i]] = newLabel;
+				size += queueTails[member];
+			}
+			sizes[newLabel] = size;
+			sizes[label] -= size;
+			relabeledCells += size;
+		}
+	}
+
+	/**
+	 * Expands the next cell of a search. Free cells of the component are claimed
+	 * by the search, cells claimed by another search merge both searches.
+	 * 
+	 * @param search the index of the search
+	 * @param label  the label of the split component
+	 */
+	private void expand(final int search, final int label) {
+		final int cell = queues[search][queueHeads[search]++];
+		final int x = cell % width;
+		final int y = cell / width;
+		for (int neighbour = 0; neighbour < RING_X.length; neighbour += 2) {
+			final int next = getIndex(x + RING_X[neighbour], y + RING_Y[neighbour]);
+			if (next < 0 || labels[next] != label)
+				continue;
+			if (claimed[next] != generation) {
+				claimed[next] = generation;
+				owners[next] = search;
+				queues[search][queueTails[search]++] = next;
+			} else {
+				final int ownGroup = findGroup(search);
+				final int otherGroup = findGroup(owners[next]);
+				if (ownGroup != otherGroup)
+					groups[Math.max(ownGroup, otherGroup)] = Math.min(ownGroup, otherGroup);
+			}
+		}
+	}
+
+	private int findGroup(final int search) {
+		int group = search;
+		while (groups[group] != group)
+			group = groups[group];
+		return group;
+	}
+
+	private boolean isFinished(final int group, final int startCount) {
+		for (int search = 0; search < startCount; search++) {
+			if (findGroup(search) == group && queueHeads[search] < queueTails[search])
+				return false;
+		}
+		return true;
+	}
+
+	private int getGroupSize(final int group, final int startCount) {
+		int size = 0;
+		for (int search = 0; search < startCount; search++) {
+			if (findGroup(search) == group)
+				size += queueTails[search];
+		}
+		return size;
+	}
+
+	private int countUnfinishedGroups(final int startCount) {
+		int count = 0;
+		for (int search = 0; search < startCount; search++) {
+			if (findGroup(search) == search && !isFinished(search, startCount))
+				count++;
+		}
+		return count;
+	}
+
+	/**
+	 * Returns the labels of all cells in row-major order, as calculated by
+	 * {@link Board#getIndex(int, int)}. Occupied cells are labeled with
+	 * {@link ComponentLabels#NO_COMPONENT}. The array is owned by the labeling and
+	 * changes with each update.
+	 * 
+	 * @return the label of each cell
+	 */
+	public int[] getLabels() {
+		return labels;
+	}
+
+	/**
+	 * Returns the size of each label. Labels are never reused, the labels of
+	 * components which were split or filled have a smaller size or a size of 0.
+	 * The array is owned by the labeling and can be longer than the
+	 * {@link ComponentLabels#getLabelCount() amount of labels}.
+	 * 
+	 * @return the amount of cells of each label
+	 */
+	public int[] getSizes() {
+		return sizes;
+	}
+
+	/**
+	 * Returns the amount of labels created since the last complete labeling.
+	 * 
+	 * @return the amount of labels
+	 */
+	public int getLabelCount() {
+		return labelCount;
+	}
+
+	/**
+	 * Returns the label of a position.
+	 * 
+	 * @param x the x coordinate of the position
+	 * @param y the y coordinate of the position
+	 * @return the label or {@link ComponentLabels#NO_COMPONENT} if the cell is
+	 *         occupied or not on the board
+	 */
+	public int getLabel(final int x, final int y) {
+		final int index = getIndex(x, y);
+		return index < 0 ? NO_COMPONENT : labels[index];
+	}
+
+	/**
+	 * Returns the size of the component of a position.
+	 * 
+	 * @param x the x coordinate of the position
+	 * @param y the y coordinate of the position
+	 * @return the amount of cells of the component or 0 if the cell is occupied
+	 *         or not on the board
+	 */
+	public int getSize(final int x, final int y) {
+		final int label = getLabel(x, y);
+		return label == NO_COMPONENT ? 0 : sizes[label];
+	}
+
+	/**
+	 * Determines if the last update labeled all cells from scratch. The labels of
+	 * earlier updates are not valid anymore in this case.
+	 * 
+	 * @return true if all cells were labeled again
+	 */
+	public boolean isCompleteUpdate() {
+		return completeUpdate;
+	}
+
+	/**
+	 * Returns the amount of cells which got a new label in the last update.
+	 * 
+	 * @return the amount of relabeled cells
+	 */
+	public int getRelabeledCellCount() {
+		return relabeledCells;
+	}
+}
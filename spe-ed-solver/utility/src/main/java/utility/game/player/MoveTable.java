@@ -0,0 +1,86 @@
+package utility.game.player;
+
+/**
+ * Static table of all {@link MoveTransition transitions} a player can make,
+ * indexed by the {@link PlayerDirection}, the speed, the {@link PlayerAction}
+ * and whether the move is made in a jump round. The table is shared by all
+ * solvers and the simulation, so generating moves neither allocates nor
+ * branches on the action.
+ */
+public final class MoveTable {
+
+	/**
+	 * Every n-th round players with a speed greater than 2 jump.
+	 */
+	public static final int JUMP_FREQUENCY = 6;
+
+	private static final int DIRECTION_COUNT = PlayerDirection.values().length;
+	private static final int ACTION_COUNT = PlayerAction.values().length;
+	private static final int SPEED_COUNT = IPlayer.MAX_SPEED - IPlayer.MIN_SPEED + 1;
+
+	private static final MoveTransition[] TRANSITIONS = createTransitions();
+
+	private MoveTable() {
+	}
+
+	/**
+	 * Creates the transitions for all valid start states.
+	 * 
+	 * @return the transitions ordered by their index
+	 */
+	private static MoveTransition[] createTransitions() {
+		final MoveTransition[] transitions = new MoveTransition[DIRECTION_COUNT * SPEED_COUNT * ACTION_COUNT * 2];
+		for (final PlayerDirection direction : PlayerDirection.values())
+			for (int speed = IPlayer.MIN_SPEED; speed <= IPlayer.MAX_SPEED; speed++)
+				for (final PlayerAction action : PlayerAction.values()) {
+					transitions[index(direction, speed, action, false)] = new MoveTransition(direction, speed, action,
+							false);
+					transitions[index(direction, speed, action, true)] = new MoveTransition(direction, speed, action,
+							true);
+				}
+		return transitions;
+	}
+
+	/**
+	 * Calculates the index of a transition in the table.
+	 * 
+	 * @param direction the {@link PlayerDirection} before the action
+	 * @param speed     the valid speed before the action
+	 * @param action    the performed {@link PlayerAction}
+	 * @param jumpRound true if the move is made in a jump round
+	 * @return the index in the table
+	 */
+	private static int index(final PlayerDirection direction, final int speed, final PlayerAction action,
+			final boolean jumpRound) {
+		final int speedIndex = direction.ordinal() * SPEED_COUNT + speed - IPlayer.MIN_SPEED;
+		return ((speedIndex * ACTION_COUNT) + action.ordinal()) * 2 + (jumpRound ? 1 : 0);
+	}
+
+	/**
+	 * Determines if players with a speed greater than 2 jump in the given round.
+	 * 
+	 * @param round the round the move is made in
+	 * @return true if the round is a jump round
+	 */
+	public static boolean isJumpRound(final int round) {
+		return round % JUMP_FREQUENCY == 0;
+	}
+
+	/**
+	 * Returns the {@link MoveTransition} of a player performing an action.
+	 * 
+	 * @param direction the {@link PlayerDirection} before the action
+	 * @param speed     the speed before the action
+	 * @param action    the performed {@link PlayerAction}
+	 * @param jumpRound true if the move is made in a
+	 *                  {@link MoveTable#isJumpRound(int) jump round}
+	 * @return the resulting {@link MoveTransition}, only speeds out of the valid
+	 *         range cause an allocation
+	 */
+	public static MoveTransition get(final PlayerDirection direction, final int speed, final PlayerAction action,
+			final boolean jumpRound) {
+		if (speed < IPlayer.MIN_SPEED || speed > IPlayer.MAX_SPEED)
+			return new MoveTransition(direction, speed, action, jumpRound);
+		return TRANSITIONS[index(direction, speed, action, jumpRound)];
+	}
+}
@@ -0,0 +1,173 @@
+package utility.game.player;
+
+/**
+ * Precomputed result of a single {@link PlayerAction} performed by a player
+ * with a given {@link PlayerDirection} and speed. It contains the resulting
+ * direction and speed and the offsets of all cells passed by the following
+ * move, relative to the start position. Instances are obtained from the
+ * {@link MoveTable} and are immutable.
+ */
+public final class MoveTransition {
+
+	private final PlayerDirection direction;
+	private final int speed;
+	private final boolean valid;
+	private final boolean jump;
+
+	private final int directionX;
+	private final int directionY;
+
+	private final int[] stepDistances;
+
+	/**
+	 * Creates a new {@link MoveTransition}.
+	 * 
+	 * @param startDirection the {@link PlayerDirection} before the action
+	 * @param startSpeed     the speed before the action
+	 * @param action         the performed {@link PlayerAction}
+	 * @param jumpRound      true if the move is made in a round in which players
+	 *                       jump
+	 */
+	MoveTransition(final PlayerDirection startDirection, final int startSpeed, final PlayerAction action,
+			final boolean jumpRound) {
+
+		int nextSpeed = startSpeed;
+		if (action == PlayerAction.SPEED_UP)
+			nextSpeed++;
+		else if (action == PlayerAction.SLOW_DOWN)
+			nextSpeed--;
+
+		this.direction = startDirection.doAction(action);
+		this.speed = nextSpeed;
+		this.valid = IPlayer.MIN_SPEED <= nextSpeed && nextSpeed <= IPlayer.MAX_SPEED;
+		this.jump = jumpRound && nextSpeed > 2;
+
+		this.directionX = direction.getDirectionVector().getX();
+		this.directionY = direction.getDirectionVector().getY();
+
+		if (jump) {
+			this.stepDistances = new int[] { 1, nextSpeed };
+		} else {
+			this.stepDistances = new int[Math.max(0, nextSpeed)];
+			for (int i = 0; i < stepDistances.length; i++)
+				stepDistances[i] = i + 1;
+		}
+	}
+
+	/**
+	 * Returns the {@link PlayerDirection} after the action.
+	 * 
+	 * @return the resulting {@link PlayerDirection}
+	 */
+	public PlayerDirection getDirection() {
+		return direction;
+	}
+
+	/**
+	 * Returns the speed after the action.
+	 * 
+	 * @return the resulting speed, may be out of the valid range
+	 */
+	public int getSpeed() {
+		return speed;
+	}
+
+	/**
+	 * Determines if the resulting speed is in the range between
+	 * {@link IPlayer#MIN_SPEED} and {@link IPlayer#MAX_SPEED}.
+	 * 
+	 * @return true if the action does not kill the player by its speed
+	 */
+	public boolean isValid() {
+		return valid;
+	}
+
+	/**
+	 * Determines if the player jumps over all cells between the first and the last
+	 * cell of the move.
+	 * 
+	 * @return true if the move is a jump
+	 */
+	public boolean isJump() {
+		return jump;
+	}
+
+	/**
+	 * Returns the x component of the unit vector of the resulting direction.
+	 * 
+	 * @return x component of the direction
+	 */
+	public int getDirectionX() {
+		return directionX;
+	}
+
+	/**
+	 * Returns the y component of the unit vector of the resulting direction.
+	 * 
+	 * @return y component of the direction
+	 */
+	public int getDirectionY() {
+		return directionY;
+	}
+
+	/**
+	 * Returns the x offset of the end position relative to the start position.
+	 * 
+	 * @return x offset of the move
+	 */
+	public int getOffsetX() {
+		return directionX * speed;
+	}
+
+	/**
+	 * Returns the y offset of the end position relative to the start position.
+	 * 
+	 * @return y offset of the move
+	 */
+	public int getOffsetY() {
+		return directionY * speed;
+	}
+
+	/**
+	 * Returns the amount of cells passed by the move. Jumped over cells are not
+	 * passed.
+	 * 
+	 * @return amount of passed cells
+	 */
+	public int getStepCount() {
+		return stepDistances.length;
+	}
+
+	/**
+	 * Returns the distance of a passed cell to the start position.
+	 * 
+	 * @param step index of the passed cell, less than
+	 *             {@link MoveTransition#getStepCount()}
+	 * @return the distance in cells
+	 */
+	public int getStepDistance(final int step) {
+		return stepDistances[step];
+	}
+
+	/**
+	 * Returns the x offset of a passed cell relative to the start position.
+	 * 
+	 * @param step index of the passed cell, less than
+	 *             {@link MoveTransition#getStepCount()}
+	 * @return x offset of the cell
+	 */
+	public int getStepOffsetX(final int step) {
+		return directionX * stepDistances[step];
+	}
+
+	/**
+	 * Returns the y offset of a passed cell relative to the start position.
+	 * 
+	 * @param step index of the passed cell, less than
+	 *             {@link MoveTransition#getStepCount()}
+	 * @return y offset of the cell
+	 */
+	public int getStepOffsetY(final int step) {
+		return directionY * stepDistances[step];
+	}
+}
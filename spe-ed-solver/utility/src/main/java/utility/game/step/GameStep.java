@@ -4,13 +4,15 @@ import java.util.Collections;
 import java.util.Map;
 
 import utility.game.board.Board;
+import utility.game.board.BoardDelta;
 import utility.game.board.Cell;
 import utility.game.player.IPlayer;
 
 /**
  * Class for storing all informations available to the players in one game step.
- * This contains the updated {@link Board}, deadlines and information about you
- * and all the {@link IPlayer players}.
+ * This contains the updated {@link Board}, the {@link BoardDelta} to the last
+ * {@link GameStep}, deadlines and information about you and all the
+ * {@link IPlayer players}.
  */
 public class GameStep {
 
@@ -22,6 +24,8 @@ public class GameStep {
 
 	private final Board<Cell> board;
 
+	private final BoardDelta boardDelta;
+
 	private final boolean running;
 
 	/**
@@ -36,10 +40,28 @@ public class GameStep {
 	 */
 	public GameStep(final IPlayer self, final Map<Integer, IPlayer> enemies, final IDeadline deadline,
 			final Board<Cell> board, final boolean running) {
+		this(self, enemies, deadline, board, BoardDelta.ofOccupiedCells(board), running);
+	}
+
+	/**
+	 * Initilizes a new {@link GameStep} with a known {@link BoardDelta}.
+	 * 
+	 * @param self       the {@link IPlayer} that received the {@link GameStep}
+	 * @param enemies    a {@link Map} of {@link IPlayer self's} enemies
+	 * @param deadline   the {@link IDeadline} for the current game round
+	 * @param board      the {@link Board} with all set {@link Cell cells}
+	 * @param boardDelta the {@link BoardDelta} containing the {@link Cell cells}
+	 *                   changed since the last {@link GameStep}
+	 * @param running    true, if the game is still runnning, false if the game is
+	 *                   finished
+	 */
+	public GameStep(final IPlayer self, final Map<Integer, IPlayer> enemies, final IDeadline deadline,
+			final Board<Cell> board, final BoardDelta boardDelta, final boolean running) {
 		this.self = self;
 		this.enemies = Collections.unmodifiableMap(enemies);
 		this.deadline = deadline;
 		this.board = board;
+		this.boardDelta = boardDelta;
 		this.running = running;
 	}
 
@@ -71,6 +93,14 @@ public class GameStep {
 		return board;
 	}
 
+	/**
+	 * @return the {@link BoardDelta} containing the {@link Cell cells} changed
+	 *         since the last {@link GameStep}
+	 */
+	public BoardDelta getBoardDelta() {
+		return boardDelta;
+	}
+
 	/**
 	 * @return true, if the game is still runnning, false if the game is finished
 	 */
@@ -1,26 +1,34 @@
 package utility.geometry;
 
 /**
- * Wrapper for {@link FloatMatrix} containing name describing its contents.
+ * Wrapper for {@link FloatMatrix} containing name describing its contents. The
+ * wrapper is a lazy snapshot: it shares the values of the wrapped
+ * {@link FloatMatrix} and only copies them, if the matrix gets reused by a
+ * {@link FloatMatrixArena} while the snapshot is still referenced.
  */
 public class ContextualFloatMatrix {
 
 	private final String name;
 
-	private final FloatMatrix matrix;
+	private volatile FloatMatrix matrix;
 
-	private final double rangeMin;
-	private final double rangeMax;
+	private boolean rangeDetermined;
+	private double rangeMin;
+	private double rangeMax;
 
 	/**
 	 * Generates a {@link ContextualFloatMatrix} only with its name. Range values
-	 * are determined by the range of the input {@link FloatMatrix}.
+	 * are determined by the range of the input {@link FloatMatrix} when they are
+	 * requested the first time.
 	 * 
 	 * @param name   the describing name of the matrix
 	 * @param matrix the represented {@link FloatMatrix}
 	 */
 	public ContextualFloatMatrix(final String name, final FloatMatrix matrix) {
-		this(name, matrix, matrix.min(), matrix.max());
+		this.name = name;
+		this.matrix = matrix;
+		this.rangeDetermined = false;
+		matrix.attachSnapshot(this);
 	}
 
 	/**
@@ -34,9 +42,34 @@ public class ContextualFloatMatrix {
 	public ContextualFloatMatrix(final String name, final FloatMatrix matrix, final double rangeMin,
 			final double rangeMax) {
 		this.name = name;
-		this.matrix = new FloatMatrix(matrix);
+		this.matrix = matrix;
 		this.rangeMin = rangeMin;
 		this.rangeMax = rangeMax;
+		this.rangeDetermined = true;
+		matrix.attachSnapshot(this);
+	}
+
+	/**
+	 * Copies the values of the shared {@link FloatMatrix} before the source gets
+	 * overwritten. Called by {@link FloatMatrix#detachSnapshots()}.
+	 * 
+	 * @param source the {@link FloatMatrix} which is about to change
+	 */
+	void preserve(final FloatMatrix source) {
+		if (matrix == source)
+			matrix = new FloatMatrix(source);
+	}
+
+	/**
+	 * Calculates the range values from the matrix, if they were not given.
+	 */
+	private synchronized void determineRange() {
+		if (!rangeDetermined) {
+			final FloatMatrix values = matrix;
+			rangeMin = values.min();
+			rangeMax = values.max();
+			rangeDetermined = true;
+		}
 	}
 
 	/**
@@ -93,6 +126,7 @@ public class ContextualFloatMatrix {
 	 * @return max valid value for the matrix
 	 */
 	public double getRangeMax() {
+		determineRange();
 		return rangeMax;
 	}
 
@@ -102,6 +136,7 @@ public class ContextualFloatMatrix {
 	 * @return min valid value for the matrix
 	 */
 	public double getRangeMin() {
+		determineRange();
 		return rangeMin;
 	}
 
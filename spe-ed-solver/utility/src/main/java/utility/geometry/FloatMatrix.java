@@ -1,76 +1,185 @@
 package utility.geometry;
 
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 /**
- * A Matrix with double values.
+ * A Matrix with double values. The values are stored in a single row-major
+ * array, either with double or with single (float) precision. Besides the
+ * operations building new matrices, in-place variants are available to avoid
+ * allocations in hot loops.
  */
 public class FloatMatrix {
 
-	private final double[][] values;
+	private static final String SIZE_MISMATCH_MESSAGE = "Both matrices need to have the same size";
+
+	private final int width;
+	private final int height;
+
+	/**
+	 * Values with double precision, null if the matrix uses single precision.
+	 */
+	private final double[] doubleValues;
+
+	/**
+	 * Values with single precision, null if the matrix uses double precision.
+	 */
+	private final float[] floatValues;
+
+	/**
+	 * {@link ContextualFloatMatrix Snapshots} sharing the values of this matrix,
+	 * null if there are none.
+	 */
+	private List<WeakReference<ContextualFloatMatrix>> snapshots;
 
 	/**
 	 * Generates a new 2d matrix with the given dimensions.
-	 * 
+	 *
 	 * @param width  the width of the {@link FloatMatrix}
 	 * @param height the height of the {@link FloatMatrix}
 	 */
 	public FloatMatrix(int width, int height) {
-		this.values = new double[height][width];
+		this(width, height, false);
+	}
+
+	/**
+	 * Generates a new 2d matrix with the given dimensions and precision.
+	 *
+	 * @param width           the width of the {@link FloatMatrix}
+	 * @param height          the height of the {@link FloatMatrix}
+	 * @param singlePrecision true if the values should be stored as float
+	 */
+	public FloatMatrix(int width, int height, boolean singlePrecision) {
+		this.width = width;
+		this.height = height;
+		if (singlePrecision) {
+			this.doubleValues = null;
+			this.floatValues = new float[width * height];
+		} else {
+			this.doubleValues = new double[width * height];
+			this.floatValues = null;
+		}
 	}
 
 	/**
 	 * Generates a new 2d matrix with the given dimensions and a default value for
 	 * each element.
-	 * 
+	 *
 	 * @param width        the width of the {@link FloatMatrix}
 	 * @param height       the height of the {@link FloatMatrix}
 	 * @param initialValue the initial value for all elements
 	 */
 	public FloatMatrix(int width, int height, double initialValue) {
-		this(width, height);
+		this(width, height, initialValue, false);
+	}
 
-		for (int y = 0; y < values.length; y++) {
-			for (int x = 0; x < values[0].length; x++) {
-				values[y][x] = initialValue;
-			}
-		}
+	/**
+	 * Generates a new 2d matrix with the given dimensions, precision and a default
+	 * value for each element.
+	 *
+	 * @param width           the width of the {@link FloatMatrix}
+	 * @param height          the height of the {@link FloatMatrix}
+	 * @param initialValue    the initial value for all elements
+	 * @param singlePrecision true if the values should be stored as float
+	 */
+	public FloatMatrix(int width, int height, double initialValue, boolean singlePrecision) {
+		this(width, height, singlePrecision);
+		fill(initialValue);
 	}
 
 	/**
 	 * Copy Constructor for duplicating the {@link FloatMatrix} by duplicating each
-	 * value.
-	 * 
+	 * value. The precision of the source is kept.
+	 *
 	 * @param sourceMatrix the {@link FloatMatrix} to get the initial values from
 	 */
 	public FloatMatrix(final FloatMatrix sourceMatrix) {
-		this(sourceMatrix.getWidth(), sourceMatrix.getHeight());
-		for (int y = 0; y < values.length; y++) {
-			for (int x = 0; x < values[0].length; x++) {
-				values[y][x] = sourceMatrix.getValue(x, y);
-			}
+		this.width = sourceMatrix.width;
+		this.height = sourceMatrix.height;
+		this.doubleValues = sourceMatrix.doubleValues == null ? null : sourceMatrix.doubleValues.clone();
+		this.floatValues = sourceMatrix.floatValues == null ? null : sourceMatrix.floatValues.clone();
+	}
+
+	/**
+	 * Registers a {@link ContextualFloatMatrix} sharing the values of this matrix.
+	 * 
+	 * @param snapshot the {@link ContextualFloatMatrix} to register
+	 */
+	synchronized void attachSnapshot(final ContextualFloatMatrix snapshot) {
+		if (snapshots == null)
+			snapshots = new ArrayList<>();
+		snapshots.add(new WeakReference<>(snapshot));
+	}
+
+	/**
+	 * Lets all still referenced {@link ContextualFloatMatrix snapshots} of this
+	 * matrix copy the current values. Has to be called before a matrix is reused
+	 * for other values, {@link FloatMatrixArena} does this automatically.
+	 */
+	public synchronized void detachSnapshots() {
+		if (snapshots == null)
+			return;
+		for (final WeakReference<ContextualFloatMatrix> reference : snapshots) {
+			final ContextualFloatMatrix snapshot = reference.get();
+			if (snapshot != null)
+				snapshot.preserve(this);
 		}
+		snapshots = null;
 	}
 
 	/**
 	 * Returns the width of the 2d matrix.
-	 * 
+	 *
 	 * @return width of the matrix
 	 */
 	public int getWidth() {
-		return values[0].length;
+		return width;
 	}
 
 	/**
 	 * Returns the height of the 2d matrix.
-	 * 
+	 *
 	 * @return height of the matrix
 	 */
 	public int getHeight() {
-		return values.length;
+		return height;
+	}
+
+	/**
+	 * Returns the amount of elements of the matrix.
+	 *
+	 * @return width multiplied by height
+	 */
+	public int getSize() {
+		return width * height;
+	}
+
+	/**
+	 * Determines if the values are stored with single precision.
+	 *
+	 * @return true if the values are stored as float
+	 */
+	public boolean isSinglePrecision() {
+		return floatValues != null;
+	}
+
+	/**
+	 * Calculates the row-major index of the given coordinates. The index can be
+	 * used with all index based accessors.
+	 *
+	 * @param x the x coordinate
+	 * @param y the y coordinate
+	 * @return index of the element
+	 */
+	public int getIndex(int x, int y) {
+		return y * width + x;
 	}
 
 	/**
 	 * Returns the double value stored at the given position.
-	 * 
+	 *
 	 * @param point {@link Point2i} of the position
 	 * @return double value at the given position
 	 */
@@ -80,18 +189,31 @@ public class FloatMatrix {
 
 	/**
 	 * Returns the double value stored at the given coordinates.
-	 * 
+	 *
 	 * @param x the x coordinate
 	 * @param y the y coordinate
 	 * @return double value at the given position
 	 */
 	public double getValue(int x, int y) {
-		return values[y][x];
+		checkCoordinates(x, y);
+		return getValue(getIndex(x, y));
+	}
+
+	/**
+	 * Returns the double value stored at the given index.
+	 *
+	 * @param index the row-major index of the element
+	 * @return double value at the given index
+	 */
+	public double getValue(int index) {
+		if (doubleValues != null)
+			return doubleValues[index];
+		return floatValues[index];
 	}
 
 	/**
 	 * Changes the value at a given {@link Point2i}.
-	 * 
+	 *
 	 * @param point the {@link Point2i position} to set the value for
 	 * @param value the new value to set
 	 */
@@ -101,18 +223,46 @@ public class FloatMatrix {
 
 	/**
 	 * Changes the value at the given coordinates.
-	 * 
+	 *
 	 * @param x     the x coordinate
 	 * @param y     thy y coordinates
 	 * @param value the new value to set
 	 */
 	public void setValue(int x, int y, double value) {
-		values[y][x] = value;
+		checkCoordinates(x, y);
+		setValue(getIndex(x, y), value);
+	}
+
+	/**
+	 * Changes the value at the given index.
+	 *
+	 * @param index the row-major index of the element
+	 * @param value the new value to set
+	 */
+	public void setValue(int index, double value) {
+		if (doubleValues != null)
+			doubleValues[index] = value;
+		else
+			floatValues[index] = (float) value;
+	}
+
+	/**
+	 * Throws an {@link IndexOutOfBoundsException} if the given coordinates are not
+	 * part of the matrix. Necessary because the flat storage would otherwise
+	 * silently wrap around rows.
+	 *
+	 * @param x the x coordinate
+	 * @param y the y coordinate
+	 */
+	private void checkCoordinates(int x, int y) {
+		if (x < 0 || x >= width || y < 0 || y >= height)
+			throw new IndexOutOfBoundsException(
+					String.format("Position (%d, %d) is not inside the %dx%d matrix", x, y, width, height));
 	}
 
 	/**
 	 * Compares to {@link FloatMatrix} and decides if they have the same size.
-	 * 
+	 *
 	 * @param other the {@link FloatMatrix} to compare
 	 * @return true if height and width of both matrices are matching.
 	 */
@@ -120,146 +270,263 @@ public class FloatMatrix {
 		return this.getHeight() == other.getHeight() && this.getWidth() == other.getWidth();
 	}
 
+	/**
+	 * Throws an {@link IllegalArgumentException} if the other matrix has a
+	 * different size.
+	 *
+	 * @param other the {@link FloatMatrix} to compare
+	 */
+	private void requireSameSize(FloatMatrix other) {
+		if (!isSameSize(other)) {
+			throw new IllegalArgumentException(SIZE_MISMATCH_MESSAGE);
+		}
+	}
+
+	/**
+	 * Sets all elements to the given value.
+	 *
+	 * @param value the new value of all elements
+	 */
+	public void fill(double value) {
+		if (doubleValues != null)
+			Arrays.fill(doubleValues, value);
+		else
+			Arrays.fill(floatValues, (float) value);
+	}
+
+	/**
+	 * Overwrites all values with the values of another {@link FloatMatrix} of the
+	 * same size.
+	 *
+	 * @param other the {@link FloatMatrix} to copy the values from
+	 */
+	public void copyFrom(FloatMatrix other) {
+		requireSameSize(other);
+		if (doubleValues != null && other.doubleValues != null)
+			System.arraycopy(other.doubleValues, 0, doubleValues, 0, doubleValues.length);
+		else if (floatValues != null && other.floatValues != null)
+			System.arraycopy(other.floatValues, 0, floatValues, 0, floatValues.length);
+		else {
+			for (int i = 0; i < getSize(); i++)
+				setValue(i, other.getValue(i));
+		}
+	}
+
 	/**
 	 * Returns the highest value of the matrix.
-	 * 
+	 *
 	 * @return highest double value in matrix
 	 */
 	public double max() {
 		double maxValue = Float.MIN_VALUE;
-		for (int y = 0; y < values.length; y++) {
-			for (int x = 0; x < values[0].length; x++) {
-				maxValue = Math.max(values[y][x], maxValue);
-			}
+		if (doubleValues != null) {
+			for (int i = 0; i < doubleValues.length; i++)
+				maxValue = Math.max(doubleValues[i], maxValue);
+		} else {
+			for (int i = 0; i < floatValues.length; i++)
+				maxValue = Math.max(floatValues[i], maxValue);
 		}
 		return maxValue;
 	}
 
 	/**
 	 * Builds a new {@link FloatMatrix} with the max value for each element.
-	 * 
+	 *
 	 * @param other the other {@link FloatMatrix} to find the maximum value
 	 * @return {@link FloatMatrix} of max values
 	 */
 	public FloatMatrix max(FloatMatrix other) {
+		requireSameSize(other);
+		final FloatMatrix resultMatrix = new FloatMatrix(this);
+		resultMatrix.maxInPlace(other);
+		return resultMatrix;
+	}
 
-		if (!isSameSize(other)) {
-			throw new IllegalArgumentException("Both matrices need to have the same size");
-		}
-
-		FloatMatrix resultMatrix = new FloatMatrix(getWidth(), getHeight());
-
-		for (int y = 0; y < values.length; y++) {
-			for (int x = 0; x < values[0].length; x++) {
-				resultMatrix.setValue(x, y, Math.max(getValue(x, y), other.getValue(x, y)));
-			}
+	/**
+	 * Replaces each element with the maximum of itself and the corresponding
+	 * element of the other {@link FloatMatrix}.
+	 *
+	 * @param other the other {@link FloatMatrix} to find the maximum value
+	 */
+	public void maxInPlace(FloatMatrix other) {
+		requireSameSize(other);
+		if (doubleValues != null && other.doubleValues != null) {
+			final double[] values = doubleValues;
+			final double[] otherValues = other.doubleValues;
+			for (int i = 0; i < values.length; i++)
+				values[i] = Math.max(values[i], otherValues[i]);
+		} else if (floatValues != null && other.floatValues != null) {
+			final float[] values = floatValues;
+			final float[] otherValues = other.floatValues;
+			for (int i = 0; i < values.length; i++)
+				values[i] = Math.max(values[i], otherValues[i]);
+		} else {
+			for (int i = 0; i < getSize(); i++)
+				setValue(i, Math.max(getValue(i), other.getValue(i)));
 		}
-
-		return resultMatrix;
 	}
 
 	/**
 	 * Returns the lowest value of the matrix.
-	 * 
+	 *
 	 * @return lowest double value in matrix
 	 */
 	public double min() {
 		double minValue = Float.MAX_VALUE;
-		for (int y = 0; y < values.length; y++) {
-			for (int x = 0; x < values[0].length; x++) {
-				minValue = Math.min(values[y][x], minValue);
-			}
+		if (doubleValues != null) {
+			for (int i = 0; i < doubleValues.length; i++)
+				minValue = Math.min(doubleValues[i], minValue);
+		} else {
+			for (int i = 0; i < floatValues.length; i++)
+				minValue = Math.min(floatValues[i], minValue);
 		}
 		return minValue;
 	}
 
 	/**
 	 * Builds a new {@link FloatMatrix} with the min value for each element.
-	 * 
+	 *
 	 * @param other the other {@link FloatMatrix} to find the minimum value
 	 * @return {@link FloatMatrix} of min values
 	 */
 	public FloatMatrix min(FloatMatrix other) {
+		requireSameSize(other);
+		final FloatMatrix resultMatrix = new FloatMatrix(this);
+		resultMatrix.minInPlace(other);
+		return resultMatrix;
+	}
 
-		if (!isSameSize(other)) {
-			throw new IllegalArgumentException("Both matrices need to have the same size");
-		}
-
-		FloatMatrix resultMatrix = new FloatMatrix(getWidth(), getHeight());
-
-		for (int y = 0; y < values.length; y++) {
-			for (int x = 0; x < values[0].length; x++) {
-				resultMatrix.setValue(x, y, Math.min(getValue(x, y), other.getValue(x, y)));
-			}
+	/**
+	 * Replaces each element with the minimum of itself and the corresponding
+	 * element of the other {@link FloatMatrix}.
+	 *
+	 * @param other the other {@link FloatMatrix} to find the minimum value
+	 */
+	public void minInPlace(FloatMatrix other) {
+		requireSameSize(other);
+		if (doubleValues != null && other.doubleValues != null) {
+			final double[] values = doubleValues;
+			final double[] otherValues = other.doubleValues;
+			for (int i = 0; i < values.length; i++)
+				values[i] = Math.min(values[i], otherValues[i]);
+		} else if (floatValues != null && other.floatValues != null) {
+			final float[] values = floatValues;
+			final float[] otherValues = other.floatValues;
+			for (int i = 0; i < values.length; i++)
+				values[i] = Math.min(values[i], otherValues[i]);
+		} else {
+			for (int i = 0; i < getSize(); i++)
+				setValue(i, Math.min(getValue(i), other.getValue(i)));
 		}
-
-		return resultMatrix;
 	}
 
 	/**
 	 * Builds a new {@link FloatMatrix} with the multiplied value for each element.
-	 * 
+	 *
 	 * @param other the other {@link FloatMatrix} to multiply
 	 * @return {@link FloatMatrix} of products
 	 */
 	public FloatMatrix mul(FloatMatrix other) {
+		requireSameSize(other);
+		final FloatMatrix resultMatrix = new FloatMatrix(this);
+		resultMatrix.mulInPlace(other);
+		return resultMatrix;
+	}
 
-		if (!isSameSize(other)) {
-			throw new IllegalArgumentException("Both matrices need to have the same size");
+	/**
+	 * Multiplies each element with the corresponding element of the other
+	 * {@link FloatMatrix}.
+	 *
+	 * @param other the other {@link FloatMatrix} to multiply
+	 */
+	public void mulInPlace(FloatMatrix other) {
+		requireSameSize(other);
+		if (doubleValues != null && other.doubleValues != null) {
+			final double[] values = doubleValues;
+			final double[] otherValues = other.doubleValues;
+			for (int i = 0; i < values.length; i++)
+				values[i] = values[i] * otherValues[i];
+		} else {
+			for (int i = 0; i < getSize(); i++)
+				setValue(i, getValue(i) * other.getValue(i));
 		}
+	}
 
-		FloatMatrix resultMatrix = new FloatMatrix(getWidth(), getHeight());
-
-		for (int y = 0; y < values.length; y++) {
-			for (int x = 0; x < values[0].length; x++) {
-				resultMatrix.setValue(x, y, getValue(x, y) * other.getValue(x, y));
-			}
+	/**
+	 * Multiplies each element with a scalar factor.
+	 *
+	 * @param factor the factor to multiply with
+	 */
+	public void mulInPlace(double factor) {
+		if (doubleValues != null) {
+			final double[] values = doubleValues;
+			for (int i = 0; i < values.length; i++)
+				values[i] = values[i] * factor;
+		} else {
+			final float[] values = floatValues;
+			final float floatFactor = (float) factor;
+			for (int i = 0; i < values.length; i++)
+				values[i] = values[i] * floatFactor;
 		}
-
-		return resultMatrix;
 	}
 
 	/**
 	 * Builds a new {@link FloatMatrix} with the summed up value for each element.
-	 * 
+	 *
 	 * @param other the other {@link FloatMatrix} to add
 	 * @return {@link FloatMatrix} of sums
 	 */
 	public FloatMatrix sum(FloatMatrix other) {
+		requireSameSize(other);
+		final FloatMatrix resultMatrix = new FloatMatrix(this);
+		resultMatrix.addInPlace(other);
+		return resultMatrix;
+	}
 
-		if (!isSameSize(other)) {
-			throw new IllegalArgumentException("Both matrices need to have the same size");
-		}
-
-		FloatMatrix resultMatrix = new FloatMatrix(getWidth(), getHeight());
-
-		for (int y = 0; y < values.length; y++) {
-			for (int x = 0; x < values[0].length; x++) {
-				resultMatrix.setValue(x, y, getValue(x, y) + other.getValue(x, y));
-			}
+	/**
+	 * Adds the corresponding element of the other {@link FloatMatrix} to each
+	 * element.
+	 *
+	 * @param other the other {@link FloatMatrix} to add
+	 */
+	public void addInPlace(FloatMatrix other) {
+		requireSameSize(other);
+		if (doubleValues != null && other.doubleValues != null) {
+			final double[] values = doubleValues;
+			final double[] otherValues = other.doubleValues;
+			for (int i = 0; i < values.length; i++)
+				values[i] = values[i] + otherValues[i];
+		} else if (floatValues != null && other.floatValues != null) {
+			final float[] values = floatValues;
+			final float[] otherValues = other.floatValues;
+			for (int i = 0; i < values.length; i++)
+				values[i] = values[i] + otherValues[i];
+		} else {
+			for (int i = 0; i < getSize(); i++)
+				setValue(i, getValue(i) + other.getValue(i));
 		}
-
-		return resultMatrix;
 	}
 
 	/**
 	 * Returns the sum of each element.
-	 * 
+	 *
 	 * @return sum of each element
 	 */
 	public double sum() {
 		double sum = 0;
-		for (int y = 0; y < values.length; y++) {
-			for (int x = 0; x < values[0].length; x++) {
-				sum += getValue(x, y);
-			}
+		if (doubleValues != null) {
+			for (int i = 0; i < doubleValues.length; i++)
+				sum += doubleValues[i];
+		} else {
+			for (int i = 0; i < floatValues.length; i++)
+				sum += floatValues[i];
 		}
 		return sum;
 	}
 
 	/**
 	 * Adds a value to the matrix at a given position.
-	 * 
+	 *
 	 * @param position {@link Point2i} of the position
 	 * @param value    double value to add
 	 */
@@ -267,10 +534,20 @@ public class FloatMatrix {
 		setValue(position, getValue(position) + value);
 	}
 
+	/**
+	 * Adds a value to the matrix at a given index.
+	 *
+	 * @param index the row-major index of the element
+	 * @param value double value to add
+	 */
+	public void add(final int index, final double value) {
+		setValue(index, getValue(index) + value);
+	}
+
 	/**
 	 * Replaces the existing value at a given position with the new one if the new
 	 * value is smaller.
-	 * 
+	 *
 	 * @param position {@link Point2i} of the position
 	 * @param value    double value to compare and possibly set
 	 */
@@ -280,10 +557,23 @@ public class FloatMatrix {
 		}
 	}
 
+	/**
+	 * Replaces the existing value at a given index with the new one if the new
+	 * value is smaller.
+	 *
+	 * @param index the row-major index of the element
+	 * @param value double value to compare and possibly set
+	 */
+	public void min(final int index, final double value) {
+		if (value < getValue(index)) {
+			setValue(index, value);
+		}
+	}
+
 	/**
 	 * Replaces the existing value at a given position with the new one if the new
 	 * value is bigger.
-	 * 
+	 *
 	 * @param position {@link Point2i} of the position
 	 * @param value    double value to compare and possibly set
 	 */
@@ -293,9 +583,35 @@ public class FloatMatrix {
 		}
 	}
 
+	/**
+	 * Replaces the existing value at a given index with the new one if the new
+	 * value is bigger.
+	 *
+	 * @param index the row-major index of the element
+	 * @param value double value to compare and possibly set
+	 */
+	public void max(final int index, final double value) {
+		if (value > getValue(index)) {
+			setValue(index, value);
+		}
+	}
+
+	/**
+	 * Replaces every occurrence of a value with another value.
+	 *
+	 * @param searchValue      the value to replace
+	 * @param replacementValue the value to set instead
+	 */
+	public void replaceInPlace(final double searchValue, final double replacementValue) {
+		for (int i = 0; i < getSize(); i++) {
+			if (getValue(i) == searchValue)
+				setValue(i, replacementValue);
+		}
+	}
+
 	/**
 	 * Builds a new normalized Matrix by dividing all values by the maximum value
-	 * 
+	 *
 	 * @return The Matrix with normalized values
 	 */
 	public FloatMatrix normalize() {
@@ -305,9 +621,9 @@ public class FloatMatrix {
 		if (Double.isNaN(normalizeFactor))
 			return this;
 
-		final FloatMatrix factorMatrix = new FloatMatrix(this.getWidth(), this.getHeight(), normalizeFactor);
-
-		return this.mul(factorMatrix);
+		final FloatMatrix resultMatrix = new FloatMatrix(this);
+		resultMatrix.mulInPlace(normalizeFactor);
+		return resultMatrix;
 	}
 
 }
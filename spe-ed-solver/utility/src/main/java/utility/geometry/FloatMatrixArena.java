@@ -0,0 +1,133 @@
+package utility.geometry;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pool of {@link FloatMatrix} buffers which are reused round by round. All
+ * matrices obtained from the arena belong to the current round and get
+ * reclaimed by {@link FloatMatrixArena#reset()}. Matrices which were not needed
+ * during the last round are released for garbage collection, so the arena only
+ * holds as many buffers as a single round needs. Before a matrix is reused its
+ * {@link ContextualFloatMatrix snapshots} are detached. The arena is thread
+ * safe.
+ */
+public class FloatMatrixArena {
+
+	private List<FloatMatrix> freeMatrices = new ArrayList<>();
+	private List<FloatMatrix> usedMatrices = new ArrayList<>();
+
+	private int allocatedMatricesCount = 0;
+
+	/**
+	 * Returns a double precision {@link FloatMatrix} of the given size with all
+	 * elements set to the initial value. The matrix is valid until the next call of
+	 * {@link FloatMatrixArena#reset()}.
+	 *
+	 * @param width        the width of the {@link FloatMatrix}
+	 * @param height       the height of the {@link FloatMatrix}
+	 * @param initialValue the initial value for all elements
+	 * @return a cleared {@link FloatMatrix}
+	 */
+	public FloatMatrix obtain(final int width, final int height, final double initialValue) {
+		return obtain(width, height, initialValue, false);
+	}
+
+	/**
+	 * Returns a {@link FloatMatrix} of the given size and precision with all
+	 * elements set to the initial value. The matrix is valid until the next call of
+	 * {@link FloatMatrixArena#reset()}.
+	 *
+	 * @param width           the width of the {@link FloatMatrix}
+	 * @param height          the height of the {@link FloatMatrix}
+	 * @param initialValue    the initial value for all elements
+	 * @param singlePrecision true if the values should be stored as float
+	 * @return a cleared {@link FloatMatrix}
+	 */
+	public FloatMatrix obtain(final int width, final int height, final double initialValue,
+			final boolean singlePrecision) {
+		final FloatMatrix matrix = takeFreeMatrix(width, height, singlePrecision, false);
+		matrix.detachSnapshots();
+		matrix.fill(initialValue);
+		return matrix;
+	}
+
+	/**
+	 * Returns a double precision {@link TrackingFloatMatrix} of the given size with
+	 * all elements set to the initial value. Reusing a tracking matrix only resets
+	 * its touched elements. The matrix is valid until the next call of
+	 * {@link FloatMatrixArena#reset()}.
+	 *
+	 * @param width        the width of the {@link TrackingFloatMatrix}
+	 * @param height       the height of the {@link TrackingFloatMatrix}
+	 * @param initialValue the initial value for all elements
+	 * @return a cleared {@link TrackingFloatMatrix}
+	 */
+	public TrackingFloatMatrix obtainTracking(final int width, final int height, final double initialValue) {
+		final FloatMatrix matrix = takeFreeMatrix(width, height, false, true);
+		matrix.detachSnapshots();
+		matrix.fill(initialValue);
+		return (TrackingFloatMatrix) matrix;
+	}
+
+	/**
+	 * Removes a matching {@link FloatMatrix} from the free matrices and marks it as
+	 * used. A new matrix is allocated if none matches.
+	 *
+	 * @param width           the width of the {@link FloatMatrix}
+	 * @param height          the height of the {@link FloatMatrix}
+	 * @param singlePrecision true if the values should be stored as float
+	 * @param tracking        true if a {@link TrackingFloatMatrix} is needed
+	 * @return a {@link FloatMatrix} with undefined values
+	 */
+	private synchronized FloatMatrix takeFreeMatrix(final int width, final int height,
+			final boolean singlePrecision, final boolean tracking) {
+		for (int i = freeMatrices.size() - 1; i >= 0; i--) {
+			final FloatMatrix candidate = freeMatrices.get(i);
+			if (candidate.getWidth() == width && candidate.getHeight() == height
+					&& candidate.isSinglePrecision() == singlePrecision
+					&& (candidate instanceof TrackingFloatMatrix) == tracking) {
+				final FloatMatrix last = freeMatrices.remove(freeMatrices.size() - 1);
+				if (i < freeMatrices.size())
+					freeMatrices.set(i, last);
+				usedMatrices.add(candidate);
+				return candidate;
+			}
+		}
+
+		final FloatMatrix matrix = tracking ? new TrackingFloatMatrix(width, height, 0, singlePrecision)
+				: new FloatMatrix(width, height, singlePrecision);
+		allocatedMatricesCount++;
+		usedMatrices.add(matrix);
+		return matrix;
+	}
+
+	/**
+	 * Ends the current round. All matrices obtained since the last reset are
+	 * reclaimed and must not be used anymore.
+	 */
+	public synchronized void reset() {
+		final List<FloatMatrix> reclaimedMatrices = usedMatrices;
+		freeMatrices.clear();
+		usedMatrices = freeMatrices;
+		freeMatrices = reclaimedMatrices;
+	}
+
+	/**
+	 * Returns the amount of matrices handed out since the last reset.
+	 *
+	 * @return amount of used matrices
+	 */
+	public synchronized int getUsedMatricesCount() {
+		return usedMatrices.size();
+	}
+
+	/**
+	 * Returns the amount of matrices the arena had to allocate since its creation.
+	 *
+	 * @return amount of allocated matrices
+	 */
+	public synchronized int getAllocatedMatricesCount() {
+		return allocatedMatricesCount;
+	}
+}
@@ -0,0 +1,182 @@
+package utility.geometry;
+
+/**
+ * Allocation free alternatives to the {@link java.util.List List} based
+ * methods of {@link Point2i}. Points are either passed to an
+ * {@link IPointConsumer} or packed into a single integer, so hot loops do not
+ * create any {@link Point2i} objects.
+ */
+public final class GridIteration {
+
+	/**
+	 * The amount of neighbors in the von Neumann neighborhood.
+	 */
+	public static final int VON_NEUMANN_NEIGHBOR_COUNT = 4;
+
+	/**
+	 * The amount of neighbors in the Moore neighborhood.
+	 */
+	public static final int MOORE_NEIGHBOR_COUNT = 8;
+
+	// offsets in the same order as Point2i#vonNeumannNeighborhood()
+	private static final int[] VON_NEUMANN_OFFSETS_X = { -1, 0, 1, 0 };
+	private static final int[] VON_NEUMANN_OFFSETS_Y = { 0, -1, 0, 1 };
+
+	// offsets in the same order as Point2i#mooreNeighborhood()
+	private static final int[] MOORE_OFFSETS_X = { -1, -1, 0, 1, 1, 1, 0, -1 };
+	private static final int[] MOORE_OFFSETS_Y = { 0, -1, -1, -1, 0, 1, 1, 1 };
+
+	private static final int PACKED_COORDINATE_BITS = 16;
+	private static final int PACKED_COORDINATE_MASK = (1 << PACKED_COORDINATE_BITS) - 1;
+
+	private GridIteration() {
+	}
+
+	/**
+	 * Passes all points in a rectangle defined by two diagonal corner points to
+	 * the consumer. Same points as {@link Point2i#pointsInRectangle(Point2i)}.
+	 * 
+	 * @param x0       x coordinate of the first corner
+	 * @param y0       y coordinate of the first corner
+	 * @param x1       x coordinate of the second corner
+	 * @param y1       y coordinate of the second corner
+	 * @param consumer {@link IPointConsumer} receiving the points
+	 */
+	public static void forEachPointInRectangle(final int x0, final int y0, final int x1, final int y1,
+			final IPointConsumer consumer) {
+		final int xFrom = Math.min(x0, x1);
+		final int xTo = Math.max(x0, x1);
+		final int yFrom = Math.min(y0, y1);
+		final int yTo = Math.max(y0, y1);
+
+		for (int x = xFrom; x <= xTo; x++)
+			for (int y = yFrom; y <= yTo; y++)
+				consumer.accept(x, y);
+	}
+
+	/**
+	 * Passes all points of the line segment from the start point to the end point
+	 * to the consumer, starting with the start point. Axis aligned segments
+	 * contain every cell between both points, other segments are rasterized with
+	 * the Bresenham algorithm.
+	 * 
+	 * @param x0       x coordinate of the start point
+	 * @param y0       y coordinate of the start point
+	 * @param x1       x coordinate of the end point
+	 * @param y1       y coordinate of the end point
+	 * @param consumer {@link IPointConsumer} receiving the points
+	 */
+	public static void forEachPointOnSegment(final int x0, final int y0, final int x1, final int y1,
+			final IPointConsumer consumer) {
+		final int deltaX = Math.abs(x1 - x0);
+		final int deltaY = -Math.abs(y1 - y0);
+		final int stepX = x0 < x1 ? 1 : -1;
+		final int stepY = y0 < y1 ? 1 : -1;
+
+		int x = x0;
+		int y = y0;
+		int error = deltaX + deltaY;
+		while (true) {
+			consumer.accept(x, y);
+			if (x == x1 && y == y1)
+				return;
+			final int doubledError = 2 * error;
+			if (doubledError >= deltaY) {
+				error += deltaY;
+				x += stepX;
+			}
+			if (doubledError <= deltaX) {
+				error += deltaX;
+				y += stepY;
+			}
+		}
+	}
+
+	/**
+	 * Passes the von Neumann neighborhood (4-neighborhood) of a point to the
+	 * consumer. Same order as {@link Point2i#vonNeumannNeighborhood()}.
+	 * 
+	 * @param x        the x coordinate of the center
+	 * @param y        the y coordinate of the center
+	 * @param consumer {@link IPointConsumer} receiving the neighbors
+	 */
+	public static void forEachVonNeumannNeighbor(final int x, final int y, final IPointConsumer consumer) {
+		for (int i = 0; i < VON_NEUMANN_NEIGHBOR_COUNT; i++)
+			consumer.accept(x + VON_NEUMANN_OFFSETS_X[i], y + VON_NEUMANN_OFFSETS_Y[i]);
+	}
+
+	/**
+	 * Passes the Moore neighborhood (8-neighborhood) of a point to the consumer.
+	 * Same order as {@link Point2i#mooreNeighborhood()}.
+	 * 
+	 * @param x        the x coordinate of the center
+	 * @param y        the y coordinate of the center
+	 * @param consumer {@link IPointConsumer} receiving the neighbors
+	 */
+	public static void forEachMooreNeighbor(final int x, final int y, final IPointConsumer consumer) {
+		for (int i = 0; i < MOORE_NEIGHBOR_COUNT; i++)
+			consumer.accept(x + MOORE_OFFSETS_X[i], y + MOORE_OFFSETS_Y[i]);
+	}
+
+	/**
+	 * Packs the coordinates of a point into a single integer. Both coordinates
+	 * must be between -32768 and 32767.
+	 * 
+	 * @param x the x coordinate
+	 * @param y the y coordinate
+	 * @return the packed point
+	 */
+	public static int pack(final int x, final int y) {
+		return (x << PACKED_COORDINATE_BITS) | (y & PACKED_COORDINATE_MASK);
+	}
+
+	/**
+	 * Returns the x coordinate of a packed point.
+	 * 
+	 * @param packedPoint the point packed by {@link GridIteration#pack(int, int)}
+	 * @return the x coordinate
+	 */
+	public static int unpackX(final int packedPoint) {
+		return packedPoint >> PACKED_COORDINATE_BITS;
+	}
+
+	/**
+	 * Returns the y coordinate of a packed point.
+	 * 
+	 * @param packedPoint the point packed by {@link GridIteration#pack(int, int)}
+	 * @return the y coordinate
+	 */
+	public static int unpackY(final int packedPoint) {
+		return (short) packedPoint;
+	}
+
+	/**
+	 * Returns a single neighbor of the von Neumann neighborhood of a packed point.
+	 * Iterating the neighbor index from 0 to
+	 * {@link GridIteration#VON_NEUMANN_NEIGHBOR_COUNT} yields the same order as
+	 * {@link Point2i#vonNeumannNeighborhood()}.
+	 * 
+	 * @param packedPoint   the packed center point
+	 * @param neighborIndex the index of the neighbor
+	 * @return the packed neighbor
+	 */
+	public static int vonNeumannNeighbor(final int packedPoint, final int neighborIndex) {
+		return pack(unpackX(packedPoint) + VON_NEUMANN_OFFSETS_X[neighborIndex],
+				unpackY(packedPoint) + VON_NEUMANN_OFFSETS_Y[neighborIndex]);
+	}
+
+	/**
+	 * Returns a single neighbor of the Moore neighborhood of a packed point.
+	 * Iterating the neighbor index from 0 to
+	 * {@link GridIteration#MOORE_NEIGHBOR_COUNT} yields the same order as
+	 * {@link Point2i#mooreNeighborhood()}.
+	 * 
+	 * @param packedPoint   the packed center point
+	 * @param neighborIndex the index of the neighbor
+	 * @return the packed neighbor
+	 */
+	public static int mooreNeighbor(final int packedPoint, final int neighborIndex) {
+		return pack(unpackX(packedPoint) + MOORE_OFFSETS_X[neighborIndex],
+				unpackY(packedPoint) + MOORE_OFFSETS_Y[neighborIndex]);
+	}
+}
@@ -0,0 +1,17 @@
+package utility.geometry;
+
+/**
+ * Callback receiving integer 2d coordinates without allocating a
+ * {@link Point2i}. Used by the visitor methods of {@link GridIteration}.
+ */
+@FunctionalInterface
+public interface IPointConsumer {
+
+	/**
+	 * Performs the operation for the given coordinates.
+	 * 
+	 * @param x the x coordinate
+	 * @param y the y coordinate
+	 */
+	void accept(int x, int y);
+}
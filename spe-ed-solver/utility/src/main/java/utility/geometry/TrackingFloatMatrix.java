@@ -0,0 +1,268 @@
+package utility.geometry;
+
+import java.util.Arrays;
+
+/**
+ * A {@link FloatMatrix} remembering which elements were written since the last
+ * {@link TrackingFloatMatrix#fill(double) fill}. All other elements still hold
+ * the fill value, so aggregations like {@link TrackingFloatMatrix#sum()},
+ * merges with other tracking matrices and clearing only cost time proportional
+ * to the touched elements. Operations which can not be tracked cheaply fall
+ * back to the behavior of a plain {@link FloatMatrix} until the next fill.
+ */
+public class TrackingFloatMatrix extends FloatMatrix {
+
+	private final long[] touchedBits;
+	private int[] touchedIndices = new int[64];
+	private int touchedCount = 0;
+
+	/**
+	 * True if every element has to be treated as touched.
+	 */
+	private boolean saturated = false;
+
+	/**
+	 * The value of all elements which were not touched.
+	 */
+	private double baseValue = 0;
+
+	/**
+	 * Generates a new tracking 2d matrix with the given dimensions.
+	 *
+	 * @param width  the width of the {@link TrackingFloatMatrix}
+	 * @param height the height of the {@link TrackingFloatMatrix}
+	 */
+	public TrackingFloatMatrix(int width, int height) {
+		this(width, height, 0, false);
+	}
+
+	/**
+	 * Generates a new tracking 2d matrix with the given dimensions, precision and
+	 * a default value for each element.
+	 *
+	 * @param width           the width of the {@link TrackingFloatMatrix}
+	 * @param height          the height of the {@link TrackingFloatMatrix}
+	 * @param initialValue    the initial value for all elements
+	 * @param singlePrecision true if the values should be stored as float
+	 */
+	public TrackingFloatMatrix(int width, int height, double initialValue, boolean singlePrecision) {
+		super(width, height, singlePrecision);
+		this.touchedBits = new long[(width * height + Long.SIZE - 1) / Long.SIZE];
+		super.fill(initialValue);
+		this.baseValue = storedValue(initialValue);
+	}
+
+	/**
+	 * Converts a value to the precision the elements are stored with.
+	 *
+	 * @param value the value to convert
+	 * @return the value as it would be returned after storing it
+	 */
+	private double storedValue(double value) {
+		return isSinglePrecision() ? (float) value : value;
+	}
+
+	/**
+	 * Marks an element as touched.
+	 *
+	 * @param index the row-major index of the element
+	 */
+	private void touch(int index) {
+		if (saturated)
+			return;
+		final long bit = 1L << index;
+		if ((touchedBits[index / Long.SIZE] & bit) != 0)
+			return;
+		touchedBits[index / Long.SIZE] |= bit;
+		if (touchedCount == touchedIndices.length)
+			touchedIndices = Arrays.copyOf(touchedIndices, touchedCount * 2);
+		touchedIndices[touchedCount++] = index;
+	}
+
+	/**
+	 * Stops tracking, every element is treated as touched until the next fill. Has
+	 * to be called before untracked bulk operations, so they do not record each
+	 * element.
+	 */
+	private void saturate() {
+		saturated = true;
+	}
+
+	/**
+	 * Determines if the touched elements are currently tracked. Tracking is
+	 * restored by {@link TrackingFloatMatrix#fill(double)}.
+	 *
+	 * @return true if the touched elements are tracked
+	 */
+	public boolean isTracking() {
+		return !saturated;
+	}
+
+	/**
+	 * Returns the amount of touched elements.
+	 *
+	 * @return amount of touched elements or the size of the matrix if the
+	 *         elements are not {@link TrackingFloatMatrix#isTracking() tracked}
+	 */
+	public int getTouchedCount() {
+		return saturated ? getSize() : touchedCount;
+	}
+
+	/**
+	 * Determines if another matrix is a {@link TrackingFloatMatrix} whose touched
+	 * elements are known.
+	 *
+	 * @param other the {@link FloatMatrix} to check
+	 * @return the other matrix as {@link TrackingFloatMatrix} or null
+	 */
+	private static TrackingFloatMatrix asTracking(FloatMatrix other) {
+		if (other instanceof TrackingFloatMatrix && ((TrackingFloatMatrix) other).isTracking())
+			return (TrackingFloatMatrix) other;
+		return null;
+	}
+
+	@Override
+	public void setValue(int index, double value) {
+		super.setValue(index, value);
+		touch(index);
+	}
+
+	@Override
+	public void fill(double value) {
+		final double newBaseValue = storedValue(value);
+		if (!saturated && newBaseValue == baseValue) {
+			// only the touched elements differ from the fill value
+			for (int i = 0; i < touchedCount; i++) {
+				final int index = touchedIndices[i];
+				super.setValue(index, value);
+				touchedBits[index / Long.SIZE] = 0;
+			}
+		} else {
+			super.fill(value);
+			Arrays.fill(touchedBits, 0);
+		}
+		touchedCount = 0;
+		saturated = false;
+		baseValue = newBaseValue;
+	}
+
+	@Override
+	public void copyFrom(FloatMatrix other) {
+		saturate();
+		super.copyFrom(other);
+	}
+
+	@Override
+	public double max() {
+		if (saturated)
+			return super.max();
+		double maxValue = Float.MIN_VALUE;
+		if (touchedCount < getSize())
+			maxValue = Math.max(baseValue, maxValue);
+		for (int i = 0; i < touchedCount; i++)
+			maxValue = Math.max(getValue(touchedIndices[i]), maxValue);
+		return maxValue;
+	}
+
+	@Override
+	public double min() {
+		if (saturated)
+			return super.min();
+		double minValue = Float.MAX_VALUE;
+		if (touchedCount < getSize())
+			minValue = Math.min(baseValue, minValue);
+		for (int i = 0; i < touchedCount; i++)
+			minValue = Math.min(getValue(touchedIndices[i]), minValue);
+		return minValue;
+	}
+
+	@Override
+	public double sum() {
+		if (saturated)
+			return super.sum();
+		double sum = (getSize() - touchedCount) * baseValue;
+		for (int i = 0; i < touchedCount; i++)
+			sum += getValue(touchedIndices[i]);
+		return sum;
+	}
+
+	@Override
+	public void maxInPlace(FloatMatrix other) {
+		final TrackingFloatMatrix trackingOther = asTracking(other);
+		// the untouched elements of the other matrix only matter if they are bigger
+		// than any element of this matrix
+		if (!saturated && trackingOther != null && isSameSize(other) && trackingOther.baseValue <= min()) {
+			for (int i = 0; i < trackingOther.touchedCount; i++) {
+				final int index = trackingOther.touchedIndices[i];
+				max(index, other.getValue(index));
+			}
+		} else {
+			saturate();
+			super.maxInPlace(other);
+		}
+	}
+
+	@Override
+	public void minInPlace(FloatMatrix other) {
+		final TrackingFloatMatrix trackingOther = asTracking(other);
+		// the untouched elements of the other matrix only matter if they are smaller
+		// than any element of this matrix
+		if (!saturated && trackingOther != null && isSameSize(other) && trackingOther.baseValue >= max()) {
+			for (int i = 0; i < trackingOther.touchedCount; i++) {
+				final int index = trackingOther.touchedIndices[i];
+				min(index, other.getValue(index));
+			}
+		} else {
+			saturate();
+			super.minInPlace(other);
+		}
+	}
+
+	@Override
+	public void addInPlace(FloatMatrix other) {
+		final TrackingFloatMatrix trackingOther = asTracking(other);
+		if (!saturated && trackingOther != null && isSameSize(other) && trackingOther.baseValue == 0) {
+			for (int i = 0; i < trackingOther.touchedCount; i++) {
+				final int index = trackingOther.touchedIndices[i];
+				add(index, other.getValue(index));
+			}
+		} else {
+			saturate();
+			super.addInPlace(other);
+		}
+	}
+
+	@Override
+	public void mulInPlace(FloatMatrix other) {
+		saturate();
+		super.mulInPlace(other);
+	}
+
+	@Override
+	public void mulInPlace(double factor) {
+		if (!saturated && baseValue == 0 && Double.isFinite(factor)) {
+			for (int i = 0; i < touchedCount; i++) {
+				final int index = touchedIndices[i];
+				super.setValue(index, getValue(index) * factor);
+			}
+		} else {
+			saturate();
+			super.mulInPlace(factor);
+		}
+	}
+
+	@Override
+	public void replaceInPlace(double searchValue, double replacementValue) {
+		if (!saturated && storedValue(searchValue) != baseValue) {
+			for (int i = 0; i < touchedCount; i++) {
+				final int index = touchedIndices[i];
+				if (getValue(index) == searchValue)
+					super.setValue(index, replacementValue);
+			}
+		} else {
+			saturate();
+			super.replaceInPlace(searchValue, replacementValue);
+		}
+	}
+
+}
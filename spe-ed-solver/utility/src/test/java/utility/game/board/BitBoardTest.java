@@ -0,0 +1,76 @@
+package utility.game.board;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class BitBoardTest {
+
+	@Test
+	public void testSetAcrossWords() {
+		BitBoard board = new BitBoard(130, 3);
+		board.set(0, 0);
+		board.set(63, 1);
+		board.set(64, 1);
+		board.set(129, 2);
+
+		assertTrue(board.get(0, 0));
+		assertTrue(board.get(63, 1));
+		assertTrue(board.get(64, 1));
+		assertTrue(board.get(129, 2));
+		assertFalse(board.get(0, 1));
+		assertFalse(board.get(65, 1));
+		assertFalse(board.get(1, 2));
+		assertEquals(4, board.cardinality());
+	}
+
+	@Test
+	public void testIsFree() {
+		BitBoard board = BitBoard.ofOccupiedCells(new CompactBoard(new int[][] { { 0, 1, 0 }, { -1, 0, 6 } }));
+
+		assertTrue(board.isFree(0, 0));
+		assertFalse(board.isFree(1, 0));
+		assertFalse(board.isFree(0, 1));
+		assertFalse(board.isFree(2, 1));
+		assertFalse(board.isFree(-1, 0));
+		assertFalse(board.isFree(3, 1));
+		assertEquals(3, board.cardinality());
+	}
+
+	@Test
+	public void testCopy() {
+		BitBoard board = new BitBoard(10, 10);
+		board.set(3, 4);
+		BitBoard copy = new BitBoard(board);
+		copy.set(5, 5);
+
+		assertFalse(board.get(5, 5));
+		assertTrue(copy.get(3, 4));
+
+		copy.copyFrom(board);
+		assertFalse(copy.get(5, 5));
+		copy.clear();
+		assertEquals(0, copy.cardinality());
+	}
+
+	@Test
+	public void testDilateAcrossWords() {
+		BitBoard board = new BitBoard(130, 3);
+		board.set(0, 0);
+		board.set(63, 1);
+		board.set(129, 2);
+		BitBoard dilated = new BitBoard(130, 3);
+		dilated.dilate(board);
+
+		assertTrue(dilated.get(62, 1));
+		assertTrue(dilated.get(64, 1));
+		assertTrue(dilated.get(63, 0));
+		assertTrue(dilated.get(63, 2));
+		assertTrue(dilated.get(128, 2));
+		assertTrue(dilated.get(129, 1));
+		assertTrue(dilated.get(0, 1));
+		assertEquals(11, dilated.cardinality());
+	}
+}
@@ -0,0 +1,62 @@
+package utility.game.board;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class BoardDeltaTest {
+
+	@Test
+	public void testOfOccupiedCells() {
+		CompactBoard board = new CompactBoard(70, 2);
+		board.setCellValue(3, 0, CellValue.PLAYER_ONE);
+		board.setCellValue(65, 1, CellValue.PLAYER_TWO);
+
+		BoardDelta delta = BoardDelta.ofOccupiedCells(board);
+
+		assertArrayEquals(new int[] { 3, 135 }, delta.getChangedIndices());
+		assertEquals(BoardDelta.EMPTY_BOARD_VERSION, delta.getPreviousVersion());
+		assertTrue(delta.follows(42));
+	}
+
+	@Test
+	public void testBetween() {
+		CompactBoard previousBoard = new CompactBoard(new int[][] { { 0, 1, 0 }, { 0, 0, 2 } });
+		CompactBoard board = new CompactBoard(new int[][] { { 0, 1, 1 }, { 0, -1, 2 } });
+
+		BoardDelta delta = BoardDelta.between(previousBoard, board, 1, 2);
+
+		assertArrayEquals(new int[] { 2, 4 }, delta.getChangedIndices());
+		assertTrue(delta.follows(1));
+		assertFalse(delta.follows(0));
+		assertFalse(delta.follows(BoardDelta.UNKNOWN_VERSION));
+		assertEquals(2, delta.getVersion());
+	}
+
+	@Test
+	public void testBetweenCellBoards() {
+		Cell[][] previousCells = new Cell[][] { { new Cell(0), new Cell(0) }, { new Cell(3), new Cell(0) } };
+		Cell[][] cells = new Cell[][] { { new Cell(0), new Cell(4) }, { new Cell(3), new Cell(0) } };
+
+		BoardDelta delta = BoardDelta.between(new Board<>(previousCells), new Board<>(cells), 5, 6);
+		assertArrayEquals(new int[] { 1 }, delta.getChangedIndices());
+
+		delta = BoardDelta.between(null, new Board<>(cells), 5, 6);
+		assertArrayEquals(new int[] { 1, 2 }, delta.getChangedIndices());
+		assertTrue(delta.follows(0));
+	}
+
+	@Test
+	public void testNextOccupiedIndex() {
+		CompactBoard board = new CompactBoard(130, 1);
+		board.setCellValue(0, 0, CellValue.PLAYER_ONE);
+		board.setCellValue(129, 0, CellValue.PLAYER_ONE);
+
+		assertEquals(0, board.nextOccupiedIndex(0));
+		assertEquals(129, board.nextOccupiedIndex(1));
+		assertEquals(-1, board.nextOccupiedIndex(130));
+	}
+}
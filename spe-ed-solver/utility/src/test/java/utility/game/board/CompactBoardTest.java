@@ -0,0 +1,77 @@
+package utility.game.board;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import utility.geometry.Point2i;
+
+public class CompactBoardTest {
+
+	@Test
+	public void testCellValues() {
+		CompactBoard board = new CompactBoard(new int[][] { { 0, 1, 0 }, { -1, 0, 6 } });
+
+		assertEquals(3, board.getWidth());
+		assertEquals(2, board.getHeight());
+		assertEquals(CellValue.PLAYER_ONE, board.getCellValue(1, 0));
+		assertEquals(CellValue.MULTIPLE_PLAYER, board.getBoardCellAt(new Point2i(0, 1)).getCellValue());
+		assertEquals(CellValue.PLAYER_SIX, board.getCellValue(board.getIndex(2, 1)));
+		assertNull(board.getBoardCellAt(new Point2i(3, 0)));
+	}
+
+	@Test
+	public void testIsFree() {
+		CompactBoard board = new CompactBoard(new int[][] { { 0, 1, 0 }, { -1, 0, 6 } });
+
+		assertTrue(board.isFree(0, 0));
+		assertFalse(board.isFree(1, 0));
+		assertFalse(board.isFree(0, 1));
+		assertFalse(board.isFree(-1, 0));
+		assertFalse(board.isFree(3, 1));
+
+		assertTrue(board.isFree(4));
+		assertFalse(board.isFree(5));
+		assertFalse(board.isFree(6));
+		assertFalse(board.isFree(-1));
+	}
+
+	@Test
+	public void testCellViewWritesThrough() {
+		CompactBoard board = new CompactBoard(70, 2);
+		Cell cell = board.getBoardCellAt(new Point2i(66, 1));
+
+		assertTrue(cell.isEmpty());
+		cell.setCellValue(CellValue.PLAYER_THREE);
+
+		assertFalse(board.isFree(66, 1));
+		assertFalse(board.getBoardCellAt(new Point2i(66, 1)).isEmpty());
+		assertSame(cell, board.getBoardCellAt(66, 1));
+		assertEquals(CellValue.PLAYER_THREE, board.getCellValue(66, 1));
+		assertTrue(board.isFree(65, 1));
+
+		board.setCellValue(66, 1, CellValue.EMPTY_CELL);
+		assertTrue(cell.isEmpty());
+	}
+
+	@Test
+	public void testMatchesCellBoard() {
+		int[][] values = new int[][] { { 0, 2, 0, 0 }, { 0, 0, 3, -1 }, { 1, 0, 0, 0 } };
+		Cell[][] cells = new Cell[values.length][values[0].length];
+		for (int y = 0; y < values.length; y++)
+			for (int x = 0; x < values[0].length; x++)
+				cells[y][x] = new Cell(values[y][x]);
+
+		Board<Cell> board = new Board<>(cells);
+		CompactBoard compactBoard = new CompactBoard(values);
+
+		for (int y = -1; y <= values.length; y++)
+			for (int x = -1; x <= values[0].length; x++)
+				assertEquals(board.isFree(x, y), compactBoard.isFree(x, y));
+		assertEquals(board.toString(), compactBoard.toString());
+	}
+}
@@ -0,0 +1,77 @@
+package utility.game.board;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class ComponentLabelsTest {
+
+	@Test
+	public void testSplitCorridor() {
+		CompactBoard board = new CompactBoard(new int[][] { //
+				{ 0, 0, 1, 0, 0 }, //
+				{ 0, 0, 0, 0, 0 }, //
+				{ 0, 0, 1, 0, 0 } });
+		ComponentLabels labels = new ComponentLabels();
+		labels.update(board);
+		assertEquals(13, labels.getSize(0, 0));
+		assertEquals(ComponentLabels.NO_COMPONENT, labels.getLabel(2, 0));
+
+		// the neighbours of the occupied cell are connected by the ring around it
+		board.setCellValue(0, 0, CellValue.PLAYER_ONE);
+		labels.update(board);
+		assertEquals(12, labels.getSize(1, 0));
+		assertEquals(0, labels.getRelabeledCellCount());
+
+		// occupying the door cuts off the smaller left room
+		board.setCellValue(2, 1, CellValue.PLAYER_ONE);
+		labels.update(board);
+		assertEquals(5, labels.getSize(1, 0));
+		assertEquals(6, labels.getSize(4, 2));
+		assertNotEquals(labels.getLabel(1, 0), labels.getLabel(4, 2));
+		assertEquals(labels.getLabel(1, 0), labels.getLabel(0, 2));
+		assertEquals(5, labels.getRelabeledCellCount());
+	}
+
+	@Test
+	public void testMatchesCompleteLabeling() {
+		Random random = new Random(21);
+		for (int game = 0; game < 20; game++) {
+			CompactBoard board = new CompactBoard(17, 13);
+			ComponentLabels labels = new ComponentLabels();
+			labels.update(board);
+			for (int round = 0; round < 60; round++) {
+				for (int cell = 0; cell < 3; cell++)
+					board.setCellValue(random.nextInt(17), random.nextInt(13), CellValue.PLAYER_TWO);
+				labels.update(board);
+
+				ComponentLabels expected = new ComponentLabels();
+				expected.update(board);
+				assertSamePartition(expected, labels, board);
+			}
+		}
+	}
+
+	private static void assertSamePartition(ComponentLabels expected, ComponentLabels actual, Board<?> board) {
+		Map<Integer, Integer> labelMapping = new HashMap<>();
+		for (int y = 0; y < board.getHeight(); y++) {
+			for (int x = 0; x < board.getWidth(); x++) {
+				assertEquals(expected.getSize(x, y), actual.getSize(x, y));
+				int expectedLabel = expected.getLabel(x, y);
+				int actualLabel = actual.getLabel(x, y);
+				if (expectedLabel == ComponentLabels.NO_COMPONENT) {
+					assertEquals(ComponentLabels.NO_COMPONENT, actualLabel);
+					continue;
+				}
+				Integer mapped = labelMapping.putIfAbsent(actualLabel, expectedLabel);
+				if (mapped != null)
+					assertEquals(mapped.intValue(), expectedLabel);
+			}
+		}
+	}
+}
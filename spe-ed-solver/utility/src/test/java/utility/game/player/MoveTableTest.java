@@ -0,0 +1,59 @@
+package utility.game.player;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class MoveTableTest {
+
+	@Test
+	public void testTurn() {
+		MoveTransition transition = MoveTable.get(PlayerDirection.UP, 3, PlayerAction.TURN_RIGHT, false);
+
+		assertEquals(PlayerDirection.RIGHT, transition.getDirection());
+		assertEquals(3, transition.getSpeed());
+		assertTrue(transition.isValid());
+		assertFalse(transition.isJump());
+		assertEquals(3, transition.getOffsetX());
+		assertEquals(0, transition.getOffsetY());
+		assertEquals(3, transition.getStepCount());
+		for (int step = 0; step < 3; step++) {
+			assertEquals(step + 1, transition.getStepOffsetX(step));
+			assertEquals(0, transition.getStepOffsetY(step));
+		}
+	}
+
+	@Test
+	public void testJump() {
+		MoveTransition transition = MoveTable.get(PlayerDirection.LEFT, 4, PlayerAction.SPEED_UP, true);
+
+		assertEquals(PlayerDirection.LEFT, transition.getDirection());
+		assertEquals(5, transition.getSpeed());
+		assertTrue(transition.isJump());
+		assertEquals(2, transition.getStepCount());
+		assertEquals(-1, transition.getStepOffsetX(0));
+		assertEquals(-5, transition.getStepOffsetX(1));
+
+		// slow players do not jump
+		assertFalse(MoveTable.get(PlayerDirection.LEFT, 2, PlayerAction.CHANGE_NOTHING, true).isJump());
+	}
+
+	@Test
+	public void testInvalidSpeed() {
+		assertFalse(MoveTable.get(PlayerDirection.DOWN, IPlayer.MIN_SPEED, PlayerAction.SLOW_DOWN, false).isValid());
+		assertFalse(MoveTable.get(PlayerDirection.DOWN, IPlayer.MAX_SPEED, PlayerAction.SPEED_UP, false).isValid());
+		assertEquals(0,
+				MoveTable.get(PlayerDirection.DOWN, IPlayer.MIN_SPEED, PlayerAction.SLOW_DOWN, false).getStepCount());
+	}
+
+	@Test
+	public void testSharedTransitions() {
+		assertSame(MoveTable.get(PlayerDirection.DOWN, 5, PlayerAction.TURN_LEFT, false),
+				MoveTable.get(PlayerDirection.DOWN, 5, PlayerAction.TURN_LEFT, false));
+		assertTrue(MoveTable.isJumpRound(12));
+		assertFalse(MoveTable.isJumpRound(13));
+	}
+}
@@ -0,0 +1,81 @@
+package utility.geometry;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class FloatMatrixArenaTest {
+
+	private final static double TEST_DOUBLE_DELTA = 0.00001;
+
+	@Test
+	public void testReuseAfterReset() {
+		FloatMatrixArena arena = new FloatMatrixArena();
+
+		FloatMatrix first = arena.obtain(10, 5, 0);
+		FloatMatrix second = arena.obtain(10, 5, 0);
+		assertNotSame(first, second);
+		first.setValue(3, 3, 7);
+
+		arena.reset();
+		FloatMatrix reused = arena.obtain(10, 5, 2);
+		FloatMatrix reusedToo = arena.obtain(10, 5, 2);
+
+		assertTrue(reused == first || reused == second);
+		assertTrue(reusedToo == first || reusedToo == second);
+		assertEquals(2, reused.getValue(3, 3), TEST_DOUBLE_DELTA);
+		assertEquals(2, reusedToo.getValue(3, 3), TEST_DOUBLE_DELTA);
+		assertEquals(2, arena.getAllocatedMatricesCount());
+	}
+
+	@Test
+	public void testMatchingSizeAndPrecision() {
+		FloatMatrixArena arena = new FloatMatrixArena();
+
+		FloatMatrix doubleMatrix = arena.obtain(10, 5, 0);
+		arena.obtain(4, 4, 0, true);
+		arena.reset();
+
+		FloatMatrix singleMatrix = arena.obtain(10, 5, 0, true);
+		assertTrue(singleMatrix.isSinglePrecision());
+		assertNotSame(doubleMatrix, singleMatrix);
+		assertSame(doubleMatrix, arena.obtain(10, 5, 0));
+		assertEquals(3, arena.getAllocatedMatricesCount());
+		assertEquals(2, arena.getUsedMatricesCount());
+	}
+
+	@Test
+	public void testUnusedMatricesAreReleased() {
+		FloatMatrixArena arena = new FloatMatrixArena();
+
+		FloatMatrix matrix = arena.obtain(10, 5, 0);
+		arena.reset();
+		arena.reset();
+
+		assertNotSame(matrix, arena.obtain(10, 5, 0));
+		assertEquals(2, arena.getAllocatedMatricesCount());
+	}
+
+	@Test
+	public void testSnapshotSurvivesReuse() {
+		FloatMatrixArena arena = new FloatMatrixArena();
+
+		FloatMatrix matrix = arena.obtain(10, 5, 0);
+		matrix.setValue(3, 3, 7);
+		ContextualFloatMatrix snapshot = new ContextualFloatMatrix("test", matrix);
+		matrix.setValue(4, 4, -1);
+
+		arena.reset();
+		FloatMatrix reused = arena.obtain(10, 5, 2);
+		assertSame(matrix, reused);
+
+		assertEquals(7, snapshot.getValue(3, 3), TEST_DOUBLE_DELTA);
+		assertEquals(-1, snapshot.getValue(4, 4), TEST_DOUBLE_DELTA);
+		assertEquals(-1, snapshot.getRangeMin(), TEST_DOUBLE_DELTA);
+		assertEquals(7, snapshot.getRangeMax(), TEST_DOUBLE_DELTA);
+		assertEquals(2, reused.getValue(3, 3), TEST_DOUBLE_DELTA);
+	}
+}
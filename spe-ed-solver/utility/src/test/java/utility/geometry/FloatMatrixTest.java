@@ -1,6 +1,8 @@
 package utility.geometry;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import org.junit.Test;
 
@@ -101,4 +103,75 @@ public class FloatMatrixTest {
 		assertEquals(500, m1.sum(), TEST_DOUBLE_DELTA);
 	}
 
+	@Test
+	public void testFloatMatrixInPlace() {
+		FloatMatrix m1 = new FloatMatrix(10, 5, 0);
+		FloatMatrix m2 = new FloatMatrix(10, 5, 0);
+
+		m1.setValue(6, 3, 5);
+		m1.setValue(2, 2, 5);
+		m2.setValue(6, 3, 7);
+		m2.setValue(2, 2, -1);
+
+		FloatMatrix maxMatrix = new FloatMatrix(m1);
+		maxMatrix.maxInPlace(m2);
+		assertEquals(7, maxMatrix.getValue(6, 3), TEST_DOUBLE_DELTA);
+		assertEquals(5, maxMatrix.getValue(2, 2), TEST_DOUBLE_DELTA);
+
+		FloatMatrix minMatrix = new FloatMatrix(m1);
+		minMatrix.minInPlace(m2);
+		assertEquals(5, minMatrix.getValue(6, 3), TEST_DOUBLE_DELTA);
+		assertEquals(-1, minMatrix.getValue(2, 2), TEST_DOUBLE_DELTA);
+
+		m1.addInPlace(m2);
+		assertEquals(12, m1.getValue(6, 3), TEST_DOUBLE_DELTA);
+		assertEquals(4, m1.getValue(2, 2), TEST_DOUBLE_DELTA);
+	}
+
+	@Test
+	public void testFloatMatrixSinglePrecision() {
+		FloatMatrix singleMatrix = new FloatMatrix(4, 3, 0.5, true);
+		FloatMatrix doubleMatrix = new FloatMatrix(4, 3, 0.25);
+
+		assertTrue(singleMatrix.isSinglePrecision());
+		assertFalse(doubleMatrix.isSinglePrecision());
+
+		doubleMatrix.setValue(1, 1, 2);
+		singleMatrix.maxInPlace(doubleMatrix);
+		assertEquals(2, singleMatrix.getValue(1, 1), TEST_DOUBLE_DELTA);
+		assertEquals(0.5, singleMatrix.getValue(0, 0), TEST_DOUBLE_DELTA);
+		assertEquals(7.5, singleMatrix.sum(), TEST_DOUBLE_DELTA);
+		assertTrue(new FloatMatrix(singleMatrix).isSinglePrecision());
+	}
+
+	@Test
+	public void testFloatMatrixIndexAccess() {
+		FloatMatrix matrix = new FloatMatrix(4, 3, 0);
+
+		matrix.setValue(matrix.getIndex(3, 1), 8);
+		matrix.max(matrix.getIndex(0, 2), 3);
+		matrix.add(matrix.getIndex(0, 2), 1);
+
+		assertEquals(12, matrix.getSize());
+		assertEquals(8, matrix.getValue(3, 1), TEST_DOUBLE_DELTA);
+		assertEquals(4, matrix.getValue(8), TEST_DOUBLE_DELTA);
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void testFloatMatrixOutOfBounds() {
+		FloatMatrix matrix = new FloatMatrix(4, 3, 0);
+		matrix.getValue(4, 0);
+	}
+
+	@Test
+	public void testFloatMatrixReplace() {
+		FloatMatrix matrix = new FloatMatrix(4, 3, Integer.MAX_VALUE);
+		matrix.setValue(1, 1, 2);
+
+		matrix.replaceInPlace(Integer.MAX_VALUE, 5);
+
+		assertEquals(2, matrix.getValue(1, 1), TEST_DOUBLE_DELTA);
+		assertEquals(5, matrix.getValue(3, 2), TEST_DOUBLE_DELTA);
+	}
+
 }
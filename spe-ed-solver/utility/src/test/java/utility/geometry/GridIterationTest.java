@@ -0,0 +1,73 @@
+package utility.geometry;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.Test;
+
+public class GridIterationTest {
+
+	@Test
+	public void testForEachPointInRectangle() {
+		Point2i pointA = new Point2i(3, -1);
+		Point2i pointB = new Point2i(1, 2);
+
+		List<Point2i> points = new ArrayList<>();
+		GridIteration.forEachPointInRectangle(pointA.getX(), pointA.getY(), pointB.getX(), pointB.getY(),
+				(x, y) -> points.add(new Point2i(x, y)));
+
+		assertEquals(pointA.pointsInRectangle(pointB), points);
+	}
+
+	@Test
+	public void testForEachPointOnSegment() {
+		List<Point2i> points = new ArrayList<>();
+		GridIteration.forEachPointOnSegment(2, 5, 2, 2, (x, y) -> points.add(new Point2i(x, y)));
+		assertEquals(Arrays.asList(new Point2i(2, 5), new Point2i(2, 4), new Point2i(2, 3), new Point2i(2, 2)),
+				points);
+
+		points.clear();
+		GridIteration.forEachPointOnSegment(0, 0, 4, 2, (x, y) -> points.add(new Point2i(x, y)));
+		assertEquals(5, points.size());
+		assertEquals(new Point2i(0, 0), points.get(0));
+		assertEquals(new Point2i(4, 2), points.get(4));
+	}
+
+	@Test
+	public void testNeighborhoods() {
+		Point2i center = new Point2i(-3, 7);
+
+		List<Point2i> vonNeumann = new ArrayList<>();
+		GridIteration.forEachVonNeumannNeighbor(center.getX(), center.getY(),
+				(x, y) -> vonNeumann.add(new Point2i(x, y)));
+		assertEquals(center.vonNeumannNeighborhood(), vonNeumann);
+
+		List<Point2i> moore = new ArrayList<>();
+		GridIteration.forEachMooreNeighbor(center.getX(), center.getY(), (x, y) -> moore.add(new Point2i(x, y)));
+		assertEquals(center.mooreNeighborhood(), moore);
+	}
+
+	@Test
+	public void testPackedNeighbors() {
+		Point2i center = new Point2i(0, 0);
+		int packedCenter = GridIteration.pack(center.getX(), center.getY());
+
+		List<Point2i> vonNeumann = new ArrayList<>();
+		for (int i = 0; i < GridIteration.VON_NEUMANN_NEIGHBOR_COUNT; i++) {
+			int neighbor = GridIteration.vonNeumannNeighbor(packedCenter, i);
+			vonNeumann.add(new Point2i(GridIteration.unpackX(neighbor), GridIteration.unpackY(neighbor)));
+		}
+		assertEquals(center.vonNeumannNeighborhood(), vonNeumann);
+
+		HashSet<Point2i> moore = new HashSet<>();
+		for (int i = 0; i < GridIteration.MOORE_NEIGHBOR_COUNT; i++) {
+			int neighbor = GridIteration.mooreNeighbor(packedCenter, i);
+			moore.add(new Point2i(GridIteration.unpackX(neighbor), GridIteration.unpackY(neighbor)));
+		}
+		assertEquals(new HashSet<>(center.mooreNeighborhood()), moore);
+	}
+}
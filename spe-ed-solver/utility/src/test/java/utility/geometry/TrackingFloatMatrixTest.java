@@ -0,0 +1,98 @@
+package utility.geometry;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class TrackingFloatMatrixTest {
+
+	private final static double TEST_DOUBLE_DELTA = 0.00001;
+
+	@Test
+	public void testAggregations() {
+		TrackingFloatMatrix matrix = new TrackingFloatMatrix(10, 10);
+		matrix.max(new Point2i(1, 1), 0.5);
+		matrix.max(new Point2i(1, 1), 0.25);
+		matrix.setValue(3, 4, 2);
+		matrix.add(matrix.getIndex(5, 5), -1);
+
+		assertEquals(3, matrix.getTouchedCount());
+		assertEquals(1.5, matrix.sum(), TEST_DOUBLE_DELTA);
+		assertEquals(2, matrix.max(), TEST_DOUBLE_DELTA);
+		assertEquals(-1, matrix.min(), TEST_DOUBLE_DELTA);
+	}
+
+	@Test
+	public void testFillResetsTouchedElements() {
+		TrackingFloatMatrix matrix = new TrackingFloatMatrix(10, 10, 1, true);
+		matrix.setValue(2, 2, 5);
+		assertEquals(104, matrix.sum(), TEST_DOUBLE_DELTA);
+
+		matrix.fill(1);
+		assertEquals(0, matrix.getTouchedCount());
+		assertEquals(1, matrix.getValue(2, 2), TEST_DOUBLE_DELTA);
+		assertEquals(100, matrix.sum(), TEST_DOUBLE_DELTA);
+
+		matrix.setValue(2, 2, 5);
+		matrix.fill(0);
+		assertEquals(0, matrix.getValue(2, 2), TEST_DOUBLE_DELTA);
+		assertEquals(0, matrix.sum(), TEST_DOUBLE_DELTA);
+	}
+
+	@Test
+	public void testMergeMatchesPlainMatrix() {
+		TrackingFloatMatrix trackingA = new TrackingFloatMatrix(8, 6);
+		TrackingFloatMatrix trackingB = new TrackingFloatMatrix(8, 6);
+		FloatMatrix plainA = new FloatMatrix(8, 6);
+		FloatMatrix plainB = new FloatMatrix(8, 6);
+
+		for (int i = 0; i < 12; i++) {
+			trackingA.setValue((i * 7) % 48, i * 0.1);
+			plainA.setValue((i * 7) % 48, i * 0.1);
+			trackingB.setValue((i * 5) % 48, 1 - i * 0.05);
+			plainB.setValue((i * 5) % 48, 1 - i * 0.05);
+		}
+
+		trackingA.maxInPlace(trackingB);
+		plainA.maxInPlace(plainB);
+
+		assertTrue(trackingA.isTracking());
+		assertEquals(plainA.sum(), trackingA.sum(), TEST_DOUBLE_DELTA);
+		assertEquals(plainA.max(), trackingA.max(), TEST_DOUBLE_DELTA);
+		for (int i = 0; i < plainA.getSize(); i++)
+			assertEquals(plainA.getValue(i), trackingA.getValue(i), TEST_DOUBLE_DELTA);
+	}
+
+	@Test
+	public void testUntrackedFallback() {
+		TrackingFloatMatrix matrix = new TrackingFloatMatrix(4, 4);
+		FloatMatrix plain = new FloatMatrix(4, 4, 2);
+
+		matrix.maxInPlace(plain);
+
+		assertFalse(matrix.isTracking());
+		assertEquals(32, matrix.sum(), TEST_DOUBLE_DELTA);
+
+		matrix.fill(0);
+		assertTrue(matrix.isTracking());
+		assertEquals(0, matrix.sum(), TEST_DOUBLE_DELTA);
+	}
+
+	@Test
+	public void testArenaReuse() {
+		FloatMatrixArena arena = new FloatMatrixArena();
+		TrackingFloatMatrix matrix = arena.obtainTracking(5, 5, 0);
+		FloatMatrix plain = arena.obtain(5, 5, 0);
+		matrix.setValue(1, 1, 3);
+		arena.reset();
+
+		assertSame(plain, arena.obtain(5, 5, 0));
+		TrackingFloatMatrix reused = arena.obtainTracking(5, 5, 0);
+		assertSame(matrix, reused);
+		assertEquals(0, reused.getValue(1, 1), TEST_DOUBLE_DELTA);
+		assertEquals(0, reused.getTouchedCount());
+	}
+}
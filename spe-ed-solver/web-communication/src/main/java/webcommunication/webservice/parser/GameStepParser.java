@@ -9,9 +9,8 @@ import java.util.Map.Entry;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 
-import utility.game.board.Board;
-import utility.game.board.Cell;
-import utility.game.board.CellValue;
+import utility.game.board.BoardDelta;
+import utility.game.board.CompactBoard;
 import utility.game.player.IPlayer;
 import utility.game.player.PlayerAction;
 import utility.game.step.IDeadline;
@@ -23,6 +22,8 @@ import webcommunication.webservice.parser.jsonobject.JSONGameStepPlayer;
 /**
  * Responsible for parsing the information of a single game step received from
  * the webservice by transforming a JSON {@link String} to a {@link GameStep}.
+ * The last parsed board is kept to provide the {@link BoardDelta} of each
+ * {@link GameStep}.
  */
 public class GameStepParser {
 
@@ -31,6 +32,9 @@ public class GameStepParser {
 	private final Gson gson;
 	private final TimeSynchronizationManager timeSynchronizationManager;
 
+	private CompactBoard previousBoard;
+	private long boardVersion = BoardDelta.EMPTY_BOARD_VERSION;
+
 	/**
 	 * Creates a new @{@link GameStepParser} with {@link Gson} object by using the
 	 * default {@link GsonBuilder}.
@@ -65,17 +69,8 @@ public class GameStepParser {
 			deadline = () -> 0;
 		}
 
-		final int boardWidth = jsonObject.cells[0].length;
-		final int boardHeight = jsonObject.cells.length;
-
-		final Cell[][] cells = new Cell[boardHeight][boardWidth];
-		for (int y = 0; y < boardHeight; y++) {
-			for (int x = 0; x < boardWidth; x++) {
-				CellValue cellValue = CellValue.fromInteger(jsonObject.cells[y][x]);
-				cells[y][x] = new Cell(cellValue);
-			}
-		}
-		final Board<Cell> board = new Board<>(cells);
+		final CompactBoard board = new CompactBoard(jsonObject.cells);
+		final BoardDelta boardDelta = parseBoardDelta(board);
 
 		final boolean running = jsonObject.running;
 
@@ -91,7 +86,27 @@ public class GameStepParser {
 			enemies.put(playerId, gameStepPlayer);
 		}
 
-		return new GameStep(self, enemies, deadline, board, running);
+		return new GameStep(self, enemies, deadline, board, boardDelta, running);
+	}
+
+	/**
+	 * Determines the {@link BoardDelta} between the last parsed board and the given
+	 * one and remembers the given board for the next {@link GameStep}.
+	 * 
+	 * @param board the newly parsed {@link CompactBoard}
+	 * @return the {@link BoardDelta} to the last parsed board
+	 */
+	private BoardDelta parseBoardDelta(final CompactBoard board) {
+		final CompactBoard lastBoard = previousBoard;
+		if (lastBoard != null && (lastBoard.getWidth() != board.getWidth()
+				|| lastBoard.getHeight() != board.getHeight()))
+			previousBoard = null;
+
+		final long previousVersion = boardVersion;
+		boardVersion++;
+		final BoardDelta boardDelta = BoardDelta.between(previousBoard, board, previousVersion, boardVersion);
+		previousBoard = board;
+		return boardDelta;
 	}
 
 }
\ No newline at end of file
@@ -1,6 +1,8 @@
 package webcommunication.webservice.parser;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -49,4 +51,19 @@ public class GameStepParserTest {
 		assertEquals(CellValue.PLAYER_THREE, result.getBoard().getBoardCellAt(new Point2i(3, 0)).getCellValue());
 	}
 
+	@Test
+	public void testBoardDelta() {
+		String jsonFormat = "{\"width\":3," + "\"height\":1," + "\"players\":{"
+				+ "\"1\":{\"x\":1,\"y\":0,\"direction\":\"up\",\"speed\":1,\"active\":true}" + "},"
+				+ "\"cells\": [%s]," + "\"running\":false," + "\"you\":1" + "}";
+		GameStepParser parser = new GameStepParser(null);
+
+		GameStep first = parser.parseGameStep(String.format(jsonFormat, "[0,1,0]"), 1);
+		GameStep second = parser.parseGameStep(String.format(jsonFormat, "[0,1,1]"), 2);
+
+		assertArrayEquals(new int[] { 1 }, first.getBoardDelta().getChangedIndices());
+		assertArrayEquals(new int[] { 2 }, second.getBoardDelta().getChangedIndices());
+		assertTrue(second.getBoardDelta().follows(first.getBoardDelta().getVersion()));
+	}
+
 }